@@ -24,6 +24,10 @@ public class RedisHealthIndicator implements HealthIndicator {
             RedisInfoUtils.healthInfo().forEach(builder::withDetail);
             return builder.up().build();
         }else{
+            if(RedisUtils.getCircuitBreaker() != null){
+                // 熔断期间ping直接返回失败,放入熔断状态便于排查
+                builder.withDetail("circuitBreaker", RedisUtils.getCircuitBreaker().stats());
+            }
             return builder.down().build();
         }
     }
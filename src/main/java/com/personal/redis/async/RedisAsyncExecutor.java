@@ -0,0 +1,44 @@
+/*
+ * @Copyright: 2005-2018 www.hyjf.com. All rights reserved.
+ */
+package com.personal.redis.async;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author sunpeikai
+ * @version RedisAsyncExecutor, v0.1 2026/10/18 20:30
+ * @description 异步redis命令的有界线程池,队列满时由调用线程执行,起到背压作用
+ * getOrRefresh的后台刷新使用单独的实例,队列满时拒绝,调用方放弃本次刷新
+ */
+public class RedisAsyncExecutor extends ThreadPoolExecutor {
+
+    private static final AtomicInteger THREAD_INDEX = new AtomicInteger();
+
+    /**
+     * @param threads 线程数
+     * @param queueCapacity 等待队列长度
+     */
+    public RedisAsyncExecutor(int threads, int queueCapacity) {
+        this("redis-async-", threads, queueCapacity, new CallerRunsPolicy());
+    }
+
+    /**
+     * @param namePrefix 线程名前缀
+     * @param threads 线程数
+     * @param queueCapacity 等待队列长度
+     * @param rejectedHandler 队列满时的处理方式
+     */
+    public RedisAsyncExecutor(String namePrefix, int threads, int queueCapacity, RejectedExecutionHandler rejectedHandler) {
+        super(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + THREAD_INDEX.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, rejectedHandler);
+        allowCoreThreadTimeOut(true);
+    }
+}
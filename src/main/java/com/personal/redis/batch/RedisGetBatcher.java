@@ -0,0 +1,176 @@
+/*
+ * @Copyright: 2005-2018 www.hyjf.com. All rights reserved.
+ */
+package com.personal.redis.batch;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * @author sunpeikai
+ * @version RedisGetBatcher, v0.1 2026/10/18 22:05
+ * @description 跨线程合并单key的get,在maxWait时间内(或凑满maxBatch个key)把并发的get合并成一个mget发送,再把结果分发给各个调用方
+ */
+public class RedisGetBatcher implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(RedisGetBatcher.class);
+
+    private static final Request STOP = new Request(null);
+
+    private final Function<String[], List<String>> mget;
+
+    private final int maxBatch;
+
+    private final long maxWaitNanos;
+
+    private final long timeoutMillis;
+
+    private final BlockingQueue<Request> queue = new LinkedBlockingQueue<>();
+
+    private final List<Thread> threads = new ArrayList<>();
+
+    private final LongAdder keys = new LongAdder();
+
+    private final LongAdder batches = new LongAdder();
+
+    private volatile boolean running = true;
+
+    /**
+     * @param mget 批量获取,返回与keys顺序一致的值,失败时返回null
+     * @param threads 发送mget的线程数
+     * @param maxBatch 单个mget最多合并的key数
+     * @param maxWaitMicros 第一个key到达后最多等待的微秒数
+     * @param timeoutMillis 调用方等待结果的超时时间
+     */
+    public RedisGetBatcher(Function<String[], List<String>> mget, int threads, int maxBatch, long maxWaitMicros, long timeoutMillis) {
+        this.mget = mget;
+        this.maxBatch = maxBatch;
+        this.maxWaitNanos = TimeUnit.MICROSECONDS.toNanos(maxWaitMicros);
+        this.timeoutMillis = timeoutMillis;
+        for (int i = 0; i < threads; i++) {
+            Thread thread = new Thread(this::dispatch, "redis-get-batcher-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            this.threads.add(thread);
+        }
+    }
+
+    /**
+     * 获取key的值,与其他线程并发的get合并成一个mget
+     * @param key redis键
+     * @return key的值,key不存在或执行失败时返回null
+     */
+    public String get(String key) {
+        Request request = new Request(key);
+        if (!running) {
+            throw new IllegalStateException("redis get batcher closed");
+        }
+        queue.add(request);
+        try {
+            return request.future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("redis get batcher interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("redis get batcher fail", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("redis get batcher timeout after " + timeoutMillis + "ms", e);
+        }
+    }
+
+    /**
+     * @return 合并发送的key总数
+     */
+    public long getKeys() {
+        return keys.sum();
+    }
+
+    /**
+     * @return 发送的mget次数
+     */
+    public long getBatches() {
+        return batches.sum();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        for (int i = 0; i < threads.size(); i++) {
+            queue.add(STOP);
+        }
+    }
+
+    private void dispatch() {
+        List<Request> batch = new ArrayList<>(maxBatch);
+        boolean stop = false;
+        while (!stop) {
+            try {
+                Request first = queue.take();
+                if (first == STOP) {
+                    break;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (batch.size() < maxBatch) {
+                    long remaining = deadline - System.nanoTime();
+                    Request next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    if (next == STOP) {
+                        stop = true;
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                stop = true;
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Request> batch) {
+        String[] batchKeys = new String[batch.size()];
+        for (int i = 0; i < batchKeys.length; i++) {
+            batchKeys[i] = batch.get(i).key;
+        }
+        try {
+            List<String> values = mget.apply(batchKeys);
+            keys.add(batchKeys.length);
+            batches.increment();
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).future.complete(values == null ? null : values.get(i));
+            }
+        } catch (Exception e) {
+            log.error("redis get batcher flush fail ==> ", e);
+            for (Request request : batch) {
+                request.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    private static class Request {
+        private final String key;
+        private final CompletableFuture<String> future = new CompletableFuture<>();
+
+        private Request(String key) {
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * @Copyright: 2005-2018 www.hyjf.com. All rights reserved.
+ */
+package com.personal.redis.breaker;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * @author sunpeikai
+ * @version RedisCircuitBreaker, v0.1 2026/10/19 00:40
+ * @description redis熔断器,统计最近windowSize次调用,调用数达到minimumCalls后失败率或慢调用率超过阈值时打开
+ * 打开期间命令直接返回null,不再等待借用连接和建立连接;打开waitDuration后进入半开,放行halfOpenCalls次调用试探,
+ * 全部成功且不慢时关闭,任意一次失败或慢调用时重新打开;探测线程在半开时执行健康检查,没有业务调用时也能恢复
+ */
+public class RedisCircuitBreaker implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(RedisCircuitBreaker.class);
+
+    private static final int SUCCESS = 1;
+
+    private static final int FAILURE = 2;
+
+    private static final int SLOW = 4;
+
+    public enum State {
+        /**
+         * 正常
+         */
+        CLOSED,
+        /**
+         * 熔断
+         */
+        OPEN,
+        /**
+         * 半开,放行少量调用试探
+         */
+        HALF_OPEN
+    }
+
+    private final int windowSize;
+
+    private final int minimumCalls;
+
+    private final int failureRateThreshold;
+
+    private final long slowCallNanos;
+
+    private final int slowCallRateThreshold;
+
+    private final long waitDurationMillis;
+
+    private final int halfOpenCalls;
+
+    private final Supplier<Boolean> healthCheck;
+
+    /**
+     * 最近windowSize次调用的结果,环形使用
+     */
+    private final AtomicIntegerArray outcomes;
+
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private final AtomicInteger failures = new AtomicInteger();
+
+    private final AtomicInteger slowCalls = new AtomicInteger();
+
+    private final AtomicInteger halfOpenPermits = new AtomicInteger();
+
+    private final AtomicInteger halfOpenSuccesses = new AtomicInteger();
+
+    private final LongAdder rejected = new LongAdder();
+
+    private final LongAdder opened = new LongAdder();
+
+    private final ScheduledExecutorService prober;
+
+    private volatile State state = State.CLOSED;
+
+    private volatile long changedAt = System.currentTimeMillis();
+
+    /**
+     * @param windowSize 统计最近多少次调用
+     * @param minimumCalls 调用数达到多少次后才计算失败率
+     * @param failureRateThreshold 失败率阈值 - 百分比
+     * @param slowCallMillis 超过多少毫秒算慢调用
+     * @param slowCallRateThreshold 慢调用率阈值 - 百分比
+     * @param waitDurationMillis 打开多久后进入半开 - 毫秒
+     * @param halfOpenCalls 半开时放行的调用数
+     * @param checkIntervalMillis 探测线程的检查间隔 - 毫秒
+     * @param healthCheck 健康检查,返回TRUE表示redis可用
+     */
+    public RedisCircuitBreaker(int windowSize, int minimumCalls, int failureRateThreshold, long slowCallMillis, int slowCallRateThreshold,
+                               long waitDurationMillis, int halfOpenCalls, long checkIntervalMillis, Supplier<Boolean> healthCheck) {
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(slowCallMillis);
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.waitDurationMillis = waitDurationMillis;
+        this.halfOpenCalls = halfOpenCalls;
+        this.healthCheck = healthCheck;
+        this.outcomes = new AtomicIntegerArray(windowSize);
+        this.prober = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "redis-circuit-breaker-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        prober.scheduleWithFixedDelay(this::probe, checkIntervalMillis, checkIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 每次放行的调用必须调用一次onSuccess或onFailure
+     * @return 是否允许执行命令
+     */
+    public boolean allowRequest() {
+        State current = state;
+        if (current == State.OPEN && System.currentTimeMillis() - changedAt >= waitDurationMillis) {
+            transition(State.OPEN, State.HALF_OPEN);
+            current = state;
+        }
+        if (current == State.CLOSED || (current == State.HALF_OPEN && halfOpenPermits.getAndDecrement() > 0)) {
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    /**
+     * 调用成功,包括redis返回错误(如类型错误)的调用
+     * @param elapsedNanos 耗时 - 纳秒
+     */
+    public void onSuccess(long elapsedNanos) {
+        record(elapsedNanos >= slowCallNanos ? SUCCESS | SLOW : SUCCESS);
+    }
+
+    /**
+     * 连接失败或超时
+     * @param elapsedNanos 耗时 - 纳秒
+     */
+    public void onFailure(long elapsedNanos) {
+        record(elapsedNanos >= slowCallNanos ? FAILURE | SLOW : FAILURE);
+    }
+
+    public boolean isOpen() {
+        return state == State.OPEN;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * @return 状态、窗口内的失败率和慢调用率
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new HashMap<>();
+        int total = calls.get();
+        stats.put("state", state);
+        stats.put("since", changedAt);
+        stats.put("calls", total);
+        stats.put("failureRate", total == 0 ? 0 : failures.get() * 100 / total);
+        stats.put("slowCallRate", total == 0 ? 0 : slowCalls.get() * 100 / total);
+        stats.put("rejected", rejected.sum());
+        stats.put("opened", opened.sum());
+        return stats;
+    }
+
+    @Override
+    public void close() {
+        prober.shutdownNow();
+    }
+
+    private void record(int outcome) {
+        State current = state;
+        if (current == State.HALF_OPEN) {
+            if ((outcome & (FAILURE | SLOW)) != 0) {
+                transition(State.HALF_OPEN, State.OPEN);
+            } else if (halfOpenSuccesses.incrementAndGet() >= halfOpenCalls) {
+                transition(State.HALF_OPEN, State.CLOSED);
+            }
+            return;
+        }
+        if (current != State.CLOSED) {
+            return;
+        }
+        int previous = outcomes.getAndSet(Math.floorMod(cursor.getAndIncrement(), windowSize), outcome);
+        int total = previous == 0 ? calls.incrementAndGet() : calls.get();
+        int failed = failures.addAndGet(((outcome & FAILURE) != 0 ? 1 : 0) - ((previous & FAILURE) != 0 ? 1 : 0));
+        int slow = slowCalls.addAndGet(((outcome & SLOW) != 0 ? 1 : 0) - ((previous & SLOW) != 0 ? 1 : 0));
+        if (total >= minimumCalls && (failed * 100 >= failureRateThreshold * total || slow * 100 >= slowCallRateThreshold * total)) {
+            transition(State.CLOSED, State.OPEN);
+        }
+    }
+
+    private synchronized void transition(State from, State to) {
+        if (state != from) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (to == State.OPEN) {
+            opened.increment();
+            log.warn("redis circuit breaker open, from[{}], calls[{}], failures[{}], slowCalls[{}]", from, calls.get(),
+                    failures.get(), slowCalls.get());
+        } else if (to == State.HALF_OPEN) {
+            halfOpenSuccesses.set(0);
+            halfOpenPermits.set(halfOpenCalls);
+        } else {
+            // 关闭后重新统计
+            for (int i = 0; i < windowSize; i++) {
+                outcomes.set(i, 0);
+            }
+            calls.set(0);
+            failures.set(0);
+            slowCalls.set(0);
+            log.info("redis circuit breaker closed");
+        }
+        changedAt = now;
+        state = to;
+    }
+
+    private void probe() {
+        try {
+            if (state == State.OPEN && System.currentTimeMillis() - changedAt >= waitDurationMillis) {
+                transition(State.OPEN, State.HALF_OPEN);
+            }
+            if (state == State.HALF_OPEN) {
+                if (System.currentTimeMillis() - changedAt >= waitDurationMillis) {
+                    // 半开放行的调用没有返回结果,重新打开后再次试探
+                    transition(State.HALF_OPEN, State.OPEN);
+                } else {
+                    healthCheck.get();
+                }
+            }
+        } catch (Exception e) {
+            log.warn("redis circuit breaker health check fail ==> {}", e.getMessage());
+        }
+    }
+}
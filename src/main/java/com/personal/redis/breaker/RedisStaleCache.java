@@ -0,0 +1,132 @@
+/*
+ * @Copyright: 2005-2018 www.hyjf.com. All rights reserved.
+ */
+package com.personal.redis.breaker;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author sunpeikai
+ * @version RedisStaleCache, v0.1 2026/10/19 00:40
+ * @description 最近读取的值的本地副本,按LRU淘汰;只在熔断期间返回给调用方,正常读取时只写入
+ * 同一个redis键的不同命令(get、hget的每个域、hgetAll)分别保存,写入和删除redis键时一起移除
+ */
+public class RedisStaleCache {
+
+    private final int maximumSize;
+
+    private final LinkedHashMap<String, StaleValue> values;
+
+    /**
+     * redis键 - 缓存键
+     */
+    private final Map<String, Set<String>> cacheKeys = new HashMap<>();
+
+    private final LongAdder served = new LongAdder();
+
+    /**
+     * @param maximumSize 最多保存的值的数量
+     */
+    public RedisStaleCache(int maximumSize) {
+        this.maximumSize = maximumSize;
+        this.values = new LinkedHashMap<String, StaleValue>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StaleValue> eldest) {
+                if (size() > RedisStaleCache.this.maximumSize) {
+                    unindex(eldest.getValue().key, eldest.getKey());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @param key 缓存键
+     * @return 保存的值,不存在时返回null
+     */
+    public Object get(String key) {
+        Object value;
+        synchronized (values) {
+            StaleValue staleValue = values.get(key);
+            value = staleValue == null ? null : staleValue.value;
+        }
+        if (value != null) {
+            served.increment();
+        }
+        return copy(value);
+    }
+
+    /**
+     * @param key redis键
+     * @param cacheKey 缓存键
+     * @param value 读取到的值
+     */
+    public void put(String key, String cacheKey, Object value) {
+        StaleValue staleValue = new StaleValue(key, copy(value));
+        synchronized (values) {
+            values.put(cacheKey, staleValue);
+            cacheKeys.computeIfAbsent(key, k -> new HashSet<>()).add(cacheKey);
+        }
+    }
+
+    /**
+     * redis键被修改或删除后移除它的全部旧值,避免熔断期间返回已经删除或覆盖的值
+     * @param key redis键
+     */
+    public void invalidate(String key) {
+        synchronized (values) {
+            Set<String> removed = cacheKeys.remove(key);
+            if (removed != null) {
+                for (String cacheKey : removed) {
+                    values.remove(cacheKey);
+                }
+            }
+        }
+    }
+
+    private void unindex(String key, String cacheKey) {
+        Set<String> keys = cacheKeys.get(key);
+        if (keys != null && keys.remove(cacheKey) && keys.isEmpty()) {
+            cacheKeys.remove(key);
+        }
+    }
+
+    /**
+     * @return 保存的值的数量、对应的redis键数量和返回旧值的次数
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new HashMap<>();
+        synchronized (values) {
+            stats.put("size", values.size());
+            stats.put("keys", cacheKeys.size());
+        }
+        stats.put("maximumSize", maximumSize);
+        stats.put("served", served.sum());
+        return stats;
+    }
+
+    private static final class StaleValue {
+        private final String key;
+        private final Object value;
+
+        private StaleValue(String key, Object value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object copy(Object value) {
+        // hgetAll的结果是可变的Map,getObj读取的是byte[],保存和返回时都复制一份
+        if (value instanceof byte[]) {
+            return ((byte[]) value).clone();
+        }
+        return value instanceof Map ? new HashMap<>((Map<String, String>) value) : value;
+    }
+}
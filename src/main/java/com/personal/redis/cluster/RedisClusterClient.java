@@ -0,0 +1,196 @@
+/*
+ * @Copyright: 2005-2018 www.hyjf.com. All rights reserved.
+ */
+package com.personal.redis.cluster;
+
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisCluster;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisSlotBasedConnectionHandler;
+import redis.clients.jedis.exceptions.JedisAskDataException;
+import redis.clients.jedis.exceptions.JedisClusterMaxAttemptsException;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.jedis.exceptions.JedisMovedDataException;
+import redis.clients.jedis.exceptions.JedisRedirectionException;
+import redis.clients.jedis.util.JedisClusterCRC16;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * @author sunpeikai
+ * @version RedisClusterClient, v0.1 2026/10/18 10:12
+ * @description redis集群客户端,按key所在slot路由到对应节点,MOVED/ASK时刷新slot缓存并重试
+ */
+public class RedisClusterClient implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(RedisClusterClient.class);
+
+    /**
+     * 不指定slot,随机选择一个节点执行
+     */
+    public static final int ANY_SLOT = -1;
+
+    private final SlotConnectionHandler connectionHandler;
+    private final int maxRedirects;
+
+    public RedisClusterClient(Set<HostAndPort> nodes, GenericObjectPoolConfig<Jedis> poolConfig, int timeout,
+                              String password, String clientName, int maxRedirects) {
+        this.connectionHandler = new SlotConnectionHandler(nodes, poolConfig, timeout, password, clientName);
+        this.maxRedirects = maxRedirects;
+    }
+
+    /**
+     * 计算key所在slot,支持hash tag
+     * @param key redis键
+     * @return slot
+     */
+    public static int getSlot(String key) {
+        return key == null ? ANY_SLOT : JedisClusterCRC16.getSlot(key);
+    }
+
+    /**
+     * 计算key所在slot,支持hash tag
+     * @param key redis键
+     * @return slot
+     */
+    public static int getSlot(byte[] key) {
+        return key == null ? ANY_SLOT : JedisClusterCRC16.getSlot(key);
+    }
+
+    /**
+     * 获取slot所在节点的连接
+     * @param slot slot,ANY_SLOT时随机选择节点
+     * @return jedis
+     */
+    public Jedis getConnection(int slot) {
+        return slot == ANY_SLOT ? connectionHandler.getConnection() : connectionHandler.getConnectionFromSlot(slot);
+    }
+
+    /**
+     * 获取slot所在主节点的连接池,slot缓存中没有时刷新一次
+     * @param slot slot
+     * @return 连接池
+     */
+    public JedisPool getSlotPool(int slot) {
+        JedisPool slotPool = connectionHandler.getSlotPool(slot);
+        if (slotPool == null) {
+            connectionHandler.renewSlotCache();
+            slotPool = connectionHandler.getSlotPool(slot);
+        }
+        return slotPool;
+    }
+
+    /**
+     * 集群全部节点(包括从节点)的连接池
+     * @return 节点名称 - 连接池
+     */
+    public Map<String, JedisPool> getNodes() {
+        return connectionHandler.getNodes();
+    }
+
+    /**
+     * 集群全部主节点的连接池,按slot缓存去重;slot缓存不完整时最多刷新一次
+     * @return 主节点连接池
+     */
+    public List<JedisPool> getMasterNodes() {
+        Set<JedisPool> masters = new LinkedHashSet<>();
+        if (!collectMasters(masters)) {
+            connectionHandler.renewSlotCache();
+            masters.clear();
+            collectMasters(masters);
+        }
+        return new ArrayList<>(masters);
+    }
+
+    /**
+     * @return 全部slot都有对应的主节点时返回true
+     */
+    private boolean collectMasters(Set<JedisPool> masters) {
+        boolean covered = true;
+        for (int slot = 0; slot < JedisCluster.HASHSLOTS; slot++) {
+            JedisPool slotPool = connectionHandler.getSlotPool(slot);
+            if (slotPool == null) {
+                covered = false;
+            } else {
+                masters.add(slotPool);
+            }
+        }
+        return covered;
+    }
+
+    /**
+     * 在slot所在节点上执行命令
+     * MOVED时刷新slot缓存后重试,ASK时向目标节点发送ASKING后重试,连接失败时刷新slot缓存后重试
+     * @param slot slot,ANY_SLOT时随机选择节点
+     * @param action 命令
+     * @return 命令结果
+     */
+    public <T> T execute(int slot, Function<Jedis, T> action) {
+        HostAndPort askNode = null;
+        RuntimeException lastException = null;
+        for (int attempt = 0; attempt <= maxRedirects; attempt++) {
+            Jedis jedis = null;
+            try {
+                if (askNode != null) {
+                    jedis = connectionHandler.getConnectionFromNode(askNode);
+                    jedis.asking();
+                } else {
+                    jedis = getConnection(slot);
+                }
+                return action.apply(jedis);
+            } catch (JedisMovedDataException e) {
+                // slot已迁移,刷新本地slot缓存
+                log.debug("redis cluster moved, slot[{}], target[{}]", e.getSlot(), e.getTargetNode());
+                connectionHandler.renewSlotCache(jedis);
+                askNode = null;
+                lastException = e;
+            } catch (JedisAskDataException e) {
+                // slot迁移中,仅本次请求转到目标节点
+                log.debug("redis cluster ask, slot[{}], target[{}]", e.getSlot(), e.getTargetNode());
+                askNode = e.getTargetNode();
+                lastException = e;
+            } catch (JedisConnectionException e) {
+                // 节点不可用,可能发生了故障转移
+                connectionHandler.renewSlotCache();
+                askNode = null;
+                lastException = e;
+            } finally {
+                if (jedis != null) {
+                    jedis.close();
+                }
+            }
+        }
+        if (lastException instanceof JedisRedirectionException) {
+            throw new JedisClusterMaxAttemptsException("redis cluster redirect too many times", lastException);
+        }
+        throw lastException;
+    }
+
+    @Override
+    public void close() {
+        connectionHandler.close();
+    }
+
+    /**
+     * 暴露slot缓存,供批量命令按节点分组
+     */
+    private static class SlotConnectionHandler extends JedisSlotBasedConnectionHandler {
+
+        SlotConnectionHandler(Set<HostAndPort> nodes, GenericObjectPoolConfig<Jedis> poolConfig, int timeout, String password, String clientName) {
+            super(nodes, poolConfig, timeout, timeout, password, clientName);
+        }
+
+        JedisPool getSlotPool(int slot) {
+            return cache.getSlotPool(slot);
+        }
+    }
+}
@@ -0,0 +1,749 @@
+/*
+ * @Copyright: 2005-2018 www.hyjf.com. All rights reserved.
+ */
+package com.personal.redis.codec;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * @author sunpeikai
+ * @version BinaryRedisCodec, v0.1 2026/10/19 01:30
+ * @description 紧凑的二进制编解码,格式与protobuf类似:对象的每个字段写成 编号<<3|类型 + 值,null字段和基本类型的默认值不写
+ * 字段编号按字段名排序后的顺序从1开始分配,解码时跳过不认识的字段;类中增删字段会改变编号,因此对象开头写入编号为0的
+ * 结构指纹(排序后的字段名和类型的CRC32),解码时指纹不一致整个值按不存在处理,由调用方重新加载,不会把旧值读到错误的字段
+ * 标注了RedisBinary的类只写入标注了RedisTag的字段,编号由RedisTag指定;编译时生成了编解码的类交给生成的编解码读写
+ * 整数使用zigzag变长编码,字符串、集合、Map、嵌套对象写成长度 + 内容;声明为Object的字段只支持基本类型包装类、String、
+ * BigDecimal、BigInteger、Date、byte[]以及由它们组成的List、Set、Map,其他类型需要声明具体类型
+ * 对象需要有无参构造方法
+ */
+public class BinaryRedisCodec implements RedisCodec {
+
+    static final int VARINT = 0;
+    static final int FIXED64 = 1;
+    static final int LENGTH = 2;
+    static final int FIXED32 = 5;
+
+    /**
+     * 声明为Object的值写入的类型编号
+     */
+    private static final int STRING = 1;
+    private static final int INTEGER = 2;
+    private static final int LONG = 3;
+    private static final int BOOLEAN = 4;
+    private static final int DOUBLE = 5;
+    private static final int FLOAT = 6;
+    private static final int SHORT = 7;
+    private static final int BYTE = 8;
+    private static final int CHARACTER = 9;
+    private static final int BIG_DECIMAL = 10;
+    private static final int BIG_INTEGER = 11;
+    private static final int DATE = 12;
+    private static final int BYTES = 13;
+    private static final int LIST = 14;
+    private static final int SET = 15;
+    private static final int MAP = 16;
+
+    private final ConcurrentHashMap<Class<?>, Schema> schemas = new ConcurrentHashMap<>();
+
+    @Override
+    public byte[] encode(Object value) {
+        if (value == null) {
+            return new byte[0];
+        }
+        return RedisEncodeBuffers.encode(writer -> writeValue(writer, value, value.getClass()));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T decode(byte[] bytes, Class<T> clz) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        try {
+            return (T) readValue(new Reader(bytes), clz);
+        } catch (SchemaMismatchException e) {
+            return null;
+        }
+    }
+
+    void writeValue(Writer writer, Object value, Type type) {
+        Class<?> raw = raw(type);
+        if (raw == Boolean.class || raw == boolean.class) {
+            writer.writeVarint((Boolean) value ? 1 : 0);
+        } else if (raw == Integer.class || raw == int.class || raw == Long.class || raw == long.class
+                || raw == Short.class || raw == short.class || raw == Byte.class || raw == byte.class) {
+            writer.writeVarint(zigzag(((Number) value).longValue()));
+        } else if (raw == Character.class || raw == char.class) {
+            writer.writeVarint((Character) value);
+        } else if (raw == Float.class || raw == float.class) {
+            writer.writeFixed32(Float.floatToIntBits((Float) value));
+        } else if (raw == Double.class || raw == double.class) {
+            writer.writeFixed64(Double.doubleToLongBits((Double) value));
+        } else if (raw == Date.class) {
+            writer.writeVarint(zigzag(((Date) value).getTime()));
+        } else {
+            int mark = writer.position();
+            writeBody(writer, value, type, raw);
+            writer.prependLength(mark);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void writeBody(Writer writer, Object value, Type type, Class<?> raw) {
+        if (raw == String.class) {
+            writer.writeBytes(((String) value).getBytes(StandardCharsets.UTF_8));
+        } else if (raw == byte[].class) {
+            writer.writeBytes((byte[]) value);
+        } else if (raw.isEnum()) {
+            writer.writeBytes(((Enum<?>) value).name().getBytes(StandardCharsets.UTF_8));
+        } else if (raw == BigDecimal.class || raw == BigInteger.class) {
+            writer.writeBytes(value.toString().getBytes(StandardCharsets.UTF_8));
+        } else if (raw.isArray()) {
+            Type component = type instanceof GenericArrayType ? ((GenericArrayType) type).getGenericComponentType() : raw.getComponentType();
+            int length = Array.getLength(value);
+            writer.writeVarint(length);
+            for (int i = 0; i < length; i++) {
+                writeElement(writer, Array.get(value, i), component);
+            }
+        } else if (Collection.class.isAssignableFrom(raw)) {
+            Type element = argument(type, 0);
+            Collection<Object> collection = (Collection<Object>) value;
+            writer.writeVarint(collection.size());
+            for (Object item : collection) {
+                writeElement(writer, item, element);
+            }
+        } else if (Map.class.isAssignableFrom(raw)) {
+            Type keyType = argument(type, 0);
+            Type valueType = argument(type, 1);
+            Map<Object, Object> map = (Map<Object, Object>) value;
+            writer.writeVarint(map.size());
+            for (Map.Entry<Object, Object> entry : map.entrySet()) {
+                writeElement(writer, entry.getKey(), keyType);
+                writeElement(writer, entry.getValue(), valueType);
+            }
+        } else if (raw == Object.class) {
+            writeDynamic(writer, value);
+        } else {
+            GeneratedBinaryCodec<Object> generated = generated(raw);
+            if (generated != null) {
+                generated.writeFields(writer, value);
+            } else {
+                writeObject(writer, value, raw);
+            }
+        }
+    }
+
+    private void writeObject(Writer writer, Object value, Class<?> raw) {
+        Schema schema = schema(raw);
+        if (!schema.tagged) {
+            writer.writeVarint(FIXED32);
+            writer.writeFixed32(schema.fingerprint);
+        }
+        for (int i = 0; i < schema.fields.length; i++) {
+            Field field = schema.fields[i];
+            Object fieldValue;
+            try {
+                fieldValue = field.get(value);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+            if (fieldValue == null || (field.getType().isPrimitive() && isDefault(fieldValue))) {
+                continue;
+            }
+            writer.writeVarint(((long) schema.numbers[i] << 3) | schema.wireTypes[i]);
+            writeValue(writer, fieldValue, field.getGenericType());
+        }
+    }
+
+    /**
+     * 集合元素和Map的键值可能为null,先写一个是否存在的标记
+     */
+    private void writeElement(Writer writer, Object value, Type type) {
+        if (value == null) {
+            writer.writeVarint(0);
+            return;
+        }
+        writer.writeVarint(1);
+        writeValue(writer, value, type);
+    }
+
+    private void writeDynamic(Writer writer, Object value) {
+        Class<?> clz = value.getClass();
+        int code = dynamicCode(clz);
+        writer.writeVarint(code);
+        writeValue(writer, value, code == LIST ? List.class : code == SET ? Set.class : code == MAP ? Map.class : clz);
+    }
+
+    Object readValue(Reader reader, Type type) {
+        Class<?> raw = raw(type);
+        if (raw == Boolean.class || raw == boolean.class) {
+            return reader.readVarint() != 0;
+        } else if (raw == Integer.class || raw == int.class) {
+            return (int) unzigzag(reader.readVarint());
+        } else if (raw == Long.class || raw == long.class) {
+            return unzigzag(reader.readVarint());
+        } else if (raw == Short.class || raw == short.class) {
+            return (short) unzigzag(reader.readVarint());
+        } else if (raw == Byte.class || raw == byte.class) {
+            return (byte) unzigzag(reader.readVarint());
+        } else if (raw == Character.class || raw == char.class) {
+            return (char) reader.readVarint();
+        } else if (raw == Float.class || raw == float.class) {
+            return Float.intBitsToFloat(reader.readFixed32());
+        } else if (raw == Double.class || raw == double.class) {
+            return Double.longBitsToDouble(reader.readFixed64());
+        } else if (raw == Date.class) {
+            return new Date(unzigzag(reader.readVarint()));
+        }
+        int length = (int) reader.readVarint();
+        return readBody(reader, type, raw, reader.position() + length);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Object readBody(Reader reader, Type type, Class<?> raw, int end) {
+        if (raw == String.class) {
+            return new String(reader.readBytes(end - reader.position()), StandardCharsets.UTF_8);
+        } else if (raw == byte[].class) {
+            return reader.readBytes(end - reader.position());
+        } else if (raw.isEnum()) {
+            return Enum.valueOf((Class<? extends Enum>) raw, new String(reader.readBytes(end - reader.position()), StandardCharsets.UTF_8));
+        } else if (raw == BigDecimal.class) {
+            return new BigDecimal(new String(reader.readBytes(end - reader.position()), StandardCharsets.UTF_8));
+        } else if (raw == BigInteger.class) {
+            return new BigInteger(new String(reader.readBytes(end - reader.position()), StandardCharsets.UTF_8));
+        } else if (raw.isArray()) {
+            Type component = type instanceof GenericArrayType ? ((GenericArrayType) type).getGenericComponentType() : raw.getComponentType();
+            int length = (int) reader.readVarint();
+            Object array = Array.newInstance(raw.getComponentType(), length);
+            for (int i = 0; i < length; i++) {
+                Object item = readElement(reader, component);
+                if (item != null) {
+                    Array.set(array, i, item);
+                }
+            }
+            return array;
+        } else if (Collection.class.isAssignableFrom(raw)) {
+            Type element = argument(type, 0);
+            int size = (int) reader.readVarint();
+            Collection<Object> collection = newCollection(raw, size);
+            for (int i = 0; i < size; i++) {
+                collection.add(readElement(reader, element));
+            }
+            return collection;
+        } else if (Map.class.isAssignableFrom(raw)) {
+            Type keyType = argument(type, 0);
+            Type valueType = argument(type, 1);
+            int size = (int) reader.readVarint();
+            Map<Object, Object> map = newMap(raw, size);
+            for (int i = 0; i < size; i++) {
+                map.put(readElement(reader, keyType), readElement(reader, valueType));
+            }
+            return map;
+        } else if (raw == Object.class) {
+            int code = (int) reader.readVarint();
+            return readValue(reader, dynamicType(code));
+        }
+        GeneratedBinaryCodec<Object> generated = generated(raw);
+        return generated != null ? generated.readFields(reader, end) : readObject(reader, raw, end);
+    }
+
+    private Object readObject(Reader reader, Class<?> raw, int end) {
+        Schema schema = schema(raw);
+        if (!schema.tagged && (reader.position() >= end || reader.readVarint() != FIXED32 || reader.readFixed32() != schema.fingerprint)) {
+            throw SchemaMismatchException.INSTANCE;
+        }
+        Object value = schema.newInstance();
+        while (reader.position() < end) {
+            long tag = reader.readVarint();
+            int index = schema.index(tag >>> 3);
+            int wireType = (int) (tag & 7);
+            if (index < 0 || schema.wireTypes[index] != wireType) {
+                reader.skip(wireType);
+                continue;
+            }
+            Field field = schema.fields[index];
+            try {
+                field.set(value, readValue(reader, field.getGenericType()));
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return value;
+    }
+
+    private Object readElement(Reader reader, Type type) {
+        return reader.readVarint() == 0 ? null : readValue(reader, type);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static GeneratedBinaryCodec<Object> generated(Class<?> raw) {
+        return (GeneratedBinaryCodec<Object>) GeneratedBinaryCodec.find(raw);
+    }
+
+    private Schema schema(Class<?> clz) {
+        Schema schema = schemas.get(clz);
+        if (schema == null) {
+            schema = new Schema(clz);
+            schemas.putIfAbsent(clz, schema);
+        }
+        return schema;
+    }
+
+    /**
+     * @return 字段类型对应的wire type
+     */
+    static int wireType(Class<?> raw) {
+        if (raw == Float.class || raw == float.class) {
+            return FIXED32;
+        }
+        if (raw == Double.class || raw == double.class) {
+            return FIXED64;
+        }
+        if (raw.isPrimitive() || raw == Boolean.class || raw == Integer.class || raw == Long.class || raw == Short.class
+                || raw == Byte.class || raw == Character.class || raw == Date.class) {
+            return VARINT;
+        }
+        return LENGTH;
+    }
+
+    public static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    public static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static boolean isDefault(Object value) {
+        if (value instanceof Boolean) {
+            return !(Boolean) value;
+        }
+        if (value instanceof Character) {
+            return (Character) value == 0;
+        }
+        if (value instanceof Float || value instanceof Double) {
+            return Double.doubleToRawLongBits(((Number) value).doubleValue()) == 0;
+        }
+        return ((Number) value).longValue() == 0;
+    }
+
+    private static Class<?> raw(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        }
+        if (type instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        }
+        if (type instanceof GenericArrayType) {
+            return Array.newInstance(raw(((GenericArrayType) type).getGenericComponentType()), 0).getClass();
+        }
+        // 类型变量和通配符
+        return Object.class;
+    }
+
+    private static Type argument(Type type, int index) {
+        if (type instanceof ParameterizedType) {
+            Type[] arguments = ((ParameterizedType) type).getActualTypeArguments();
+            if (index < arguments.length) {
+                return arguments[index];
+            }
+        }
+        return Object.class;
+    }
+
+    private static int dynamicCode(Class<?> clz) {
+        if (clz == String.class) {
+            return STRING;
+        } else if (clz == Integer.class) {
+            return INTEGER;
+        } else if (clz == Long.class) {
+            return LONG;
+        } else if (clz == Boolean.class) {
+            return BOOLEAN;
+        } else if (clz == Double.class) {
+            return DOUBLE;
+        } else if (clz == Float.class) {
+            return FLOAT;
+        } else if (clz == Short.class) {
+            return SHORT;
+        } else if (clz == Byte.class) {
+            return BYTE;
+        } else if (clz == Character.class) {
+            return CHARACTER;
+        } else if (clz == BigDecimal.class) {
+            return BIG_DECIMAL;
+        } else if (clz == BigInteger.class) {
+            return BIG_INTEGER;
+        } else if (Date.class.isAssignableFrom(clz)) {
+            return DATE;
+        } else if (clz == byte[].class) {
+            return BYTES;
+        } else if (List.class.isAssignableFrom(clz)) {
+            return LIST;
+        } else if (Set.class.isAssignableFrom(clz)) {
+            return SET;
+        } else if (Map.class.isAssignableFrom(clz)) {
+            return MAP;
+        }
+        throw new IllegalArgumentException("binary codec can't write " + clz.getName() + " as Object, declare the field with its type");
+    }
+
+    private static Class<?> dynamicType(int code) {
+        switch (code) {
+            case STRING: return String.class;
+            case INTEGER: return Integer.class;
+            case LONG: return Long.class;
+            case BOOLEAN: return Boolean.class;
+            case DOUBLE: return Double.class;
+            case FLOAT: return Float.class;
+            case SHORT: return Short.class;
+            case BYTE: return Byte.class;
+            case CHARACTER: return Character.class;
+            case BIG_DECIMAL: return BigDecimal.class;
+            case BIG_INTEGER: return BigInteger.class;
+            case DATE: return Date.class;
+            case BYTES: return byte[].class;
+            case LIST: return List.class;
+            case SET: return Set.class;
+            case MAP: return Map.class;
+            default: throw new IllegalArgumentException("binary codec unknown type: " + code);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Collection<Object> newCollection(Class<?> raw, int size) {
+        if (raw.isInterface() || Modifier.isAbstract(raw.getModifiers())) {
+            if (SortedSet.class.isAssignableFrom(raw)) {
+                return new TreeSet<>();
+            }
+            return Set.class.isAssignableFrom(raw) ? new LinkedHashSet<>(size * 4 / 3 + 1) : new ArrayList<>(size);
+        }
+        return (Collection<Object>) newInstance(raw);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Object, Object> newMap(Class<?> raw, int size) {
+        if (raw.isInterface() || Modifier.isAbstract(raw.getModifiers())) {
+            return SortedMap.class.isAssignableFrom(raw) ? new TreeMap<>() : new LinkedHashMap<>(size * 4 / 3 + 1);
+        }
+        return (Map<Object, Object>) newInstance(raw);
+    }
+
+    private static Object newInstance(Class<?> raw) {
+        try {
+            Constructor<?> constructor = raw.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor.newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("binary codec needs a no-arg constructor: " + raw.getName(), e);
+        }
+    }
+
+    /**
+     * 类的字段,按字段名排序后从1开始编号;RedisBinary类使用RedisTag的编号
+     */
+    private static final class Schema {
+        private final Constructor<?> constructor;
+        private final boolean tagged;
+        /**
+         * 按字段名排序编号时,字段名和类型的CRC32;RedisBinary类的编号固定,不写指纹
+         */
+        private final int fingerprint;
+        private final Field[] fields;
+        private final int[] numbers;
+        private final int[] wireTypes;
+        /**
+         * 编号 - 字段下标
+         */
+        private final Map<Integer, Integer> indexes = new HashMap<>();
+
+        private Schema(Class<?> clz) {
+            try {
+                constructor = clz.getDeclaredConstructor();
+                constructor.setAccessible(true);
+            } catch (NoSuchMethodException e) {
+                throw new IllegalArgumentException("binary codec needs a no-arg constructor: " + clz.getName(), e);
+            }
+            tagged = clz.isAnnotationPresent(RedisBinary.class);
+            List<Field> list = new ArrayList<>();
+            for (Class<?> current = clz; current != null && current != Object.class; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    int modifiers = field.getModifiers();
+                    if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()
+                            || (tagged && !field.isAnnotationPresent(RedisTag.class))) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    list.add(field);
+                }
+            }
+            if (tagged) {
+                list.sort(Comparator.comparingInt(field -> field.getAnnotation(RedisTag.class).value()));
+            } else {
+                list.sort(Comparator.comparing(Field::getName).thenComparing(field -> field.getDeclaringClass().getName()));
+            }
+            fields = list.toArray(new Field[0]);
+            numbers = new int[fields.length];
+            wireTypes = new int[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                numbers[i] = tagged ? fields[i].getAnnotation(RedisTag.class).value() : i + 1;
+                wireTypes[i] = wireType(fields[i].getType());
+                if (numbers[i] < 1 || indexes.put(numbers[i], i) != null) {
+                    throw new IllegalArgumentException("binary codec invalid or duplicate tag " + numbers[i] + ": " + fields[i]);
+                }
+            }
+            fingerprint = tagged ? 0 : fingerprint(fields);
+        }
+
+        private static int fingerprint(Field[] fields) {
+            StringBuilder builder = new StringBuilder();
+            for (Field field : fields) {
+                builder.append(field.getName()).append(' ').append(field.getGenericType().getTypeName()).append(';');
+            }
+            CRC32 crc = new CRC32();
+            crc.update(builder.toString().getBytes(StandardCharsets.UTF_8));
+            return (int) crc.getValue();
+        }
+
+        /**
+         * @return 编号对应的字段下标,不认识的编号返回-1
+         */
+        private int index(long number) {
+            Integer index = number > Integer.MAX_VALUE ? null : indexes.get((int) number);
+            return index == null ? -1 : index;
+        }
+
+        private Object newInstance() {
+            try {
+                return constructor.newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * 值中对象的结构指纹与当前类不一致,整个值按不存在处理
+     */
+    private static final class SchemaMismatchException extends RuntimeException {
+        private static final SchemaMismatchException INSTANCE = new SchemaMismatchException();
+
+        private SchemaMismatchException() {
+            super("binary codec schema mismatch", null, false, false);
+        }
+    }
+
+    /**
+     * 可扩容的输出缓冲区,生成的编解码直接调用;通过RedisEncodeBuffers在线程内复用
+     */
+    public static final class Writer {
+        private byte[] buffer;
+        private int position;
+        /**
+         * 线程本地的Writer正在编码
+         */
+        boolean inUse;
+
+        public Writer(int capacity) {
+            buffer = RedisEncodeBuffers.allocate(capacity);
+        }
+
+        public int position() {
+            return position;
+        }
+
+        public void writeVarint(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        public void writeFixed32(int value) {
+            ensure(4);
+            for (int i = 0; i < 4; i++) {
+                buffer[position++] = (byte) (value >>> (i * 8));
+            }
+        }
+
+        public void writeFixed64(long value) {
+            ensure(8);
+            for (int i = 0; i < 8; i++) {
+                buffer[position++] = (byte) (value >>> (i * 8));
+            }
+        }
+
+        public void writeBytes(byte[] bytes) {
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        /**
+         * 写入长度 + 内容
+         */
+        public void writeLengthDelimited(byte[] bytes) {
+            writeVarint(bytes.length);
+            writeBytes(bytes);
+        }
+
+        /**
+         * 内容写完后在mark处插入内容长度,避免先写到临时缓冲区
+         */
+        public void prependLength(int mark) {
+            int length = position - mark;
+            int size = varintSize(length);
+            ensure(size);
+            System.arraycopy(buffer, mark, buffer, mark + size, length);
+            // 直接写入预留的位置,writeVarint扩容时只会复制mark之前的内容
+            int value = length;
+            int index = mark;
+            while ((value & ~0x7F) != 0) {
+                buffer[index++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[index] = (byte) value;
+            position += size;
+        }
+
+        public byte[] toByteArray() {
+            byte[] bytes = new byte[position];
+            System.arraycopy(buffer, 0, bytes, 0, position);
+            return bytes;
+        }
+
+        void reset() {
+            position = 0;
+        }
+
+        int capacity() {
+            return buffer.length;
+        }
+
+        private void ensure(int size) {
+            if (position + size > buffer.length) {
+                byte[] grown = RedisEncodeBuffers.allocate(Math.max(buffer.length * 2, position + size));
+                System.arraycopy(buffer, 0, grown, 0, position);
+                buffer = grown;
+            }
+        }
+
+        private static int varintSize(int value) {
+            int size = 1;
+            while ((value & ~0x7F) != 0) {
+                size++;
+                value >>>= 7;
+            }
+            return size;
+        }
+    }
+
+    public static final class Reader {
+        private final byte[] buffer;
+        private int position;
+
+        public Reader(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        public int position() {
+            return position;
+        }
+
+        public long readVarint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = buffer[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("binary codec malformed varint");
+        }
+
+        public int readFixed32() {
+            int value = 0;
+            for (int i = 0; i < 4; i++) {
+                value |= (buffer[position++] & 0xFF) << (i * 8);
+            }
+            return value;
+        }
+
+        public long readFixed64() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value |= (long) (buffer[position++] & 0xFF) << (i * 8);
+            }
+            return value;
+        }
+
+        public byte[] readBytes(int length) {
+            if (length < 0 || position + length > buffer.length) {
+                throw new IllegalArgumentException("binary codec malformed length: " + length);
+            }
+            byte[] bytes = new byte[length];
+            System.arraycopy(buffer, position, bytes, 0, length);
+            position += length;
+            return bytes;
+        }
+
+        /**
+         * 读取长度 + 内容
+         */
+        public byte[] readLengthDelimited() {
+            return readBytes((int) readVarint());
+        }
+
+        /**
+         * 跳过不认识的字段
+         */
+        public void skip(int wireType) {
+            switch (wireType) {
+                case VARINT:
+                    readVarint();
+                    break;
+                case FIXED64:
+                    position += 8;
+                    break;
+                case LENGTH:
+                    // 先读出长度再移动,position += readVarint()会用读取长度之前的位置
+                    int length = (int) readVarint();
+                    position += length;
+                    break;
+                case FIXED32:
+                    position += 4;
+                    break;
+                default:
+                    throw new IllegalArgumentException("binary codec unknown wire type: " + wireType);
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * @Copyright: 2005-2018 www.hyjf.com. All rights reserved.
+ */
+package com.personal.redis.codec;
+
+import java.lang.reflect.Type;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author sunpeikai
+ * @version GeneratedBinaryCodec, v0.1 2026/10/19 11:10
+ * @description RedisBinary类编译时生成的编解码的父类,格式与BinaryRedisCodec相同,两者写入的数据可以互相读取
+ * 基本类型、包装类、String、byte[]、Date、枚举字段由生成的代码直接读写,其他字段(集合、Map、嵌套对象等)交给BinaryRedisCodec
+ */
+public abstract class GeneratedBinaryCodec<T> implements RedisCodec {
+
+    /**
+     * 生成的编解码的类名后缀
+     */
+    public static final String SUFFIX = "_RedisCodec";
+
+    private static final BinaryRedisCodec BINARY = new BinaryRedisCodec();
+
+    private static final ConcurrentHashMap<Class<?>, Optional<GeneratedBinaryCodec<?>>> GENERATED = new ConcurrentHashMap<>();
+
+    private final Class<T> type;
+
+    protected GeneratedBinaryCodec(Class<T> type) {
+        this.type = type;
+    }
+
+    /**
+     * @param clz 对象类型
+     * @return 标注了RedisBinary且编译时生成了编解码时返回,否则返回null
+     */
+    public static GeneratedBinaryCodec<?> find(Class<?> clz) {
+        if (clz == null) {
+            return null;
+        }
+        // BinaryRedisCodec读写每个嵌套对象时都会查找,不存在的结果也缓存
+        Optional<GeneratedBinaryCodec<?>> generated = GENERATED.get(clz);
+        if (generated == null) {
+            generated = GENERATED.computeIfAbsent(clz, GeneratedBinaryCodec::load);
+        }
+        return generated.orElse(null);
+    }
+
+    /**
+     * @param clz 对象类型
+     * @return 生成的编解码的类名
+     */
+    public static String codecName(Class<?> clz) {
+        return clz.getName().replace('$', '_') + SUFFIX;
+    }
+
+    private static Optional<GeneratedBinaryCodec<?>> load(Class<?> clz) {
+        if (!clz.isAnnotationPresent(RedisBinary.class)) {
+            return Optional.empty();
+        }
+        try {
+            Class<?> codec = Class.forName(codecName(clz), true, clz.getClassLoader());
+            return Optional.of((GeneratedBinaryCodec<?>) codec.getDeclaredConstructor().newInstance());
+        } catch (ClassNotFoundException e) {
+            // 没有启用注解处理器时使用反射
+            return Optional.empty();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("redis codec can't create " + codecName(clz), e);
+        }
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        if (value == null) {
+            return new byte[0];
+        }
+        T object = type.cast(value);
+        return RedisEncodeBuffers.encode(writer -> {
+            writeFields(writer, object);
+            writer.prependLength(0);
+        });
+    }
+
+    @Override
+    public <R> R decode(byte[] bytes, Class<R> clz) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        BinaryRedisCodec.Reader reader = new BinaryRedisCodec.Reader(bytes);
+        int length = (int) reader.readVarint();
+        return clz.cast(readFields(reader, reader.position() + length));
+    }
+
+    /**
+     * 写入对象的字段,不包括对象的长度
+     * @param writer 输出缓冲区
+     * @param value 对象
+     */
+    protected abstract void writeFields(BinaryRedisCodec.Writer writer, T value);
+
+    /**
+     * 读取对象的字段直到end,跳过不认识的字段
+     * @param reader 输入
+     * @param end 对象结束的位置
+     * @return 对象
+     */
+    protected abstract T readFields(BinaryRedisCodec.Reader reader, int end);
+
+    /**
+     * 生成的代码不直接读写的字段,写入长度 + 内容
+     */
+    protected static void writeValue(BinaryRedisCodec.Writer writer, Object value, Type type) {
+        BINARY.writeValue(writer, value, type);
+    }
+
+    protected static Object readValue(BinaryRedisCodec.Reader reader, Type type) {
+        return BINARY.readValue(reader, type);
+    }
+
+    /**
+     * 生成的代码在类初始化时获取字段的泛型类型,交给BinaryRedisCodec读写集合元素的类型
+     */
+    protected static Type fieldType(Class<?> clz, String name) {
+        try {
+            return clz.getDeclaredField(name).getGenericType();
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException("redis codec field not found: " + clz.getName() + "." + name, e);
+        }
+    }
+}
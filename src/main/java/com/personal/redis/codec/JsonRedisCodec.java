@@ -0,0 +1,24 @@
+/*
+ * @Copyright: 2005-2018 www.hyjf.com. All rights reserved.
+ */
+package com.personal.redis.codec;
+
+import com.alibaba.fastjson.JSON;
+
+/**
+ * @author sunpeikai
+ * @version JsonRedisCodec, v0.1 2026/10/19 01:30
+ * @description fastjson编解码,直接输出和解析UTF-8字节,不经过String;格式与原来的setObj相同
+ */
+public class JsonRedisCodec implements RedisCodec {
+
+    @Override
+    public byte[] encode(Object value) {
+        return JSON.toJSONBytes(value);
+    }
+
+    @Override
+    public <T> T decode(byte[] bytes, Class<T> clz) {
+        return bytes == null ? null : JSON.parseObject(bytes, clz);
+    }
+}
@@ -0,0 +1,23 @@
+/*
+ * @Copyright: 2005-2018 www.hyjf.com. All rights reserved.
+ */
+package com.personal.redis.codec;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @author sunpeikai
+ * @version RedisBinary, v0.1 2026/10/19 11:10
+ * @description 标记使用二进制编解码的类,编译时生成 类名_RedisCodec,setObj/getObj不再通过反射读写字段
+ * 只有标注了RedisTag的字段(包括父类中的字段)会写入,字段编号由RedisTag指定,增删字段不影响其他字段的编号
+ * 没有匹配的key前缀配置时,setObj/getObj自动使用生成的编解码
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RedisBinary {
+}
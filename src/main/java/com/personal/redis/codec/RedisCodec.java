@@ -0,0 +1,25 @@
+/*
+ * @Copyright: 2005-2018 www.hyjf.com. All rights reserved.
+ */
+package com.personal.redis.codec;
+
+/**
+ * @author sunpeikai
+ * @version RedisCodec, v0.1 2026/10/19 01:30
+ * @description setObj/getObj使用的编解码,直接在byte[]上读写;注册为bean后可以通过redis.codec配置按key前缀使用
+ */
+public interface RedisCodec {
+
+    /**
+     * @param value 对象
+     * @return 写入redis的字节
+     */
+    byte[] encode(Object value);
+
+    /**
+     * @param bytes redis中的字节,key不存在时为null
+     * @param clz 对象类型
+     * @return 对象,bytes为null时返回null
+     */
+    <T> T decode(byte[] bytes, Class<T> clz);
+}
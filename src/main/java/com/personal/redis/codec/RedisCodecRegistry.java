@@ -0,0 +1,82 @@
+/*
+ * @Copyright: 2005-2018 www.hyjf.com. All rights reserved.
+ */
+package com.personal.redis.codec;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * @author sunpeikai
+ * @version RedisCodecRegistry, v0.1 2026/10/19 01:30
+ * @description 编解码注册表,按key前缀选择编解码,没有匹配的前缀时使用RedisBinary类生成的编解码或默认编解码
+ */
+public class RedisCodecRegistry {
+
+    private final Map<String, RedisCodec> codecs;
+
+    private final RedisCodec defaultCodec;
+
+    private final Map<String, RedisCodec> prefixCodecs = new LinkedHashMap<>();
+
+    /**
+     * @param codecs 名称 - 编解码
+     * @param defaultName 默认编解码的名称
+     * @param prefixes key前缀 - 编解码名称
+     */
+    public RedisCodecRegistry(Map<String, RedisCodec> codecs, String defaultName, Map<String, String> prefixes) {
+        this.codecs = new LinkedHashMap<>(codecs);
+        this.defaultCodec = get(defaultName);
+        if (prefixes != null) {
+            // 最长前缀优先
+            prefixes.entrySet().stream()
+                    .sorted((a, b) -> b.getKey().length() - a.getKey().length())
+                    .forEach(prefix -> prefixCodecs.put(prefix.getKey(), get(prefix.getValue())));
+        }
+    }
+
+    /**
+     * @param name 编解码名称
+     * @return 编解码
+     */
+    public RedisCodec get(String name) {
+        RedisCodec codec = codecs.get(name);
+        if (codec == null) {
+            throw new IllegalArgumentException("redis codec not found: " + name + ", available: " + codecs.keySet());
+        }
+        return codec;
+    }
+
+    /**
+     * @param key redis键
+     * @return key前缀对应的编解码,没有匹配时返回默认编解码
+     */
+    public RedisCodec codec(String key) {
+        RedisCodec codec = prefixCodec(key);
+        return codec != null ? codec : defaultCodec;
+    }
+
+    /**
+     * @param key redis键
+     * @param clz 对象类型
+     * @return key前缀对应的编解码,没有匹配时优先使用RedisBinary类编译时生成的编解码,否则返回默认编解码
+     */
+    public RedisCodec codec(String key, Class<?> clz) {
+        RedisCodec codec = prefixCodec(key);
+        if (codec == null) {
+            codec = GeneratedBinaryCodec.find(clz);
+        }
+        return codec != null ? codec : defaultCodec;
+    }
+
+    private RedisCodec prefixCodec(String key) {
+        if (key != null) {
+            for (Map.Entry<String, RedisCodec> prefix : prefixCodecs.entrySet()) {
+                if (key.startsWith(prefix.getKey())) {
+                    return prefix.getValue();
+                }
+            }
+        }
+        return null;
+    }
+}
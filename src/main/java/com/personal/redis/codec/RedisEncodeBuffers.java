@@ -0,0 +1,143 @@
+/*
+ * @Copyright: 2005-2018 www.hyjf.com. All rights reserved.
+ */
+package com.personal.redis.codec;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * @author sunpeikai
+ * @version RedisEncodeBuffers, v0.1 2026/10/19 13:00
+ * @description 编码和压缩使用的线程本地缓冲区,稳定后每次写入只分配一个交给jedis的结果数组
+ * 超过maxRetained的缓冲区用完后丢弃,避免每个线程长期占用大块内存;分配次数和字节数用于确认写入路径是否还在分配缓冲区
+ */
+public final class RedisEncodeBuffers {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    /**
+     * 线程保留的缓冲区最大字节数
+     */
+    private static final int MAX_RETAINED = 1 << 20;
+
+    private static final ThreadLocal<BinaryRedisCodec.Writer> WRITERS = new ThreadLocal<>();
+
+    private static final ThreadLocal<byte[]> SCRATCH = new ThreadLocal<>();
+
+    private static final LongAdder acquired = new LongAdder();
+
+    private static final LongAdder reused = new LongAdder();
+
+    private static final LongAdder allocated = new LongAdder();
+
+    private static final LongAdder allocatedBytes = new LongAdder();
+
+    private static final LongAdder resultBytes = new LongAdder();
+
+    private static final LongAdder discarded = new LongAdder();
+
+    private RedisEncodeBuffers() {
+    }
+
+    /**
+     * 在线程本地的Writer中编码,返回编码结果的副本
+     * @param body 编码内容
+     * @return 编码结果
+     */
+    public static byte[] encode(Consumer<BinaryRedisCodec.Writer> body) {
+        acquired.increment();
+        BinaryRedisCodec.Writer writer = WRITERS.get();
+        if (writer == null || writer.inUse) {
+            // 编码过程中再次编码时使用新的Writer
+            writer = new BinaryRedisCodec.Writer(INITIAL_CAPACITY);
+            if (WRITERS.get() == null) {
+                WRITERS.set(writer);
+            }
+        } else {
+            reused.increment();
+        }
+        writer.inUse = true;
+        try {
+            body.accept(writer);
+            return result(writer.toByteArray());
+        } finally {
+            writer.inUse = false;
+            writer.reset();
+            if (writer.capacity() > MAX_RETAINED && WRITERS.get() == writer) {
+                WRITERS.remove();
+                discarded.increment();
+            }
+        }
+    }
+
+    /**
+     * 线程本地的临时数组,内容不保留;调用方在下一次调用前用完
+     * @param capacity 最小长度
+     * @return 长度不小于capacity的数组
+     */
+    public static byte[] scratch(int capacity) {
+        acquired.increment();
+        byte[] bytes = SCRATCH.get();
+        if (bytes != null && bytes.length >= capacity) {
+            reused.increment();
+            return bytes;
+        }
+        bytes = allocate(Math.max(capacity, INITIAL_CAPACITY));
+        if (bytes.length <= MAX_RETAINED) {
+            SCRATCH.set(bytes);
+        }
+        return bytes;
+    }
+
+    /**
+     * 扩容临时数组,保留前used个字节
+     * @param bytes scratch返回的数组
+     * @param used 已使用的字节数
+     * @return 长度翻倍的数组
+     */
+    public static byte[] grow(byte[] bytes, int used) {
+        byte[] grown = allocate(bytes.length * 2);
+        System.arraycopy(bytes, 0, grown, 0, used);
+        if (grown.length <= MAX_RETAINED) {
+            SCRATCH.set(grown);
+        }
+        return grown;
+    }
+
+    /**
+     * 复制出交给jedis的结果
+     */
+    public static byte[] copy(byte[] bytes, int offset, int length) {
+        byte[] result = new byte[length];
+        System.arraycopy(bytes, offset, result, 0, length);
+        return result(result);
+    }
+
+    static byte[] allocate(int capacity) {
+        allocated.increment();
+        allocatedBytes.add(capacity);
+        return new byte[capacity];
+    }
+
+    private static byte[] result(byte[] bytes) {
+        resultBytes.add(bytes.length);
+        return bytes;
+    }
+
+    /**
+     * @return 使用缓冲区的次数、复用次数、缓冲区分配次数和字节数(不包括结果数组)
+     */
+    public static Map<String, Object> stats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("acquired", acquired.sum());
+        stats.put("reused", reused.sum());
+        stats.put("allocated", allocated.sum());
+        stats.put("allocatedBytes", allocatedBytes.sum());
+        stats.put("resultBytes", resultBytes.sum());
+        stats.put("discarded", discarded.sum());
+        return stats;
+    }
+}
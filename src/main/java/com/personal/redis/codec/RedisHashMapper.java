@@ -0,0 +1,236 @@
+/*
+ * @Copyright: 2005-2018 www.hyjf.com. All rights reserved.
+ */
+package com.personal.redis.codec;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.parser.ParserConfig;
+import com.alibaba.fastjson.util.TypeUtils;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author sunpeikai
+ * @version RedisHashMapper, v0.1 2026/10/19 14:00
+ * @description 对象与哈希表的转换,每个字段对应哈希表的一个域,可以只读写部分字段
+ * 字符串原样保存,数字、布尔、字符、枚举保存为字符串,Date保存为毫秒数,其他类型(集合、嵌套对象等)保存为json
+ * 每个类的字段只在第一次使用时通过反射查找,之后从缓存中读取;对象需要有无参构造方法
+ */
+public final class RedisHashMapper {
+
+    private static final ConcurrentHashMap<Class<?>, Mapping> MAPPINGS = new ConcurrentHashMap<>();
+
+    private RedisHashMapper() {
+    }
+
+    /**
+     * @param value 对象
+     * @return 域 - 值,不包括值为null的字段
+     */
+    public static Map<String, String> toHash(Object value) {
+        Mapping mapping = mapping(value.getClass());
+        Map<String, String> hash = new LinkedHashMap<>(mapping.fields.size() * 2);
+        for (Property property : mapping.fields.values()) {
+            String field = property.write(value);
+            if (field != null) {
+                hash.put(property.name, field);
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * @param value 对象
+     * @param fields 字段名
+     * @return 指定字段的域 - 值,不包括值为null的字段
+     */
+    public static Map<String, String> toHash(Object value, String... fields) {
+        Mapping mapping = mapping(value.getClass());
+        Map<String, String> hash = new LinkedHashMap<>(fields.length * 2);
+        for (String name : fields) {
+            String field = mapping.property(name).write(value);
+            if (field != null) {
+                hash.put(name, field);
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * @param hash 哈希表的域和值
+     * @param clz 对象类型
+     * @return 对象,哈希表为空时返回null
+     */
+    public static <T> T fromHash(Map<String, String> hash, Class<T> clz) {
+        if (hash == null || hash.isEmpty()) {
+            return null;
+        }
+        Mapping mapping = mapping(clz);
+        Object value = mapping.newInstance();
+        for (Map.Entry<String, String> entry : hash.entrySet()) {
+            Property property = mapping.fields.get(entry.getKey());
+            // 哈希表中不属于类的域忽略
+            if (property != null && entry.getValue() != null) {
+                property.read(value, entry.getValue());
+            }
+        }
+        return clz.cast(value);
+    }
+
+    /**
+     * @param clz 对象类型
+     * @param fields 字段名
+     * @param values 与字段顺序一致的值
+     * @return 只设置了指定字段的对象,所有值都为null时返回null
+     */
+    public static <T> T fromValues(Class<T> clz, String[] fields, List<String> values) {
+        if (values == null) {
+            return null;
+        }
+        Mapping mapping = mapping(clz);
+        Object value = null;
+        for (int i = 0; i < fields.length && i < values.size(); i++) {
+            if (values.get(i) != null) {
+                if (value == null) {
+                    value = mapping.newInstance();
+                }
+                mapping.property(fields[i]).read(value, values.get(i));
+            }
+        }
+        return clz.cast(value);
+    }
+
+    /**
+     * 检查字段名,在发送命令前发现拼写错误
+     * @param clz 对象类型
+     * @param fields 字段名
+     */
+    public static void check(Class<?> clz, String... fields) {
+        Mapping mapping = mapping(clz);
+        for (String name : fields) {
+            mapping.property(name);
+        }
+    }
+
+    private static Mapping mapping(Class<?> clz) {
+        Mapping mapping = MAPPINGS.get(clz);
+        if (mapping == null) {
+            mapping = MAPPINGS.computeIfAbsent(clz, Mapping::new);
+        }
+        return mapping;
+    }
+
+    private static boolean isScalar(Class<?> raw) {
+        return raw.isPrimitive() || raw.isEnum() || Number.class.isAssignableFrom(raw) || raw == Boolean.class
+                || raw == Character.class || raw == BigDecimal.class || raw == BigInteger.class;
+    }
+
+    /**
+     * 类的字段,子类的字段覆盖父类的同名字段
+     */
+    private static final class Mapping {
+        private final Constructor<?> constructor;
+        private final Map<String, Property> fields = new LinkedHashMap<>();
+
+        private Mapping(Class<?> clz) {
+            try {
+                constructor = clz.getDeclaredConstructor();
+                constructor.setAccessible(true);
+            } catch (NoSuchMethodException e) {
+                throw new IllegalArgumentException("redis hash mapping needs a no-arg constructor: " + clz.getName(), e);
+            }
+            for (Class<?> current = clz; current != null && current != Object.class; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    int modifiers = field.getModifiers();
+                    if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()
+                            || fields.containsKey(field.getName())) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    fields.put(field.getName(), new Property(field));
+                }
+            }
+        }
+
+        private Property property(String name) {
+            Property property = fields.get(name);
+            if (property == null) {
+                throw new IllegalArgumentException("redis hash mapping field not found: " + name + ", available: " + fields.keySet());
+            }
+            return property;
+        }
+
+        private Object newInstance() {
+            try {
+                return constructor.newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static final class Property {
+        private final String name;
+        private final Field field;
+        private final Class<?> raw;
+        private final Type type;
+
+        private Property(Field field) {
+            this.name = field.getName();
+            this.field = field;
+            this.raw = field.getType();
+            this.type = field.getGenericType();
+        }
+
+        private String write(Object target) {
+            Object value;
+            try {
+                value = field.get(target);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+            if (value == null) {
+                return null;
+            }
+            if (value instanceof String) {
+                return (String) value;
+            }
+            if (value instanceof Enum) {
+                return ((Enum<?>) value).name();
+            }
+            if (value instanceof Date) {
+                return String.valueOf(((Date) value).getTime());
+            }
+            if (isScalar(value.getClass())) {
+                return value.toString();
+            }
+            return JSON.toJSONString(value);
+        }
+
+        private void read(Object target, String value) {
+            Object converted;
+            if (raw == String.class) {
+                converted = value;
+            } else if (isScalar(raw) || Date.class.isAssignableFrom(raw)) {
+                converted = TypeUtils.cast(value, raw, ParserConfig.getGlobalInstance());
+            } else {
+                converted = JSON.parseObject(value, type);
+            }
+            try {
+                field.set(target, converted);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
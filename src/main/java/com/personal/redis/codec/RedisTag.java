@@ -0,0 +1,26 @@
+/*
+ * @Copyright: 2005-2018 www.hyjf.com. All rights reserved.
+ */
+package com.personal.redis.codec;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @author sunpeikai
+ * @version RedisTag, v0.1 2026/10/19 11:10
+ * @description RedisBinary类中字段的编号,从1开始且不能重复;删除字段后不要复用它的编号,旧数据中不认识的编号在解码时跳过
+ */
+@Documented
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RedisTag {
+
+    /**
+     * @return 字段编号
+     */
+    int value();
+}
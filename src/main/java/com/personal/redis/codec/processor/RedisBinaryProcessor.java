@@ -0,0 +1,458 @@
+/*
+ * @Copyright: 2005-2018 www.hyjf.com. All rights reserved.
+ */
+package com.personal.redis.codec.processor;
+
+import com.personal.redis.codec.GeneratedBinaryCodec;
+import com.personal.redis.codec.RedisBinary;
+import com.personal.redis.codec.RedisTag;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * @author sunpeikai
+ * @version RedisBinaryProcessor, v0.1 2026/10/19 11:10
+ * @description 为RedisBinary类生成 类名_RedisCodec,直接通过字段或getter/setter读写标注了RedisTag的字段,不使用反射
+ * 非private且在同一个包中的字段直接访问,其他字段需要非private的getter和setter
+ */
+public class RedisBinaryProcessor extends AbstractProcessor {
+
+    private static final int VARINT = 0;
+    private static final int FIXED64 = 1;
+    private static final int LENGTH = 2;
+    private static final int FIXED32 = 5;
+
+    private static final String UTF_8 = "java.nio.charset.StandardCharsets.UTF_8";
+
+    /**
+     * 字段的读写方式
+     */
+    private enum Kind {
+        BOOLEAN, INTEGER, CHAR, FLOAT, DOUBLE, STRING, BYTES, DATE, ENUM, OTHER
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        // 同时声明RedisTag,编译时不再提示没有处理器处理RedisTag
+        return new HashSet<>(Arrays.asList(RedisBinary.class.getName(), RedisTag.class.getName()));
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(RedisBinary.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                error(element, "@RedisBinary can only be used on classes");
+                continue;
+            }
+            TypeElement type = (TypeElement) element;
+            List<Property> properties = properties(type);
+            if (properties != null && check(type)) {
+                generate(type, properties);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 类需要可以在同一个包中通过无参构造方法创建
+     */
+    private boolean check(TypeElement type) {
+        Set<Modifier> modifiers = type.getModifiers();
+        if (modifiers.contains(Modifier.ABSTRACT) || modifiers.contains(Modifier.PRIVATE)) {
+            error(type, "@RedisBinary class can't be abstract or private");
+            return false;
+        }
+        if (type.getNestingKind() != NestingKind.TOP_LEVEL && !modifiers.contains(Modifier.STATIC)) {
+            error(type, "@RedisBinary nested class must be static");
+            return false;
+        }
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                return true;
+            }
+        }
+        error(type, "@RedisBinary class needs a non-private no-arg constructor");
+        return false;
+    }
+
+    /**
+     * @return 按编号排序的字段,有错误时返回null
+     */
+    private List<Property> properties(TypeElement type) {
+        TreeMap<Integer, Property> properties = new TreeMap<>();
+        boolean valid = true;
+        for (TypeElement current = type; current != null; current = superclass(current)) {
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                RedisTag tag = field.getAnnotation(RedisTag.class);
+                if (tag == null) {
+                    continue;
+                }
+                Property property = property(type, current, field, tag.value());
+                if (property == null) {
+                    valid = false;
+                } else if (properties.put(tag.value(), property) != null) {
+                    error(field, "@RedisTag " + tag.value() + " is used more than once");
+                    valid = false;
+                }
+            }
+        }
+        return valid ? new ArrayList<>(properties.values()) : null;
+    }
+
+    private Property property(TypeElement type, TypeElement owner, VariableElement field, int number) {
+        Set<Modifier> modifiers = field.getModifiers();
+        if (number < 1 || number > (1 << 28)) {
+            error(field, "@RedisTag must be between 1 and 2^28");
+            return null;
+        }
+        if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)) {
+            error(field, "@RedisTag field can't be static or transient");
+            return null;
+        }
+        TypeMirror fieldType = field.asType();
+        if (fieldType.getKind() == TypeKind.TYPEVAR) {
+            error(field, "@RedisTag field must be declared with a concrete type");
+            return null;
+        }
+        Property property = new Property();
+        property.number = number;
+        property.name = field.getSimpleName().toString();
+        property.ownerName = qualifiedName(owner);
+        property.type = processingEnv.getTypeUtils().erasure(fieldType).toString();
+        property.declaredType = fieldType.toString();
+        property.kind = kind(fieldType);
+        property.primitive = fieldType.getKind().isPrimitive();
+        property.wireType = wireType(property.kind);
+        String capitalized = Character.toUpperCase(property.name.charAt(0)) + property.name.substring(1);
+        if (accessible(type, modifiers, owner) && !modifiers.contains(Modifier.FINAL)) {
+            property.getter = property.name;
+            property.setter = property.name + " = ";
+            return property;
+        }
+        String getter = null;
+        String setter = null;
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+            String name = method.getSimpleName().toString();
+            if (method.getModifiers().contains(Modifier.STATIC) || !accessible(type, method.getModifiers(), (TypeElement) method.getEnclosingElement())) {
+                continue;
+            }
+            if (method.getParameters().isEmpty() && processingEnv.getTypeUtils().isSameType(method.getReturnType(), fieldType)
+                    && (name.equals("get" + capitalized) || (fieldType.getKind() == TypeKind.BOOLEAN && name.equals("is" + capitalized)))) {
+                getter = name + "()";
+            } else if (method.getParameters().size() == 1 && name.equals("set" + capitalized)
+                    && processingEnv.getTypeUtils().isSameType(method.getParameters().get(0).asType(), fieldType)) {
+                setter = name + "(";
+            }
+        }
+        if (getter == null || setter == null) {
+            error(field, "@RedisTag field needs non-private access from the same package or a non-private getter and setter");
+            return null;
+        }
+        property.getter = getter;
+        property.setter = setter;
+        return property;
+    }
+
+    /**
+     * 生成的类与RedisBinary类在同一个包中
+     */
+    private boolean accessible(TypeElement type, Set<Modifier> modifiers, TypeElement owner) {
+        if (modifiers.contains(Modifier.PUBLIC)) {
+            return true;
+        }
+        return !modifiers.contains(Modifier.PRIVATE)
+                && processingEnv.getElementUtils().getPackageOf(owner).equals(processingEnv.getElementUtils().getPackageOf(type));
+    }
+
+    private TypeElement superclass(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        TypeElement element = (TypeElement) ((DeclaredType) superclass).asElement();
+        return element.getQualifiedName().contentEquals(Object.class.getName()) ? null : element;
+    }
+
+    /**
+     * 与BinaryRedisCodec.writeValue的分支一致
+     */
+    private Kind kind(TypeMirror type) {
+        switch (type.getKind()) {
+            case BOOLEAN:
+                return Kind.BOOLEAN;
+            case INT:
+            case LONG:
+            case SHORT:
+            case BYTE:
+                return Kind.INTEGER;
+            case CHAR:
+                return Kind.CHAR;
+            case FLOAT:
+                return Kind.FLOAT;
+            case DOUBLE:
+                return Kind.DOUBLE;
+            case ARRAY:
+                return ((ArrayType) type).getComponentType().getKind() == TypeKind.BYTE ? Kind.BYTES : Kind.OTHER;
+            case DECLARED:
+                TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+                if (element.getKind() == ElementKind.ENUM) {
+                    return Kind.ENUM;
+                }
+                switch (element.getQualifiedName().toString()) {
+                    case "java.lang.Boolean":
+                        return Kind.BOOLEAN;
+                    case "java.lang.Integer":
+                    case "java.lang.Long":
+                    case "java.lang.Short":
+                    case "java.lang.Byte":
+                        return Kind.INTEGER;
+                    case "java.lang.Character":
+                        return Kind.CHAR;
+                    case "java.lang.Float":
+                        return Kind.FLOAT;
+                    case "java.lang.Double":
+                        return Kind.DOUBLE;
+                    case "java.lang.String":
+                        return Kind.STRING;
+                    case "java.util.Date":
+                        return Kind.DATE;
+                    default:
+                        return Kind.OTHER;
+                }
+            default:
+                return Kind.OTHER;
+        }
+    }
+
+    /**
+     * 与BinaryRedisCodec.wireType一致
+     */
+    private int wireType(Kind kind) {
+        switch (kind) {
+            case FLOAT:
+                return FIXED32;
+            case DOUBLE:
+                return FIXED64;
+            case BOOLEAN:
+            case INTEGER:
+            case CHAR:
+            case DATE:
+                return VARINT;
+            default:
+                return LENGTH;
+        }
+    }
+
+    private void generate(TypeElement type, List<Property> properties) {
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+        String packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)).replace('$', '_')
+                + GeneratedBinaryCodec.SUFFIX;
+        String typeName = qualifiedName(type);
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("import com.personal.redis.codec.BinaryRedisCodec;\n");
+        source.append("import com.personal.redis.codec.GeneratedBinaryCodec;\n\n");
+        source.append("/**\n * RedisBinaryProcessor根据{@link ").append(typeName).append("}生成,不要修改\n */\n");
+        source.append("public final class ").append(simpleName).append(" extends GeneratedBinaryCodec<").append(typeName).append("> {\n\n");
+        for (Property property : properties) {
+            if (property.kind == Kind.OTHER) {
+                source.append("    private static final java.lang.reflect.Type TYPE_").append(property.number).append(" = fieldType(")
+                        .append(property.ownerName).append(".class, \"").append(property.name).append("\");\n\n");
+            }
+        }
+        source.append("    public ").append(simpleName).append("() {\n");
+        source.append("        super(").append(typeName).append(".class);\n");
+        source.append("    }\n\n");
+        // 按编号顺序写入,与BinaryRedisCodec的输出相同
+        source.append("    @Override\n");
+        source.append("    protected void writeFields(BinaryRedisCodec.Writer writer, ").append(typeName).append(" value) {\n");
+        for (Property property : properties) {
+            String local = "f" + property.number;
+            source.append("        ").append(property.declaredType).append(' ').append(local).append(" = value.").append(property.getter).append(";\n");
+            source.append("        if (").append(property.primitive ? notDefault(property.kind, local) : local + " != null").append(") {\n");
+            source.append("            writer.writeVarint(").append(((long) property.number << 3) | property.wireType).append("L);\n");
+            source.append("            ").append(write(property, local)).append(";\n");
+            source.append("        }\n");
+        }
+        source.append("    }\n\n");
+        source.append("    @Override\n");
+        source.append("    @SuppressWarnings(\"unchecked\")\n");
+        source.append("    protected ").append(typeName).append(" readFields(BinaryRedisCodec.Reader reader, int end) {\n");
+        source.append("        ").append(typeName).append(" value = new ").append(typeName).append("();\n");
+        source.append("        while (reader.position() < end) {\n");
+        source.append("            long tag = reader.readVarint();\n");
+        source.append("            switch (tag > Integer.MAX_VALUE ? 0 : (int) tag) {\n");
+        for (Property property : properties) {
+            String read = read(property);
+            source.append("                case ").append((property.number << 3) | property.wireType).append(":\n");
+            source.append("                    value.").append(property.setter).append(read)
+                    .append(property.setter.endsWith("(") ? ")" : "").append(";\n");
+            source.append("                    break;\n");
+        }
+        source.append("                default:\n");
+        source.append("                    // 不认识的字段或类型变化的字段\n");
+        source.append("                    reader.skip((int) (tag & 7));\n");
+        source.append("            }\n");
+        source.append("        }\n");
+        source.append("        return value;\n");
+        source.append("    }\n");
+        source.append("}\n");
+        String fileName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+        try (Writer writer = processingEnv.getFiler().createSourceFile(fileName, type).openWriter()) {
+            writer.write(source.toString());
+        } catch (IOException e) {
+            error(type, "@RedisBinary can't write " + fileName + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * 基本类型的默认值不写入
+     */
+    private String notDefault(Kind kind, String local) {
+        switch (kind) {
+            case BOOLEAN:
+                return local;
+            case FLOAT:
+                return "Float.floatToRawIntBits(" + local + ") != 0";
+            case DOUBLE:
+                return "Double.doubleToRawLongBits(" + local + ") != 0";
+            default:
+                return local + " != 0";
+        }
+    }
+
+    private String write(Property property, String local) {
+        switch (property.kind) {
+            case BOOLEAN:
+                return "writer.writeVarint(" + local + " ? 1 : 0)";
+            case INTEGER:
+                return "writer.writeVarint(BinaryRedisCodec.zigzag(" + local + "))";
+            case CHAR:
+                return "writer.writeVarint(" + local + ")";
+            case FLOAT:
+                return "writer.writeFixed32(Float.floatToIntBits(" + local + "))";
+            case DOUBLE:
+                return "writer.writeFixed64(Double.doubleToLongBits(" + local + "))";
+            case STRING:
+                return "writer.writeLengthDelimited(" + local + ".getBytes(" + UTF_8 + "))";
+            case BYTES:
+                return "writer.writeLengthDelimited(" + local + ")";
+            case DATE:
+                return "writer.writeVarint(BinaryRedisCodec.zigzag(" + local + ".getTime()))";
+            case ENUM:
+                return "writer.writeLengthDelimited(" + local + ".name().getBytes(" + UTF_8 + "))";
+            default:
+                return "writeValue(writer, " + local + ", TYPE_" + property.number + ")";
+        }
+    }
+
+    private String read(Property property) {
+        switch (property.kind) {
+            case BOOLEAN:
+                return "reader.readVarint() != 0";
+            case INTEGER:
+                String cast = integerType(property.type);
+                return (cast.equals("long") ? "" : "(" + cast + ") ") + "BinaryRedisCodec.unzigzag(reader.readVarint())";
+            case CHAR:
+                return "(char) reader.readVarint()";
+            case FLOAT:
+                return "Float.intBitsToFloat(reader.readFixed32())";
+            case DOUBLE:
+                return "Double.longBitsToDouble(reader.readFixed64())";
+            case STRING:
+                return "new String(reader.readLengthDelimited(), " + UTF_8 + ")";
+            case BYTES:
+                return "reader.readLengthDelimited()";
+            case DATE:
+                return "new java.util.Date(BinaryRedisCodec.unzigzag(reader.readVarint()))";
+            case ENUM:
+                return property.type + ".valueOf(new String(reader.readLengthDelimited(), " + UTF_8 + "))";
+            default:
+                return "(" + property.declaredType + ") readValue(reader, TYPE_" + property.number + ")";
+        }
+    }
+
+    private static String integerType(String type) {
+        switch (type) {
+            case "java.lang.Integer":
+                return "int";
+            case "java.lang.Long":
+                return "long";
+            case "java.lang.Short":
+                return "short";
+            case "java.lang.Byte":
+                return "byte";
+            default:
+                return type;
+        }
+    }
+
+    private String qualifiedName(TypeElement type) {
+        return type.getQualifiedName().toString();
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    /**
+     * 标注了RedisTag的字段
+     */
+    private static final class Property {
+        private int number;
+        private String name;
+        private String ownerName;
+        /**
+         * 擦除泛型后的类型
+         */
+        private String type;
+        /**
+         * 声明的类型,包括泛型参数,用于生成的局部变量和类型转换
+         */
+        private String declaredType;
+        private Kind kind;
+        private boolean primitive;
+        private int wireType;
+        /**
+         * 字段名或getter调用
+         */
+        private String getter;
+        /**
+         * "字段名 = "或"setter("
+         */
+        private String setter;
+    }
+}
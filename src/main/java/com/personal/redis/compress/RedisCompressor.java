@@ -0,0 +1,235 @@
+/*
+ * @Copyright: 2005-2018 www.hyjf.com. All rights reserved.
+ */
+package com.personal.redis.compress;
+
+import com.personal.redis.codec.RedisEncodeBuffers;
+import redis.clients.jedis.util.SafeEncoder;
+
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * @author sunpeikai
+ * @version RedisCompressor, v0.1 2026/10/19 10:20
+ * @description 值压缩,超过threshold字节的值用Deflate压缩后写入,读取时根据头部透明解压
+ * 压缩后的值以0xFF和算法字节开头,0xFF不会出现在UTF-8字符串的开头;没有头部的值原样返回,开启前写入的值仍然可以读取
+ * 输出缓冲区在线程内复用;Deflater、Inflater持有zlib的本地内存,放在有上限的共享池中复用,超出上限和关闭后调用end释放
+ */
+public class RedisCompressor implements Closeable {
+
+    /**
+     * 头部标记,UTF-8编码中不会出现的字节
+     */
+    private static final byte MAGIC = (byte) 0xFF;
+
+    private static final byte DEFLATE = 0x01;
+
+    private static final int HEADER_LENGTH = 2;
+
+    private final int threshold;
+
+    private final int level;
+
+    private final LongAdder compressed = new LongAdder();
+
+    private final LongAdder skipped = new LongAdder();
+
+    private final LongAdder decompressed = new LongAdder();
+
+    private final LongAdder rawBytes = new LongAdder();
+
+    private final LongAdder compressedBytes = new LongAdder();
+
+    /**
+     * 空闲的Deflater
+     */
+    private final BlockingQueue<Deflater> deflaters;
+
+    /**
+     * 空闲的Inflater
+     */
+    private final BlockingQueue<Inflater> inflaters;
+
+    private volatile boolean closed;
+
+    /**
+     * @param threshold 超过多少字节的值才压缩
+     * @param level 压缩级别,1最快,9压缩率最高
+     */
+    public RedisCompressor(int threshold, int level) {
+        this.threshold = threshold;
+        this.level = level;
+        int poolSize = Runtime.getRuntime().availableProcessors() * 2;
+        this.deflaters = new ArrayBlockingQueue<>(poolSize);
+        this.inflaters = new ArrayBlockingQueue<>(poolSize);
+    }
+
+    /**
+     * 压缩值,未超过阈值或压缩后没有变小时返回原值
+     * @param value 原值
+     * @return 写入redis的值
+     */
+    public byte[] compress(byte[] value) {
+        if (value == null || value.length <= threshold) {
+            return value;
+        }
+        Deflater deflater = deflaters.poll();
+        if (deflater == null) {
+            deflater = new Deflater(level);
+        }
+        byte[] buffer = RedisEncodeBuffers.scratch(value.length);
+        buffer[0] = MAGIC;
+        buffer[1] = DEFLATE;
+        int length = HEADER_LENGTH;
+        boolean finished;
+        try {
+            deflater.setInput(value);
+            deflater.finish();
+            // 最多输出到原值的长度,超过时压缩没有收益,例如已经压缩过的图片
+            while (!deflater.finished() && length < value.length) {
+                length += deflater.deflate(buffer, length, value.length - length);
+            }
+            finished = deflater.finished();
+        } finally {
+            release(deflater);
+        }
+        if (!finished || length >= value.length) {
+            skipped.increment();
+            return value;
+        }
+        compressed.increment();
+        rawBytes.add(value.length);
+        compressedBytes.add(length);
+        return RedisEncodeBuffers.copy(buffer, 0, length);
+    }
+
+    /**
+     * @param value 原值
+     * @return 写入redis的值
+     */
+    public byte[] compress(String value) {
+        return value == null ? null : compress(SafeEncoder.encode(value));
+    }
+
+    /**
+     * 解压值,没有压缩头部或解压失败时返回原值
+     * @param value redis中的值
+     * @return 原值
+     */
+    public byte[] decompress(byte[] value) {
+        if (!isCompressed(value)) {
+            return value;
+        }
+        Inflater inflater = inflaters.poll();
+        if (inflater == null) {
+            inflater = new Inflater();
+        }
+        byte[] buffer = RedisEncodeBuffers.scratch((int) Math.min(value.length * 4L, 1 << 20));
+        int length = 0;
+        try {
+            inflater.setInput(value, HEADER_LENGTH, value.length - HEADER_LENGTH);
+            while (!inflater.finished()) {
+                if (length == buffer.length) {
+                    buffer = RedisEncodeBuffers.grow(buffer, length);
+                }
+                int inflated = inflater.inflate(buffer, length, buffer.length - length);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    // 数据不完整,不是本类写入的值
+                    return value;
+                }
+                length += inflated;
+            }
+        } catch (DataFormatException e) {
+            // 恰好以头部开头的原始值,校验和不匹配
+            return value;
+        } finally {
+            release(inflater);
+        }
+        decompressed.increment();
+        return RedisEncodeBuffers.copy(buffer, 0, length);
+    }
+
+    /**
+     * @param value redis中的值
+     * @return 原值的字符串
+     */
+    public String decompressString(byte[] value) {
+        return value == null ? null : SafeEncoder.encode(decompress(value));
+    }
+
+    private void release(Deflater deflater) {
+        deflater.reset();
+        if (closed || !deflaters.offer(deflater)) {
+            deflater.end();
+        } else if (closed && deflaters.remove(deflater)) {
+            // 放回时恰好关闭,close可能已经清空了池
+            deflater.end();
+        }
+    }
+
+    private void release(Inflater inflater) {
+        inflater.reset();
+        if (closed || !inflaters.offer(inflater)) {
+            inflater.end();
+        } else if (closed && inflaters.remove(inflater)) {
+            inflater.end();
+        }
+    }
+
+    /**
+     * 释放池中空闲的Deflater、Inflater,正在使用的在用完后释放
+     */
+    @Override
+    public void close() {
+        closed = true;
+        Deflater deflater;
+        while ((deflater = deflaters.poll()) != null) {
+            deflater.end();
+        }
+        Inflater inflater;
+        while ((inflater = inflaters.poll()) != null) {
+            inflater.end();
+        }
+    }
+
+    /**
+     * @param value redis中的值
+     * @return 是否是压缩后的值
+     */
+    public static boolean isCompressed(byte[] value) {
+        return value != null && value.length > HEADER_LENGTH && value[0] == MAGIC && value[1] == DEFLATE;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * @return 压缩次数、跳过次数、解压次数和压缩率
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new HashMap<>();
+        long raw = rawBytes.sum();
+        stats.put("threshold", threshold);
+        stats.put("level", level);
+        stats.put("compressed", compressed.sum());
+        stats.put("skipped", skipped.sum());
+        stats.put("decompressed", decompressed.sum());
+        stats.put("rawBytes", raw);
+        stats.put("compressedBytes", compressedBytes.sum());
+        stats.put("ratio", raw == 0 ? 0 : compressedBytes.sum() * 100 / raw);
+        return stats;
+    }
+}
@@ -3,10 +3,33 @@
  */
 package com.personal.redis.configure;
 
+import com.personal.redis.async.RedisAsyncExecutor;
+import com.personal.redis.batch.RedisGetBatcher;
+import com.personal.redis.breaker.RedisCircuitBreaker;
+import com.personal.redis.breaker.RedisStaleCache;
+import com.personal.redis.cluster.RedisClusterClient;
+import com.personal.redis.codec.BinaryRedisCodec;
+import com.personal.redis.codec.JsonRedisCodec;
+import com.personal.redis.codec.RedisCodec;
+import com.personal.redis.codec.RedisCodecRegistry;
+import com.personal.redis.compress.RedisCompressor;
+import com.personal.redis.flight.RedisSingleFlight;
+import com.personal.redis.mapped.RedisMappedCache;
+import com.personal.redis.near.OffHeapNearCacheStore;
+import com.personal.redis.near.RedisNearCache;
+import com.personal.redis.near.RedisNearCacheStore;
+import com.personal.redis.near.TinyLfuNearCacheStore;
+import com.personal.redis.pipeline.RedisAutoPipeline;
 import com.personal.redis.properties.JedisProperties;
+import com.personal.redis.replica.RedisReplicaPool;
+import com.personal.redis.route.RedisInstanceRouter;
+import com.personal.redis.shard.RedisShardedPool;
+import com.personal.redis.utils.RedisUtils;
 import com.personal.redis.utils.SpringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -16,8 +39,19 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
+import redis.clients.jedis.HostAndPort;
 import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolAbstract;
 import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.JedisSentinelPool;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * @author sunpeikai
@@ -39,22 +73,12 @@ public class RedisAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    @ConditionalOnProperty(name = {"redis.enable"}, havingValue = "true")
+    @ConditionalOnProperty(name = {"redis.mode"}, havingValue = "standalone", matchIfMissing = true)
     public JedisPool jedisPool(){
         Assert.isTrue(!StringUtils.isEmpty(jedisProperties.getIp()), "ip can't be empty.");
         Assert.isTrue(!StringUtils.isEmpty(jedisProperties.getPort()), "port can't be empty.");
-        // 获取连接池配置
-        JedisProperties.JedisPoolProperties poolProperties = jedisProperties.getPool();
         // 连接池配置定义
-        JedisPoolConfig poolConfig = null;
-        if(poolProperties != null){
-            poolConfig = new JedisPoolConfig();
-            poolConfig.setMaxTotal(poolProperties.getMaxActive());
-            poolConfig.setMaxIdle(poolProperties.getMaxIdle());
-            poolConfig.setMaxWaitMillis(poolProperties.getMaxWait());
-            poolConfig.setTestOnBorrow(poolProperties.isTestOnBorrow());
-            poolConfig.setTestOnReturn(poolProperties.isTestOnReturn());
-        }
+        JedisPoolConfig poolConfig = poolConfig();
 
         if(StringUtils.isEmpty(jedisProperties.getPassword()) && StringUtils.isEmpty(jedisProperties.getClientName())){
             // ip, port有参数
@@ -81,4 +105,269 @@ public class RedisAutoConfiguration {
             return null;
         }
     }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = {"redis.mode"}, havingValue = "cluster")
+    public RedisClusterClient redisClusterClient(){
+        JedisProperties.JedisClusterProperties clusterProperties = jedisProperties.getCluster();
+        Assert.notEmpty(clusterProperties.getNodes(), "cluster nodes can't be empty.");
+        Assert.isTrue(clusterProperties.getMaxRedirects() >= 0, "cluster maxRedirects can't be negative.");
+        Set<HostAndPort> nodes = new HashSet<>();
+        for (String node : clusterProperties.getNodes()) {
+            nodes.add(HostAndPort.parseString(node.trim()));
+        }
+        JedisPoolConfig poolConfig = poolConfig();
+        log.info("redis cluster init ok. nodes[{}], clientName[{}]", nodes, jedisProperties.getClientName());
+        return new RedisClusterClient(nodes, poolConfig == null ? new JedisPoolConfig() : poolConfig, jedisProperties.getTimeout(),
+                StringUtils.isEmpty(jedisProperties.getPassword()) ? null : jedisProperties.getPassword(),
+                jedisProperties.getClientName(), clusterProperties.getMaxRedirects());
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = {"redis.mode"}, havingValue = "sentinel")
+    public JedisSentinelPool jedisSentinelPool(){
+        JedisProperties.JedisSentinelProperties sentinelProperties = jedisProperties.getSentinel();
+        Assert.isTrue(!StringUtils.isEmpty(sentinelProperties.getMaster()), "sentinel master can't be empty.");
+        Assert.notEmpty(sentinelProperties.getNodes(), "sentinel nodes can't be empty.");
+        Set<String> sentinels = new HashSet<>();
+        for (String node : sentinelProperties.getNodes()) {
+            sentinels.add(node.trim());
+        }
+        JedisPoolConfig poolConfig = poolConfig();
+        // 哨兵发布+switch-master后立即切换到新的主节点,并清空连接池中的空闲连接
+        JedisSentinelPool sentinelPool = new JedisSentinelPool(sentinelProperties.getMaster(), sentinels,
+                poolConfig == null ? new JedisPoolConfig() : poolConfig, jedisProperties.getTimeout(), jedisProperties.getTimeout(),
+                StringUtils.isEmpty(jedisProperties.getPassword()) ? null : jedisProperties.getPassword(),
+                jedisProperties.getDb(), jedisProperties.getClientName(), jedisProperties.getTimeout(), jedisProperties.getTimeout(),
+                StringUtils.isEmpty(sentinelProperties.getPassword()) ? null : sentinelProperties.getPassword(), null);
+        log.info("redis sentinel init ok. master[{}], sentinels[{}], currentMaster[{}]", sentinelProperties.getMaster(), sentinels, sentinelPool.getCurrentHostMaster());
+        return sentinelPool;
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = {"redis.mode"}, havingValue = "sharded")
+    public RedisShardedPool redisShardedPool(){
+        JedisProperties.JedisShardProperties shardProperties = jedisProperties.getShards();
+        Assert.notEmpty(shardProperties.getNodes(), "shards nodes can't be empty.");
+        Assert.isTrue(shardProperties.getVirtualNodes() > 0, "shards virtualNodes must be positive.");
+        Assert.isTrue(shardProperties.getParallelism() > 0, "shards parallelism must be positive.");
+        JedisPoolConfig poolConfig = poolConfig();
+        Map<String, JedisPool> shards = new LinkedHashMap<>();
+        for (String node : shardProperties.getNodes()) {
+            HostAndPort hostAndPort = HostAndPort.parseString(node.trim());
+            shards.put(hostAndPort.toString(), new JedisPool(poolConfig == null ? new JedisPoolConfig() : poolConfig, hostAndPort.getHost(), hostAndPort.getPort(),
+                    jedisProperties.getTimeout(), StringUtils.isEmpty(jedisProperties.getPassword()) ? null : jedisProperties.getPassword(),
+                    jedisProperties.getDb(), jedisProperties.getClientName()));
+        }
+        log.info("redis sharded init ok. nodes[{}], virtualNodes[{}]", shards.keySet(), shardProperties.getVirtualNodes());
+        return new RedisShardedPool(shards, shardProperties.getVirtualNodes(), shardProperties.getParallelism());
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = {"redis.replica.enable"}, havingValue = "true")
+    public RedisReplicaPool redisReplicaPool(){
+        JedisProperties.JedisReplicaProperties replicaProperties = jedisProperties.getReplica();
+        Assert.notEmpty(replicaProperties.getNodes(), "replica nodes can't be empty.");
+        JedisPoolConfig poolConfig = poolConfig();
+        List<JedisPool> pools = new ArrayList<>();
+        for (String node : replicaProperties.getNodes()) {
+            HostAndPort hostAndPort = HostAndPort.parseString(node.trim());
+            pools.add(new JedisPool(poolConfig == null ? new JedisPoolConfig() : poolConfig, hostAndPort.getHost(), hostAndPort.getPort(),
+                    jedisProperties.getTimeout(), StringUtils.isEmpty(jedisProperties.getPassword()) ? null : jedisProperties.getPassword(),
+                    jedisProperties.getDb(), jedisProperties.getClientName()));
+        }
+        log.info("redis replica init ok. nodes[{}]", replicaProperties.getNodes());
+        return new RedisReplicaPool(pools);
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = {"redis.auto-pipeline.enable"}, havingValue = "true")
+    public RedisAutoPipeline redisAutoPipeline(ObjectProvider<JedisPoolAbstract> jedisPool){
+        JedisProperties.JedisAutoPipelineProperties autoPipelineProperties = jedisProperties.getAutoPipeline();
+        Assert.notNull(jedisPool.getIfAvailable(), "auto pipeline only supports standalone and sentinel mode.");
+        Assert.isTrue(autoPipelineProperties.getConnections() > 0, "auto pipeline connections must be positive.");
+        Assert.isTrue(autoPipelineProperties.getMaxBatch() > 0, "auto pipeline maxBatch must be positive.");
+        log.info("redis auto pipeline init ok. connections[{}], maxBatch[{}]", autoPipelineProperties.getConnections(), autoPipelineProperties.getMaxBatch());
+        return new RedisAutoPipeline(jedisPool.getIfAvailable(), autoPipelineProperties.getConnections(),
+                autoPipelineProperties.getMaxBatch(), jedisProperties.getTimeout());
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = {"redis.get-batch.enable"}, havingValue = "true")
+    public RedisGetBatcher redisGetBatcher(){
+        JedisProperties.JedisGetBatchProperties getBatchProperties = jedisProperties.getGetBatch();
+        Assert.isTrue(jedisProperties.getMode() != JedisProperties.Mode.CLUSTER, "get batch doesn't support cluster mode.");
+        Assert.isTrue(getBatchProperties.getThreads() > 0, "get batch threads must be positive.");
+        Assert.isTrue(getBatchProperties.getMaxBatch() > 0, "get batch maxBatch must be positive.");
+        log.info("redis get batch init ok. threads[{}], maxBatch[{}], maxWaitMicros[{}]", getBatchProperties.getThreads(),
+                getBatchProperties.getMaxBatch(), getBatchProperties.getMaxWaitMicros());
+        return new RedisGetBatcher(RedisUtils::mget, getBatchProperties.getThreads(), getBatchProperties.getMaxBatch(),
+                getBatchProperties.getMaxWaitMicros(), jedisProperties.getTimeout());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = {"redis.single-flight.enable"}, havingValue = "true")
+    public RedisSingleFlight redisSingleFlight(){
+        log.info("redis single flight init ok. prefixes{}", jedisProperties.getSingleFlight().getPrefixes());
+        return new RedisSingleFlight(jedisProperties.getSingleFlight().getPrefixes());
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = {"redis.near-cache.enable"}, havingValue = "true")
+    public RedisNearCache redisNearCache(){
+        JedisProperties.JedisNearCacheProperties nearCacheProperties = jedisProperties.getNearCache();
+        Assert.isTrue(nearCacheProperties.getMaximumSize() > 0, "near cache maximumSize must be positive.");
+        Assert.isTrue(nearCacheProperties.getTtl() > 0, "near cache ttl must be positive.");
+        Assert.isTrue(!StringUtils.isEmpty(nearCacheProperties.getChannel()), "near cache channel can't be empty.");
+        log.info("redis near cache init ok. maximumSize[{}], ttl[{}], prefixes{}", nearCacheProperties.getMaximumSize(),
+                nearCacheProperties.getTtl(), nearCacheProperties.getPrefixes());
+        RedisNearCacheStore store;
+        if (nearCacheProperties.getStorage() == JedisProperties.JedisNearCacheProperties.Storage.OFF_HEAP) {
+            Assert.isTrue(nearCacheProperties.getOffHeapMemory() > 0, "near cache offHeapMemory must be positive.");
+            Assert.isTrue(nearCacheProperties.getOffHeapPageSize() > 0, "near cache offHeapPageSize must be positive.");
+            Assert.isTrue(nearCacheProperties.getOffHeapPageSize() * 1024L <= nearCacheProperties.getOffHeapMemory() * 1024L * 1024L,
+                    "near cache offHeapPageSize can't be larger than offHeapMemory.");
+            log.info("redis near cache off heap storage. memory[{}MB], pageSize[{}KB]", nearCacheProperties.getOffHeapMemory(),
+                    nearCacheProperties.getOffHeapPageSize());
+            store = new OffHeapNearCacheStore(nearCacheProperties.getMaximumSize(), nearCacheProperties.getOffHeapMemory() * 1024L * 1024L,
+                    nearCacheProperties.getOffHeapPageSize() * 1024);
+        } else {
+            store = new TinyLfuNearCacheStore(nearCacheProperties.getMaximumSize());
+        }
+        return new RedisNearCache(store, nearCacheProperties.getTtl(), nearCacheProperties.getPrefixes(),
+                nearCacheProperties.getChannel(), RedisUtils::getJedis, RedisUtils::publish);
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = {"redis.mapped-cache.enable"}, havingValue = "true")
+    public RedisMappedCache redisMappedCache(){
+        JedisProperties.JedisMappedCacheProperties mappedCacheProperties = jedisProperties.getMappedCache();
+        Assert.isTrue(!StringUtils.isEmpty(mappedCacheProperties.getDirectory()), "mapped cache directory can't be empty.");
+        Assert.isTrue(mappedCacheProperties.getFileSize() > 0 && mappedCacheProperties.getFileSize() < 2048,
+                "mapped cache fileSize must be between 1 and 2047.");
+        Assert.isTrue(mappedCacheProperties.getTtl() > 0, "mapped cache ttl must be positive.");
+        log.info("redis mapped cache init ok. directory[{}], fileSize[{}MB], ttl[{}], prefixes{}", mappedCacheProperties.getDirectory(),
+                mappedCacheProperties.getFileSize(), mappedCacheProperties.getTtl(), mappedCacheProperties.getPrefixes());
+        return new RedisMappedCache(new File(mappedCacheProperties.getDirectory()), mappedCacheProperties.getFileSize() * 1024L * 1024L,
+                mappedCacheProperties.getTtl(), mappedCacheProperties.getPrefixes());
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = {"redis.circuit-breaker.enable"}, havingValue = "true")
+    public RedisCircuitBreaker redisCircuitBreaker(){
+        JedisProperties.JedisCircuitBreakerProperties breakerProperties = jedisProperties.getCircuitBreaker();
+        Assert.isTrue(breakerProperties.getWindowSize() > 0, "circuit breaker windowSize must be positive.");
+        Assert.isTrue(breakerProperties.getMinimumCalls() > 0 && breakerProperties.getMinimumCalls() <= breakerProperties.getWindowSize(),
+                "circuit breaker minimumCalls must be between 1 and windowSize.");
+        Assert.isTrue(breakerProperties.getFailureRateThreshold() > 0 && breakerProperties.getFailureRateThreshold() <= 100,
+                "circuit breaker failureRateThreshold must be between 1 and 100.");
+        Assert.isTrue(breakerProperties.getSlowCallRateThreshold() > 0 && breakerProperties.getSlowCallRateThreshold() <= 100,
+                "circuit breaker slowCallRateThreshold must be between 1 and 100.");
+        Assert.isTrue(breakerProperties.getSlowCallDuration() > 0, "circuit breaker slowCallDuration must be positive.");
+        Assert.isTrue(breakerProperties.getWaitDuration() > 0, "circuit breaker waitDuration must be positive.");
+        Assert.isTrue(breakerProperties.getHalfOpenCalls() > 0, "circuit breaker halfOpenCalls must be positive.");
+        Assert.isTrue(breakerProperties.getCheckInterval() > 0, "circuit breaker checkInterval must be positive.");
+        log.info("redis circuit breaker init ok. windowSize[{}], failureRateThreshold[{}%], slowCallDuration[{}ms], slowCallRateThreshold[{}%], "
+                + "waitDuration[{}ms]", breakerProperties.getWindowSize(), breakerProperties.getFailureRateThreshold(),
+                breakerProperties.getSlowCallDuration(), breakerProperties.getSlowCallRateThreshold(), breakerProperties.getWaitDuration());
+        return new RedisCircuitBreaker(breakerProperties.getWindowSize(), breakerProperties.getMinimumCalls(),
+                breakerProperties.getFailureRateThreshold(), breakerProperties.getSlowCallDuration(), breakerProperties.getSlowCallRateThreshold(),
+                breakerProperties.getWaitDuration(), breakerProperties.getHalfOpenCalls(), breakerProperties.getCheckInterval(), RedisUtils::isRun);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = {"redis.stale-cache.enable"}, havingValue = "true")
+    public RedisStaleCache redisStaleCache(){
+        Assert.isTrue(jedisProperties.getCircuitBreaker().isEnable(), "stale cache requires redis.circuit-breaker.enable=true.");
+        Assert.isTrue(jedisProperties.getStaleCache().getMaximumSize() > 0, "stale cache maximumSize must be positive.");
+        log.info("redis stale cache init ok. maximumSize[{}]", jedisProperties.getStaleCache().getMaximumSize());
+        return new RedisStaleCache(jedisProperties.getStaleCache().getMaximumSize());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public RedisCodecRegistry redisCodecRegistry(ListableBeanFactory beanFactory){
+        JedisProperties.JedisCodecProperties codecProperties = jedisProperties.getCodec();
+        Map<String, RedisCodec> codecs = new LinkedHashMap<>();
+        codecs.put("json", new JsonRedisCodec());
+        codecs.put("binary", new BinaryRedisCodec());
+        // 自定义编解码使用bean名称
+        codecs.putAll(beanFactory.getBeansOfType(RedisCodec.class));
+        log.info("redis codec init ok. default[{}], prefixes{}, codecs{}", codecProperties.getDefaultCodec(), codecProperties.getPrefixes(),
+                codecs.keySet());
+        return new RedisCodecRegistry(codecs, codecProperties.getDefaultCodec(), codecProperties.getPrefixes());
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = {"redis.compression.enable"}, havingValue = "true")
+    public RedisCompressor redisCompressor(){
+        JedisProperties.JedisCompressionProperties compressionProperties = jedisProperties.getCompression();
+        Assert.isTrue(compressionProperties.getThreshold() >= 0, "compression threshold can't be negative.");
+        Assert.isTrue(compressionProperties.getLevel() >= 1 && compressionProperties.getLevel() <= 9, "compression level must be between 1 and 9.");
+        log.info("redis compression init ok. threshold[{}], level[{}]", compressionProperties.getThreshold(), compressionProperties.getLevel());
+        return new RedisCompressor(compressionProperties.getThreshold(), compressionProperties.getLevel());
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnMissingBean
+    public RedisAsyncExecutor redisAsyncExecutor(){
+        JedisProperties.JedisAsyncProperties asyncProperties = jedisProperties.getAsync();
+        Assert.isTrue(asyncProperties.getThreads() > 0, "async threads must be positive.");
+        Assert.isTrue(asyncProperties.getQueueCapacity() > 0, "async queueCapacity must be positive.");
+        return new RedisAsyncExecutor(asyncProperties.getThreads(), asyncProperties.getQueueCapacity());
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    public RedisInstanceRouter redisInstanceRouter(){
+        Map<String, JedisPool> instances = new LinkedHashMap<>();
+        jedisProperties.getInstances().forEach((name, instance) -> {
+            Assert.isTrue(!StringUtils.isEmpty(instance.getIp()), "instance " + name + " ip can't be empty.");
+            Assert.isTrue(!StringUtils.isEmpty(instance.getPort()), "instance " + name + " port can't be empty.");
+            JedisPoolConfig poolConfig = instance.getPool() == null ? poolConfig() : poolConfig(instance.getPool());
+            instances.put(name, new JedisPool(poolConfig == null ? new JedisPoolConfig() : poolConfig, instance.getIp(), instance.getPort(),
+                    instance.getTimeout(), StringUtils.isEmpty(instance.getPassword()) ? null : instance.getPassword(),
+                    instance.getDb(), instance.getClientName()));
+            log.info("redis instance init ok. name[{}], ip[{}], port[{}]", name, instance.getIp(), instance.getPort());
+        });
+        return new RedisInstanceRouter(instances, jedisProperties.getRoutes());
+    }
+
+    /**
+     * 连接池配置,没有配置pool时返回null
+     * @return 连接池配置
+     */
+    private JedisPoolConfig poolConfig(){
+        return poolConfig(jedisProperties.getPool());
+    }
+
+    /**
+     * 连接池配置,没有配置pool时返回null
+     * @param poolProperties 连接池属性
+     * @return 连接池配置
+     */
+    private JedisPoolConfig poolConfig(JedisProperties.JedisPoolProperties poolProperties){
+        if(poolProperties == null){
+            return null;
+        }
+        JedisPoolConfig poolConfig = new JedisPoolConfig();
+        poolConfig.setMaxTotal(poolProperties.getMaxActive());
+        poolConfig.setMaxIdle(poolProperties.getMaxIdle());
+        poolConfig.setMaxWaitMillis(poolProperties.getMaxWait());
+        poolConfig.setTestOnBorrow(poolProperties.isTestOnBorrow());
+        poolConfig.setTestOnReturn(poolProperties.isTestOnReturn());
+        return poolConfig;
+    }
 }
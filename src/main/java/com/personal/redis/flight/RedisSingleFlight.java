@@ -0,0 +1,106 @@
+/*
+ * @Copyright: 2005-2018 www.hyjf.com. All rights reserved.
+ */
+package com.personal.redis.flight;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * @author sunpeikai
+ * @version RedisSingleFlight, v0.1 2026/10/18 22:40
+ * @description 相同key的相同读命令并发执行时只发送一次,其余调用方等待并共享这次调用的结果
+ */
+public class RedisSingleFlight {
+
+    /**
+     * 没有配置前缀时所有key共用的统计项
+     */
+    private static final String ALL = "*";
+
+    private final List<String> prefixes;
+
+    private final Map<String, LongAdder> saved = new LinkedHashMap<>();
+
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> flights = new ConcurrentHashMap<>();
+
+    /**
+     * @param prefixes 参与合并的key前缀,为空时所有key都参与合并
+     */
+    public RedisSingleFlight(List<String> prefixes) {
+        this.prefixes = prefixes == null ? new ArrayList<>() : new ArrayList<>(prefixes);
+        if (this.prefixes.isEmpty()) {
+            saved.put(ALL, new LongAdder());
+        }
+        this.prefixes.forEach(prefix -> saved.put(prefix, new LongAdder()));
+    }
+
+    /**
+     * key匹配的前缀
+     * @param key redis键
+     * @return 匹配的前缀,不参与合并时返回null
+     */
+    public String match(String key) {
+        if (key == null) {
+            return null;
+        }
+        if (prefixes.isEmpty()) {
+            return ALL;
+        }
+        for (String prefix : prefixes) {
+            if (key.startsWith(prefix)) {
+                return prefix;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 执行读命令,已有相同的调用在执行时等待并返回它的结果
+     * @param prefix match返回的前缀
+     * @param flightKey 命令 + 参数组成的唯一标识
+     * @param call 读命令
+     * @return 命令结果
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String prefix, String flightKey, Supplier<T> call) {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> running = flights.putIfAbsent(flightKey, flight);
+        if (running != null) {
+            saved.get(prefix).increment();
+            return (T) running.join();
+        }
+        try {
+            T result = call.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(flightKey, flight);
+        }
+    }
+
+    /**
+     * @return 前缀 - 节省的调用次数
+     */
+    public Map<String, Long> getSaved() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        saved.forEach((prefix, count) -> result.put(prefix, count.sum()));
+        return result;
+    }
+
+    /**
+     * @return 正在执行的调用数
+     */
+    public int getInFlight() {
+        return flights.size();
+    }
+}
@@ -0,0 +1,492 @@
+/*
+ * @Copyright: 2005-2018 www.hyjf.com. All rights reserved.
+ */
+package com.personal.redis.mapped;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.util.MurmurHash;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.CRC32;
+
+/**
+ * @author sunpeikai
+ * @version RedisMappedCache, v0.1 2026/10/18 23:50
+ * @description 内存映射文件的本地缓存,缓存get(byte[])的结果,进程重启后文件中的缓存仍然可用
+ * 每条缓存记录过期时间(redis中key的剩余过期时间和配置的最长时间取较小值),读取时过期的缓存视为不存在
+ * 两个文件轮换使用:写满的文件成为旧文件,旧文件清空后继续写入;旧文件中命中的缓存复制到新文件,热点数据不会因为轮换丢失
+ * 文件结构:文件头 + 索引(开放寻址,每个槽位为key的hash和记录位置) + 记录(key长度,value长度,过期时间,校验和,key,value)
+ */
+public class RedisMappedCache implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(RedisMappedCache.class);
+
+    private static final long MAGIC = 0x524D434143484531L;
+
+    private static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 64;
+
+    private static final int SLOT_SIZE = 16;
+
+    private static final int RECORD_HEADER_SIZE = 20;
+
+    private static final int STRIPES = 1024;
+
+    private static final int HASH_SEED = 0x1234ABCD;
+
+    private final File directory;
+
+    private final long maxTtlMillis;
+
+    private final List<byte[]> prefixes = new ArrayList<>();
+
+    private final Segment[] segments = new Segment[2];
+
+    private final RandomAccessFile lockFile;
+
+    private final FileLock lock;
+
+    private final AtomicLongArray stamps = new AtomicLongArray(STRIPES);
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder rolls = new LongAdder();
+
+    private int active;
+
+    /**
+     * @param directory 缓存文件所在目录,同一时间只能被一个进程使用
+     * @param fileSize 每个缓存文件的大小 - 字节
+     * @param maxTtlSeconds 缓存最长时间 - 秒
+     * @param prefixes 使用缓存的key前缀,为空时所有key都缓存
+     */
+    public RedisMappedCache(File directory, long fileSize, long maxTtlSeconds, List<String> prefixes) {
+        this.directory = directory;
+        this.maxTtlMillis = TimeUnit.SECONDS.toMillis(maxTtlSeconds);
+        if (prefixes != null) {
+            prefixes.forEach(prefix -> this.prefixes.add(prefix.getBytes(StandardCharsets.UTF_8)));
+        }
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IllegalStateException("redis mapped cache directory can't be created: " + directory);
+        }
+        try {
+            lockFile = new RandomAccessFile(new File(directory, "cache.lock"), "rw");
+            FileLock fileLock;
+            try {
+                fileLock = lockFile.getChannel().tryLock();
+            } catch (OverlappingFileLockException e) {
+                fileLock = null;
+            }
+            if (fileLock == null) {
+                lockFile.close();
+                throw new IllegalStateException("redis mapped cache directory is used by another process: " + directory);
+            }
+            lock = fileLock;
+            int slots = (int) Math.max(1024, Long.highestOneBit(Math.min(fileSize / 512, 1 << 24)));
+            segments[0] = new Segment(new File(directory, "cache-0.dat"), fileSize, slots);
+            segments[1] = new Segment(new File(directory, "cache-1.dat"), fileSize, slots);
+        } catch (IOException e) {
+            throw new IllegalStateException("redis mapped cache open fail: " + directory, e);
+        }
+        active = segments[0].generation() >= segments[1].generation() ? 0 : 1;
+        log.info("redis mapped cache loaded. directory[{}], entries[{}]", directory, segments[0].used() + segments[1].used());
+    }
+
+    /**
+     * @param key redis键
+     * @return key是否使用本地缓存
+     */
+    public boolean matches(byte[] key) {
+        if (prefixes.isEmpty()) {
+            return true;
+        }
+        for (byte[] prefix : prefixes) {
+            if (startsWith(key, prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 读取redis前记录key的版本号
+     * @param key redis键
+     * @return 版本号
+     */
+    public long stamp(byte[] key) {
+        return stamps.get(stripe(hash(key)));
+    }
+
+    /**
+     * @param key redis键
+     * @return 缓存的值,不存在或已过期时返回null
+     */
+    public synchronized byte[] get(byte[] key) {
+        long hash = hash(key);
+        long now = System.currentTimeMillis();
+        Segment current = segments[active];
+        int slot = current.find(hash, key);
+        byte[] value = slot < 0 ? null : current.value(slot, key, now);
+        if (slot < 0) {
+            Segment previous = segments[1 - active];
+            slot = previous.find(hash, key);
+            if (slot >= 0) {
+                long expireAt = previous.expireAt(slot);
+                value = previous.value(slot, key, now);
+                if (value != null) {
+                    // 旧文件中的缓存复制到当前文件
+                    write(hash, key, value, expireAt);
+                }
+            }
+        }
+        if (value == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return value;
+    }
+
+    /**
+     * 写入缓存,读取redis期间key被修改时放弃写入
+     * @param key redis键
+     * @param value 值
+     * @param ttlMillis redis中key的剩余过期时间 - 毫秒,小于0表示没有过期时间
+     * @param stamp 读取前的版本号
+     */
+    public synchronized void put(byte[] key, byte[] value, long ttlMillis, long stamp) {
+        long hash = hash(key);
+        if (value == null || stamp != stamps.get(stripe(hash))) {
+            return;
+        }
+        long ttl = ttlMillis < 0 ? maxTtlMillis : Math.min(ttlMillis, maxTtlMillis);
+        if (ttl > 0) {
+            write(hash, key, value, System.currentTimeMillis() + ttl);
+        }
+    }
+
+    /**
+     * 删除key的缓存
+     * @param keys redis键
+     */
+    public synchronized void remove(byte[] ... keys) {
+        for (byte[] key : keys) {
+            if (key == null) {
+                continue;
+            }
+            long hash = hash(key);
+            stamps.incrementAndGet(stripe(hash));
+            segments[0].remove(hash, key);
+            segments[1].remove(hash, key);
+        }
+    }
+
+    public synchronized void clear() {
+        for (int i = 0; i < STRIPES; i++) {
+            stamps.incrementAndGet(i);
+        }
+        long generation = segments[active].generation();
+        segments[1 - active].reset(generation + 1);
+        segments[active].reset(generation + 2);
+    }
+
+    /**
+     * @return 命中率和文件使用情况
+     */
+    public synchronized Map<String, Object> stats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("directory", directory.getAbsolutePath());
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("rolls", rolls.sum());
+        stats.put("entries", segments[0].used() + segments[1].used());
+        stats.put("usedBytes", segments[0].usedBytes() + segments[1].usedBytes());
+        stats.put("generation", segments[active].generation());
+        return stats;
+    }
+
+    @Override
+    public synchronized void close() {
+        for (Segment segment : segments) {
+            try {
+                segment.close();
+            } catch (Exception e) {
+                log.error("redis mapped cache close fail ==> ", e);
+            }
+        }
+        try {
+            lock.release();
+            lockFile.close();
+        } catch (IOException e) {
+            log.error("redis mapped cache close fail ==> ", e);
+        }
+    }
+
+    private void write(long hash, byte[] key, byte[] value, long expireAt) {
+        Segment current = segments[active];
+        long size = (long) RECORD_HEADER_SIZE + key.length + value.length;
+        if (size > current.capacity() / 2) {
+            return;
+        }
+        if (!current.fits(size)) {
+            // 当前文件写满,清空旧文件后切换
+            Segment previous = segments[1 - active];
+            previous.reset(current.generation() + 1);
+            active = 1 - active;
+            current = previous;
+            rolls.increment();
+        }
+        current.put(hash, key, value, expireAt);
+    }
+
+    private static long hash(byte[] key) {
+        long hash = MurmurHash.hash64A(key, HASH_SEED);
+        // 0表示空槽位
+        return hash == 0 ? 1 : hash;
+    }
+
+    private static int stripe(long hash) {
+        return (int) (hash ^ (hash >>> 32)) & (STRIPES - 1);
+    }
+
+    private static boolean startsWith(byte[] key, byte[] prefix) {
+        if (key.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (key[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int crc(byte[] key, byte[] value) {
+        CRC32 crc = new CRC32();
+        crc.update(key);
+        crc.update(value);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * 单个缓存文件
+     * 文件头:魔数(8),版本(4),槽位数(4),代数(8),写入位置(8),已用槽位数(4)
+     * 槽位:key的hash(8),记录位置(8);hash为0表示空槽位,记录位置为0表示已删除
+     */
+    private static final class Segment {
+        private static final int VERSION_OFFSET = 8;
+        private static final int SLOTS_OFFSET = 12;
+        private static final int GENERATION_OFFSET = 16;
+        private static final int POSITION_OFFSET = 24;
+        private static final int USED_OFFSET = 32;
+
+        private final RandomAccessFile file;
+
+        private final MappedByteBuffer buffer;
+
+        private final int slots;
+
+        private final long dataStart;
+
+        private final long capacity;
+
+        private Segment(File path, long size, int slots) throws IOException {
+            this.slots = slots;
+            this.dataStart = HEADER_SIZE + (long) slots * SLOT_SIZE;
+            this.capacity = size;
+            boolean exists = path.isFile() && path.length() == size;
+            this.file = new RandomAccessFile(path, "rw");
+            if (!exists) {
+                file.setLength(size);
+            }
+            this.buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+            if (!exists || !valid()) {
+                reset(0);
+            }
+        }
+
+        private boolean valid() {
+            long position = buffer.getLong(POSITION_OFFSET);
+            return buffer.getLong(0) == MAGIC && buffer.getInt(VERSION_OFFSET) == VERSION && buffer.getInt(SLOTS_OFFSET) == slots
+                    && position >= dataStart && position <= capacity;
+        }
+
+        private void reset(long generation) {
+            for (long offset = HEADER_SIZE; offset < dataStart; offset += 8) {
+                buffer.putLong((int) offset, 0);
+            }
+            buffer.putLong(0, MAGIC);
+            buffer.putInt(VERSION_OFFSET, VERSION);
+            buffer.putInt(SLOTS_OFFSET, slots);
+            buffer.putLong(GENERATION_OFFSET, generation);
+            buffer.putLong(POSITION_OFFSET, dataStart);
+            buffer.putInt(USED_OFFSET, 0);
+        }
+
+        private long generation() {
+            return buffer.getLong(GENERATION_OFFSET);
+        }
+
+        private int used() {
+            return buffer.getInt(USED_OFFSET);
+        }
+
+        private long usedBytes() {
+            return buffer.getLong(POSITION_OFFSET) - dataStart;
+        }
+
+        private long capacity() {
+            return capacity - dataStart;
+        }
+
+        private boolean fits(long size) {
+            // 槽位使用超过3/4时探测变慢,同样视为写满
+            return buffer.getLong(POSITION_OFFSET) + size <= capacity && used() < slots / 4 * 3;
+        }
+
+        /**
+         * @return key所在的槽位,不存在时返回-1
+         */
+        private int find(long hash, byte[] key) {
+            int mask = slots - 1;
+            for (int i = 0, slot = (int) hash & mask; i < slots; i++, slot = (slot + 1) & mask) {
+                long slotHash = buffer.getLong(slotOffset(slot));
+                if (slotHash == 0) {
+                    return -1;
+                }
+                if (slotHash == hash && matches(buffer.getLong(slotOffset(slot) + 8), key)) {
+                    return slot;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * @return 槽位中记录的值,已过期或校验失败时删除并返回null
+         */
+        private byte[] value(int slot, byte[] key, long now) {
+            long offset = buffer.getLong(slotOffset(slot) + 8);
+            if (buffer.getLong((int) offset + 8) < now) {
+                delete(slot);
+                return null;
+            }
+            byte[] value = new byte[buffer.getInt((int) offset + 4)];
+            read(offset + RECORD_HEADER_SIZE + key.length, value);
+            if (crc(key, value) != buffer.getInt((int) offset + 16)) {
+                // 进程退出时未写完的记录
+                delete(slot);
+                return null;
+            }
+            return value;
+        }
+
+        private long expireAt(int slot) {
+            return buffer.getLong((int) buffer.getLong(slotOffset(slot) + 8) + 8);
+        }
+
+        private void put(long hash, byte[] key, byte[] value, long expireAt) {
+            long position = buffer.getLong(POSITION_OFFSET);
+            int offset = (int) position;
+            buffer.putInt(offset, key.length);
+            buffer.putInt(offset + 4, value.length);
+            buffer.putLong(offset + 8, expireAt);
+            buffer.putInt(offset + 16, crc(key, value));
+            ByteBuffer record = buffer.duplicate();
+            record.position(offset + RECORD_HEADER_SIZE);
+            record.put(key);
+            record.put(value);
+            buffer.putLong(POSITION_OFFSET, position + RECORD_HEADER_SIZE + key.length + value.length);
+            // 记录写完后再修改索引
+            int mask = slots - 1;
+            int free = -1;
+            for (int i = 0, slot = (int) hash & mask; i < slots; i++, slot = (slot + 1) & mask) {
+                long slotHash = buffer.getLong(slotOffset(slot));
+                long slotRecord = buffer.getLong(slotOffset(slot) + 8);
+                if (slotHash == 0) {
+                    if (free < 0) {
+                        free = slot;
+                        buffer.putInt(USED_OFFSET, used() + 1);
+                    }
+                    break;
+                }
+                if (slotRecord == 0) {
+                    if (free < 0) {
+                        free = slot;
+                    }
+                } else if (slotHash == hash && matches(slotRecord, key)) {
+                    free = slot;
+                    break;
+                }
+            }
+            if (free >= 0) {
+                buffer.putLong(slotOffset(free), hash);
+                buffer.putLong(slotOffset(free) + 8, position);
+            }
+        }
+
+        private void remove(long hash, byte[] key) {
+            int slot = find(hash, key);
+            if (slot >= 0) {
+                delete(slot);
+            }
+        }
+
+        private void delete(int slot) {
+            // 保留hash,探测时不会中断
+            buffer.putLong(slotOffset(slot) + 8, 0);
+        }
+
+        private boolean matches(long offset, byte[] key) {
+            long position = buffer.getLong(POSITION_OFFSET);
+            if (offset < dataStart || offset + RECORD_HEADER_SIZE > position) {
+                return false;
+            }
+            int keyLength = buffer.getInt((int) offset);
+            int valueLength = buffer.getInt((int) offset + 4);
+            if (keyLength != key.length || valueLength < 0 || offset + RECORD_HEADER_SIZE + keyLength + valueLength > position) {
+                return false;
+            }
+            int start = (int) offset + RECORD_HEADER_SIZE;
+            for (int i = 0; i < keyLength; i++) {
+                if (buffer.get(start + i) != key[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void read(long offset, byte[] target) {
+            ByteBuffer record = buffer.duplicate();
+            record.position((int) offset);
+            record.get(target);
+        }
+
+        private static int slotOffset(int slot) {
+            return HEADER_SIZE + slot * SLOT_SIZE;
+        }
+
+        private void close() throws IOException {
+            buffer.force();
+            file.close();
+        }
+    }
+}
@@ -0,0 +1,470 @@
+/*
+ * @Copyright: 2005-2018 www.hyjf.com. All rights reserved.
+ */
+package com.personal.redis.near;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author sunpeikai
+ * @version OffHeapNearCacheStore, v0.1 2026/10/19 09:30
+ * @description 堆外存储,缓存值序列化后放在直接内存中,不占用老年代,不影响GC停顿
+ * 直接内存按页(slab)分配,每页固定属于一个大小等级并切分成相同大小的块,记录按长度放入最小能容纳的等级
+ * 索引使用基本类型数组实现的开放链表hash表,每个等级一个LRU链表;等级内没有空闲块且内存已用完时淘汰该等级最久未访问的记录
+ * 记录格式: key长度(int) + 值长度(int) + 过期时间(long) + 版本号(long) + key + 值
+ */
+public class OffHeapNearCacheStore implements RedisNearCacheStore {
+
+    private static final int NONE = -1;
+
+    private static final int HEADER = 4 + 4 + 8 + 8;
+
+    private static final int MIN_CHUNK = 64;
+
+    private static final double GROWTH_FACTOR = 1.25;
+
+    private static final byte STRING = 0;
+
+    private static final byte MAP = 1;
+
+    private static final byte BYTES = 2;
+
+    private final int pageSize;
+
+    private final int maxPages;
+
+    private final int maximumSize;
+
+    private final int[] chunkSizes;
+
+    private final List<ByteBuffer> pages = new ArrayList<>();
+
+    /**
+     * 每页所属的大小等级
+     */
+    private final List<Integer> pageClasses = new ArrayList<>();
+
+    private final LongStack[] freeChunks;
+
+    private final int[] lruHead;
+
+    private final int[] lruTail;
+
+    private final int[] buckets;
+
+    private final int bucketMask;
+
+    private final long[] addresses;
+
+    private final int[] hashes;
+
+    private final int[] lengths;
+
+    private final byte[] classes;
+
+    private final int[] chainNext;
+
+    private final int[] lruPrev;
+
+    private final int[] lruNext;
+
+    private final int[] freeEntries;
+
+    private int freeEntryCount;
+
+    private int size;
+
+    private long usedBytes;
+
+    private long evictions;
+
+    private long rejections;
+
+    /**
+     * @param maximumSize 最多缓存的key数
+     * @param maxMemoryBytes 最多使用的直接内存
+     * @param pageSize 每页大小,也是单条记录的最大长度
+     */
+    public OffHeapNearCacheStore(int maximumSize, long maxMemoryBytes, int pageSize) {
+        this.maximumSize = maximumSize;
+        this.pageSize = pageSize;
+        this.maxPages = (int) Math.max(1, Math.min(Integer.MAX_VALUE, maxMemoryBytes / pageSize));
+        List<Integer> sizes = new ArrayList<>();
+        for (double chunk = MIN_CHUNK; chunk < pageSize; chunk *= GROWTH_FACTOR) {
+            int aligned = ((int) chunk + 7) & ~7;
+            if (sizes.isEmpty() || aligned > sizes.get(sizes.size() - 1)) {
+                sizes.add(aligned);
+            }
+        }
+        sizes.add(pageSize);
+        this.chunkSizes = sizes.stream().mapToInt(Integer::intValue).toArray();
+        this.freeChunks = new LongStack[chunkSizes.length];
+        for (int i = 0; i < chunkSizes.length; i++) {
+            freeChunks[i] = new LongStack();
+        }
+        this.lruHead = new int[chunkSizes.length];
+        this.lruTail = new int[chunkSizes.length];
+        Arrays.fill(lruHead, NONE);
+        Arrays.fill(lruTail, NONE);
+        int bucketCount = Integer.highestOneBit(Math.max(maximumSize, 2) - 1) << 1;
+        this.buckets = new int[bucketCount];
+        this.bucketMask = bucketCount - 1;
+        Arrays.fill(buckets, NONE);
+        this.addresses = new long[maximumSize];
+        this.hashes = new int[maximumSize];
+        this.lengths = new int[maximumSize];
+        this.classes = new byte[maximumSize];
+        this.chainNext = new int[maximumSize];
+        this.lruPrev = new int[maximumSize];
+        this.lruNext = new int[maximumSize];
+        this.freeEntries = new int[maximumSize];
+        resetEntries();
+    }
+
+    @Override
+    public synchronized Entry get(String key) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        int id = find(keyBytes, hash(keyBytes));
+        if (id == NONE) {
+            return null;
+        }
+        unlinkLru(id);
+        linkLruHead(id);
+        ByteBuffer page = pages.get(page(addresses[id]));
+        int offset = offset(addresses[id]);
+        int keyLength = page.getInt(offset);
+        int valueLength = page.getInt(offset + 4);
+        long expireAt = page.getLong(offset + 8);
+        long stamp = page.getLong(offset + 16);
+        byte[] value = new byte[valueLength];
+        ByteBuffer view = page.duplicate();
+        view.position(offset + HEADER + keyLength);
+        view.get(value);
+        return new Entry(decode(value), expireAt, stamp);
+    }
+
+    @Override
+    public synchronized void put(String key, Entry entry) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        byte[] value = encode(entry.getValue());
+        int length = HEADER + keyBytes.length + value.length;
+        int sizeClass = classOf(length);
+        int hash = hash(keyBytes);
+        int existing = find(keyBytes, hash);
+        if (existing != NONE) {
+            removeEntry(existing);
+        }
+        if (sizeClass == NONE) {
+            // 超过一页的记录不缓存
+            rejections++;
+            return;
+        }
+        if (freeEntryCount == 0) {
+            evict(sizeClass);
+        }
+        long address = allocate(sizeClass);
+        if (address == NONE || freeEntryCount == 0) {
+            if (address != NONE) {
+                freeChunks[sizeClass].push(address);
+            }
+            rejections++;
+            return;
+        }
+        ByteBuffer page = pages.get(page(address));
+        int offset = offset(address);
+        page.putInt(offset, keyBytes.length);
+        page.putInt(offset + 4, value.length);
+        page.putLong(offset + 8, entry.getExpireAt());
+        page.putLong(offset + 16, entry.getStamp());
+        ByteBuffer view = page.duplicate();
+        view.position(offset + HEADER);
+        view.put(keyBytes);
+        view.put(value);
+
+        int id = freeEntries[--freeEntryCount];
+        addresses[id] = address;
+        hashes[id] = hash;
+        lengths[id] = length;
+        classes[id] = (byte) sizeClass;
+        int bucket = hash & bucketMask;
+        chainNext[id] = buckets[bucket];
+        buckets[bucket] = id;
+        linkLruHead(id);
+        size++;
+        usedBytes += length;
+    }
+
+    @Override
+    public synchronized void remove(String key) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        int id = find(keyBytes, hash(keyBytes));
+        if (id != NONE) {
+            removeEntry(id);
+        }
+    }
+
+    @Override
+    public synchronized void clear() {
+        Arrays.fill(buckets, NONE);
+        Arrays.fill(lruHead, NONE);
+        Arrays.fill(lruTail, NONE);
+        for (LongStack free : freeChunks) {
+            free.clear();
+        }
+        // 已分配的页保留,按原来的等级重新切分成空闲块
+        for (int i = 0; i < pages.size(); i++) {
+            split(i, pageClasses.get(i));
+        }
+        resetEntries();
+        size = 0;
+        usedBytes = 0;
+    }
+
+    @Override
+    public synchronized long size() {
+        return size;
+    }
+
+    @Override
+    public synchronized Map<String, Object> stats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("storage", "offHeap");
+        stats.put("size", size);
+        stats.put("maximumSize", maximumSize);
+        stats.put("pages", pages.size());
+        stats.put("pageSize", pageSize);
+        stats.put("reservedBytes", (long) pages.size() * pageSize);
+        stats.put("maxBytes", (long) maxPages * pageSize);
+        stats.put("usedBytes", usedBytes);
+        stats.put("evictions", evictions);
+        stats.put("rejections", rejections);
+        return stats;
+    }
+
+    private long allocate(int sizeClass) {
+        if (freeChunks[sizeClass].isEmpty()) {
+            if (pages.size() < maxPages) {
+                pages.add(ByteBuffer.allocateDirect(pageSize));
+                pageClasses.add(sizeClass);
+                split(pages.size() - 1, sizeClass);
+            } else if (lruTail[sizeClass] != NONE) {
+                removeEntry(lruTail[sizeClass]);
+                evictions++;
+            }
+        }
+        return freeChunks[sizeClass].isEmpty() ? NONE : freeChunks[sizeClass].pop();
+    }
+
+    /**
+     * key数达到上限时淘汰一条记录,优先淘汰同一等级的
+     */
+    private void evict(int sizeClass) {
+        int victim = lruTail[sizeClass];
+        for (int i = 0; victim == NONE && i < lruTail.length; i++) {
+            victim = lruTail[i];
+        }
+        if (victim != NONE) {
+            removeEntry(victim);
+            evictions++;
+        }
+    }
+
+    private void split(int pageIndex, int sizeClass) {
+        int chunk = chunkSizes[sizeClass];
+        for (int offset = pageSize - chunk; offset >= 0; offset -= chunk) {
+            freeChunks[sizeClass].push(address(pageIndex, offset));
+        }
+    }
+
+    private void removeEntry(int id) {
+        int bucket = hashes[id] & bucketMask;
+        if (buckets[bucket] == id) {
+            buckets[bucket] = chainNext[id];
+        } else {
+            int prev = buckets[bucket];
+            while (chainNext[prev] != id) {
+                prev = chainNext[prev];
+            }
+            chainNext[prev] = chainNext[id];
+        }
+        unlinkLru(id);
+        freeChunks[classes[id]].push(addresses[id]);
+        usedBytes -= lengths[id];
+        freeEntries[freeEntryCount++] = id;
+        size--;
+    }
+
+    private int find(byte[] keyBytes, int hash) {
+        for (int id = buckets[hash & bucketMask]; id != NONE; id = chainNext[id]) {
+            if (hashes[id] == hash && keyEquals(id, keyBytes)) {
+                return id;
+            }
+        }
+        return NONE;
+    }
+
+    private boolean keyEquals(int id, byte[] keyBytes) {
+        ByteBuffer page = pages.get(page(addresses[id]));
+        int offset = offset(addresses[id]);
+        if (page.getInt(offset) != keyBytes.length) {
+            return false;
+        }
+        int start = offset + HEADER;
+        for (int i = 0; i < keyBytes.length; i++) {
+            if (page.get(start + i) != keyBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void linkLruHead(int id) {
+        int sizeClass = classes[id];
+        lruPrev[id] = NONE;
+        lruNext[id] = lruHead[sizeClass];
+        if (lruHead[sizeClass] != NONE) {
+            lruPrev[lruHead[sizeClass]] = id;
+        }
+        lruHead[sizeClass] = id;
+        if (lruTail[sizeClass] == NONE) {
+            lruTail[sizeClass] = id;
+        }
+    }
+
+    private void unlinkLru(int id) {
+        int sizeClass = classes[id];
+        if (lruPrev[id] != NONE) {
+            lruNext[lruPrev[id]] = lruNext[id];
+        } else {
+            lruHead[sizeClass] = lruNext[id];
+        }
+        if (lruNext[id] != NONE) {
+            lruPrev[lruNext[id]] = lruPrev[id];
+        } else {
+            lruTail[sizeClass] = lruPrev[id];
+        }
+    }
+
+    private void resetEntries() {
+        for (int i = 0; i < maximumSize; i++) {
+            freeEntries[i] = maximumSize - 1 - i;
+        }
+        freeEntryCount = maximumSize;
+    }
+
+    private int classOf(int length) {
+        for (int i = 0; i < chunkSizes.length; i++) {
+            if (chunkSizes[i] >= length) {
+                return i;
+            }
+        }
+        return NONE;
+    }
+
+    private static long address(int pageIndex, int offset) {
+        return ((long) pageIndex << 32) | offset;
+    }
+
+    private static int page(long address) {
+        return (int) (address >>> 32);
+    }
+
+    private static int offset(long address) {
+        return (int) address;
+    }
+
+    private static int hash(byte[] keyBytes) {
+        int hash = Arrays.hashCode(keyBytes);
+        return hash ^ (hash >>> 16);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static byte[] encode(Object value) {
+        if (value instanceof Map) {
+            Map<String, String> map = (Map<String, String>) value;
+            List<byte[]> parts = new ArrayList<>(map.size() * 2);
+            int length = 1 + 4;
+            for (Map.Entry<String, String> field : map.entrySet()) {
+                byte[] fieldBytes = field.getKey().getBytes(StandardCharsets.UTF_8);
+                byte[] valueBytes = field.getValue().getBytes(StandardCharsets.UTF_8);
+                parts.add(fieldBytes);
+                parts.add(valueBytes);
+                length += 8 + fieldBytes.length + valueBytes.length;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            buffer.put(MAP).putInt(map.size());
+            for (byte[] part : parts) {
+                buffer.putInt(part.length).put(part);
+            }
+            return buffer.array();
+        }
+        if (value instanceof byte[]) {
+            byte[] raw = (byte[]) value;
+            byte[] bytes = new byte[raw.length + 1];
+            bytes[0] = BYTES;
+            System.arraycopy(raw, 0, bytes, 1, raw.length);
+            return bytes;
+        }
+        byte[] string = String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+        byte[] bytes = new byte[string.length + 1];
+        bytes[0] = STRING;
+        System.arraycopy(string, 0, bytes, 1, string.length);
+        return bytes;
+    }
+
+    private static Object decode(byte[] bytes) {
+        if (bytes[0] == STRING) {
+            return new String(bytes, 1, bytes.length - 1, StandardCharsets.UTF_8);
+        }
+        if (bytes[0] == BYTES) {
+            return Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, bytes.length - 1);
+        int count = buffer.getInt();
+        Map<String, String> map = new HashMap<>(count * 4 / 3 + 1);
+        for (int i = 0; i < count; i++) {
+            map.put(readString(buffer), readString(buffer));
+        }
+        return map;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        String string = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return string;
+    }
+
+    /**
+     * 空闲块地址栈
+     */
+    private static class LongStack {
+        private long[] items = new long[64];
+        private int size;
+
+        private void push(long item) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+            }
+            items[size++] = item;
+        }
+
+        private long pop() {
+            return items[--size];
+        }
+
+        private boolean isEmpty() {
+            return size == 0;
+        }
+
+        private void clear() {
+            size = 0;
+        }
+    }
+}
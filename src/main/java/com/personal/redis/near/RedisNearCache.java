@@ -0,0 +1,310 @@
+/*
+ * @Copyright: 2005-2018 www.hyjf.com. All rights reserved.
+ */
+package com.personal.redis.near;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPubSub;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * @author sunpeikai
+ * @version RedisNearCache, v0.1 2026/10/18 23:20
+ * @description 本地缓存(L1),缓存get/hget/hgetAll的结果,按key前缀配置过期时间
+ * 本进程写入时立即失效,并通过pub/sub频道通知其他进程失效;订阅断开期间可能漏掉消息,重新订阅时清空本地缓存
+ * key按hash分成若干段,每段一个版本号,失效时版本号加一;读取时记录版本号,写回缓存时版本号已变化则放弃,避免并发写入后缓存旧值
+ */
+public class RedisNearCache implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(RedisNearCache.class);
+
+    private static final int STRIPES = 4096;
+
+    /**
+     * 清空全部缓存的消息
+     */
+    private static final String ALL = "*";
+
+    /**
+     * 单条失效消息最多包含的key数
+     */
+    private static final int MESSAGE_KEYS = 1000;
+
+    private final RedisNearCacheStore store;
+
+    private final long defaultTtlMillis;
+
+    private final Map<String, Long> prefixTtlMillis = new LinkedHashMap<>();
+
+    private final String channel;
+
+    private final String source = UUID.randomUUID().toString();
+
+    private final Supplier<Jedis> subscriber;
+
+    private final BiConsumer<String, String> publisher;
+
+    private final AtomicLongArray stamps = new AtomicLongArray(STRIPES);
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder invalidations = new LongAdder();
+
+    private volatile boolean running = true;
+
+    private volatile JedisPubSub pubSub;
+
+    /**
+     * @param store 存储
+     * @param defaultTtlSeconds 默认过期时间 - 秒
+     * @param prefixTtlSeconds key前缀 - 过期时间(秒),为空时所有key都缓存;过期时间小于等于0时使用默认过期时间
+     * @param channel 失效消息的频道
+     * @param subscriber 订阅使用的连接
+     * @param publisher 发布失效消息,参数为频道和消息
+     */
+    public RedisNearCache(RedisNearCacheStore store, long defaultTtlSeconds, Map<String, Long> prefixTtlSeconds, String channel,
+                          Supplier<Jedis> subscriber, BiConsumer<String, String> publisher) {
+        this.store = store;
+        this.defaultTtlMillis = TimeUnit.SECONDS.toMillis(defaultTtlSeconds);
+        this.channel = channel;
+        this.subscriber = subscriber;
+        this.publisher = publisher;
+        if (prefixTtlSeconds != null) {
+            // 最长前缀优先
+            prefixTtlSeconds.entrySet().stream()
+                    .sorted((a, b) -> b.getKey().length() - a.getKey().length())
+                    .forEach(prefix -> prefixTtlMillis.put(prefix.getKey(), prefix.getValue() == null || prefix.getValue() <= 0
+                            ? defaultTtlMillis : TimeUnit.SECONDS.toMillis(prefix.getValue())));
+        }
+        Thread thread = new Thread(this::subscribe, "redis-near-cache-invalidation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * @param key redis键
+     * @return key是否使用本地缓存
+     */
+    public boolean matches(String key) {
+        return ttlMillis(key) > 0;
+    }
+
+    /**
+     * 读取redis前记录key的版本号
+     * @param key redis键
+     * @return 版本号
+     */
+    public long stamp(String key) {
+        return stamps.get(stripe(key));
+    }
+
+    /**
+     * @param key redis键
+     * @param cacheKey 缓存键,区分同一个key的不同命令
+     * @return 缓存的值,没有缓存、已过期或已失效时返回null
+     */
+    public Object get(String key, String cacheKey) {
+        RedisNearCacheStore.Entry entry = store.get(cacheKey);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.getExpireAt() < System.currentTimeMillis() || entry.getStamp() != stamps.get(stripe(key))) {
+            store.remove(cacheKey);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return copy(entry.getValue());
+    }
+
+    /**
+     * 缓存从redis读取的值,读取期间key被失效时放弃
+     * @param key redis键
+     * @param cacheKey 缓存键
+     * @param value 值,为null时不缓存
+     * @param stamp 读取前的版本号
+     */
+    public void put(String key, String cacheKey, Object value, long stamp) {
+        long ttl = ttlMillis(key);
+        if (value == null || ttl <= 0 || stamp != stamps.get(stripe(key))) {
+            return;
+        }
+        store.put(cacheKey, new RedisNearCacheStore.Entry(copy(value), System.currentTimeMillis() + ttl, stamp));
+    }
+
+    /**
+     * 写入后失效本地缓存并通知其他进程
+     * @param keys redis键
+     */
+    public void invalidate(Collection<String> keys) {
+        List<String> matched = new ArrayList<>();
+        for (String key : keys) {
+            if (key != null && matches(key)) {
+                invalidateLocal(key);
+                matched.add(key);
+            }
+        }
+        for (int from = 0; from < matched.size(); from += MESSAGE_KEYS) {
+            publish(matched.subList(from, Math.min(from + MESSAGE_KEYS, matched.size())));
+        }
+    }
+
+    /**
+     * 清空本地缓存并通知其他进程
+     */
+    public void invalidateAll() {
+        clearLocal();
+        List<String> all = new ArrayList<>();
+        all.add(ALL);
+        publish(all);
+    }
+
+    /**
+     * @return 缓存统计
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new HashMap<>(store.stats());
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("invalidations", invalidations.sum());
+        stats.put("subscribed", pubSub != null && pubSub.isSubscribed());
+        return stats;
+    }
+
+    public RedisNearCacheStore getStore() {
+        return store;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        JedisPubSub current = pubSub;
+        if (current != null && current.isSubscribed()) {
+            current.unsubscribe();
+        }
+    }
+
+    private long ttlMillis(String key) {
+        if (prefixTtlMillis.isEmpty()) {
+            return defaultTtlMillis;
+        }
+        for (Map.Entry<String, Long> prefix : prefixTtlMillis.entrySet()) {
+            if (key.startsWith(prefix.getKey())) {
+                return prefix.getValue();
+            }
+        }
+        return -1;
+    }
+
+    private void invalidateLocal(String key) {
+        stamps.incrementAndGet(stripe(key));
+        // get和hgetAll的缓存立即删除,hget的缓存在读取时发现版本号变化后删除
+        store.remove(key);
+        store.remove(key + '\0');
+        invalidations.increment();
+    }
+
+    private void clearLocal() {
+        for (int i = 0; i < STRIPES; i++) {
+            stamps.incrementAndGet(i);
+        }
+        store.clear();
+    }
+
+    private void publish(List<String> keys) {
+        try {
+            publisher.accept(channel, source + '\n' + String.join("\n", keys));
+        } catch (Exception e) {
+            log.error("redis near cache publish fail ==> ", e);
+        }
+    }
+
+    private void onMessage(String message) {
+        String[] lines = message.split("\n");
+        if (lines.length < 2 || source.equals(lines[0])) {
+            return;
+        }
+        for (int i = 1; i < lines.length; i++) {
+            if (ALL.equals(lines[i])) {
+                clearLocal();
+                return;
+            }
+            invalidateLocal(lines[i]);
+        }
+    }
+
+    private void subscribe() {
+        while (running) {
+            Jedis jedis = null;
+            try {
+                jedis = subscriber.get();
+                pubSub = new JedisPubSub() {
+                    @Override
+                    public void onMessage(String channel, String message) {
+                        RedisNearCache.this.onMessage(message);
+                    }
+
+                    @Override
+                    public void onSubscribe(String channel, int subscribedChannels) {
+                        // 订阅建立之前缓存的值可能错过了失效消息
+                        clearLocal();
+                    }
+                };
+                jedis.subscribe(pubSub, channel);
+            } catch (Exception e) {
+                if (running) {
+                    log.error("redis near cache subscribe fail ==> ", e);
+                }
+            } finally {
+                if (jedis != null) {
+                    try {
+                        jedis.close();
+                    } catch (Exception e) {
+                        log.error("redis close fail ==> ", e);
+                    }
+                }
+            }
+            // 订阅断开期间可能漏掉了失效消息
+            clearLocal();
+            if (running) {
+                try {
+                    TimeUnit.SECONDS.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object copy(Object value) {
+        // hgetAll的结果是可变的Map,getObj读取的是byte[],缓存和返回时都复制一份
+        if (value instanceof byte[]) {
+            return ((byte[]) value).clone();
+        }
+        return value instanceof Map ? new HashMap<>((Map<String, String>) value) : value;
+    }
+
+    private static int stripe(String key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * @Copyright: 2005-2018 www.hyjf.com. All rights reserved.
+ */
+package com.personal.redis.near;
+
+import java.util.Map;
+
+/**
+ * @author sunpeikai
+ * @version RedisNearCacheStore, v0.1 2026/10/18 23:20
+ * @description 本地缓存的存储,负责容量和淘汰;过期和失效由RedisNearCache判断
+ */
+public interface RedisNearCacheStore {
+
+    /**
+     * @param key 缓存键
+     * @return 缓存项,不存在时返回null
+     */
+    Entry get(String key);
+
+    /**
+     * @param key 缓存键
+     * @param entry 缓存项
+     */
+    void put(String key, Entry entry);
+
+    /**
+     * @param key 缓存键
+     */
+    void remove(String key);
+
+    void clear();
+
+    /**
+     * @return 缓存项数量
+     */
+    long size();
+
+    /**
+     * @return 存储的统计信息
+     */
+    Map<String, Object> stats();
+
+    /**
+     * 缓存项,value为String或Map&lt;String, String&gt;
+     */
+    class Entry {
+        private final Object value;
+        private final long expireAt;
+        private final long stamp;
+
+        public Entry(Object value, long expireAt, long stamp) {
+            this.value = value;
+            this.expireAt = expireAt;
+            this.stamp = stamp;
+        }
+
+        public Object getValue() {
+            return value;
+        }
+
+        public long getExpireAt() {
+            return expireAt;
+        }
+
+        public long getStamp() {
+            return stamp;
+        }
+    }
+}
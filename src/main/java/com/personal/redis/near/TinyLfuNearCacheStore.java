@@ -0,0 +1,244 @@
+/*
+ * @Copyright: 2005-2018 www.hyjf.com. All rights reserved.
+ */
+package com.personal.redis.near;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * @author sunpeikai
+ * @version TinyLfuNearCacheStore, v0.1 2026/10/18 23:20
+ * @description 堆内存储,W-TinyLFU方式淘汰
+ * 新key先进入容量1%的LRU窗口,被挤出窗口时与主区的LRU队尾比较访问频率,频率更高才进入主区,避免一次性扫描冲掉热点key
+ * 读取只访问ConcurrentHashMap,不加锁;访问记录写入按线程分段的有损缓冲区,缓冲区满或写入时加锁批量更新访问频率和LRU顺序
+ * 容量只有1时主区为空,挤出窗口的key直接淘汰
+ */
+public class TinyLfuNearCacheStore implements RedisNearCacheStore {
+
+    private final int maximumSize;
+
+    private final int windowSize;
+
+    private final int mainSize;
+
+    private final ConcurrentHashMap<String, Entry> data = new ConcurrentHashMap<>();
+
+    /**
+     * 窗口和主区只保存key的LRU顺序,由lock保护
+     */
+    private final LinkedHashMap<String, Boolean> window = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final LinkedHashMap<String, Boolean> main = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final FrequencySketch sketch;
+
+    private final ReadBuffer[] readBuffers;
+
+    private final int readBufferMask;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long evictions;
+
+    private long rejections;
+
+    /**
+     * @param maximumSize 最多缓存的key数
+     */
+    public TinyLfuNearCacheStore(int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("near cache maximumSize must be positive: " + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+        this.windowSize = Math.max(1, maximumSize / 100);
+        this.mainSize = maximumSize - windowSize;
+        this.sketch = new FrequencySketch(maximumSize);
+        int stripes = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() - 1)) << 1;
+        this.readBuffers = new ReadBuffer[stripes];
+        for (int i = 0; i < stripes; i++) {
+            readBuffers[i] = new ReadBuffer();
+        }
+        this.readBufferMask = stripes - 1;
+    }
+
+    @Override
+    public Entry get(String key) {
+        Entry entry = data.get(key);
+        if (readBuffers[(int) Thread.currentThread().getId() & readBufferMask].offer(key) && lock.tryLock()) {
+            try {
+                drainReadBuffers();
+            } finally {
+                lock.unlock();
+            }
+        }
+        return entry;
+    }
+
+    @Override
+    public void put(String key, Entry entry) {
+        lock.lock();
+        try {
+            drainReadBuffers();
+            data.put(key, entry);
+            if (main.containsKey(key)) {
+                main.get(key);
+                return;
+            }
+            window.put(key, Boolean.TRUE);
+            if (window.size() > windowSize) {
+                evictFromWindow();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 窗口中最久未访问的key进入主区,主区已满时与主区的LRU队尾比较访问频率
+     */
+    private void evictFromWindow() {
+        Iterator<String> windowIterator = window.keySet().iterator();
+        String candidate = windowIterator.next();
+        windowIterator.remove();
+        if (main.size() < mainSize) {
+            main.put(candidate, Boolean.TRUE);
+            return;
+        }
+        if (main.isEmpty()) {
+            data.remove(candidate);
+            evictions++;
+            return;
+        }
+        Iterator<String> mainIterator = main.keySet().iterator();
+        String victim = mainIterator.next();
+        if (sketch.frequency(candidate) > sketch.frequency(victim)) {
+            mainIterator.remove();
+            data.remove(victim);
+            main.put(candidate, Boolean.TRUE);
+            evictions++;
+        } else {
+            data.remove(candidate);
+            rejections++;
+        }
+    }
+
+    /**
+     * 把缓冲的访问记录计入访问频率,并把仍在缓存中的key移到LRU队首,调用方持有lock
+     */
+    private void drainReadBuffers() {
+        for (ReadBuffer buffer : readBuffers) {
+            buffer.drain(this::onRead);
+        }
+    }
+
+    private void onRead(String key) {
+        sketch.increment(key);
+        if (window.get(key) == null) {
+            main.get(key);
+        }
+    }
+
+    @Override
+    public void remove(String key) {
+        lock.lock();
+        try {
+            data.remove(key);
+            if (window.remove(key) == null) {
+                main.remove(key);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            drainReadBuffers();
+            data.clear();
+            window.clear();
+            main.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long size() {
+        return data.size();
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("storage", "heap");
+        stats.put("size", data.size());
+        stats.put("maximumSize", maximumSize);
+        lock.lock();
+        try {
+            stats.put("evictions", evictions);
+            stats.put("rejections", rejections);
+        } finally {
+            lock.unlock();
+        }
+        return stats;
+    }
+
+    /**
+     * 单个分段的访问记录环形缓冲区,多个线程写入,持有lock时读取
+     * 并发写入冲突或缓冲区已满时丢弃这次记录,访问频率是估算值,少量丢失不影响淘汰效果
+     */
+    private static final class ReadBuffer {
+        private static final int SIZE = 16;
+
+        private static final int MASK = SIZE - 1;
+
+        private final AtomicReferenceArray<String> buffer = new AtomicReferenceArray<>(SIZE);
+
+        private final AtomicLong writeCounter = new AtomicLong();
+
+        private volatile long readCounter;
+
+        /**
+         * @return 缓冲区已满,需要清空
+         */
+        private boolean offer(String key) {
+            long head = readCounter;
+            long tail = writeCounter.get();
+            long size = tail - head;
+            if (size >= SIZE) {
+                return true;
+            }
+            if (writeCounter.compareAndSet(tail, tail + 1)) {
+                buffer.lazySet((int) (tail & MASK), key);
+                return size + 1 >= SIZE;
+            }
+            return false;
+        }
+
+        private void drain(Consumer<String> consumer) {
+            long head = readCounter;
+            long tail = writeCounter.get();
+            for (; head < tail; head++) {
+                int index = (int) (head & MASK);
+                String key = buffer.get(index);
+                if (key == null) {
+                    // 写入方已经占位还没有写入,下次再读
+                    break;
+                }
+                buffer.lazySet(index, null);
+                consumer.accept(key);
+            }
+            readCounter = head;
+        }
+    }
+}
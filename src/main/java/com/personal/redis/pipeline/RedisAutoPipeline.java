@@ -0,0 +1,196 @@
+/*
+ * @Copyright: 2005-2018 www.hyjf.com. All rights reserved.
+ */
+package com.personal.redis.pipeline;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.util.Pool;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * @author sunpeikai
+ * @version RedisAutoPipeline, v0.1 2026/10/18 18:10
+ * @description 自动pipeline,并发调用方共享少量连接
+ * 每个写线程把排队中的命令合并成一个pipeline发送,按顺序把回复交还给各个调用方
+ * 每批命令发送前借出连接、收到回复后归还,哨兵故障转移后借出的是新主节点的连接,不会一直持有降级为从节点的旧主节点连接
+ */
+public class RedisAutoPipeline implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(RedisAutoPipeline.class);
+
+    private final Pool<Jedis> pool;
+
+    private final int maxBatch;
+
+    private final long timeoutMillis;
+
+    private final List<Lane> lanes = new ArrayList<>();
+
+    private final AtomicInteger index = new AtomicInteger();
+
+    private volatile boolean running = true;
+
+    /**
+     * @param pool 连接池,每批命令借出一个连接
+     * @param connections 写线程数,即同时使用的连接数
+     * @param maxBatch 单个pipeline最多合并的命令数
+     * @param timeoutMillis 调用方等待回复的超时时间
+     */
+    public RedisAutoPipeline(Pool<Jedis> pool, int connections, int maxBatch, long timeoutMillis) {
+        this.pool = pool;
+        this.maxBatch = maxBatch;
+        this.timeoutMillis = timeoutMillis;
+        for (int i = 0; i < connections; i++) {
+            Lane lane = new Lane();
+            Thread thread = new Thread(lane, "redis-auto-pipeline-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            lanes.add(lane);
+        }
+    }
+
+    /**
+     * 提交命令,命令会与其他调用方的命令合并发送
+     * @param command 命令
+     * @return 命令结果
+     */
+    public <T> CompletableFuture<T> submit(Function<Pipeline, Response<T>> command) {
+        return enqueue(command).future;
+    }
+
+    private <T> Command<T> enqueue(Function<Pipeline, Response<T>> command) {
+        Command<T> queued = new Command<>(command);
+        if (!running) {
+            queued.future.completeExceptionally(new IllegalStateException("redis auto pipeline closed"));
+            return queued;
+        }
+        lanes.get(Math.floorMod(index.getAndIncrement(), lanes.size())).queue.add(queued);
+        return queued;
+    }
+
+    /**
+     * 提交命令并等待结果
+     * 超时时还没有发送的命令不再发送;已经发送的命令无法撤回,仍可能在redis执行
+     * @param command 命令
+     * @return 命令结果
+     */
+    public <T> T execute(Function<Pipeline, Response<T>> command) {
+        Command<T> queued = enqueue(command);
+        try {
+            return queued.future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("redis auto pipeline interrupted", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new CompletionException(e.getCause());
+        } catch (TimeoutException e) {
+            IllegalStateException timeout = new IllegalStateException("redis auto pipeline timeout after " + timeoutMillis + "ms", e);
+            // 写线程发送前检查,已经结束的命令跳过
+            queued.future.completeExceptionally(timeout);
+            throw timeout;
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        for (Lane lane : lanes) {
+            lane.queue.add(Command.STOP);
+        }
+    }
+
+    private static class Command<T> {
+        private static final Command<Object> STOP = new Command<>(null);
+
+        private final Function<Pipeline, Response<T>> command;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private Response<T> response;
+
+        private Command(Function<Pipeline, Response<T>> command) {
+            this.command = command;
+        }
+
+        private void complete() {
+            if (future.isDone()) {
+                return;
+            }
+            try {
+                future.complete(response.get());
+            } catch (Exception e) {
+                // 单个命令的错误(如类型不匹配)只影响这个调用方
+                future.completeExceptionally(e);
+            }
+        }
+    }
+
+    private class Lane implements Runnable {
+        private final BlockingQueue<Command<?>> queue = new LinkedBlockingQueue<>();
+
+        @Override
+        public void run() {
+            List<Command<?>> batch = new ArrayList<>(maxBatch);
+            while (true) {
+                try {
+                    batch.add(queue.take());
+                    queue.drainTo(batch, maxBatch - 1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                boolean stop = batch.remove(Command.STOP);
+                if (!batch.isEmpty()) {
+                    flush(batch);
+                }
+                batch.clear();
+                if (stop) {
+                    break;
+                }
+            }
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private void flush(List<Command<?>> batch) {
+            // 调用方已经超时的命令不再发送
+            batch.removeIf(command -> command.future.isDone());
+            if (batch.isEmpty()) {
+                return;
+            }
+            // 每批归还连接,连接失败时jedis标记为broken,归还时由连接池销毁
+            try (Jedis jedis = pool.getResource()) {
+                Pipeline pipeline = jedis.pipelined();
+                for (Command command : batch) {
+                    try {
+                        command.response = (Response) command.command.apply(pipeline);
+                    } catch (Exception e) {
+                        // 命令没有写入pipeline,不影响同批次的其他命令
+                        command.future.completeExceptionally(e);
+                    }
+                }
+                pipeline.sync();
+                for (Command<?> command : batch) {
+                    command.complete();
+                }
+            } catch (Exception e) {
+                log.error("redis auto pipeline flush fail ==> ", e);
+                for (Command<?> command : batch) {
+                    command.future.completeExceptionally(e);
+                }
+            }
+        }
+    }
+}
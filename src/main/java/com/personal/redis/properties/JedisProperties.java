@@ -5,6 +5,11 @@ package com.personal.redis.properties;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * @author sunpeikai
  * @version JedisProperties, v0.1 2020/9/21 17:02
@@ -13,6 +18,7 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 @ConfigurationProperties(prefix = "redis")
 public class JedisProperties {
     private boolean enable;
+    private Mode mode = Mode.STANDALONE;
     private String ip;
     private Integer port;
     private int timeout = 2000;
@@ -20,6 +26,75 @@ public class JedisProperties {
     private int db = 0;
     private String clientName;
     private JedisPoolProperties pool;
+    private JedisClusterProperties cluster = new JedisClusterProperties();
+    private JedisSentinelProperties sentinel = new JedisSentinelProperties();
+    private JedisReplicaProperties replica = new JedisReplicaProperties();
+    private JedisShardProperties shards = new JedisShardProperties();
+    private JedisAutoPipelineProperties autoPipeline = new JedisAutoPipelineProperties();
+    private JedisPipelineProperties pipeline = new JedisPipelineProperties();
+    private JedisBulkDeleteProperties bulkDelete = new JedisBulkDeleteProperties();
+    private JedisGetBatchProperties getBatch = new JedisGetBatchProperties();
+    private JedisSingleFlightProperties singleFlight = new JedisSingleFlightProperties();
+    private JedisNearCacheProperties nearCache = new JedisNearCacheProperties();
+    private JedisMappedCacheProperties mappedCache = new JedisMappedCacheProperties();
+    private JedisLoadProperties load = new JedisLoadProperties();
+    private JedisCodecProperties codec = new JedisCodecProperties();
+    private JedisCompressionProperties compression = new JedisCompressionProperties();
+    private JedisCircuitBreakerProperties circuitBreaker = new JedisCircuitBreakerProperties();
+    private JedisStaleCacheProperties staleCache = new JedisStaleCacheProperties();
+    private JedisAsyncProperties async = new JedisAsyncProperties();
+    private JedisReactiveProperties reactive = new JedisReactiveProperties();
+    private Map<String, JedisInstanceProperties> instances = new LinkedHashMap<>();
+    private Map<String, String> routes = new LinkedHashMap<>();
+
+    /**
+     * 部署模式
+     */
+    public enum Mode {
+        /**
+         * 单机
+         */
+        STANDALONE,
+        /**
+         * 集群
+         */
+        CLUSTER,
+        /**
+         * 哨兵
+         */
+        SENTINEL,
+        /**
+         * 客户端分片
+         */
+        SHARDED
+    }
+
+    public static class JedisClusterProperties{
+        /**
+         * 集群节点,格式为ip:port
+         */
+        private List<String> nodes = new ArrayList<>();
+        /**
+         * MOVED/ASK重定向及连接失败的最大重试次数
+         */
+        private int maxRedirects = 5;
+
+        public List<String> getNodes() {
+            return nodes;
+        }
+
+        public void setNodes(List<String> nodes) {
+            this.nodes = nodes;
+        }
+
+        public int getMaxRedirects() {
+            return maxRedirects;
+        }
+
+        public void setMaxRedirects(int maxRedirects) {
+            this.maxRedirects = maxRedirects;
+        }
+    }
 
     public static class JedisPoolProperties{
         private Integer maxActive;
@@ -78,6 +153,838 @@ public class JedisProperties {
         }
     }
 
+    public static class JedisSentinelProperties{
+        /**
+         * 主节点名称
+         */
+        private String master;
+        /**
+         * 哨兵节点,格式为ip:port
+         */
+        private List<String> nodes = new ArrayList<>();
+        /**
+         * 哨兵密码,没有密码可不填
+         */
+        private String password;
+
+        public String getMaster() {
+            return master;
+        }
+
+        public void setMaster(String master) {
+            this.master = master;
+        }
+
+        public List<String> getNodes() {
+            return nodes;
+        }
+
+        public void setNodes(List<String> nodes) {
+            this.nodes = nodes;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+    }
+
+    public static class JedisReplicaProperties{
+        /**
+         * 是否开启读写分离
+         */
+        private boolean enable;
+        /**
+         * 从节点,格式为ip:port
+         */
+        private List<String> nodes = new ArrayList<>();
+
+        public boolean isEnable() {
+            return enable;
+        }
+
+        public void setEnable(boolean enable) {
+            this.enable = enable;
+        }
+
+        public List<String> getNodes() {
+            return nodes;
+        }
+
+        public void setNodes(List<String> nodes) {
+            this.nodes = nodes;
+        }
+    }
+
+    public static class JedisShardProperties{
+        /**
+         * 分片节点,格式为ip:port
+         */
+        private List<String> nodes = new ArrayList<>();
+        /**
+         * 每个节点在一致性hash环上的虚拟节点数
+         */
+        private int virtualNodes = 160;
+        /**
+         * 多key命令跨分片并行执行的线程数
+         */
+        private int parallelism = 8;
+
+        public List<String> getNodes() {
+            return nodes;
+        }
+
+        public void setNodes(List<String> nodes) {
+            this.nodes = nodes;
+        }
+
+        public int getVirtualNodes() {
+            return virtualNodes;
+        }
+
+        public void setVirtualNodes(int virtualNodes) {
+            this.virtualNodes = virtualNodes;
+        }
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+    }
+
+    public static class JedisAutoPipelineProperties{
+        /**
+         * 是否开启自动pipeline
+         */
+        private boolean enable;
+        /**
+         * 共享连接数
+         */
+        private int connections = 4;
+        /**
+         * 单个pipeline最多合并的命令数
+         */
+        private int maxBatch = 256;
+
+        public boolean isEnable() {
+            return enable;
+        }
+
+        public void setEnable(boolean enable) {
+            this.enable = enable;
+        }
+
+        public int getConnections() {
+            return connections;
+        }
+
+        public void setConnections(int connections) {
+            this.connections = connections;
+        }
+
+        public int getMaxBatch() {
+            return maxBatch;
+        }
+
+        public void setMaxBatch(int maxBatch) {
+            this.maxBatch = maxBatch;
+        }
+    }
+
+    public static class JedisPipelineProperties{
+        /**
+         * RedisUtils.pipelined批量执行时每批的命令数
+         */
+        private int chunkSize = 1000;
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    public static class JedisBulkDeleteProperties{
+        /**
+         * 批量删除时SCAN每页的数量
+         */
+        private int scanCount = 1000;
+        /**
+         * 每批pipeline发送的UNLINK数量
+         */
+        private int batchSize = 500;
+        /**
+         * 每秒最多删除的key数量,小于等于0时不限速
+         */
+        private int maxKeysPerSecond = 0;
+
+        public int getScanCount() {
+            return scanCount;
+        }
+
+        public void setScanCount(int scanCount) {
+            this.scanCount = scanCount;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getMaxKeysPerSecond() {
+            return maxKeysPerSecond;
+        }
+
+        public void setMaxKeysPerSecond(int maxKeysPerSecond) {
+            this.maxKeysPerSecond = maxKeysPerSecond;
+        }
+    }
+
+    public static class JedisGetBatchProperties{
+        /**
+         * 是否开启跨线程合并get
+         */
+        private boolean enable;
+        /**
+         * 发送mget的线程数
+         */
+        private int threads = 4;
+        /**
+         * 单个mget最多合并的key数
+         */
+        private int maxBatch = 64;
+        /**
+         * 第一个key到达后最多等待的微秒数
+         */
+        private long maxWaitMicros = 200;
+
+        public boolean isEnable() {
+            return enable;
+        }
+
+        public void setEnable(boolean enable) {
+            this.enable = enable;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getMaxBatch() {
+            return maxBatch;
+        }
+
+        public void setMaxBatch(int maxBatch) {
+            this.maxBatch = maxBatch;
+        }
+
+        public long getMaxWaitMicros() {
+            return maxWaitMicros;
+        }
+
+        public void setMaxWaitMicros(long maxWaitMicros) {
+            this.maxWaitMicros = maxWaitMicros;
+        }
+    }
+
+    public static class JedisSingleFlightProperties{
+        /**
+         * 是否开启相同读命令的并发合并
+         */
+        private boolean enable;
+        /**
+         * 参与合并的key前缀,为空时所有key都参与合并
+         */
+        private List<String> prefixes = new ArrayList<>();
+
+        public boolean isEnable() {
+            return enable;
+        }
+
+        public void setEnable(boolean enable) {
+            this.enable = enable;
+        }
+
+        public List<String> getPrefixes() {
+            return prefixes;
+        }
+
+        public void setPrefixes(List<String> prefixes) {
+            this.prefixes = prefixes;
+        }
+    }
+
+    public static class JedisNearCacheProperties{
+        /**
+         * 是否开启本地缓存
+         */
+        private boolean enable;
+        /**
+         * 最多缓存的key数
+         */
+        private int maximumSize = 10000;
+        /**
+         * 默认过期时间 - 秒
+         */
+        private long ttl = 60;
+        /**
+         * key前缀 - 过期时间(秒),为空时所有key都缓存
+         */
+        private Map<String, Long> prefixes = new LinkedHashMap<>();
+        /**
+         * 失效消息的频道
+         */
+        private String channel = "redis:near-cache:invalidate";
+        /**
+         * 存储方式,HEAP:堆内,OFF_HEAP:堆外直接内存
+         */
+        private Storage storage = Storage.HEAP;
+        /**
+         * 堆外存储最多使用的直接内存 - MB,需要不超过-XX:MaxDirectMemorySize
+         */
+        private int offHeapMemory = 256;
+        /**
+         * 堆外存储每页大小 - KB,也是单条缓存的最大长度
+         */
+        private int offHeapPageSize = 1024;
+
+        public enum Storage {
+            HEAP, OFF_HEAP
+        }
+
+        public boolean isEnable() {
+            return enable;
+        }
+
+        public void setEnable(boolean enable) {
+            this.enable = enable;
+        }
+
+        public int getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(int maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public long getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(long ttl) {
+            this.ttl = ttl;
+        }
+
+        public Map<String, Long> getPrefixes() {
+            return prefixes;
+        }
+
+        public void setPrefixes(Map<String, Long> prefixes) {
+            this.prefixes = prefixes;
+        }
+
+        public String getChannel() {
+            return channel;
+        }
+
+        public void setChannel(String channel) {
+            this.channel = channel;
+        }
+
+        public Storage getStorage() {
+            return storage;
+        }
+
+        public void setStorage(Storage storage) {
+            this.storage = storage;
+        }
+
+        public int getOffHeapMemory() {
+            return offHeapMemory;
+        }
+
+        public void setOffHeapMemory(int offHeapMemory) {
+            this.offHeapMemory = offHeapMemory;
+        }
+
+        public int getOffHeapPageSize() {
+            return offHeapPageSize;
+        }
+
+        public void setOffHeapPageSize(int offHeapPageSize) {
+            this.offHeapPageSize = offHeapPageSize;
+        }
+    }
+
+    public static class JedisMappedCacheProperties{
+        /**
+         * 是否开启内存映射文件缓存
+         */
+        private boolean enable;
+        /**
+         * 缓存文件所在目录,重启后使用同一目录可以保留缓存
+         */
+        private String directory = System.getProperty("java.io.tmpdir") + "/redis-mapped-cache";
+        /**
+         * 每个缓存文件的大小 - MB,共两个文件
+         */
+        private int fileSize = 256;
+        /**
+         * 缓存最长时间 - 秒,key在redis中的过期时间更短时使用redis中的过期时间
+         */
+        private long ttl = 3600;
+        /**
+         * 使用缓存的key前缀,为空时所有key都缓存
+         */
+        private List<String> prefixes = new ArrayList<>();
+
+        public boolean isEnable() {
+            return enable;
+        }
+
+        public void setEnable(boolean enable) {
+            this.enable = enable;
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public int getFileSize() {
+            return fileSize;
+        }
+
+        public void setFileSize(int fileSize) {
+            this.fileSize = fileSize;
+        }
+
+        public long getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(long ttl) {
+            this.ttl = ttl;
+        }
+
+        public List<String> getPrefixes() {
+            return prefixes;
+        }
+
+        public void setPrefixes(List<String> prefixes) {
+            this.prefixes = prefixes;
+        }
+    }
+
+    public static class JedisCodecProperties{
+        /**
+         * setObj/getObj默认的编解码,json或binary,也可以是自定义RedisCodec的bean名称
+         */
+        private String defaultCodec = "json";
+        /**
+         * key前缀 - 编解码名称
+         */
+        private Map<String, String> prefixes = new LinkedHashMap<>();
+
+        public String getDefaultCodec() {
+            return defaultCodec;
+        }
+
+        public void setDefaultCodec(String defaultCodec) {
+            this.defaultCodec = defaultCodec;
+        }
+
+        public Map<String, String> getPrefixes() {
+            return prefixes;
+        }
+
+        public void setPrefixes(Map<String, String> prefixes) {
+            this.prefixes = prefixes;
+        }
+    }
+
+    public static class JedisCompressionProperties{
+        /**
+         * 是否压缩超过阈值的值
+         */
+        private boolean enable;
+        /**
+         * 超过多少字节的值才压缩
+         */
+        private int threshold = 1024;
+        /**
+         * Deflate压缩级别,1最快,9压缩率最高
+         */
+        private int level = 1;
+
+        public boolean isEnable() {
+            return enable;
+        }
+
+        public void setEnable(boolean enable) {
+            this.enable = enable;
+        }
+
+        public int getThreshold() {
+            return threshold;
+        }
+
+        public void setThreshold(int threshold) {
+            this.threshold = threshold;
+        }
+
+        public int getLevel() {
+            return level;
+        }
+
+        public void setLevel(int level) {
+            this.level = level;
+        }
+    }
+
+    public static class JedisLoadProperties{
+        /**
+         * getOrLoad加载时租约key的过期时间 - 秒,也是其他调用方最长等待时间
+         */
+        private int leaseSeconds = 3;
+        /**
+         * getOrLoad写入的旧值比缓存多保留的时间 - 秒,加载期间返回给其他调用方;0表示不保留旧值
+         */
+        private int staleSeconds = 60;
+        /**
+         * getOrRefresh提前刷新的系数,大于1时更早刷新,小于1时更晚刷新
+         */
+        private double refreshBeta = 1.0;
+        /**
+         * getOrRefresh后台刷新的线程数
+         */
+        private int refreshThreads = 2;
+        /**
+         * getOrRefresh后台刷新的等待队列长度,队列满时放弃本次刷新
+         */
+        private int refreshQueueCapacity = 1000;
+
+        public int getLeaseSeconds() {
+            return leaseSeconds;
+        }
+
+        public void setLeaseSeconds(int leaseSeconds) {
+            this.leaseSeconds = leaseSeconds;
+        }
+
+        public int getStaleSeconds() {
+            return staleSeconds;
+        }
+
+        public void setStaleSeconds(int staleSeconds) {
+            this.staleSeconds = staleSeconds;
+        }
+
+        public double getRefreshBeta() {
+            return refreshBeta;
+        }
+
+        public void setRefreshBeta(double refreshBeta) {
+            this.refreshBeta = refreshBeta;
+        }
+
+        public int getRefreshThreads() {
+            return refreshThreads;
+        }
+
+        public void setRefreshThreads(int refreshThreads) {
+            this.refreshThreads = refreshThreads;
+        }
+
+        public int getRefreshQueueCapacity() {
+            return refreshQueueCapacity;
+        }
+
+        public void setRefreshQueueCapacity(int refreshQueueCapacity) {
+            this.refreshQueueCapacity = refreshQueueCapacity;
+        }
+    }
+
+    public static class JedisCircuitBreakerProperties{
+        /**
+         * 是否开启熔断
+         */
+        private boolean enable;
+        /**
+         * 统计最近多少次调用
+         */
+        private int windowSize = 100;
+        /**
+         * 调用数达到多少次后才计算失败率和慢调用率
+         */
+        private int minimumCalls = 20;
+        /**
+         * 失败率阈值 - 百分比,连接失败和超时算失败
+         */
+        private int failureRateThreshold = 50;
+        /**
+         * 超过多少毫秒算慢调用
+         */
+        private long slowCallDuration = 1000;
+        /**
+         * 慢调用率阈值 - 百分比
+         */
+        private int slowCallRateThreshold = 100;
+        /**
+         * 熔断多久后进入半开 - 毫秒
+         */
+        private long waitDuration = 5000;
+        /**
+         * 半开时放行试探的调用数
+         */
+        private int halfOpenCalls = 5;
+        /**
+         * 探测线程的检查间隔 - 毫秒,半开时执行健康检查
+         */
+        private long checkInterval = 1000;
+
+        public boolean isEnable() {
+            return enable;
+        }
+
+        public void setEnable(boolean enable) {
+            this.enable = enable;
+        }
+
+        public int getWindowSize() {
+            return windowSize;
+        }
+
+        public void setWindowSize(int windowSize) {
+            this.windowSize = windowSize;
+        }
+
+        public int getMinimumCalls() {
+            return minimumCalls;
+        }
+
+        public void setMinimumCalls(int minimumCalls) {
+            this.minimumCalls = minimumCalls;
+        }
+
+        public int getFailureRateThreshold() {
+            return failureRateThreshold;
+        }
+
+        public void setFailureRateThreshold(int failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+        }
+
+        public long getSlowCallDuration() {
+            return slowCallDuration;
+        }
+
+        public void setSlowCallDuration(long slowCallDuration) {
+            this.slowCallDuration = slowCallDuration;
+        }
+
+        public int getSlowCallRateThreshold() {
+            return slowCallRateThreshold;
+        }
+
+        public void setSlowCallRateThreshold(int slowCallRateThreshold) {
+            this.slowCallRateThreshold = slowCallRateThreshold;
+        }
+
+        public long getWaitDuration() {
+            return waitDuration;
+        }
+
+        public void setWaitDuration(long waitDuration) {
+            this.waitDuration = waitDuration;
+        }
+
+        public int getHalfOpenCalls() {
+            return halfOpenCalls;
+        }
+
+        public void setHalfOpenCalls(int halfOpenCalls) {
+            this.halfOpenCalls = halfOpenCalls;
+        }
+
+        public long getCheckInterval() {
+            return checkInterval;
+        }
+
+        public void setCheckInterval(long checkInterval) {
+            this.checkInterval = checkInterval;
+        }
+    }
+
+    public static class JedisStaleCacheProperties{
+        /**
+         * 是否在熔断期间返回旧值,需要同时开启熔断
+         */
+        private boolean enable;
+        /**
+         * 最多保存的旧值数量
+         */
+        private int maximumSize = 10000;
+
+        public boolean isEnable() {
+            return enable;
+        }
+
+        public void setEnable(boolean enable) {
+            this.enable = enable;
+        }
+
+        public int getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(int maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+    }
+
+    public static class JedisAsyncProperties{
+        /**
+         * 异步线程池线程数
+         */
+        private int threads = 8;
+        /**
+         * 异步线程池等待队列长度,队列满时由调用线程执行
+         */
+        private int queueCapacity = 1024;
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+
+    public static class JedisReactiveProperties{
+        /**
+         * 响应式调度器最大线程数
+         */
+        private int threads = 16;
+        /**
+         * 每个线程最多排队的任务数
+         */
+        private int queuedTasks = 10000;
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getQueuedTasks() {
+            return queuedTasks;
+        }
+
+        public void setQueuedTasks(int queuedTasks) {
+            this.queuedTasks = queuedTasks;
+        }
+    }
+
+    public static class JedisInstanceProperties{
+        private String ip;
+        private Integer port;
+        private int timeout = 2000;
+        private String password;
+        private int db = 0;
+        private String clientName;
+        /**
+         * 连接池配置,可省略,默认使用redis.pool
+         */
+        private JedisPoolProperties pool;
+
+        public String getIp() {
+            return ip;
+        }
+
+        public void setIp(String ip) {
+            this.ip = ip;
+        }
+
+        public Integer getPort() {
+            return port;
+        }
+
+        public void setPort(Integer port) {
+            this.port = port;
+        }
+
+        public int getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(int timeout) {
+            this.timeout = timeout;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public int getDb() {
+            return db;
+        }
+
+        public void setDb(int db) {
+            this.db = db;
+        }
+
+        public String getClientName() {
+            return clientName;
+        }
+
+        public void setClientName(String clientName) {
+            this.clientName = clientName;
+        }
+
+        public JedisPoolProperties getPool() {
+            return pool;
+        }
+
+        public void setPool(JedisPoolProperties pool) {
+            this.pool = pool;
+        }
+    }
+
     public boolean isEnable() {
         return enable;
     }
@@ -86,6 +993,14 @@ public class JedisProperties {
         this.enable = enable;
     }
 
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
     public String getIp() {
         return ip;
     }
@@ -141,4 +1056,164 @@ public class JedisProperties {
     public void setPool(JedisPoolProperties pool) {
         this.pool = pool;
     }
+
+    public JedisClusterProperties getCluster() {
+        return cluster;
+    }
+
+    public void setCluster(JedisClusterProperties cluster) {
+        this.cluster = cluster;
+    }
+
+    public JedisSentinelProperties getSentinel() {
+        return sentinel;
+    }
+
+    public void setSentinel(JedisSentinelProperties sentinel) {
+        this.sentinel = sentinel;
+    }
+
+    public JedisReplicaProperties getReplica() {
+        return replica;
+    }
+
+    public void setReplica(JedisReplicaProperties replica) {
+        this.replica = replica;
+    }
+
+    public JedisShardProperties getShards() {
+        return shards;
+    }
+
+    public void setShards(JedisShardProperties shards) {
+        this.shards = shards;
+    }
+
+    public JedisAutoPipelineProperties getAutoPipeline() {
+        return autoPipeline;
+    }
+
+    public void setAutoPipeline(JedisAutoPipelineProperties autoPipeline) {
+        this.autoPipeline = autoPipeline;
+    }
+
+    public JedisPipelineProperties getPipeline() {
+        return pipeline;
+    }
+
+    public void setPipeline(JedisPipelineProperties pipeline) {
+        this.pipeline = pipeline;
+    }
+
+    public JedisBulkDeleteProperties getBulkDelete() {
+        return bulkDelete;
+    }
+
+    public void setBulkDelete(JedisBulkDeleteProperties bulkDelete) {
+        this.bulkDelete = bulkDelete;
+    }
+
+    public JedisGetBatchProperties getGetBatch() {
+        return getBatch;
+    }
+
+    public void setGetBatch(JedisGetBatchProperties getBatch) {
+        this.getBatch = getBatch;
+    }
+
+    public JedisSingleFlightProperties getSingleFlight() {
+        return singleFlight;
+    }
+
+    public void setSingleFlight(JedisSingleFlightProperties singleFlight) {
+        this.singleFlight = singleFlight;
+    }
+
+    public JedisNearCacheProperties getNearCache() {
+        return nearCache;
+    }
+
+    public void setNearCache(JedisNearCacheProperties nearCache) {
+        this.nearCache = nearCache;
+    }
+
+    public JedisMappedCacheProperties getMappedCache() {
+        return mappedCache;
+    }
+
+    public void setMappedCache(JedisMappedCacheProperties mappedCache) {
+        this.mappedCache = mappedCache;
+    }
+
+    public JedisCodecProperties getCodec() {
+        return codec;
+    }
+
+    public void setCodec(JedisCodecProperties codec) {
+        this.codec = codec;
+    }
+
+    public JedisCompressionProperties getCompression() {
+        return compression;
+    }
+
+    public void setCompression(JedisCompressionProperties compression) {
+        this.compression = compression;
+    }
+
+    public JedisLoadProperties getLoad() {
+        return load;
+    }
+
+    public void setLoad(JedisLoadProperties load) {
+        this.load = load;
+    }
+
+    public JedisCircuitBreakerProperties getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public void setCircuitBreaker(JedisCircuitBreakerProperties circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    public JedisStaleCacheProperties getStaleCache() {
+        return staleCache;
+    }
+
+    public void setStaleCache(JedisStaleCacheProperties staleCache) {
+        this.staleCache = staleCache;
+    }
+
+    public JedisAsyncProperties getAsync() {
+        return async;
+    }
+
+    public void setAsync(JedisAsyncProperties async) {
+        this.async = async;
+    }
+
+    public JedisReactiveProperties getReactive() {
+        return reactive;
+    }
+
+    public void setReactive(JedisReactiveProperties reactive) {
+        this.reactive = reactive;
+    }
+
+    public Map<String, JedisInstanceProperties> getInstances() {
+        return instances;
+    }
+
+    public void setInstances(Map<String, JedisInstanceProperties> instances) {
+        this.instances = instances;
+    }
+
+    public Map<String, String> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, String> routes) {
+        this.routes = routes;
+    }
 }
@@ -0,0 +1,34 @@
+/*
+ * @Copyright: 2005-2018 www.hyjf.com. All rights reserved.
+ */
+package com.personal.redis.reactive;
+
+import com.personal.redis.properties.JedisProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.Assert;
+
+/**
+ * @author sunpeikai
+ * @version RedisReactiveConfiguration, v0.1 2026/10/18 21:10
+ * @description 引入reactor-core时装配ReactiveRedisUtils使用的调度器
+ */
+@Configuration
+@ConditionalOnClass(name = {"reactor.core.publisher.Flux"})
+@EnableConfigurationProperties({JedisProperties.class})
+@ConditionalOnProperty(name = {"redis.enable"}, havingValue = "true")
+public class RedisReactiveConfiguration {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    public RedisReactiveScheduler redisReactiveScheduler(JedisProperties jedisProperties){
+        JedisProperties.JedisReactiveProperties reactiveProperties = jedisProperties.getReactive();
+        Assert.isTrue(reactiveProperties.getThreads() > 0, "reactive threads must be positive.");
+        Assert.isTrue(reactiveProperties.getQueuedTasks() > 0, "reactive queuedTasks must be positive.");
+        return new RedisReactiveScheduler(reactiveProperties.getThreads(), reactiveProperties.getQueuedTasks());
+    }
+}
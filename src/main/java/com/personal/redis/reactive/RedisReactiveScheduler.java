@@ -0,0 +1,33 @@
+/*
+ * @Copyright: 2005-2018 www.hyjf.com. All rights reserved.
+ */
+package com.personal.redis.reactive;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * @author sunpeikai
+ * @version RedisReactiveScheduler, v0.1 2026/10/18 21:10
+ * @description ReactiveRedisUtils专用的有界调度器,jedis的阻塞调用都在这里执行,不会占用事件循环线程
+ */
+public class RedisReactiveScheduler {
+
+    private final Scheduler scheduler;
+
+    /**
+     * @param threads 最大线程数
+     * @param queuedTasks 每个线程最多排队的任务数
+     */
+    public RedisReactiveScheduler(int threads, int queuedTasks) {
+        this.scheduler = Schedulers.newBoundedElastic(threads, queuedTasks, "redis-reactive", 60, true);
+    }
+
+    public Scheduler getScheduler() {
+        return scheduler;
+    }
+
+    public void close() {
+        scheduler.dispose();
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * @Copyright: 2005-2018 www.hyjf.com. All rights reserved.
+ */
+package com.personal.redis.replica;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author sunpeikai
+ * @version RedisReplicaPool, v0.1 2026/10/18 14:05
+ * @description redis从节点连接池,只读命令轮询分发到各个从节点
+ */
+public class RedisReplicaPool implements Closeable {
+
+    private final List<JedisPool> pools;
+
+    private final AtomicInteger index = new AtomicInteger();
+
+    public RedisReplicaPool(List<JedisPool> pools) {
+        this.pools = Collections.unmodifiableList(new ArrayList<>(pools));
+    }
+
+    /**
+     * 轮询获取从节点连接,某个从节点不可用时尝试下一个
+     * @return jedis
+     * @throws JedisConnectionException 全部从节点都不可用
+     */
+    public Jedis getResource() {
+        int start = index.getAndIncrement();
+        JedisConnectionException lastException = null;
+        for (int i = 0; i < pools.size(); i++) {
+            JedisPool pool = pools.get(Math.floorMod(start + i, pools.size()));
+            try {
+                return pool.getResource();
+            } catch (JedisConnectionException e) {
+                lastException = e;
+            }
+        }
+        throw lastException != null ? lastException : new JedisConnectionException("no redis replica available");
+    }
+
+    /**
+     * 轮询选择一个从节点的连接池,供需要在同一个节点上执行多条命令的调用方(如scan游标)使用
+     * @return 连接池
+     */
+    public JedisPool nextPool() {
+        return pools.get(Math.floorMod(index.getAndIncrement(), pools.size()));
+    }
+
+    /**
+     * 全部从节点的连接池
+     * @return 连接池
+     */
+    public List<JedisPool> getPools() {
+        return pools;
+    }
+
+    @Override
+    public void close() {
+        for (JedisPool pool : pools) {
+            pool.close();
+        }
+    }
+}
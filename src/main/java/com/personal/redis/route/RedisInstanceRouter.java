@@ -0,0 +1,132 @@
+/*
+ * @Copyright: 2005-2018 www.hyjf.com. All rights reserved.
+ */
+package com.personal.redis.route;
+
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.util.SafeEncoder;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author sunpeikai
+ * @version RedisInstanceRouter, v0.1 2026/10/18 15:20
+ * @description 多实例路由,按key前缀把命令分发到不同的redis实例,前缀越长优先级越高
+ */
+public class RedisInstanceRouter implements Closeable {
+
+    private final Map<String, JedisPool> instances;
+
+    private final List<Route> routes = new ArrayList<>();
+
+    /**
+     * @param instances 实例名称 - 连接池
+     * @param prefixes key前缀 - 实例名称
+     */
+    public RedisInstanceRouter(Map<String, JedisPool> instances, Map<String, String> prefixes) {
+        this.instances = Collections.unmodifiableMap(new LinkedHashMap<>(instances));
+        prefixes.forEach((prefix, instance) -> {
+            JedisPool pool = instances.get(instance);
+            if (pool == null) {
+                throw new IllegalArgumentException("redis instance [" + instance + "] of prefix [" + prefix + "] not found");
+            }
+            routes.add(new Route(prefix, pool));
+        });
+        routes.sort((a, b) -> b.prefix.length() - a.prefix.length());
+    }
+
+    /**
+     * 是否配置了路由
+     * @return 没有任何路由返回TRUE
+     */
+    public boolean isEmpty() {
+        return routes.isEmpty();
+    }
+
+    /**
+     * 获取key所属实例
+     * @param key redis键
+     * @return 实例连接池,没有匹配的前缀返回null
+     */
+    public JedisPool route(String key) {
+        if (key == null) {
+            return null;
+        }
+        for (Route route : routes) {
+            if (key.startsWith(route.prefix)) {
+                return route.pool;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 获取key所属实例
+     * @param key redis键
+     * @return 实例连接池,没有匹配的前缀返回null
+     */
+    public JedisPool route(byte[] key) {
+        if (key == null) {
+            return null;
+        }
+        for (Route route : routes) {
+            if (startsWith(key, route.prefixBytes)) {
+                return route.pool;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 获取指定名称的实例
+     * @param name 实例名称
+     * @return 实例连接池,不存在返回null
+     */
+    public JedisPool getInstance(String name) {
+        return instances.get(name);
+    }
+
+    /**
+     * 全部实例
+     * @return 实例名称 - 连接池
+     */
+    public Map<String, JedisPool> getInstances() {
+        return instances;
+    }
+
+    @Override
+    public void close() {
+        for (JedisPool pool : instances.values()) {
+            pool.close();
+        }
+    }
+
+    private static boolean startsWith(byte[] key, byte[] prefix) {
+        if (key.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (key[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static class Route {
+        private final String prefix;
+        private final byte[] prefixBytes;
+        private final JedisPool pool;
+
+        private Route(String prefix, JedisPool pool) {
+            this.prefix = prefix;
+            this.prefixBytes = SafeEncoder.encode(prefix);
+            this.pool = pool;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * @Copyright: 2005-2018 www.hyjf.com. All rights reserved.
+ */
+package com.personal.redis.scan;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.ScanResult;
+import redis.clients.jedis.util.Pool;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * @author sunpeikai
+ * @version RedisBulkDeleter, v0.1 2026/10/19 16:10
+ * @description 按模式批量删除:逐个节点用SCAN MATCH增量查找key,每攒够batchSize个key以pipeline发送一批UNLINK
+ * 不使用KEYS,单次SCAN和单批UNLINK的耗时都很短,不会长时间阻塞redis;每页和每批单独借用连接,限速等待期间不占用连接
+ * 只保留当前一批key,SCAN重复返回的key再次UNLINK时返回0,不影响删除数量
+ */
+public class RedisBulkDeleter {
+    private static final Logger log = LoggerFactory.getLogger(RedisBulkDeleter.class);
+
+    private final int batchSize;
+
+    private final int maxKeysPerSecond;
+
+    /**
+     * @param batchSize 每批UNLINK的key数量
+     * @param maxKeysPerSecond 每秒最多删除的key数量,小于等于0时不限速
+     */
+    public RedisBulkDeleter(int batchSize, int maxKeysPerSecond) {
+        this.batchSize = Math.max(1, batchSize);
+        this.maxKeysPerSecond = maxKeysPerSecond;
+    }
+
+    /**
+     * @param pattern 匹配的模式
+     * @param nodes 保存key的节点
+     * @param scan 在节点上按游标执行一页SCAN,执行失败返回null
+     * @param unlink 在节点上删除一批key,返回删除数量,执行失败返回null
+     * @param progress 每批删除后的进度回调,可以为null
+     * @return 删除结果
+     */
+    public RedisDeleteResult delete(String pattern, List<Pool<Jedis>> nodes,
+                                    BiFunction<Pool<Jedis>, String, ScanResult<String>> scan,
+                                    BiFunction<Pool<Jedis>, List<String>, Long> unlink,
+                                    Consumer<RedisDeleteResult> progress) {
+        RedisDeleteResult result = new RedisDeleteResult(pattern, nodes.size());
+        boolean failed = false;
+        for (Pool<Jedis> node : nodes) {
+            if (!deleteOnNode(node, result, scan, unlink, progress)) {
+                failed = true;
+                break;
+            }
+        }
+        result.finish(failed);
+        if (failed) {
+            log.warn("redis delete stopped, {}", result);
+        } else {
+            log.info("redis delete finished, {}", result);
+        }
+        return result;
+    }
+
+    private boolean deleteOnNode(Pool<Jedis> node, RedisDeleteResult result,
+                                 BiFunction<Pool<Jedis>, String, ScanResult<String>> scan,
+                                 BiFunction<Pool<Jedis>, List<String>, Long> unlink,
+                                 Consumer<RedisDeleteResult> progress) {
+        RedisScanIterator<String> keys = new RedisScanIterator<>(Collections.singletonList(cursor -> scan.apply(node, cursor)), null);
+        List<String> batch = new ArrayList<>(batchSize);
+        try {
+            while (keys.hasNext()) {
+                batch.add(keys.next());
+                if (batch.size() >= batchSize) {
+                    result.paged(keys.getPages());
+                    if (!flush(node, batch, result, unlink, progress)) {
+                        return false;
+                    }
+                }
+            }
+            result.paged(keys.getPages());
+            return !keys.isFailed() && (batch.isEmpty() || flush(node, batch, result, unlink, progress));
+        } finally {
+            result.paged(keys.getPages());
+            result.nodeFinished();
+        }
+    }
+
+    private boolean flush(Pool<Jedis> node, List<String> batch, RedisDeleteResult result,
+                          BiFunction<Pool<Jedis>, List<String>, Long> unlink, Consumer<RedisDeleteResult> progress) {
+        Long deleted = unlink.apply(node, batch);
+        if (deleted == null) {
+            return false;
+        }
+        result.deleted(batch.size(), deleted);
+        batch.clear();
+        if (progress != null) {
+            progress.accept(result);
+        }
+        return throttle(result);
+    }
+
+    /**
+     * 按已发送的key数量计算应当经过的时间,比实际经过的时间多时等待差值
+     * @return 等待时被中断返回false
+     */
+    private boolean throttle(RedisDeleteResult result) {
+        if (maxKeysPerSecond <= 0) {
+            return true;
+        }
+        long wait = result.getScanned() * 1000L / maxKeysPerSecond - (System.currentTimeMillis() - result.getStart());
+        if (wait > 0) {
+            try {
+                Thread.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+}
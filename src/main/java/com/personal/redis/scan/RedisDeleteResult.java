@@ -0,0 +1,125 @@
+/*
+ * @Copyright: 2005-2018 www.hyjf.com. All rights reserved.
+ */
+package com.personal.redis.scan;
+
+/**
+ * @author sunpeikai
+ * @version RedisDeleteResult, v0.1 2026/10/19 16:00
+ * @description 按模式批量删除的进度和结果,删除过程中每发送一批UNLINK更新一次,并交给进度回调
+ */
+public class RedisDeleteResult {
+
+    private final String pattern;
+
+    private final int nodes;
+
+    private final long start;
+
+    private long pages;
+
+    private long nodePages;
+
+    private long scanned;
+
+    private long deleted;
+
+    private long batches;
+
+    private long costMillis;
+
+    private boolean failed;
+
+    RedisDeleteResult(String pattern, int nodes) {
+        this.pattern = pattern;
+        this.nodes = nodes;
+        this.start = System.currentTimeMillis();
+    }
+
+    /**
+     * @param pages 当前节点已读取的页数
+     */
+    void paged(long pages) {
+        this.nodePages = pages;
+    }
+
+    void nodeFinished() {
+        this.pages += nodePages;
+        this.nodePages = 0;
+    }
+
+    void deleted(int scanned, long deleted) {
+        this.scanned += scanned;
+        this.deleted += deleted;
+        this.batches++;
+        this.costMillis = System.currentTimeMillis() - start;
+    }
+
+    void finish(boolean failed) {
+        this.failed = failed;
+        this.costMillis = System.currentTimeMillis() - start;
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * @return 迭代的节点数,集群模式下为主节点数,分片模式下为分片数
+     */
+    public int getNodes() {
+        return nodes;
+    }
+
+    /**
+     * @return SCAN读取的页数
+     */
+    public long getPages() {
+        return pages + nodePages;
+    }
+
+    /**
+     * @return 匹配的key数量(已发送UNLINK的)
+     */
+    public long getScanned() {
+        return scanned;
+    }
+
+    /**
+     * @return 实际删除的key数量,删除前已过期或被其他客户端删除的key不计入
+     */
+    public long getDeleted() {
+        return deleted;
+    }
+
+    /**
+     * @return 发送的UNLINK批次数
+     */
+    public long getBatches() {
+        return batches;
+    }
+
+    long getStart() {
+        return start;
+    }
+
+    /**
+     * @return 到目前为止的耗时,包括限速等待的时间
+     */
+    public long getCostMillis() {
+        return costMillis;
+    }
+
+    /**
+     * @return SCAN或UNLINK执行失败导致删除提前结束时返回true
+     */
+    public boolean isFailed() {
+        return failed;
+    }
+
+    @Override
+    public String toString() {
+        return "pattern[" + pattern + "] nodes[" + nodes + "] pages[" + getPages() + "] scanned[" + scanned + "] deleted["
+                + deleted + "] batches[" + batches + "] cost[" + costMillis + "ms]" + (failed ? " failed" : "");
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * @Copyright: 2005-2018 www.hyjf.com. All rights reserved.
+ */
+package com.personal.redis.scan;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.ScanParams;
+import redis.clients.jedis.ScanResult;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * @author sunpeikai
+ * @version RedisScanIterator, v0.1 2026/10/19 15:00
+ * @description SCAN/HSCAN/SSCAN/ZSCAN游标的惰性迭代器,当前页用完后才用上一页返回的游标取下一页,直到游标回到0
+ * 每一页单独借用和归还连接,迭代过程中不占用连接,内存中只保留一页数据
+ * 多个来源(集群的每个主节点、每个分片)依次迭代;SCAN可能返回重复元素,需要时可以按identity去重,去重会保留已返回元素的标识
+ * 某一页执行失败(返回null)时结束迭代并记录failed,调用方可以通过isFailed区分迭代完成和中途失败
+ */
+public class RedisScanIterator<T> implements Iterator<T> {
+    private static final Logger log = LoggerFactory.getLogger(RedisScanIterator.class);
+
+    private final Iterator<Function<String, ScanResult<T>>> sources;
+
+    private final Function<T, ?> identity;
+
+    private final Set<Object> seen;
+
+    private Function<String, ScanResult<T>> source;
+
+    private String cursor;
+
+    private Iterator<T> page = Collections.emptyIterator();
+
+    private T next;
+
+    private long pages;
+
+    private boolean failed;
+
+    /**
+     * @param sources 每个来源按游标取一页,执行失败返回null
+     * @param identity 去重使用的标识,为null时不去重
+     */
+    public RedisScanIterator(List<Function<String, ScanResult<T>>> sources, Function<T, ?> identity) {
+        this.sources = sources.iterator();
+        this.identity = identity;
+        this.seen = identity == null ? null : new HashSet<>();
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (next == null) {
+            if (page.hasNext()) {
+                T element = page.next();
+                if (element != null && (seen == null || seen.add(identity.apply(element)))) {
+                    next = element;
+                }
+            } else if (!fetch()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T element = next;
+        next = null;
+        return element;
+    }
+
+    /**
+     * 取下一页,当前来源的游标回到0时切换到下一个来源
+     * @return 没有更多数据或执行失败时返回false
+     */
+    private boolean fetch() {
+        if (failed) {
+            return false;
+        }
+        if (source == null) {
+            if (!sources.hasNext()) {
+                return false;
+            }
+            source = sources.next();
+            cursor = ScanParams.SCAN_POINTER_START;
+        }
+        ScanResult<T> result = source.apply(cursor);
+        if (result == null) {
+            log.warn("redis scan stopped, page[{}] cursor[{}] failed", pages, cursor);
+            failed = true;
+            return false;
+        }
+        pages++;
+        cursor = result.getCursor();
+        if (ScanParams.SCAN_POINTER_START.equals(cursor)) {
+            source = null;
+        }
+        List<T> elements = result.getResult();
+        page = elements == null ? Collections.emptyIterator() : elements.iterator();
+        return true;
+    }
+
+    /**
+     * @return 已经读取的页数
+     */
+    public long getPages() {
+        return pages;
+    }
+
+    /**
+     * @return 某一页执行失败导致迭代提前结束时返回true
+     */
+    public boolean isFailed() {
+        return failed;
+    }
+
+    /**
+     * @return 按迭代器顺序的惰性Stream,终止操作执行时才开始取页
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+}
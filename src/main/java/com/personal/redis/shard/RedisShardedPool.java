@@ -0,0 +1,202 @@
+/*
+ * @Copyright: 2005-2018 www.hyjf.com. All rights reserved.
+ */
+package com.personal.redis.shard;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.util.Hashing;
+import redis.clients.jedis.util.SafeEncoder;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+/**
+ * @author sunpeikai
+ * @version RedisShardedPool, v0.1 2026/10/18 16:40
+ * @description 客户端分片,使用带虚拟节点的一致性hash环把key分散到多个单机redis
+ * key中包含hash tag时(如{user}:1)只用tag计算hash,保证相同tag的key落在同一分片
+ */
+public class RedisShardedPool implements Closeable {
+
+    private final Map<String, JedisPool> shards;
+
+    private final TreeMap<Long, JedisPool> ring = new TreeMap<>();
+
+    private final ExecutorService executor;
+
+    /**
+     * @param shards 节点名称(ip:port) - 连接池,节点名称参与hash计算,调整节点顺序不影响分布
+     * @param virtualNodes 每个节点的虚拟节点数
+     * @param parallelism 多key命令并行执行的线程数
+     */
+    public RedisShardedPool(Map<String, JedisPool> shards, int virtualNodes, int parallelism) {
+        this.shards = Collections.unmodifiableMap(new LinkedHashMap<>(shards));
+        shards.forEach((name, pool) -> {
+            for (int n = 0; n < virtualNodes; n++) {
+                ring.put(Hashing.MURMUR_HASH.hash(name + "#" + n), pool);
+            }
+        });
+        AtomicInteger threadIndex = new AtomicInteger();
+        ThreadPoolExecutor threadPool = new ThreadPoolExecutor(parallelism, parallelism, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(parallelism * 64), runnable -> {
+                    Thread thread = new Thread(runnable, "redis-shard-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        threadPool.allowCoreThreadTimeOut(true);
+        this.executor = threadPool;
+    }
+
+    /**
+     * 获取key所在分片
+     * @param key redis键
+     * @return 分片连接池
+     */
+    public JedisPool getShard(String key) {
+        return getShard(key == null ? new byte[0] : SafeEncoder.encode(key));
+    }
+
+    /**
+     * 获取key所在分片
+     * @param key redis键
+     * @return 分片连接池
+     */
+    public JedisPool getShard(byte[] key) {
+        SortedMap<Long, JedisPool> tail = ring.tailMap(Hashing.MURMUR_HASH.hash(hashTag(key == null ? new byte[0] : key)));
+        return tail.isEmpty() ? ring.firstEntry().getValue() : tail.get(tail.firstKey());
+    }
+
+    /**
+     * 全部分片
+     * @return 节点名称 - 连接池
+     */
+    public Map<String, JedisPool> getShards() {
+        return shards;
+    }
+
+    /**
+     * 第一个分片,用于不针对某个key的命令
+     * @return 分片连接池
+     */
+    public JedisPool getFirstShard() {
+        return shards.values().iterator().next();
+    }
+
+    /**
+     * 按分片把key分组
+     * @param keys redis键
+     * @return 分片连接池 - key在数组中的下标
+     */
+    public Map<JedisPool, List<Integer>> partition(String[] keys) {
+        Map<JedisPool, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            groups.computeIfAbsent(getShard(keys[i]), pool -> new ArrayList<>()).add(i);
+        }
+        return groups;
+    }
+
+    /**
+     * 按分片把key分组
+     * @param keys redis键
+     * @return 分片连接池 - key在数组中的下标
+     */
+    public Map<JedisPool, List<Integer>> partition(byte[][] keys) {
+        Map<JedisPool, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            groups.computeIfAbsent(getShard(keys[i]), pool -> new ArrayList<>()).add(i);
+        }
+        return groups;
+    }
+
+    /**
+     * 在各个分片上并行执行命令,最后一个分片在当前线程执行
+     * @param groups 分片连接池 - key在数组中的下标
+     * @param action 命令,参数为分片连接和该分片的key下标
+     * @return 各个分片的结果,顺序与groups一致
+     */
+    public <R> List<R> executeByShard(Map<JedisPool, List<Integer>> groups, BiFunction<Jedis, List<Integer>, R> action) {
+        List<Future<R>> futures = new ArrayList<>(groups.size());
+        R last = null;
+        Iterator<Map.Entry<JedisPool, List<Integer>>> iterator = groups.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<JedisPool, List<Integer>> group = iterator.next();
+            if (iterator.hasNext()) {
+                futures.add(executor.submit(() -> execute(group.getKey(), group.getValue(), action)));
+            } else {
+                last = execute(group.getKey(), group.getValue(), action);
+            }
+        }
+        List<R> results = new ArrayList<>(groups.size());
+        for (Future<R> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("redis shard execute interrupted", e);
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new IllegalStateException(e.getCause());
+            }
+        }
+        if (!groups.isEmpty()) {
+            results.add(last);
+        }
+        return results;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        for (JedisPool pool : shards.values()) {
+            pool.close();
+        }
+    }
+
+    private static <R> R execute(JedisPool pool, List<Integer> indexes, BiFunction<Jedis, List<Integer>, R> action) {
+        try (Jedis jedis = pool.getResource()) {
+            return action.apply(jedis, indexes);
+        }
+    }
+
+    /**
+     * 取出hash tag,与redis集群规则一致:第一个'{'与其后第一个'}'之间的内容非空时只用它计算hash
+     */
+    private static byte[] hashTag(byte[] key) {
+        int start = -1;
+        for (int i = 0; i < key.length; i++) {
+            if (key[i] == '{') {
+                start = i;
+                break;
+            }
+        }
+        if (start < 0) {
+            return key;
+        }
+        for (int end = start + 1; end < key.length; end++) {
+            if (key[end] == '}') {
+                if (end == start + 1) {
+                    return key;
+                }
+                byte[] tag = new byte[end - start - 1];
+                System.arraycopy(key, start + 1, tag, 0, tag.length);
+                return tag;
+            }
+        }
+        return key;
+    }
+}
@@ -0,0 +1,677 @@
+package com.personal.redis.utils;
+
+import com.personal.redis.codec.RedisCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.util.SafeEncoder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * @author sunpeikai
+ * @version AsyncRedisUtils, v0.1 2020/9/18 09:47
+ * @description redis异步工具类,与RedisUtils的方法一一对应,返回CompletableFuture
+ * 开启自动pipeline时命令直接投递到pipeline通道,否则由有界线程池执行同步方法;执行失败时记录日志并以null完成
+ * get、getObj、hget、hgetAll投递到pipeline通道前同样经过本地缓存,熔断时返回旧值
+ */
+public class AsyncRedisUtils {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncRedisUtils.class);
+
+    //**********          redis字符串数据操作的方法          **********//
+
+    /**
+     * 获取指定key的值
+     * @param key redis键
+     * @return 返回key的值,如果key不存在时,返回nil
+     */
+    public static CompletableFuture<String> get(String key) {
+        return RedisUtils.executeCachedReadAsync(key, key, () -> RedisUtils.get(key), pipeline -> pipeline.get(key));
+    }
+
+    /**
+     * 获取指定key的值
+     * @param key redis键
+     * @return 返回key的值,如果key不存在时,返回nil
+     */
+    public static CompletableFuture<byte[]> get(byte[] key) {
+        return RedisUtils.executeReadAsync(key, () -> RedisUtils.get(key), pipeline -> pipeline.get(key));
+    }
+
+    /**
+     * 设置给定key的值
+     * @param key redis键
+     * @param value redis值
+     * @return 设置成功返回OK
+     */
+    public static CompletableFuture<String> set(String key, String value) {
+        return RedisUtils.executeAsync(key, () -> RedisUtils.set(key, value), pipeline -> pipeline.set(key, value));
+    }
+
+    /**
+     * 设置给定key的值
+     * @param key redis键
+     * @param value redis值
+     * @return 设置成功返回OK
+     */
+    public static CompletableFuture<String> set(byte[] key, byte[] value) {
+        return RedisUtils.executeAsync(key, () -> RedisUtils.set(key, value), pipeline -> pipeline.set(key, value));
+    }
+
+    /**
+     * 设置给定key的值及过期时间
+     * @param key redis键
+     * @param value redis值
+     * @param expireSeconds 过期时间 - 秒
+     * @return 设置成功返回OK
+     */
+    public static CompletableFuture<String> setex(String key, int expireSeconds, String value) {
+        return RedisUtils.executeAsync(key, () -> RedisUtils.setex(key, expireSeconds, value), pipeline -> pipeline.setex(key, expireSeconds, value));
+    }
+
+    /**
+     * 只有在key不存在时设置key的值
+     * @param key redis键
+     * @param value redis值
+     * @return 设置成功返回1,key已经存在返回0
+     */
+    public static CompletableFuture<Long> setnx(String key, String value) {
+        return RedisUtils.executeAsync(key, () -> RedisUtils.setnx(key, value), pipeline -> pipeline.setnx(key, value));
+    }
+
+    /**
+     * 设置指定key的值,并返回key的旧值
+     * @param key redis键
+     * @param value redis值
+     * @return 给定key的旧值
+     */
+    public static CompletableFuture<String> getSet(String key, String value) {
+        return RedisUtils.executeAsync(key, () -> RedisUtils.getSet(key, value), pipeline -> pipeline.getSet(key, value));
+    }
+
+    /**
+     * 获取所有(一个或多个)给定key的值
+     * @param keys redis键
+     * @return 一个包含所有给定key的值的列表
+     */
+    public static CompletableFuture<List<String>> mget(String ... keys) {
+        return RedisUtils.executeReadAsync(first(keys), () -> RedisUtils.mget(keys), pipeline -> pipeline.mget(keys));
+    }
+
+    /**
+     * 同时设置一个或多个key-value对
+     * @param keysvalues redis键-值,依次为key1,value1,key2,value2...
+     * @return 总是返回OK
+     */
+    public static CompletableFuture<String> mset(String ... keysvalues) {
+        return RedisUtils.executeAsync(first(keysvalues), () -> RedisUtils.mset(keysvalues), pipeline -> pipeline.mset(keysvalues))
+                .whenComplete((result, e) -> RedisUtils.invalidate(RedisUtils.everyOther(keysvalues)));
+    }
+
+    /**
+     * 将key中储存的数字值增一
+     * @param key redis键
+     * @return 执行命令之后key的值
+     */
+    public static CompletableFuture<Long> incr(String key) {
+        return RedisUtils.executeAsync(key, () -> RedisUtils.incr(key), pipeline -> pipeline.incr(key));
+    }
+
+    /**
+     * 将key所储存的值加上给定的增量值
+     * @param key redis键
+     * @param increment 增量值
+     * @return 执行命令之后key的值
+     */
+    public static CompletableFuture<Long> incrBy(String key, long increment) {
+        return RedisUtils.executeAsync(key, () -> RedisUtils.incrBy(key, increment), pipeline -> pipeline.incrBy(key, increment));
+    }
+
+    /**
+     * 将key中储存的数字值减一
+     * @param key redis键
+     * @return 执行命令之后key的值
+     */
+    public static CompletableFuture<Long> decr(String key) {
+        return RedisUtils.executeAsync(key, () -> RedisUtils.decr(key), pipeline -> pipeline.decr(key));
+    }
+
+    /**
+     * 将key所储存的值减去给定的减量值
+     * @param key redis键
+     * @param decrement 减量值
+     * @return 执行命令之后key的值
+     */
+    public static CompletableFuture<Long> decrBy(String key, long decrement) {
+        return RedisUtils.executeAsync(key, () -> RedisUtils.decrBy(key, decrement), pipeline -> pipeline.decrBy(key, decrement));
+    }
+
+    /**
+     * 为指定的key追加值
+     * @param key redis键
+     * @param value 追加的值
+     * @return 追加指定值之后,key中字符串的长度
+     */
+    public static CompletableFuture<Long> append(String key, String value) {
+        return RedisUtils.executeAsync(key, () -> RedisUtils.append(key, value), pipeline -> pipeline.append(key, value));
+    }
+
+    /**
+     * 获取指定key所储存的字符串值的长度
+     * @param key redis键
+     * @return 字符串值的长度
+     */
+    public static CompletableFuture<Long> strlen(String key) {
+        return RedisUtils.executeReadAsync(key, () -> RedisUtils.strlen(key), pipeline -> pipeline.strlen(key));
+    }
+
+    /**
+     * 获取指定key的值并转换成对象
+     * @param key redis键
+     * @param clz 对象类型
+     * @return 转换后的对象,如果key不存在时,返回null
+     */
+    public static <T> CompletableFuture<T> getObj(String key, Class<T> clz) {
+        RedisCodec codec = RedisUtils.getCodec(key, clz);
+        byte[] rawKey = SafeEncoder.encode(key);
+        // 与同步的getObj使用相同的缓存键
+        return RedisUtils.executeCachedReadAsync(key, key + '\1', () -> RedisUtils.getBytes(key), pipeline -> pipeline.get(rawKey))
+                .thenApply(value -> decode(key, value, clz, codec));
+    }
+
+    /**
+     * 将对象按key前缀对应的编解码转换后设置给定key的值
+     * @param key redis键
+     * @param value 对象
+     * @return 设置成功返回OK
+     */
+    public static CompletableFuture<String> setObj(String key, Object value) {
+        return set(SafeEncoder.encode(key), RedisUtils.getCodec(key, value == null ? null : value.getClass()).encode(value));
+    }
+
+    //**********          redis哈希数据操作的方法          **********//
+
+    /**
+     * 获取存储在哈希表中指定字段的值
+     * @param key redis键
+     * @param field 字段
+     * @return 返回给定字段的值,如果给定的字段或key不存在时,返回nil
+     */
+    public static CompletableFuture<String> hget(String key, String field) {
+        return RedisUtils.executeCachedReadAsync(key, key + '\0' + field, () -> RedisUtils.hget(key, field), pipeline -> pipeline.hget(key, field));
+    }
+
+    /**
+     * 为哈希表中的字段赋值
+     * @param key redis键
+     * @param field 字段
+     * @param value 值
+     * @return 新建字段返回1,覆盖旧值返回0
+     */
+    public static CompletableFuture<Long> hset(String key, String field, String value) {
+        return RedisUtils.executeAsync(key, () -> RedisUtils.hset(key, field, value), pipeline -> pipeline.hset(key, field, value));
+    }
+
+    /**
+     * 同时将多个field-value对设置到哈希表中
+     * @param key redis键
+     * @param hash 字段-值
+     * @return 新建字段的数量
+     */
+    public static CompletableFuture<Long> hset(String key, Map<String, String> hash) {
+        return RedisUtils.executeAsync(key, () -> RedisUtils.hset(key, hash), pipeline -> pipeline.hset(key, hash));
+    }
+
+    /**
+     * 获取哈希表中一个或多个给定字段的值
+     * @param key redis键
+     * @param fields 字段
+     * @return 一个包含多个给定字段关联值的表
+     */
+    public static CompletableFuture<List<String>> hmget(String key, String ... fields) {
+        return RedisUtils.executeReadAsync(key, () -> RedisUtils.hmget(key, fields), pipeline -> pipeline.hmget(key, fields));
+    }
+
+    /**
+     * 同时将多个field-value对设置到哈希表中
+     * @param key redis键
+     * @param hash 字段-值
+     * @return 执行成功返回OK
+     */
+    public static CompletableFuture<String> hmset(String key, Map<String, String> hash) {
+        return RedisUtils.executeAsync(key, () -> RedisUtils.hmset(key, hash), pipeline -> pipeline.hmset(key, hash));
+    }
+
+    /**
+     * 获取在哈希表中指定key的所有字段和值
+     * @param key redis键
+     * @return 哈希表的字段及字段值
+     */
+    public static CompletableFuture<Map<String, String>> hgetAll(String key) {
+        return RedisUtils.executeCachedReadAsync(key, key + '\0', () -> RedisUtils.hgetAll(key), pipeline -> pipeline.hgetAll(key));
+    }
+
+    /**
+     * 删除哈希表key中的一个或多个指定字段
+     * @param key redis键
+     * @param fields 字段
+     * @return 被成功删除字段的数量
+     */
+    public static CompletableFuture<Long> hdel(String key, String ... fields) {
+        return RedisUtils.executeAsync(key, () -> RedisUtils.hdel(key, fields), pipeline -> pipeline.hdel(key, fields));
+    }
+
+    /**
+     * 查看哈希表的指定字段是否存在
+     * @param key redis键
+     * @param field 字段
+     * @return 存在返回TRUE
+     */
+    public static CompletableFuture<Boolean> hexists(String key, String field) {
+        return RedisUtils.executeReadAsync(key, () -> RedisUtils.hexists(key, field), pipeline -> pipeline.hexists(key, field));
+    }
+
+    /**
+     * 为哈希表中的字段值加上指定增量值
+     * @param key redis键
+     * @param field 字段
+     * @param increment 增量值
+     * @return 执行命令之后哈希表中字段的值
+     */
+    public static CompletableFuture<Long> hincrBy(String key, String field, long increment) {
+        return RedisUtils.executeAsync(key, () -> RedisUtils.hincrBy(key, field, increment), pipeline -> pipeline.hincrBy(key, field, increment));
+    }
+
+    /**
+     * 获取哈希表中的所有字段
+     * @param key redis键
+     * @return 哈希表中的所有字段
+     */
+    public static CompletableFuture<Set<String>> hkeys(String key) {
+        return RedisUtils.executeReadAsync(key, () -> RedisUtils.hkeys(key), pipeline -> pipeline.hkeys(key));
+    }
+
+    /**
+     * 获取哈希表中所有值
+     * @param key redis键
+     * @return 哈希表中所有字段的值
+     */
+    public static CompletableFuture<List<String>> hvals(String key) {
+        return RedisUtils.executeReadAsync(key, () -> RedisUtils.hvals(key), pipeline -> pipeline.hvals(key));
+    }
+
+    /**
+     * 获取哈希表中字段的数量
+     * @param key redis键
+     * @return 哈希表中字段的数量
+     */
+    public static CompletableFuture<Long> hlen(String key) {
+        return RedisUtils.executeReadAsync(key, () -> RedisUtils.hlen(key), pipeline -> pipeline.hlen(key));
+    }
+
+    //**********          redis列表数据操作的方法          **********//
+
+    /**
+     * 将一个或多个值插入到列表头部
+     * @param key redis键
+     * @param values 值
+     * @return 执行命令后列表的长度
+     */
+    public static CompletableFuture<Long> lpush(String key, String ... values) {
+        return RedisUtils.executeAsync(key, () -> RedisUtils.lpush(key, values), pipeline -> pipeline.lpush(key, values));
+    }
+
+    /**
+     * 将一个或多个值插入到列表尾部
+     * @param key redis键
+     * @param values 值
+     * @return 执行命令后列表的长度
+     */
+    public static CompletableFuture<Long> rpush(String key, String ... values) {
+        return RedisUtils.executeAsync(key, () -> RedisUtils.rpush(key, values), pipeline -> pipeline.rpush(key, values));
+    }
+
+    /**
+     * 移除并返回列表的第一个元素
+     * @param key redis键
+     * @return 列表的第一个元素,列表不存在时返回nil
+     */
+    public static CompletableFuture<String> lpop(String key) {
+        return RedisUtils.executeAsync(key, () -> RedisUtils.lpop(key), pipeline -> pipeline.lpop(key));
+    }
+
+    /**
+     * 移除并返回列表的最后一个元素
+     * @param key redis键
+     * @return 列表的最后一个元素,列表不存在时返回nil
+     */
+    public static CompletableFuture<String> rpop(String key) {
+        return RedisUtils.executeAsync(key, () -> RedisUtils.rpop(key), pipeline -> pipeline.rpop(key));
+    }
+
+    /**
+     * 返回列表中指定区间内的元素
+     * @param key redis键
+     * @param start 开始下标
+     * @param end 结束下标
+     * @return 指定区间内的元素
+     */
+    public static CompletableFuture<List<String>> lrange(String key, long start, long end) {
+        return RedisUtils.executeReadAsync(key, () -> RedisUtils.lrange(key, start, end), pipeline -> pipeline.lrange(key, start, end));
+    }
+
+    /**
+     * 通过索引获取列表中的元素
+     * @param key redis键
+     * @param index 下标
+     * @return 列表中下标为指定索引值的元素
+     */
+    public static CompletableFuture<String> lindex(String key, long index) {
+        return RedisUtils.executeReadAsync(key, () -> RedisUtils.lindex(key, index), pipeline -> pipeline.lindex(key, index));
+    }
+
+    /**
+     * 返回列表的长度
+     * @param key redis键
+     * @return 列表的长度
+     */
+    public static CompletableFuture<Long> llen(String key) {
+        return RedisUtils.executeReadAsync(key, () -> RedisUtils.llen(key), pipeline -> pipeline.llen(key));
+    }
+
+    /**
+     * 根据参数count的值,移除列表中与参数value相等的元素
+     * @param key redis键
+     * @param count 移除数量
+     * @param value 值
+     * @return 被移除元素的数量
+     */
+    public static CompletableFuture<Long> lrem(String key, long count, String value) {
+        return RedisUtils.executeAsync(key, () -> RedisUtils.lrem(key, count, value), pipeline -> pipeline.lrem(key, count, value));
+    }
+
+    /**
+     * 通过索引来设置元素的值
+     * @param key redis键
+     * @param index 下标
+     * @param value 值
+     * @return 操作成功返回OK
+     */
+    public static CompletableFuture<String> lset(String key, long index, String value) {
+        return RedisUtils.executeAsync(key, () -> RedisUtils.lset(key, index, value), pipeline -> pipeline.lset(key, index, value));
+    }
+
+    /**
+     * 对一个列表进行修剪,只保留指定区间内的元素
+     * @param key redis键
+     * @param start 开始下标
+     * @param end 结束下标
+     * @return 命令执行成功时,返回OK
+     */
+    public static CompletableFuture<String> ltrim(String key, long start, long end) {
+        return RedisUtils.executeAsync(key, () -> RedisUtils.ltrim(key, start, end), pipeline -> pipeline.ltrim(key, start, end));
+    }
+
+    //**********          redis集合数据操作的方法          **********//
+
+    /**
+     * 将一个或多个成员元素加入到集合中
+     * @param key redis键
+     * @param members 成员
+     * @return 被添加到集合中的新元素的数量
+     */
+    public static CompletableFuture<Long> sadd(String key, String ... members) {
+        return RedisUtils.executeAsync(key, () -> RedisUtils.sadd(key, members), pipeline -> pipeline.sadd(key, members));
+    }
+
+    /**
+     * 移除集合中的一个或多个成员元素
+     * @param key redis键
+     * @param members 成员
+     * @return 被成功移除的元素的数量
+     */
+    public static CompletableFuture<Long> srem(String key, String ... members) {
+        return RedisUtils.executeAsync(key, () -> RedisUtils.srem(key, members), pipeline -> pipeline.srem(key, members));
+    }
+
+    /**
+     * 返回集合中的所有的成员
+     * @param key redis键
+     * @return 集合中的所有成员
+     */
+    public static CompletableFuture<Set<String>> smembers(String key) {
+        return RedisUtils.executeReadAsync(key, () -> RedisUtils.smembers(key), pipeline -> pipeline.smembers(key));
+    }
+
+    /**
+     * 判断成员元素是否是集合的成员
+     * @param key redis键
+     * @param member 成员
+     * @return 是集合的成员返回TRUE
+     */
+    public static CompletableFuture<Boolean> sismember(String key, String member) {
+        return RedisUtils.executeReadAsync(key, () -> RedisUtils.sismember(key, member), pipeline -> pipeline.sismember(key, member));
+    }
+
+    /**
+     * 返回集合中元素的数量
+     * @param key redis键
+     * @return 集合的数量
+     */
+    public static CompletableFuture<Long> scard(String key) {
+        return RedisUtils.executeReadAsync(key, () -> RedisUtils.scard(key), pipeline -> pipeline.scard(key));
+    }
+
+    /**
+     * 移除并返回集合中的一个随机元素
+     * @param key redis键
+     * @return 被移除的随机元素
+     */
+    public static CompletableFuture<String> spop(String key) {
+        return RedisUtils.executeAsync(key, () -> RedisUtils.spop(key), pipeline -> pipeline.spop(key));
+    }
+
+    /**
+     * 返回集合中的一个随机元素
+     * @param key redis键
+     * @return 随机元素
+     */
+    public static CompletableFuture<String> srandmember(String key) {
+        return RedisUtils.executeReadAsync(key, () -> RedisUtils.srandmember(key), pipeline -> pipeline.srandmember(key));
+    }
+
+    //**********          redis有序集合数据操作的方法          **********//
+
+    /**
+     * 向有序集合添加一个成员,或者更新已存在成员的分数
+     * @param key redis键
+     * @param score 分数
+     * @param member 成员
+     * @return 被成功添加的新成员的数量
+     */
+    public static CompletableFuture<Long> zadd(String key, double score, String member) {
+        return RedisUtils.executeAsync(key, () -> RedisUtils.zadd(key, score, member), pipeline -> pipeline.zadd(key, score, member));
+    }
+
+    /**
+     * 向有序集合添加多个成员,或者更新已存在成员的分数
+     * @param key redis键
+     * @param members 成员-分数
+     * @return 被成功添加的新成员的数量
+     */
+    public static CompletableFuture<Long> zadd(String key, Map<String, Double> members) {
+        return RedisUtils.executeAsync(key, () -> RedisUtils.zadd(key, members), pipeline -> pipeline.zadd(key, members));
+    }
+
+    /**
+     * 移除有序集中的一个或多个成员
+     * @param key redis键
+     * @param members 成员
+     * @return 被成功移除的成员的数量
+     */
+    public static CompletableFuture<Long> zrem(String key, String ... members) {
+        return RedisUtils.executeAsync(key, () -> RedisUtils.zrem(key, members), pipeline -> pipeline.zrem(key, members));
+    }
+
+    /**
+     * 返回有序集中成员的分数值
+     * @param key redis键
+     * @param member 成员
+     * @return 成员的分数值
+     */
+    public static CompletableFuture<Double> zscore(String key, String member) {
+        return RedisUtils.executeReadAsync(key, () -> RedisUtils.zscore(key, member), pipeline -> pipeline.zscore(key, member));
+    }
+
+    /**
+     * 对有序集合中指定成员的分数加上增量
+     * @param key redis键
+     * @param increment 增量
+     * @param member 成员
+     * @return 成员的新分数值
+     */
+    public static CompletableFuture<Double> zincrby(String key, double increment, String member) {
+        return RedisUtils.executeAsync(key, () -> RedisUtils.zincrby(key, increment, member), pipeline -> pipeline.zincrby(key, increment, member));
+    }
+
+    /**
+     * 返回有序集中指定成员的排名,按分数值递增排序
+     * @param key redis键
+     * @param member 成员
+     * @return 成员的排名
+     */
+    public static CompletableFuture<Long> zrank(String key, String member) {
+        return RedisUtils.executeReadAsync(key, () -> RedisUtils.zrank(key, member), pipeline -> pipeline.zrank(key, member));
+    }
+
+    /**
+     * 返回有序集中指定成员的排名,按分数值递减排序
+     * @param key redis键
+     * @param member 成员
+     * @return 成员的排名
+     */
+    public static CompletableFuture<Long> zrevrank(String key, String member) {
+        return RedisUtils.executeReadAsync(key, () -> RedisUtils.zrevrank(key, member), pipeline -> pipeline.zrevrank(key, member));
+    }
+
+    /**
+     * 返回有序集中指定区间内的成员,按分数值递增排序
+     * @param key redis键
+     * @param start 开始下标
+     * @param end 结束下标
+     * @return 指定区间内的成员
+     */
+    public static CompletableFuture<Set<String>> zrange(String key, long start, long end) {
+        return RedisUtils.executeReadAsync(key, () -> RedisUtils.zrange(key, start, end), pipeline -> pipeline.zrange(key, start, end));
+    }
+
+    /**
+     * 返回有序集中指定区间内的成员,按分数值递减排序
+     * @param key redis键
+     * @param start 开始下标
+     * @param end 结束下标
+     * @return 指定区间内的成员
+     */
+    public static CompletableFuture<Set<String>> zrevrange(String key, long start, long end) {
+        return RedisUtils.executeReadAsync(key, () -> RedisUtils.zrevrange(key, start, end), pipeline -> pipeline.zrevrange(key, start, end));
+    }
+
+    /**
+     * 返回有序集合中指定分数区间的成员列表,按分数值递增排序
+     * @param key redis键
+     * @param min 最小分数
+     * @param max 最大分数
+     * @return 指定分数区间内的成员
+     */
+    public static CompletableFuture<Set<String>> zrangeByScore(String key, double min, double max) {
+        return RedisUtils.executeReadAsync(key, () -> RedisUtils.zrangeByScore(key, min, max), pipeline -> pipeline.zrangeByScore(key, min, max));
+    }
+
+    /**
+     * 获取有序集合的成员数
+     * @param key redis键
+     * @return 有序集合的成员数
+     */
+    public static CompletableFuture<Long> zcard(String key) {
+        return RedisUtils.executeReadAsync(key, () -> RedisUtils.zcard(key), pipeline -> pipeline.zcard(key));
+    }
+
+    /**
+     * 计算有序集合中指定分数区间的成员数量
+     * @param key redis键
+     * @param min 最小分数
+     * @param max 最大分数
+     * @return 分数值在min和max之间的成员的数量
+     */
+    public static CompletableFuture<Long> zcount(String key, double min, double max) {
+        return RedisUtils.executeReadAsync(key, () -> RedisUtils.zcount(key, min, max), pipeline -> pipeline.zcount(key, min, max));
+    }
+
+    //**********          redis键数据操作的方法          **********//
+
+    /**
+     * 删除已存在的键
+     * @param key redis键
+     * @return 被删除key的数量
+     */
+    public static CompletableFuture<Long> del(String key) {
+        return RedisUtils.executeAsync(key, () -> RedisUtils.del(key), pipeline -> pipeline.del(key));
+    }
+
+    /**
+     * 删除已存在的键
+     * @param keys redis键
+     * @return 被删除key的数量
+     */
+    public static CompletableFuture<Long> del(String ... keys) {
+        return RedisUtils.executeAsync(first(keys), () -> RedisUtils.del(keys), pipeline -> pipeline.del(keys))
+                .whenComplete((result, e) -> RedisUtils.invalidate(keys));
+    }
+
+    /**
+     * 判断是否存在
+     * @param key redis键
+     * @return 存在返回TRUE
+     */
+    public static CompletableFuture<Boolean> exists(String key) {
+        return RedisUtils.executeReadAsync(key, () -> RedisUtils.exists(key), pipeline -> pipeline.exists(key));
+    }
+
+    /**
+     * 设置key的过期时间
+     * @param key redis键
+     * @param seconds 过期时间 - 秒
+     * @return 设置成功返回1
+     */
+    public static CompletableFuture<Long> expire(String key, int seconds) {
+        return RedisUtils.executeAsync(key, () -> RedisUtils.expire(key, seconds), pipeline -> pipeline.expire(key, seconds));
+    }
+
+    /**
+     * 以秒为单位返回key的剩余过期时间
+     * @param key redis键
+     * @return 剩余过期时间,key不存在返回-2,没有设置过期时间返回-1
+     */
+    public static CompletableFuture<Long> ttl(String key) {
+        return RedisUtils.executeReadAsync(key, () -> RedisUtils.ttl(key), pipeline -> pipeline.ttl(key));
+    }
+
+    private static String first(String ... keys) {
+        return keys == null || keys.length == 0 ? null : keys[0];
+    }
+
+    private static <T> T decode(String key, byte[] value, Class<T> clz, RedisCodec codec) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return codec.decode(value, clz);
+        } catch (Exception e) {
+            log.error("redis parse object fail, key ==> [{}]", key, e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,814 @@
+package com.personal.redis.utils;
+
+import com.personal.redis.reactive.RedisReactiveScheduler;
+import com.personal.redis.scan.RedisScanIterator;
+import redis.clients.jedis.Tuple;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * @author sunpeikai
+ * @version ReactiveRedisUtils, v0.1 2026/10/18 21:10
+ * @description redis响应式工具类,需要引入reactor-core
+ * 单key命令返回Mono,结果为nil或执行失败时为空的Mono;scan类命令返回按需逐页拉取的Flux,blpop/brpop返回持续弹出元素的Flux
+ * 所有jedis的阻塞调用都在独立的调度器上执行,不会占用事件循环线程
+ */
+public class ReactiveRedisUtils {
+
+    private static volatile Scheduler scheduler = null;
+
+    /**
+     * 执行阻塞调用的调度器,没有装配RedisReactiveScheduler时使用reactor默认的boundedElastic
+     * @return 调度器
+     */
+    public static Scheduler getScheduler() {
+        if (scheduler == null) {
+            Map<String, RedisReactiveScheduler> schedulers = SpringUtils.getBeanOfType(RedisReactiveScheduler.class);
+            scheduler = schedulers.isEmpty() ? Schedulers.boundedElastic() : schedulers.values().iterator().next().getScheduler();
+        }
+        return scheduler;
+    }
+
+    //**********          redis字符串数据操作的方法          **********//
+
+    /**
+     * 获取指定key的值
+     * @param key redis键
+     * @return 返回key的值,如果key不存在时,返回nil
+     */
+    public static Mono<String> get(String key) {
+        return mono(() -> RedisUtils.get(key));
+    }
+
+    /**
+     * 获取指定key的值
+     * @param key redis键
+     * @return 返回key的值,如果key不存在时,返回nil
+     */
+    public static Mono<byte[]> get(byte[] key) {
+        return mono(() -> RedisUtils.get(key));
+    }
+
+    /**
+     * 设置给定key的值
+     * @param key redis键
+     * @param value redis值
+     * @return 设置成功返回OK
+     */
+    public static Mono<String> set(String key, String value) {
+        return mono(() -> RedisUtils.set(key, value));
+    }
+
+    /**
+     * 设置给定key的值
+     * @param key redis键
+     * @param value redis值
+     * @return 设置成功返回OK
+     */
+    public static Mono<String> set(byte[] key, byte[] value) {
+        return mono(() -> RedisUtils.set(key, value));
+    }
+
+    /**
+     * 设置给定key的值及过期时间
+     * @param key redis键
+     * @param value redis值
+     * @param expireSeconds 过期时间 - 秒
+     * @return 设置成功返回OK
+     */
+    public static Mono<String> setex(String key, int expireSeconds, String value) {
+        return mono(() -> RedisUtils.setex(key, expireSeconds, value));
+    }
+
+    /**
+     * 只有在key不存在时设置key的值
+     * @param key redis键
+     * @param value redis值
+     * @return 设置成功返回1,key已经存在返回0
+     */
+    public static Mono<Long> setnx(String key, String value) {
+        return mono(() -> RedisUtils.setnx(key, value));
+    }
+
+    /**
+     * 设置指定key的值,并返回key的旧值
+     * @param key redis键
+     * @param value redis值
+     * @return 给定key的旧值
+     */
+    public static Mono<String> getSet(String key, String value) {
+        return mono(() -> RedisUtils.getSet(key, value));
+    }
+
+    /**
+     * 获取所有(一个或多个)给定key的值
+     * @param keys redis键
+     * @return 一个包含所有给定key的值的列表
+     */
+    public static Mono<List<String>> mget(String ... keys) {
+        return mono(() -> RedisUtils.mget(keys));
+    }
+
+    /**
+     * 同时设置一个或多个key-value对
+     * @param keysvalues redis键-值,依次为key1,value1,key2,value2...
+     * @return 总是返回OK
+     */
+    public static Mono<String> mset(String ... keysvalues) {
+        return mono(() -> RedisUtils.mset(keysvalues));
+    }
+
+    /**
+     * 将key中储存的数字值增一
+     * @param key redis键
+     * @return 执行命令之后key的值
+     */
+    public static Mono<Long> incr(String key) {
+        return mono(() -> RedisUtils.incr(key));
+    }
+
+    /**
+     * 将key所储存的值加上给定的增量值
+     * @param key redis键
+     * @param increment 增量值
+     * @return 执行命令之后key的值
+     */
+    public static Mono<Long> incrBy(String key, long increment) {
+        return mono(() -> RedisUtils.incrBy(key, increment));
+    }
+
+    /**
+     * 将key中储存的数字值减一
+     * @param key redis键
+     * @return 执行命令之后key的值
+     */
+    public static Mono<Long> decr(String key) {
+        return mono(() -> RedisUtils.decr(key));
+    }
+
+    /**
+     * 将key所储存的值减去给定的减量值
+     * @param key redis键
+     * @param decrement 减量值
+     * @return 执行命令之后key的值
+     */
+    public static Mono<Long> decrBy(String key, long decrement) {
+        return mono(() -> RedisUtils.decrBy(key, decrement));
+    }
+
+    /**
+     * 为指定的key追加值
+     * @param key redis键
+     * @param value 追加的值
+     * @return 追加指定值之后,key中字符串的长度
+     */
+    public static Mono<Long> append(String key, String value) {
+        return mono(() -> RedisUtils.append(key, value));
+    }
+
+    /**
+     * 获取指定key所储存的字符串值的长度
+     * @param key redis键
+     * @return 字符串值的长度
+     */
+    public static Mono<Long> strlen(String key) {
+        return mono(() -> RedisUtils.strlen(key));
+    }
+
+    /**
+     * 获取指定key的值并转换成对象
+     * @param key redis键
+     * @param clz 对象类型
+     * @return 转换后的对象
+     */
+    public static <T> Mono<T> getObj(String key, Class<T> clz) {
+        return mono(() -> RedisUtils.getObj(key, clz));
+    }
+
+    /**
+     * 将对象转换成json后设置给定key的值
+     * @param key redis键
+     * @param value 对象
+     * @return 设置成功返回OK
+     */
+    public static Mono<String> setObj(String key, Object value) {
+        return mono(() -> RedisUtils.setObj(key, value));
+    }
+
+    //**********          redis哈希数据操作的方法          **********//
+
+    /**
+     * 获取存储在哈希表中指定字段的值
+     * @param key redis键
+     * @param field 字段
+     * @return 返回给定字段的值,如果给定的字段或key不存在时,返回nil
+     */
+    public static Mono<String> hget(String key, String field) {
+        return mono(() -> RedisUtils.hget(key, field));
+    }
+
+    /**
+     * 为哈希表中的字段赋值
+     * @param key redis键
+     * @param field 字段
+     * @param value 值
+     * @return 新建字段返回1,覆盖旧值返回0
+     */
+    public static Mono<Long> hset(String key, String field, String value) {
+        return mono(() -> RedisUtils.hset(key, field, value));
+    }
+
+    /**
+     * 同时将多个field-value对设置到哈希表中
+     * @param key redis键
+     * @param hash 字段-值
+     * @return 新建字段的数量
+     */
+    public static Mono<Long> hset(String key, Map<String, String> hash) {
+        return mono(() -> RedisUtils.hset(key, hash));
+    }
+
+    /**
+     * 获取哈希表中一个或多个给定字段的值
+     * @param key redis键
+     * @param fields 字段
+     * @return 一个包含多个给定字段关联值的表
+     */
+    public static Mono<List<String>> hmget(String key, String ... fields) {
+        return mono(() -> RedisUtils.hmget(key, fields));
+    }
+
+    /**
+     * 同时将多个field-value对设置到哈希表中
+     * @param key redis键
+     * @param hash 字段-值
+     * @return 执行成功返回OK
+     */
+    public static Mono<String> hmset(String key, Map<String, String> hash) {
+        return mono(() -> RedisUtils.hmset(key, hash));
+    }
+
+    /**
+     * 获取在哈希表中指定key的所有字段和值
+     * @param key redis键
+     * @return 哈希表的字段及字段值
+     */
+    public static Mono<Map<String, String>> hgetAll(String key) {
+        return mono(() -> RedisUtils.hgetAll(key));
+    }
+
+    /**
+     * 删除哈希表key中的一个或多个指定字段
+     * @param key redis键
+     * @param fields 字段
+     * @return 被成功删除字段的数量
+     */
+    public static Mono<Long> hdel(String key, String ... fields) {
+        return mono(() -> RedisUtils.hdel(key, fields));
+    }
+
+    /**
+     * 查看哈希表的指定字段是否存在
+     * @param key redis键
+     * @param field 字段
+     * @return 存在返回TRUE
+     */
+    public static Mono<Boolean> hexists(String key, String field) {
+        return mono(() -> RedisUtils.hexists(key, field));
+    }
+
+    /**
+     * 为哈希表中的字段值加上指定增量值
+     * @param key redis键
+     * @param field 字段
+     * @param increment 增量值
+     * @return 执行命令之后哈希表中字段的值
+     */
+    public static Mono<Long> hincrBy(String key, String field, long increment) {
+        return mono(() -> RedisUtils.hincrBy(key, field, increment));
+    }
+
+    /**
+     * 获取哈希表中的所有字段
+     * @param key redis键
+     * @return 哈希表中的所有字段
+     */
+    public static Mono<Set<String>> hkeys(String key) {
+        return mono(() -> RedisUtils.hkeys(key));
+    }
+
+    /**
+     * 获取哈希表中所有值
+     * @param key redis键
+     * @return 哈希表中所有字段的值
+     */
+    public static Mono<List<String>> hvals(String key) {
+        return mono(() -> RedisUtils.hvals(key));
+    }
+
+    /**
+     * 获取哈希表中字段的数量
+     * @param key redis键
+     * @return 哈希表中字段的数量
+     */
+    public static Mono<Long> hlen(String key) {
+        return mono(() -> RedisUtils.hlen(key));
+    }
+
+    //**********          redis列表数据操作的方法          **********//
+
+    /**
+     * 将一个或多个值插入到列表头部
+     * @param key redis键
+     * @param values 值
+     * @return 执行命令后列表的长度
+     */
+    public static Mono<Long> lpush(String key, String ... values) {
+        return mono(() -> RedisUtils.lpush(key, values));
+    }
+
+    /**
+     * 将一个或多个值插入到列表尾部
+     * @param key redis键
+     * @param values 值
+     * @return 执行命令后列表的长度
+     */
+    public static Mono<Long> rpush(String key, String ... values) {
+        return mono(() -> RedisUtils.rpush(key, values));
+    }
+
+    /**
+     * 移除并返回列表的第一个元素
+     * @param key redis键
+     * @return 列表的第一个元素,列表不存在时返回nil
+     */
+    public static Mono<String> lpop(String key) {
+        return mono(() -> RedisUtils.lpop(key));
+    }
+
+    /**
+     * 移除并返回列表的最后一个元素
+     * @param key redis键
+     * @return 列表的最后一个元素,列表不存在时返回nil
+     */
+    public static Mono<String> rpop(String key) {
+        return mono(() -> RedisUtils.rpop(key));
+    }
+
+    /**
+     * 返回列表中指定区间内的元素
+     * @param key redis键
+     * @param start 开始下标
+     * @param end 结束下标
+     * @return 指定区间内的元素
+     */
+    public static Mono<List<String>> lrange(String key, long start, long end) {
+        return mono(() -> RedisUtils.lrange(key, start, end));
+    }
+
+    /**
+     * 通过索引获取列表中的元素
+     * @param key redis键
+     * @param index 下标
+     * @return 列表中下标为指定索引值的元素
+     */
+    public static Mono<String> lindex(String key, long index) {
+        return mono(() -> RedisUtils.lindex(key, index));
+    }
+
+    /**
+     * 返回列表的长度
+     * @param key redis键
+     * @return 列表的长度
+     */
+    public static Mono<Long> llen(String key) {
+        return mono(() -> RedisUtils.llen(key));
+    }
+
+    /**
+     * 根据参数count的值,移除列表中与参数value相等的元素
+     * @param key redis键
+     * @param count 移除数量
+     * @param value 值
+     * @return 被移除元素的数量
+     */
+    public static Mono<Long> lrem(String key, long count, String value) {
+        return mono(() -> RedisUtils.lrem(key, count, value));
+    }
+
+    /**
+     * 通过索引来设置元素的值
+     * @param key redis键
+     * @param index 下标
+     * @param value 值
+     * @return 操作成功返回OK
+     */
+    public static Mono<String> lset(String key, long index, String value) {
+        return mono(() -> RedisUtils.lset(key, index, value));
+    }
+
+    /**
+     * 对一个列表进行修剪,只保留指定区间内的元素
+     * @param key redis键
+     * @param start 开始下标
+     * @param end 结束下标
+     * @return 命令执行成功时,返回OK
+     */
+    public static Mono<String> ltrim(String key, long start, long end) {
+        return mono(() -> RedisUtils.ltrim(key, start, end));
+    }
+
+    //**********          redis集合数据操作的方法          **********//
+
+    /**
+     * 将一个或多个成员元素加入到集合中
+     * @param key redis键
+     * @param members 成员
+     * @return 被添加到集合中的新元素的数量
+     */
+    public static Mono<Long> sadd(String key, String ... members) {
+        return mono(() -> RedisUtils.sadd(key, members));
+    }
+
+    /**
+     * 移除集合中的一个或多个成员元素
+     * @param key redis键
+     * @param members 成员
+     * @return 被成功移除的元素的数量
+     */
+    public static Mono<Long> srem(String key, String ... members) {
+        return mono(() -> RedisUtils.srem(key, members));
+    }
+
+    /**
+     * 返回集合中的所有的成员
+     * @param key redis键
+     * @return 集合中的所有成员
+     */
+    public static Mono<Set<String>> smembers(String key) {
+        return mono(() -> RedisUtils.smembers(key));
+    }
+
+    /**
+     * 判断成员元素是否是集合的成员
+     * @param key redis键
+     * @param member 成员
+     * @return 是集合的成员返回TRUE
+     */
+    public static Mono<Boolean> sismember(String key, String member) {
+        return mono(() -> RedisUtils.sismember(key, member));
+    }
+
+    /**
+     * 返回集合中元素的数量
+     * @param key redis键
+     * @return 集合的数量
+     */
+    public static Mono<Long> scard(String key) {
+        return mono(() -> RedisUtils.scard(key));
+    }
+
+    /**
+     * 移除并返回集合中的一个随机元素
+     * @param key redis键
+     * @return 被移除的随机元素
+     */
+    public static Mono<String> spop(String key) {
+        return mono(() -> RedisUtils.spop(key));
+    }
+
+    /**
+     * 返回集合中的一个随机元素
+     * @param key redis键
+     * @return 随机元素
+     */
+    public static Mono<String> srandmember(String key) {
+        return mono(() -> RedisUtils.srandmember(key));
+    }
+
+    //**********          redis有序集合数据操作的方法          **********//
+
+    /**
+     * 向有序集合添加一个成员,或者更新已存在成员的分数
+     * @param key redis键
+     * @param score 分数
+     * @param member 成员
+     * @return 被成功添加的新成员的数量
+     */
+    public static Mono<Long> zadd(String key, double score, String member) {
+        return mono(() -> RedisUtils.zadd(key, score, member));
+    }
+
+    /**
+     * 向有序集合添加多个成员,或者更新已存在成员的分数
+     * @param key redis键
+     * @param members 成员-分数
+     * @return 被成功添加的新成员的数量
+     */
+    public static Mono<Long> zadd(String key, Map<String, Double> members) {
+        return mono(() -> RedisUtils.zadd(key, members));
+    }
+
+    /**
+     * 移除有序集中的一个或多个成员
+     * @param key redis键
+     * @param members 成员
+     * @return 被成功移除的成员的数量
+     */
+    public static Mono<Long> zrem(String key, String ... members) {
+        return mono(() -> RedisUtils.zrem(key, members));
+    }
+
+    /**
+     * 返回有序集中成员的分数值
+     * @param key redis键
+     * @param member 成员
+     * @return 成员的分数值
+     */
+    public static Mono<Double> zscore(String key, String member) {
+        return mono(() -> RedisUtils.zscore(key, member));
+    }
+
+    /**
+     * 对有序集合中指定成员的分数加上增量
+     * @param key redis键
+     * @param increment 增量
+     * @param member 成员
+     * @return 成员的新分数值
+     */
+    public static Mono<Double> zincrby(String key, double increment, String member) {
+        return mono(() -> RedisUtils.zincrby(key, increment, member));
+    }
+
+    /**
+     * 返回有序集中指定成员的排名,按分数值递增排序
+     * @param key redis键
+     * @param member 成员
+     * @return 成员的排名
+     */
+    public static Mono<Long> zrank(String key, String member) {
+        return mono(() -> RedisUtils.zrank(key, member));
+    }
+
+    /**
+     * 返回有序集中指定成员的排名,按分数值递减排序
+     * @param key redis键
+     * @param member 成员
+     * @return 成员的排名
+     */
+    public static Mono<Long> zrevrank(String key, String member) {
+        return mono(() -> RedisUtils.zrevrank(key, member));
+    }
+
+    /**
+     * 返回有序集中指定区间内的成员,按分数值递增排序
+     * @param key redis键
+     * @param start 开始下标
+     * @param end 结束下标
+     * @return 指定区间内的成员
+     */
+    public static Mono<Set<String>> zrange(String key, long start, long end) {
+        return mono(() -> RedisUtils.zrange(key, start, end));
+    }
+
+    /**
+     * 返回有序集中指定区间内的成员,按分数值递减排序
+     * @param key redis键
+     * @param start 开始下标
+     * @param end 结束下标
+     * @return 指定区间内的成员
+     */
+    public static Mono<Set<String>> zrevrange(String key, long start, long end) {
+        return mono(() -> RedisUtils.zrevrange(key, start, end));
+    }
+
+    /**
+     * 返回有序集合中指定分数区间的成员列表,按分数值递增排序
+     * @param key redis键
+     * @param min 最小分数
+     * @param max 最大分数
+     * @return 指定分数区间内的成员
+     */
+    public static Mono<Set<String>> zrangeByScore(String key, double min, double max) {
+        return mono(() -> RedisUtils.zrangeByScore(key, min, max));
+    }
+
+    /**
+     * 获取有序集合的成员数
+     * @param key redis键
+     * @return 有序集合的成员数
+     */
+    public static Mono<Long> zcard(String key) {
+        return mono(() -> RedisUtils.zcard(key));
+    }
+
+    /**
+     * 计算有序集合中指定分数区间的成员数量
+     * @param key redis键
+     * @param min 最小分数
+     * @param max 最大分数
+     * @return 分数值在min和max之间的成员的数量
+     */
+    public static Mono<Long> zcount(String key, double min, double max) {
+        return mono(() -> RedisUtils.zcount(key, min, max));
+    }
+
+    //**********          redis键数据操作的方法          **********//
+
+    /**
+     * 删除已存在的键
+     * @param key redis键
+     * @return 被删除key的数量
+     */
+    public static Mono<Long> del(String key) {
+        return mono(() -> RedisUtils.del(key));
+    }
+
+    /**
+     * 删除已存在的键
+     * @param keys redis键
+     * @return 被删除key的数量
+     */
+    public static Mono<Long> del(String ... keys) {
+        return mono(() -> RedisUtils.del(keys));
+    }
+
+    /**
+     * 判断是否存在
+     * @param key redis键
+     * @return 存在返回TRUE
+     */
+    public static Mono<Boolean> exists(String key) {
+        return mono(() -> RedisUtils.exists(key));
+    }
+
+    /**
+     * 设置key的过期时间
+     * @param key redis键
+     * @param seconds 过期时间 - 秒
+     * @return 设置成功返回1
+     */
+    public static Mono<Long> expire(String key, int seconds) {
+        return mono(() -> RedisUtils.expire(key, seconds));
+    }
+
+    /**
+     * 以秒为单位返回key的剩余过期时间
+     * @param key redis键
+     * @return 剩余过期时间,key不存在返回-2,没有设置过期时间返回-1
+     */
+    public static Mono<Long> ttl(String key) {
+        return mono(() -> RedisUtils.ttl(key));
+    }
+
+    //**********          redis迭代及阻塞弹出的方法          **********//
+
+    /**
+     * 迭代数据库中的数据库键,下游请求时才拉取下一页
+     * @param pattern 匹配的模式,可为空
+     * @param count 每页条数,小于等于0时使用redis默认值
+     * @return 数据库键
+     */
+    public static Flux<String> scan(String pattern, int count) {
+        return scanFlux(() -> RedisUtils.scanIterator(pattern, count));
+    }
+
+    /**
+     * 迭代哈希表中的键值对,下游请求时才拉取下一页
+     * @param key redis键
+     * @return 键值对
+     */
+    public static Flux<Map.Entry<String, String>> hscan(String key) {
+        return scanFlux(() -> RedisUtils.hscanIterator(key, null, 0));
+    }
+
+    /**
+     * 迭代哈希表中的键值对,下游请求时才拉取下一页
+     * @param key redis键
+     * @param pattern 匹配的模式,可为空
+     * @param count 每页条数,小于等于0时使用redis默认值
+     * @return 键值对
+     */
+    public static Flux<Map.Entry<String, String>> hscan(String key, String pattern, int count) {
+        return scanFlux(() -> RedisUtils.hscanIterator(key, pattern, count));
+    }
+
+    /**
+     * 迭代集合中的元素,下游请求时才拉取下一页
+     * @param key redis键
+     * @return 集合元素
+     */
+    public static Flux<String> sscan(String key) {
+        return scanFlux(() -> RedisUtils.sscanIterator(key, null, 0));
+    }
+
+    /**
+     * 迭代集合中的元素,下游请求时才拉取下一页
+     * @param key redis键
+     * @param pattern 匹配的模式,可为空
+     * @param count 每页条数,小于等于0时使用redis默认值
+     * @return 集合元素
+     */
+    public static Flux<String> sscan(String key, String pattern, int count) {
+        return scanFlux(() -> RedisUtils.sscanIterator(key, pattern, count));
+    }
+
+    /**
+     * 迭代有序集合中的元素及分数,下游请求时才拉取下一页
+     * @param key redis键
+     * @return 有序集合元素及分数
+     */
+    public static Flux<Tuple> zscan(String key) {
+        return scanFlux(() -> RedisUtils.zscanIterator(key, null, 0));
+    }
+
+    /**
+     * 迭代有序集合中的元素及分数,下游请求时才拉取下一页
+     * @param key redis键
+     * @param pattern 匹配的模式,可为空
+     * @param count 每页条数,小于等于0时使用redis默认值
+     * @return 有序集合元素及分数
+     */
+    public static Flux<Tuple> zscan(String key, String pattern, int count) {
+        return scanFlux(() -> RedisUtils.zscanIterator(key, pattern, count));
+    }
+
+    /**
+     * 持续从列表头部弹出元素,下游请求时才执行下一次blpop,取消订阅后最迟在一个timeout内归还连接
+     * @param timeout 每次阻塞等待的秒数,小于等于0时按1秒处理
+     * @param keys redis键
+     * @return 弹出的元素
+     */
+    public static Flux<String> blpop(int timeout, String ... keys) {
+        int seconds = Math.max(timeout, 1);
+        return popFlux(() -> RedisUtils.blpop(seconds, keys));
+    }
+
+    /**
+     * 持续从列表尾部弹出元素,下游请求时才执行下一次brpop,取消订阅后最迟在一个timeout内归还连接
+     * @param timeout 每次阻塞等待的秒数,小于等于0时按1秒处理
+     * @param keys redis键
+     * @return 弹出的元素
+     */
+    public static Flux<String> brpop(int timeout, String ... keys) {
+        int seconds = Math.max(timeout, 1);
+        return popFlux(() -> RedisUtils.brpop(seconds, keys));
+    }
+
+    private static <T> Mono<T> mono(Callable<T> callable) {
+        return Mono.fromCallable(callable).subscribeOn(getScheduler());
+    }
+
+    /**
+     * 每次订阅创建一个RedisScanIterator,页内元素消费完后才拉取下一页
+     * 同一次订阅的每一页发送到同一个节点,集群模式下scan依次迭代每个主节点,分片模式下依次迭代每个分片
+     * 某一页执行失败时以错误结束,与迭代完成区分
+     */
+    private static <T> Flux<T> scanFlux(Supplier<RedisScanIterator<T>> iterator) {
+        return Flux.<T, RedisScanIterator<T>>generate(iterator::get, (scan, sink) -> {
+            if (scan.hasNext()) {
+                sink.next(scan.next());
+            } else if (scan.isFailed()) {
+                sink.error(new IllegalStateException("redis scan failed after " + scan.getPages() + " pages"));
+            } else {
+                sink.complete();
+            }
+            return scan;
+        }).subscribeOn(getScheduler());
+    }
+
+    /**
+     * 每次下游请求执行一次阻塞弹出,超时则继续等待,直到弹出元素或取消订阅
+     */
+    private static <T> Flux<T> popFlux(Supplier<List<T>> pop) {
+        return Flux.defer(() -> {
+            AtomicBoolean cancelled = new AtomicBoolean();
+            return Flux.<T>generate(sink -> {
+                while (!cancelled.get()) {
+                    long start = System.currentTimeMillis();
+                    List<T> result = pop.get();
+                    if (result != null && result.size() > 1) {
+                        sink.next(result.get(1));
+                        return;
+                    }
+                    // 执行失败时会立即返回null,等待一秒避免空转
+                    if (System.currentTimeMillis() - start < 100) {
+                        LockSupport.parkNanos(TimeUnit.SECONDS.toNanos(1));
+                    }
+                }
+                sink.complete();
+            }).doOnCancel(() -> cancelled.set(true));
+        }).subscribeOn(getScheduler());
+    }
+}
@@ -3,9 +3,23 @@
  */
 package com.personal.redis.utils;
 
+import com.personal.redis.batch.RedisGetBatcher;
+import com.personal.redis.breaker.RedisCircuitBreaker;
+import com.personal.redis.breaker.RedisStaleCache;
+import com.personal.redis.cluster.RedisClusterClient;
+import com.personal.redis.codec.RedisEncodeBuffers;
+import com.personal.redis.compress.RedisCompressor;
+import com.personal.redis.flight.RedisSingleFlight;
+import com.personal.redis.mapped.RedisMappedCache;
+import com.personal.redis.near.RedisNearCache;
+import com.personal.redis.replica.RedisReplicaPool;
+import com.personal.redis.route.RedisInstanceRouter;
 import org.springframework.util.StringUtils;
-import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisSentinelPool;
+import redis.clients.jedis.util.Pool;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -31,16 +45,83 @@ public class RedisInfoUtils {
         Map<String, Object> result = new HashMap<>();
 
         // redis连接池信息
-        JedisPool jedisPool = SpringUtils.getBean(JedisPool.class);
-        Map<String, Object> pool = new HashMap<>();
-        pool.put("beanName", "jedisPool");
-        pool.put("maxBorrowWaitTimeMillis", jedisPool.getMaxBorrowWaitTimeMillis());
-        pool.put("meanBorrowWaitTimeMillis", jedisPool.getMeanBorrowWaitTimeMillis());
-        pool.put("numActive", jedisPool.getNumActive());
-        pool.put("numIdle", jedisPool.getNumIdle());
-        pool.put("numWaiters", jedisPool.getNumWaiters());
-
-        result.put("pool", pool);
+        RedisClusterClient cluster = RedisUtils.getCluster();
+        if(cluster != null){
+            // 集群模式下每个节点一个连接池
+            Map<String, Object> nodes = new HashMap<>();
+            cluster.getNodes().forEach((node, nodePool) -> nodes.put(node, poolInfo(node, nodePool)));
+            result.put("pool", nodes);
+        }else if(RedisUtils.getShardedPool() != null){
+            // 分片模式下每个分片一个连接池
+            Map<String, Object> shards = new HashMap<>();
+            RedisUtils.getShardedPool().getShards().forEach((node, shardPool) -> shards.put(node, poolInfo(node, shardPool)));
+            result.put("pool", shards);
+        }else{
+            Pool<Jedis> jedisPool = RedisUtils.getMasterPool();
+            Map<String, Object> pool = poolInfo(jedisPool instanceof JedisSentinelPool ? "jedisSentinelPool" : "jedisPool", jedisPool);
+            if(jedisPool instanceof JedisSentinelPool){
+                // 哨兵模式下当前的主节点
+                pool.put("master", String.valueOf(((JedisSentinelPool) jedisPool).getCurrentHostMaster()));
+            }
+            result.put("pool", pool);
+        }
+        RedisReplicaPool replicaPool = RedisUtils.getReplicaPool();
+        if(replicaPool != null){
+            // 读写分离时从节点的连接池
+            List<Map<String, Object>> replicas = new ArrayList<>();
+            replicaPool.getPools().forEach(replica -> replicas.add(poolInfo("redisReplicaPool", replica)));
+            result.put("replicas", replicas);
+        }
+        RedisInstanceRouter router = RedisUtils.getRouter();
+        if(router != null){
+            // 按key前缀路由的实例的连接池
+            Map<String, Object> instances = new HashMap<>();
+            router.getInstances().forEach((name, instancePool) -> instances.put(name, poolInfo(name, instancePool)));
+            result.put("instances", instances);
+        }
+        RedisGetBatcher batcher = RedisUtils.getBatcher();
+        if(batcher != null){
+            // 跨线程合并get的统计
+            Map<String, Object> getBatch = new HashMap<>();
+            getBatch.put("keys", batcher.getKeys());
+            getBatch.put("batches", batcher.getBatches());
+            result.put("getBatch", getBatch);
+        }
+        RedisSingleFlight singleFlight = RedisUtils.getSingleFlight();
+        if(singleFlight != null){
+            // 相同读命令合并节省的调用次数
+            Map<String, Object> flight = new HashMap<>();
+            flight.put("saved", singleFlight.getSaved());
+            flight.put("inFlight", singleFlight.getInFlight());
+            result.put("singleFlight", flight);
+        }
+        RedisNearCache nearCache = RedisUtils.getNearCache();
+        if(nearCache != null){
+            // 本地缓存的命中和容量
+            result.put("nearCache", nearCache.stats());
+        }
+        RedisMappedCache mappedCache = RedisUtils.getMappedCache();
+        if(mappedCache != null){
+            // 内存映射文件缓存的命中和文件使用情况
+            result.put("mappedCache", mappedCache.stats());
+        }
+        RedisCircuitBreaker circuitBreaker = RedisUtils.getCircuitBreaker();
+        if(circuitBreaker != null){
+            // 熔断状态和拒绝的命令数
+            result.put("circuitBreaker", circuitBreaker.stats());
+        }
+        RedisStaleCache staleCache = RedisUtils.getStaleCache();
+        if(staleCache != null){
+            // 熔断期间返回旧值的次数
+            result.put("staleCache", staleCache.stats());
+        }
+        RedisCompressor compressor = RedisUtils.getCompressor();
+        if(compressor != null){
+            // 值压缩的次数和压缩率
+            result.put("compression", compressor.stats());
+        }
+        // 编码和压缩缓冲区的复用情况,allocated稳定后不再增长
+        result.put("encodeBuffers", RedisEncodeBuffers.stats());
         result.put("isRun", RedisUtils.isRun());
         result.put("clientName",RedisUtils.clientGetname());
         result.put("serverTime",RedisUtils.serverTime());
@@ -49,6 +130,17 @@ public class RedisInfoUtils {
         return result;
     }
 
+    private static Map<String, Object> poolInfo(String beanName, Pool<Jedis> jedisPool){
+        Map<String, Object> pool = new HashMap<>();
+        pool.put("beanName", beanName);
+        pool.put("maxBorrowWaitTimeMillis", jedisPool.getMaxBorrowWaitTimeMillis());
+        pool.put("meanBorrowWaitTimeMillis", jedisPool.getMeanBorrowWaitTimeMillis());
+        pool.put("numActive", jedisPool.getNumActive());
+        pool.put("numIdle", jedisPool.getNumIdle());
+        pool.put("numWaiters", jedisPool.getNumWaiters());
+        return pool;
+    }
+
     private static Map<String,String> systemInfo(){
         Map<String, String> result = new HashMap<>();
         // 获取redis信息
@@ -1,13 +1,57 @@
 package com.personal.redis.utils;
 
 import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+import com.personal.redis.async.RedisAsyncExecutor;
+import com.personal.redis.batch.RedisGetBatcher;
+import com.personal.redis.breaker.RedisCircuitBreaker;
+import com.personal.redis.breaker.RedisStaleCache;
+import com.personal.redis.cluster.RedisClusterClient;
+import com.personal.redis.codec.GeneratedBinaryCodec;
+import com.personal.redis.codec.JsonRedisCodec;
+import com.personal.redis.codec.RedisCodec;
+import com.personal.redis.codec.RedisCodecRegistry;
+import com.personal.redis.codec.RedisHashMapper;
+import com.personal.redis.compress.RedisCompressor;
+import com.personal.redis.flight.RedisSingleFlight;
+import com.personal.redis.mapped.RedisMappedCache;
+import com.personal.redis.near.RedisNearCache;
+import com.personal.redis.pipeline.RedisAutoPipeline;
+import com.personal.redis.properties.JedisProperties;
+import com.personal.redis.replica.RedisReplicaPool;
+import com.personal.redis.route.RedisInstanceRouter;
+import com.personal.redis.scan.RedisBulkDeleter;
+import com.personal.redis.scan.RedisDeleteResult;
+import com.personal.redis.scan.RedisScanIterator;
+import com.personal.redis.shard.RedisShardedPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.StringUtils;
 import redis.clients.jedis.*;
+import redis.clients.jedis.exceptions.JedisClusterMaxAttemptsException;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.jedis.exceptions.JedisExhaustedPoolException;
+import redis.clients.jedis.exceptions.JedisRedirectionException;
 import redis.clients.jedis.params.SetParams;
+import redis.clients.jedis.util.JedisByteHashMap;
+import redis.clients.jedis.util.Pool;
+import redis.clients.jedis.util.SafeEncoder;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * @author sunpeikai
@@ -18,44 +62,1450 @@ public class RedisUtils {
 
     private static final Logger log = LoggerFactory.getLogger(RedisUtils.class);
 
-    private static JedisPool pool = null;
+    private static Pool<Jedis> pool = null;
+
+    private static volatile RedisClusterClient cluster = null;
+
+    private static volatile Boolean clusterMode = null;
+
+    private static volatile RedisReplicaPool replicaPool = null;
+
+    private static volatile Boolean replicaMode = null;
+
+    private static volatile RedisShardedPool shardedPool = null;
+
+    private static volatile Boolean shardedMode = null;
+
+    private static volatile RedisAutoPipeline autoPipeline = null;
+
+    private static volatile Boolean autoPipelineMode = null;
+
+    private static volatile RedisAsyncExecutor asyncExecutor = null;
+
+    private static volatile RedisInstanceRouter router = null;
+
+    private static volatile Boolean routerMode = null;
+
+    private static volatile RedisGetBatcher batcher = null;
+
+    private static volatile Boolean batcherMode = null;
+
+    private static volatile RedisSingleFlight singleFlight = null;
+
+    private static volatile Boolean singleFlightMode = null;
+
+    private static volatile RedisNearCache nearCache = null;
+
+    private static volatile Boolean nearCacheMode = null;
+
+    private static volatile RedisMappedCache mappedCache = null;
+
+    private static volatile Boolean mappedCacheMode = null;
+
+    private static volatile RedisCircuitBreaker circuitBreaker = null;
+
+    private static volatile Boolean circuitBreakerMode = null;
+
+    private static volatile RedisStaleCache staleCache = null;
+
+    private static volatile Boolean staleCacheMode = null;
+
+    private static volatile Integer pipelineChunkSize = null;
+
+    private static volatile RedisCodecRegistry codecRegistry = null;
+
+    private static volatile Boolean codecRegistryMode = null;
+
+    private static final RedisCodec DEFAULT_CODEC = new JsonRedisCodec();
+
+    private static volatile RedisCompressor compressor = null;
+
+    private static volatile Boolean compressorMode = null;
+
+    private static volatile JedisProperties.JedisLoadProperties loadProperties = null;
+
+    private static volatile RedisAsyncExecutor refreshExecutor = null;
+
+    private static volatile JedisProperties.JedisBulkDeleteProperties bulkDeleteProperties = null;
+
+    /**
+     * redis 4.0以下不支持UNLINK,第一次返回unknown command后改用DEL
+     */
+    private static volatile boolean unlinkUnsupported = false;
+
+    private static final ConcurrentHashMap<String, CompletableFuture<Object>> LOADING = new ConcurrentHashMap<>();
+
+    private static final String STALE_SUFFIX = ":stale";
+
+    private static final String LEASE_SUFFIX = ":lease";
+
+    private static final long LOAD_POLL_MILLIS = 50;
+
+    private static final ThreadLocal<Boolean> FORCE_MASTER = new ThreadLocal<>();
+
+    private static final ThreadLocal<Boolean> STALE = new ThreadLocal<>();
+
+    /**
+     * 当前线程的请求被熔断拒绝或连接失败,旧值降级用来区分失败和redis返回nil
+     */
+    private static final ThreadLocal<Boolean> UNAVAILABLE = new ThreadLocal<>();
 
     private static String OK = "OK";
 
-    //**********          redis连接池操作的方法          **********//
+    //**********          redis连接池操作的方法          **********//
+
+    /**
+     * redis连接池
+     * @return 单机模式的连接池;哨兵模式下抛出IllegalStateException,需要使用getMasterPool
+     */
+    public static JedisPool getPool() {
+        Pool<Jedis> masterPool = getMasterPool();
+        if (masterPool instanceof JedisSentinelPool) {
+            throw new IllegalStateException("redis sentinel mode has no JedisPool, use RedisUtils.getMasterPool() instead.");
+        }
+        return (JedisPool) masterPool;
+    }
+
+    /**
+     * 主节点的连接池
+     * 单机模式为JedisPool,哨兵模式为JedisSentinelPool
+     * @return 主节点的连接池
+     */
+    public static Pool<Jedis> getMasterPool() {
+        if (pool == null) {
+            pool = SpringUtils.getBean(JedisPoolAbstract.class);
+        }
+        return pool;
+    }
+
+    /**
+     * redis集群客户端
+     * @return 集群模式返回集群客户端,否则返回null
+     */
+    public static RedisClusterClient getCluster() {
+        if (clusterMode == null) {
+            Map<String, RedisClusterClient> clusters = SpringUtils.getBeanOfType(RedisClusterClient.class);
+            cluster = clusters.isEmpty() ? null : clusters.values().iterator().next();
+            clusterMode = cluster != null;
+        }
+        return cluster;
+    }
+
+    /**
+     * redis从节点连接池
+     * @return 开启读写分离时返回从节点连接池,否则返回null
+     */
+    public static RedisReplicaPool getReplicaPool() {
+        if (replicaMode == null) {
+            Map<String, RedisReplicaPool> replicas = SpringUtils.getBeanOfType(RedisReplicaPool.class);
+            replicaPool = replicas.isEmpty() ? null : replicas.values().iterator().next();
+            replicaMode = replicaPool != null;
+        }
+        return replicaPool;
+    }
+
+    /**
+     * redis客户端分片连接池
+     * @return 分片模式返回分片连接池,否则返回null
+     */
+    public static RedisShardedPool getShardedPool() {
+        if (shardedMode == null) {
+            Map<String, RedisShardedPool> shards = SpringUtils.getBeanOfType(RedisShardedPool.class);
+            shardedPool = shards.isEmpty() ? null : shards.values().iterator().next();
+            shardedMode = shardedPool != null;
+        }
+        return shardedPool;
+    }
+
+    /**
+     * redis自动pipeline
+     * @return 开启自动pipeline时返回,否则返回null
+     */
+    public static RedisAutoPipeline getAutoPipeline() {
+        if (autoPipelineMode == null) {
+            Map<String, RedisAutoPipeline> pipelines = SpringUtils.getBeanOfType(RedisAutoPipeline.class);
+            autoPipeline = pipelines.isEmpty() ? null : pipelines.values().iterator().next();
+            autoPipelineMode = autoPipeline != null;
+        }
+        return autoPipeline;
+    }
+
+    /**
+     * 跨线程合并get的批处理器
+     * @return 开启get合并时返回,否则返回null
+     */
+    public static RedisGetBatcher getBatcher() {
+        if (batcherMode == null) {
+            Map<String, RedisGetBatcher> batchers = SpringUtils.getBeanOfType(RedisGetBatcher.class);
+            batcher = batchers.isEmpty() ? null : batchers.values().iterator().next();
+            batcherMode = batcher != null;
+        }
+        return batcher;
+    }
+
+    /**
+     * 相同读命令的并发合并
+     * @return 开启single flight时返回,否则返回null
+     */
+    public static RedisSingleFlight getSingleFlight() {
+        if (singleFlightMode == null) {
+            Map<String, RedisSingleFlight> flights = SpringUtils.getBeanOfType(RedisSingleFlight.class);
+            singleFlight = flights.isEmpty() ? null : flights.values().iterator().next();
+            singleFlightMode = singleFlight != null;
+        }
+        return singleFlight;
+    }
+
+    /**
+     * 本地缓存
+     * @return 开启本地缓存时返回,否则返回null
+     */
+    public static RedisNearCache getNearCache() {
+        if (nearCacheMode == null) {
+            Map<String, RedisNearCache> caches = SpringUtils.getBeanOfType(RedisNearCache.class);
+            nearCache = caches.isEmpty() ? null : caches.values().iterator().next();
+            nearCacheMode = nearCache != null;
+        }
+        return nearCache;
+    }
+
+    /**
+     * 内存映射文件缓存
+     * @return 开启内存映射文件缓存时返回,否则返回null
+     */
+    public static RedisMappedCache getMappedCache() {
+        if (mappedCacheMode == null) {
+            Map<String, RedisMappedCache> caches = SpringUtils.getBeanOfType(RedisMappedCache.class);
+            mappedCache = caches.isEmpty() ? null : caches.values().iterator().next();
+            mappedCacheMode = mappedCache != null;
+        }
+        return mappedCache;
+    }
+
+    /**
+     * 熔断器
+     * @return 开启熔断时返回,否则返回null
+     */
+    public static RedisCircuitBreaker getCircuitBreaker() {
+        if (circuitBreakerMode == null) {
+            Map<String, RedisCircuitBreaker> breakers = SpringUtils.getBeanOfType(RedisCircuitBreaker.class);
+            circuitBreaker = breakers.isEmpty() ? null : breakers.values().iterator().next();
+            circuitBreakerMode = circuitBreaker != null;
+        }
+        return circuitBreaker;
+    }
+
+    /**
+     * 熔断期间返回的旧值
+     * @return 开启旧值降级时返回,否则返回null
+     */
+    public static RedisStaleCache getStaleCache() {
+        if (staleCacheMode == null) {
+            Map<String, RedisStaleCache> caches = SpringUtils.getBeanOfType(RedisStaleCache.class);
+            staleCache = caches.isEmpty() ? null : caches.values().iterator().next();
+            staleCacheMode = staleCache != null;
+        }
+        return staleCache;
+    }
+
+    /**
+     * 异步命令的线程池
+     * @return 线程池
+     */
+    public static RedisAsyncExecutor getAsyncExecutor() {
+        if (asyncExecutor == null) {
+            asyncExecutor = SpringUtils.getBean(RedisAsyncExecutor.class);
+        }
+        return asyncExecutor;
+    }
+
+    /**
+     * 批量pipeline默认每批的命令数
+     * @return redis.pipeline.chunk-size
+     */
+    public static int getPipelineChunkSize() {
+        if (pipelineChunkSize == null) {
+            Map<String, JedisProperties> properties = SpringUtils.getBeanOfType(JedisProperties.class);
+            pipelineChunkSize = properties.isEmpty() ? new JedisProperties.JedisPipelineProperties().getChunkSize()
+                    : properties.values().iterator().next().getPipeline().getChunkSize();
+        }
+        return pipelineChunkSize;
+    }
+
+    /**
+     * setObj/getObj使用的编解码
+     * @param key redis键
+     * @return key前缀对应的编解码,没有配置时为json
+     */
+    public static RedisCodec getCodec(String key) {
+        RedisCodecRegistry registry = getCodecRegistry();
+        return registry == null ? DEFAULT_CODEC : registry.codec(key);
+    }
+
+    /**
+     * setObj/getObj使用的编解码
+     * @param key redis键
+     * @param clz 对象类型
+     * @return key前缀对应的编解码,没有配置时RedisBinary类使用编译时生成的编解码,其他类为json
+     */
+    public static RedisCodec getCodec(String key, Class<?> clz) {
+        RedisCodecRegistry registry = getCodecRegistry();
+        if (registry != null) {
+            return registry.codec(key, clz);
+        }
+        RedisCodec generated = GeneratedBinaryCodec.find(clz);
+        return generated != null ? generated : DEFAULT_CODEC;
+    }
+
+    private static RedisCodecRegistry getCodecRegistry() {
+        if (codecRegistryMode == null) {
+            Map<String, RedisCodecRegistry> registries = SpringUtils.getBeanOfType(RedisCodecRegistry.class);
+            codecRegistry = registries.isEmpty() ? null : registries.values().iterator().next();
+            codecRegistryMode = codecRegistry != null;
+        }
+        return codecRegistry;
+    }
+
+    /**
+     * 值压缩
+     * @return 开启值压缩时返回,否则返回null
+     */
+    public static RedisCompressor getCompressor() {
+        if (compressorMode == null) {
+            Map<String, RedisCompressor> compressors = SpringUtils.getBeanOfType(RedisCompressor.class);
+            compressor = compressors.isEmpty() ? null : compressors.values().iterator().next();
+            compressorMode = compressor != null;
+        }
+        return compressor;
+    }
+
+    /**
+     * 写入前压缩值,没有开启值压缩时返回原值
+     */
+    private static byte[] compress(byte[] value) {
+        return getCompressor() == null ? value : getCompressor().compress(value);
+    }
+
+    private static Map<byte[], byte[]> compressHash(Map<byte[], byte[]> hash) {
+        if (getCompressor() == null || hash == null) {
+            return hash;
+        }
+        Map<byte[], byte[]> result = new LinkedHashMap<>(hash.size() * 2);
+        hash.forEach((field, value) -> result.put(field, getCompressor().compress(value)));
+        return result;
+    }
+
+    private static Map<byte[], byte[]> compressStrings(Map<String, String> hash) {
+        Map<byte[], byte[]> result = new LinkedHashMap<>(hash.size() * 2);
+        hash.forEach((field, value) -> result.put(SafeEncoder.encode(field), getCompressor().compress(value)));
+        return result;
+    }
+
+    /**
+     * 读取后解压值,没有压缩头部的值原样返回
+     */
+    /**
+     * 开启值压缩后redis中保存的可能是压缩后的字节,按字节偏移或长度操作的命令会返回错误的结果或破坏压缩数据,直接拒绝
+     * @return 开启了值压缩时返回true
+     */
+    private static boolean compressionUnsupported(String command) {
+        if (getCompressor() == null) {
+            return false;
+        }
+        log.error("redis {} is not supported when compression is enabled", command);
+        return true;
+    }
+
+    private static byte[] decompress(byte[] value) {
+        return getCompressor() == null ? value : getCompressor().decompress(value);
+    }
+
+    private static List<byte[]> decompressAll(List<byte[]> values) {
+        if (getCompressor() == null || values == null) {
+            return values;
+        }
+        List<byte[]> result = new ArrayList<>(values.size());
+        for (byte[] value : values) {
+            result.add(getCompressor().decompress(value));
+        }
+        return result;
+    }
+
+    private static Map<byte[], byte[]> decompressHash(Map<byte[], byte[]> hash) {
+        if (getCompressor() == null || hash == null) {
+            return hash;
+        }
+        Map<byte[], byte[]> result = new JedisByteHashMap();
+        hash.forEach((field, value) -> result.put(field, getCompressor().decompress(value)));
+        return result;
+    }
+
+    private static List<String> decompressStrings(List<byte[]> values) {
+        if (values == null) {
+            return null;
+        }
+        List<String> result = new ArrayList<>(values.size());
+        for (byte[] value : values) {
+            result.add(getCompressor().decompressString(value));
+        }
+        return result;
+    }
+
+    private static Map<String, String> decompressStrings(Map<byte[], byte[]> hash) {
+        if (hash == null) {
+            return null;
+        }
+        Map<String, String> result = new HashMap<>(hash.size() * 2);
+        hash.forEach((field, value) -> result.put(SafeEncoder.encode(field), getCompressor().decompressString(value)));
+        return result;
+    }
+
+    /**
+     * getOrLoad的租约和旧值配置
+     * @return redis.load
+     */
+    private static JedisProperties.JedisLoadProperties getLoadProperties() {
+        if (loadProperties == null) {
+            Map<String, JedisProperties> properties = SpringUtils.getBeanOfType(JedisProperties.class);
+            loadProperties = properties.isEmpty() ? new JedisProperties.JedisLoadProperties()
+                    : properties.values().iterator().next().getLoad();
+        }
+        return loadProperties;
+    }
+
+    /**
+     * delLike、deleteByPattern的批量删除配置
+     * @return redis.bulk-delete
+     */
+    private static JedisProperties.JedisBulkDeleteProperties getBulkDeleteProperties() {
+        if (bulkDeleteProperties == null) {
+            Map<String, JedisProperties> properties = SpringUtils.getBeanOfType(JedisProperties.class);
+            bulkDeleteProperties = properties.isEmpty() ? new JedisProperties.JedisBulkDeleteProperties()
+                    : properties.values().iterator().next().getBulkDelete();
+        }
+        return bulkDeleteProperties;
+    }
+
+    /**
+     * redis多实例路由
+     * @return 配置了key前缀路由时返回路由,否则返回null
+     */
+    public static RedisInstanceRouter getRouter() {
+        if (routerMode == null) {
+            Map<String, RedisInstanceRouter> routers = SpringUtils.getBeanOfType(RedisInstanceRouter.class);
+            router = routers.isEmpty() || routers.values().iterator().next().isEmpty() ? null : routers.values().iterator().next();
+            routerMode = router != null;
+        }
+        return router;
+    }
+
+    /**
+     * 当前线程的只读命令是否强制读主节点
+     * 用于写后立即读等不能容忍主从延迟的场景,使用完需要调用clearForceMaster()
+     * @param forceMaster 是否强制读主节点
+     */
+    public static void setForceMaster(boolean forceMaster) {
+        FORCE_MASTER.set(forceMaster);
+    }
+
+    /**
+     * 清除当前线程的强制读主节点标记
+     */
+    public static void clearForceMaster() {
+        FORCE_MASTER.remove();
+    }
+
+    /**
+     * 当前线程的只读命令是否强制读主节点
+     * @return 强制读主节点返回TRUE
+     */
+    public static boolean isForceMaster() {
+        return Boolean.TRUE.equals(FORCE_MASTER.get());
+    }
+
+    /**
+     * 在主节点上执行一组调用中的只读命令
+     * 例如: RedisUtils.forceMaster(() -> RedisUtils.get(key))
+     * @param reads 调用
+     * @return 调用结果
+     */
+    public static <T> T forceMaster(Supplier<T> reads) {
+        Boolean previous = FORCE_MASTER.get();
+        FORCE_MASTER.set(Boolean.TRUE);
+        try {
+            return reads.get();
+        } finally {
+            if (previous == null) {
+                FORCE_MASTER.remove();
+            } else {
+                FORCE_MASTER.set(previous);
+            }
+        }
+    }
+
+    /**
+     * 当前线程上一次get、getObj、hget、hgetAll是否在熔断期间返回了旧值
+     * @return 返回旧值时为TRUE
+     */
+    public static boolean isStale() {
+        return Boolean.TRUE.equals(STALE.get());
+    }
+
+    /**
+     * 从redis连接池中获取redis
+     * 集群模式下随机返回一个节点的连接
+     * @return jedis
+     */
+    public static Jedis getJedis() {
+        return getJedis(RedisClusterClient.ANY_SLOT);
+    }
+
+    /**
+     * 从redis连接池中获取redis
+     * 集群模式下返回key所在节点的连接
+     * @param key redis键
+     * @return jedis
+     */
+    public static Jedis getJedis(String key) {
+        Pool<Jedis> instance = route(key);
+        if (instance != null) {
+            return instance.getResource();
+        }
+        return getJedis(getCluster() == null ? RedisClusterClient.ANY_SLOT : RedisClusterClient.getSlot(key));
+    }
+
+    /**
+     * 从redis连接池中获取redis
+     * 集群模式下返回key所在节点的连接
+     * @param key redis键
+     * @return jedis
+     */
+    public static Jedis getJedis(byte[] key) {
+        Pool<Jedis> instance = route(key);
+        if (instance != null) {
+            return instance.getResource();
+        }
+        return getJedis(getCluster() == null ? RedisClusterClient.ANY_SLOT : RedisClusterClient.getSlot(key));
+    }
+
+    private static Jedis getJedis(int slot) {
+        if (getCluster() != null) {
+            return getCluster().getConnection(slot);
+        }
+        return defaultPool().getResource();
+    }
+
+    /**
+     * 关闭redis
+     * @param redis redis实例
+     * @return void
+     */
+    public static void close(Jedis redis) {
+        if (redis != null) {
+            try {
+                redis.close();
+            } catch (Exception e) {
+                log.error("redis close fail ==> ", e);
+            }
+        }
+    }
+
+    /**
+     * 执行不针对某个key的命令
+     * 集群模式下随机选择一个节点执行
+     * @param action 命令
+     * @return 命令结果,异常返回null
+     */
+    private static <T> T execute(Function<Jedis, T> action) {
+        return execute(RedisClusterClient.ANY_SLOT, action);
+    }
+
+    /**
+     * 执行针对key的命令
+     * 集群模式下路由到key所在slot的节点
+     * @param key redis键
+     * @param action 命令
+     * @return 命令结果,异常返回null
+     */
+    private static <T> T execute(String key, Function<Jedis, T> action) {
+        Pool<Jedis> instance = route(key);
+        if (instance != null) {
+            return execute(instance, action);
+        }
+        return execute(getCluster() == null ? RedisClusterClient.ANY_SLOT : RedisClusterClient.getSlot(key), action);
+    }
+
+    /**
+     * 执行针对key的命令
+     * 集群模式下路由到key所在slot的节点
+     * @param key redis键
+     * @param action 命令
+     * @return 命令结果,异常返回null
+     */
+    private static <T> T execute(byte[] key, Function<Jedis, T> action) {
+        Pool<Jedis> instance = route(key);
+        if (instance != null) {
+            return execute(instance, action);
+        }
+        return execute(getCluster() == null ? RedisClusterClient.ANY_SLOT : RedisClusterClient.getSlot(key), action);
+    }
+
+    /**
+     * 执行多key命令
+     * 按第一个key路由,多个key需要属于同一实例;集群模式下多个key必须在同一slot(可以使用hash tag,如{user}:1,{user}:2)
+     * @param keys redis键
+     * @param action 命令
+     * @return 命令结果,异常返回null
+     */
+    private static <T> T execute(String[] keys, Function<Jedis, T> action) {
+        return execute(keys == null || keys.length == 0 ? null : keys[0], action);
+    }
+
+    /**
+     * 执行多key命令
+     * 按第一个key路由,多个key需要属于同一实例;集群模式下多个key必须在同一slot(可以使用hash tag,如{user}:1,{user}:2)
+     * @param keys redis键
+     * @param action 命令
+     * @return 命令结果,异常返回null
+     */
+    private static <T> T execute(byte[][] keys, Function<Jedis, T> action) {
+        return execute(keys == null || keys.length == 0 ? null : keys[0], action);
+    }
+
+    /**
+     * 执行针对key的写命令,执行后失效key的本地缓存
+     * @param key redis键
+     * @param action 命令
+     * @return 命令结果,异常返回null
+     */
+    private static <T> T executeWrite(String key, Function<Jedis, T> action) {
+        return written(execute(key, action), key);
+    }
+
+    /**
+     * 执行针对key的写命令,执行后失效key的本地缓存
+     * @param key redis键
+     * @param action 命令
+     * @return 命令结果,异常返回null
+     */
+    private static <T> T executeWrite(byte[] key, Function<Jedis, T> action) {
+        return written(execute(key, action), key);
+    }
+
+    /**
+     * 执行不针对某个key的只读命令
+     * 开启读写分离时在从节点执行
+     * @param action 命令
+     * @return 命令结果,异常返回null
+     */
+    private static <T> T executeRead(Function<Jedis, T> action) {
+        return readOnReplica() ? executeOnReplica(action) : execute(action);
+    }
+
+    /**
+     * 执行针对key的只读命令
+     * 开启读写分离时在从节点执行
+     * @param key redis键
+     * @param action 命令
+     * @return 命令结果,异常返回null
+     */
+    private static <T> T executeRead(String key, Function<Jedis, T> action) {
+        Pool<Jedis> instance = route(key);
+        if (instance != null) {
+            return execute(instance, action);
+        }
+        return readOnReplica() ? executeOnReplica(action) : execute(key, action);
+    }
+
+    /**
+     * 执行针对key的只读命令
+     * 开启读写分离时在从节点执行
+     * @param key redis键
+     * @param action 命令
+     * @return 命令结果,异常返回null
+     */
+    private static <T> T executeRead(byte[] key, Function<Jedis, T> action) {
+        Pool<Jedis> instance = route(key);
+        if (instance != null) {
+            return execute(instance, action);
+        }
+        return readOnReplica() ? executeOnReplica(action) : execute(key, action);
+    }
+
+    /**
+     * 执行多key的只读命令
+     * 开启读写分离时在从节点执行
+     * @param keys redis键
+     * @param action 命令
+     * @return 命令结果,异常返回null
+     */
+    private static <T> T executeRead(String[] keys, Function<Jedis, T> action) {
+        return executeRead(keys == null || keys.length == 0 ? null : keys[0], action);
+    }
+
+    /**
+     * 执行多key的只读命令
+     * 开启读写分离时在从节点执行
+     * @param keys redis键
+     * @param action 命令
+     * @return 命令结果,异常返回null
+     */
+    private static <T> T executeRead(byte[][] keys, Function<Jedis, T> action) {
+        return executeRead(keys == null || keys.length == 0 ? null : keys[0], action);
+    }
+
+    /**
+     * 执行不针对某个key的命令
+     * 开启自动pipeline时与其他调用方的命令合并发送
+     * @param action 命令
+     * @param command pipeline命令
+     * @return 命令结果,异常返回null
+     */
+    private static <T> T execute(Function<Jedis, T> action, Function<Pipeline, Response<T>> command) {
+        return autoPipelined() ? pipelined(command) : execute(action);
+    }
+
+    /**
+     * 执行针对key的命令
+     * 开启自动pipeline且key属于默认连接池时与其他调用方的命令合并发送
+     * @param key redis键
+     * @param action 命令
+     * @param command pipeline命令
+     * @return 命令结果,异常返回null
+     */
+    private static <T> T execute(String key, Function<Jedis, T> action, Function<Pipeline, Response<T>> command) {
+        return autoPipelined() && route(key) == null ? pipelined(command) : execute(key, action);
+    }
+
+    /**
+     * 执行针对key的命令
+     * 开启自动pipeline且key属于默认连接池时与其他调用方的命令合并发送
+     * @param key redis键
+     * @param action 命令
+     * @param command pipeline命令
+     * @return 命令结果,异常返回null
+     */
+    private static <T> T execute(byte[] key, Function<Jedis, T> action, Function<Pipeline, Response<T>> command) {
+        return autoPipelined() && route(key) == null ? pipelined(command) : execute(key, action);
+    }
+
+    /**
+     * 执行多key命令
+     * 开启自动pipeline且第一个key属于默认连接池时与其他调用方的命令合并发送
+     * @param keys redis键
+     * @param action 命令
+     * @param command pipeline命令
+     * @return 命令结果,异常返回null
+     */
+    private static <T> T execute(String[] keys, Function<Jedis, T> action, Function<Pipeline, Response<T>> command) {
+        return execute(keys == null || keys.length == 0 ? null : keys[0], action, command);
+    }
+
+    /**
+     * 执行多key命令
+     * 开启自动pipeline且第一个key属于默认连接池时与其他调用方的命令合并发送
+     * @param keys redis键
+     * @param action 命令
+     * @param command pipeline命令
+     * @return 命令结果,异常返回null
+     */
+    private static <T> T execute(byte[][] keys, Function<Jedis, T> action, Function<Pipeline, Response<T>> command) {
+        return execute(keys == null || keys.length == 0 ? null : keys[0], action, command);
+    }
+
+    /**
+     * 执行针对key的写命令,执行后失效key的本地缓存
+     * @param key redis键
+     * @param action 命令
+     * @param command pipeline命令
+     * @return 命令结果,异常返回null
+     */
+    private static <T> T executeWrite(String key, Function<Jedis, T> action, Function<Pipeline, Response<T>> command) {
+        return written(execute(key, action, command), key);
+    }
+
+    /**
+     * 执行针对key的写命令,执行后失效key的本地缓存
+     * @param key redis键
+     * @param action 命令
+     * @param command pipeline命令
+     * @return 命令结果,异常返回null
+     */
+    private static <T> T executeWrite(byte[] key, Function<Jedis, T> action, Function<Pipeline, Response<T>> command) {
+        return written(execute(key, action, command), key);
+    }
+
+    /**
+     * 执行针对key的只读命令
+     * 开启读写分离时在从节点执行,否则同execute
+     * @param key redis键
+     * @param action 命令
+     * @param command pipeline命令
+     * @return 命令结果,异常返回null
+     */
+    private static <T> T executeRead(String key, Function<Jedis, T> action, Function<Pipeline, Response<T>> command) {
+        return readOnReplica() ? executeRead(key, action) : execute(key, action, command);
+    }
+
+    /**
+     * 执行针对key的只读命令
+     * 开启读写分离时在从节点执行,否则同execute
+     * @param key redis键
+     * @param action 命令
+     * @param command pipeline命令
+     * @return 命令结果,异常返回null
+     */
+    private static <T> T executeRead(byte[] key, Function<Jedis, T> action, Function<Pipeline, Response<T>> command) {
+        return readOnReplica() ? executeRead(key, action) : execute(key, action, command);
+    }
+
+    /**
+     * 执行多key的只读命令
+     * 开启读写分离时在从节点执行,否则同execute
+     * @param keys redis键
+     * @param action 命令
+     * @param command pipeline命令
+     * @return 命令结果,异常返回null
+     */
+    private static <T> T executeRead(String[] keys, Function<Jedis, T> action, Function<Pipeline, Response<T>> command) {
+        return executeRead(keys == null || keys.length == 0 ? null : keys[0], action, command);
+    }
+
+    /**
+     * 执行多key的只读命令
+     * 开启读写分离时在从节点执行,否则同execute
+     * @param keys redis键
+     * @param action 命令
+     * @param command pipeline命令
+     * @return 命令结果,异常返回null
+     */
+    private static <T> T executeRead(byte[][] keys, Function<Jedis, T> action, Function<Pipeline, Response<T>> command) {
+        return executeRead(keys == null || keys.length == 0 ? null : keys[0], action, command);
+    }
+
+    /**
+     * 异步执行针对key的命令,供AsyncRedisUtils使用
+     * 开启自动pipeline且key属于默认连接池时直接提交到自动pipeline,不占用线程;否则在有界线程池中执行同步方法
+     * @param key redis键
+     * @param sync 同步方法
+     * @param command pipeline命令
+     * @return 命令结果,异常时结果为null
+     */
+    static <T> CompletableFuture<T> executeAsync(String key, Supplier<T> sync, Function<Pipeline, Response<T>> command) {
+        // 开启值压缩时pipeline命令中的值没有压缩,在线程池中执行同步方法
+        if (getCompressor() == null && autoPipelined() && route(key) == null) {
+            return pipelinedAsync(command).thenApply(result -> written(result, key));
+        }
+        return CompletableFuture.supplyAsync(sync, getAsyncExecutor());
+    }
+
+    /**
+     * 异步执行针对key的命令,供AsyncRedisUtils使用
+     * @param key redis键
+     * @param sync 同步方法
+     * @param command pipeline命令
+     * @return 命令结果,异常时结果为null
+     */
+    static <T> CompletableFuture<T> executeAsync(byte[] key, Supplier<T> sync, Function<Pipeline, Response<T>> command) {
+        // 开启值压缩时pipeline命令中的值没有压缩,在线程池中执行同步方法
+        if (getCompressor() == null && autoPipelined() && route(key) == null) {
+            return pipelinedAsync(command).thenApply(result -> written(result, key));
+        }
+        return CompletableFuture.supplyAsync(sync, getAsyncExecutor());
+    }
+
+    /**
+     * 异步执行针对key的只读命令,供AsyncRedisUtils使用
+     * 开启读写分离时在线程池中执行同步方法读从节点
+     * @param key redis键
+     * @param sync 同步方法
+     * @param command pipeline命令
+     * @return 命令结果,异常时结果为null
+     */
+    static <T> CompletableFuture<T> executeReadAsync(String key, Supplier<T> sync, Function<Pipeline, Response<T>> command) {
+        if (getCompressor() == null && !readOnReplica() && autoPipelined() && route(key) == null) {
+            return pipelinedAsync(command);
+        }
+        return CompletableFuture.supplyAsync(sync, getAsyncExecutor());
+    }
+
+    /**
+     * 异步执行针对key的只读命令,供AsyncRedisUtils使用
+     * 开启读写分离时在线程池中执行同步方法读从节点
+     * @param key redis键
+     * @param sync 同步方法
+     * @param command pipeline命令
+     * @return 命令结果,异常时结果为null
+     */
+    static <T> CompletableFuture<T> executeReadAsync(byte[] key, Supplier<T> sync, Function<Pipeline, Response<T>> command) {
+        // 内存映射缓存的key在线程池中执行同步方法,读取和写入映射文件
+        if (getCompressor() == null && !readOnReplica() && autoPipelined() && route(key) == null
+                && (getMappedCache() == null || key == null || !getMappedCache().matches(key))) {
+            return pipelinedAsync(command);
+        }
+        return CompletableFuture.supplyAsync(sync, getAsyncExecutor());
+    }
+
+    /**
+     * 异步执行get、getObj、hget、hgetAll等经过本地缓存和旧值降级的只读命令,供AsyncRedisUtils使用,与同步方法的结果一致
+     * 本地缓存命中时直接完成;不能使用自动pipeline或需要合并相同读命令时在线程池中执行同步方法;
+     * 否则提交到自动pipeline,结果写入本地缓存和旧值,熔断期间被拒绝或连接失败时返回旧值
+     * @param key redis键
+     * @param cacheKey 缓存键,与同步方法使用的相同
+     * @param sync 同步方法
+     * @param command pipeline命令
+     * @return 命令结果,异常时结果为null
+     */
+    @SuppressWarnings("unchecked")
+    static <T> CompletableFuture<T> executeCachedReadAsync(String key, String cacheKey, Supplier<T> sync, Function<Pipeline, Response<T>> command) {
+        if (getCompressor() != null || readOnReplica() || !autoPipelined() || route(key) != null
+                || (getSingleFlight() != null && !isForceMaster() && getSingleFlight().match(key) != null)) {
+            return CompletableFuture.supplyAsync(sync, getAsyncExecutor());
+        }
+        RedisNearCache nearCache = getNearCache();
+        boolean near = nearCache != null && key != null && !isForceMaster() && nearCache.matches(key);
+        if (near) {
+            T cached = (T) nearCache.get(key, cacheKey);
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached);
+            }
+        }
+        long stamp = near ? nearCache.stamp(key) : 0;
+        AtomicBoolean unavailable = new AtomicBoolean();
+        return pipelinedAsync(command, () -> unavailable.set(true)).thenApply(value -> {
+            if (near) {
+                nearCache.put(key, cacheKey, value, stamp);
+            }
+            return staleFallback(key, cacheKey, value, unavailable.get());
+        });
+    }
+
+    private static <T> CompletableFuture<T> pipelinedAsync(Function<Pipeline, Response<T>> command) {
+        return pipelinedAsync(command, null);
+    }
+
+    /**
+     * 结果在自动pipeline的通道线程上处理,熔断拒绝和连接失败通过onUnavailable通知,不使用线程本地变量
+     * @param onUnavailable 请求被熔断拒绝或连接失败时调用,可以为null
+     */
+    private static <T> CompletableFuture<T> pipelinedAsync(Function<Pipeline, Response<T>> command, Runnable onUnavailable) {
+        if (getCircuitBreaker() != null && !getCircuitBreaker().allowRequest()) {
+            if (onUnavailable != null) {
+                onUnavailable.run();
+            }
+            return CompletableFuture.completedFuture(null);
+        }
+        long start = System.nanoTime();
+        return getAutoPipeline().submit(command).handle((result, e) -> {
+            if (e == null) {
+                succeeded(start);
+                return result;
+            }
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (recordFailure(cause instanceof Exception ? (Exception) cause : new CompletionException(cause), start) && onUnavailable != null) {
+                onUnavailable.run();
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 自动pipeline只用于单机和哨兵模式的默认连接池
+     */
+    private static boolean autoPipelined() {
+        return getAutoPipeline() != null && getCluster() == null && getShardedPool() == null;
+    }
+
+    /**
+     * 写命令执行后失效key的本地缓存
+     * @param result 命令结果
+     * @param keys 被修改的key
+     * @return 命令结果
+     */
+    private static <T> T written(T result, String ... keys) {
+        invalidate(keys);
+        return result;
+    }
+
+    /**
+     * 写命令执行后失效key的本地缓存
+     * @param result 命令结果
+     * @param keys 被修改的key
+     * @return 命令结果
+     */
+    private static <T> T written(T result, byte[] ... keys) {
+        if (getMappedCache() != null && keys != null) {
+            getMappedCache().remove(keys);
+        }
+        if (getNearCache() != null && keys != null) {
+            String[] stringKeys = new String[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                stringKeys[i] = keys[i] == null ? null : SafeEncoder.encode(keys[i]);
+            }
+            getNearCache().invalidate(Arrays.asList(stringKeys));
+        }
+        if (getStaleCache() != null && keys != null) {
+            for (byte[] key : keys) {
+                if (key != null) {
+                    getStaleCache().invalidate(SafeEncoder.encode(key));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 失效key的本地缓存并通知其他进程,供AsyncRedisUtils使用
+     * @param keys redis键
+     */
+    static void invalidate(String ... keys) {
+        if (getMappedCache() != null && keys != null) {
+            getMappedCache().remove(Arrays.stream(keys).map(key -> key == null ? null : SafeEncoder.encode(key)).toArray(byte[][]::new));
+        }
+        if (getNearCache() != null && keys != null) {
+            getNearCache().invalidate(Arrays.asList(keys));
+        }
+        if (getStaleCache() != null && keys != null) {
+            for (String key : keys) {
+                if (key != null) {
+                    getStaleCache().invalidate(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * 读取成功时保存一份旧值,熔断期间读取被拒绝或失败时返回旧值并标记当前线程(isStale)
+     * redis返回nil时不返回旧值
+     * @param key redis键
+     * @param cacheKey 缓存键,区分同一个key的不同命令
+     * @param read 读命令
+     * @return 命令结果
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T staleFallback(String key, String cacheKey, Supplier<T> read) {
+        RedisStaleCache cache = getStaleCache();
+        if (cache == null) {
+            return read.get();
+        }
+        STALE.remove();
+        UNAVAILABLE.remove();
+        T value = read.get();
+        if (value != null) {
+            cache.put(key, cacheKey, value);
+            return value;
+        }
+        RedisCircuitBreaker.State state = getCircuitBreaker() == null ? RedisCircuitBreaker.State.CLOSED : getCircuitBreaker().getState();
+        // 合并执行的读命令可能在其他线程失败,熔断打开期间的请求都被拒绝,按失败处理
+        boolean unavailable = Boolean.TRUE.equals(UNAVAILABLE.get()) || state == RedisCircuitBreaker.State.OPEN;
+        UNAVAILABLE.remove();
+        if (unavailable && state != RedisCircuitBreaker.State.CLOSED) {
+            T stale = (T) cache.get(cacheKey);
+            if (stale != null) {
+                STALE.set(Boolean.TRUE);
+            }
+            return stale;
+        }
+        return null;
+    }
+
+    /**
+     * 异步读取的旧值降级,规则与同步方法相同;异步调用不在调用线程上标记isStale
+     * @param value 读取到的值
+     * @param unavailable 请求是否被熔断拒绝或连接失败
+     * @return 读取到的值或旧值
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T staleFallback(String key, String cacheKey, T value, boolean unavailable) {
+        RedisStaleCache cache = getStaleCache();
+        if (cache == null) {
+            return value;
+        }
+        if (value != null) {
+            cache.put(key, cacheKey, value);
+            return value;
+        }
+        RedisCircuitBreaker.State state = getCircuitBreaker() == null ? RedisCircuitBreaker.State.CLOSED : getCircuitBreaker().getState();
+        if ((unavailable || state == RedisCircuitBreaker.State.OPEN) && state != RedisCircuitBreaker.State.CLOSED) {
+            return (T) cache.get(cacheKey);
+        }
+        return null;
+    }
+
+    /**
+     * 优先从本地缓存读取,没有时读取redis并写入本地缓存;强制读主节点时不使用本地缓存
+     * @param key redis键
+     * @param cacheKey 缓存键,区分同一个key的不同命令
+     * @param read 读命令
+     * @return 命令结果
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T nearCached(String key, String cacheKey, Supplier<T> read) {
+        RedisNearCache cache = getNearCache();
+        if (cache == null || key == null || isForceMaster() || !cache.matches(key)) {
+            return read.get();
+        }
+        T cached = (T) cache.get(key, cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+        long stamp = cache.stamp(key);
+        T value = read.get();
+        cache.put(key, cacheKey, value, stamp);
+        return value;
+    }
+
+    /**
+     * 相同key的相同读命令并发执行时只发送一次,只用于返回不可变值的命令,强制读主节点时不参与合并
+     * @param command 命令名称
+     * @param key redis键,用于匹配前缀
+     * @param args key + 参数
+     * @param read 读命令
+     * @return 命令结果
+     */
+    private static <T> T singleFlight(String command, String key, String args, Supplier<T> read) {
+        String prefix = getSingleFlight() == null || isForceMaster() ? null : getSingleFlight().match(key);
+        if (prefix == null) {
+            return read.get();
+        }
+        try {
+            return getSingleFlight().execute(prefix, command + '\0' + args, read);
+        } catch (Exception e) {
+            log.error("redis operate fail ==> ", e);
+        }
+        return null;
+    }
+
+    /**
+     * get合并只用于默认连接池上的key,集群模式下多个key可能不在同一slot,强制读主节点时保持在当前线程执行
+     */
+    private static boolean batchedGet(String key) {
+        return getBatcher() != null && getCluster() == null && !isForceMaster() && (getRouter() == null || getRouter().route(key) == null);
+    }
+
+    private static <T> T pipelined(Function<Pipeline, Response<T>> command) {
+        if (!allowRequest()) {
+            return null;
+        }
+        long start = System.nanoTime();
+        try {
+            T result = getAutoPipeline().execute(command);
+            succeeded(start);
+            return result;
+        } catch (Exception e) {
+            failed(e, start);
+        }
+        return null;
+    }
+
+    private static boolean readOnReplica() {
+        return getCluster() == null && getShardedPool() == null && getReplicaPool() != null && !isForceMaster();
+    }
+
+    private static <T> T executeOnReplica(Function<Jedis, T> action) {
+        if (!allowRequest()) {
+            return null;
+        }
+        long start = System.nanoTime();
+        Jedis jedis = null;
+        try {
+            jedis = getReplicaPool().getResource();
+            start = System.nanoTime();
+            T result = action.apply(jedis);
+            succeeded(start);
+            return result;
+        } catch (Exception e) {
+            if (!isOutage(e)) {
+                failed(e, start);
+                return null;
+            }
+            // 从节点不可用时计入熔断,改读主节点
+            if (getCircuitBreaker() != null) {
+                getCircuitBreaker().onFailure(System.nanoTime() - start);
+            }
+            log.warn("redis replica unavailable, read from master ==> {}", e.getMessage());
+        } finally {
+            close(jedis);
+        }
+        return execute(action);
+    }
+
+    private static <T> T execute(int slot, Function<Jedis, T> action) {
+        if (getCluster() != null) {
+            if (!allowRequest()) {
+                return null;
+            }
+            long start = System.nanoTime();
+            // 第一次借到连接的时间,重定向重试的时间计入耗时
+            long[] borrowed = {0};
+            try {
+                T result = getCluster().execute(slot, jedis -> {
+                    if (borrowed[0] == 0) {
+                        borrowed[0] = System.nanoTime();
+                    }
+                    return action.apply(jedis);
+                });
+                succeeded(borrowed[0], action);
+                return result;
+            } catch (Exception e) {
+                failed(e, borrowed[0] == 0 ? start : borrowed[0]);
+            }
+            return null;
+        }
+        return execute(defaultPool(), action);
+    }
+
+    private static <T> T execute(Pool<Jedis> pool, Function<Jedis, T> action) {
+        if (!allowRequest()) {
+            return null;
+        }
+        long start = System.nanoTime();
+        Jedis jedis = null;
+        try {
+            jedis = pool.getResource();
+            // 借到连接后开始计时,等待pool.maxWait的时间不算慢调用
+            start = System.nanoTime();
+            T result = action.apply(jedis);
+            succeeded(start, action);
+            return result;
+        } catch (Exception e) {
+            failed(e, start);
+        } finally {
+            close(jedis);
+        }
+        return null;
+    }
 
     /**
-     * redis连接池
-     * @return redis连接池
+     * 熔断打开期间不借用连接,直接返回null
      */
-    public static JedisPool getPool() {
-        if (pool == null) {
-            pool = SpringUtils.getBean(JedisPool.class);
+    private static boolean allowRequest() {
+        if (getCircuitBreaker() == null || getCircuitBreaker().allowRequest()) {
+            return true;
         }
-        return pool;
+        unavailable();
+        return false;
     }
 
     /**
-     * 从redis连接池中获取redis
-     * @return jedis
+     * 标记当前线程的请求没有执行成功,只在开启旧值降级时记录
      */
-    public static Jedis getJedis() {
-        return getPool().getResource();
+    private static void unavailable() {
+        if (getStaleCache() != null) {
+            UNAVAILABLE.set(Boolean.TRUE);
+        }
+    }
+
+    private static void succeeded(long start) {
+        if (getCircuitBreaker() != null) {
+            getCircuitBreaker().onSuccess(System.nanoTime() - start);
+        }
     }
 
     /**
-     * 关闭redis
-     * @param redis redis实例
-     * @return void
+     * 阻塞命令只记录成功,等待元素的时间不计入慢调用
      */
-    public static void close(Jedis redis) {
-        if (redis != null) {
-            try {
-                redis.close();
-            } catch (Exception e) {
-                log.error("redis close fail ==> ", e);
+    private static void succeeded(long start, Function<Jedis, ?> action) {
+        if (getCircuitBreaker() != null) {
+            getCircuitBreaker().onSuccess(action instanceof BlockingCommand ? 0 : System.nanoTime() - start);
+        }
+    }
+
+    private static <T> Function<Jedis, T> blocking(Function<Jedis, T> action) {
+        return new BlockingCommand<>(action);
+    }
+
+    /**
+     * blpop、brpop、brpoplpush等阻塞命令,耗时主要是等待元素的时间,不代表redis响应慢
+     */
+    private static final class BlockingCommand<T> implements Function<Jedis, T> {
+        private final Function<Jedis, T> action;
+
+        private BlockingCommand(Function<Jedis, T> action) {
+            this.action = action;
+        }
+
+        @Override
+        public T apply(Jedis jedis) {
+            return action.apply(jedis);
+        }
+    }
+
+    /**
+     * 连接失败和超时计入熔断,开启熔断时只记录异常信息;redis返回的错误(如类型错误)按成功统计
+     */
+    private static void failed(Exception e, long start) {
+        if (recordFailure(e, start)) {
+            unavailable();
+        }
+    }
+
+    /**
+     * 记录失败但不标记当前线程,供结果在其他线程上处理的异步调用使用
+     * @return 开启熔断且是连接失败或超时时返回true
+     */
+    private static boolean recordFailure(Exception e, long start) {
+        if (getCircuitBreaker() == null) {
+            log.error("redis operate fail ==> ", e);
+            return false;
+        }
+        if (isOutage(e)) {
+            getCircuitBreaker().onFailure(System.nanoTime() - start);
+            log.warn("redis unavailable ==> {}", e.getMessage());
+            return true;
+        }
+        getCircuitBreaker().onSuccess(System.nanoTime() - start);
+        log.error("redis operate fail ==> ", e);
+        return false;
+    }
+
+    /**
+     * 连接失败、集群重定向次数用完、等待pool.maxWait后仍借不到连接、自动pipeline等待回复超时
+     */
+    private static boolean isOutage(Exception e) {
+        return e instanceof JedisConnectionException || e instanceof JedisClusterMaxAttemptsException
+                || e instanceof JedisExhaustedPoolException || e.getCause() instanceof TimeoutException;
+    }
+
+    /**
+     * key固定所属的连接池:匹配前缀的实例,或者分片模式下key所在分片
+     */
+    private static Pool<Jedis> route(String key) {
+        Pool<Jedis> instance = getRouter() == null ? null : getRouter().route(key);
+        if (instance == null && getShardedPool() != null) {
+            return getShardedPool().getShard(key);
+        }
+        return instance;
+    }
+
+    /**
+     * key固定所属的连接池:匹配前缀的实例,或者分片模式下key所在分片
+     */
+    private static Pool<Jedis> route(byte[] key) {
+        Pool<Jedis> instance = getRouter() == null ? null : getRouter().route(key);
+        if (instance == null && getShardedPool() != null) {
+            return getShardedPool().getShard(key);
+        }
+        return instance;
+    }
+
+    /**
+     * 不针对某个key的命令使用的连接池,分片模式下为第一个分片
+     */
+    private static Pool<Jedis> defaultPool() {
+        return getShardedPool() != null ? getShardedPool().getFirstShard() : getMasterPool();
+    }
+
+    /**
+     * 分片模式下多key命令的分组,key不在前缀路由中且分布在多个分片时才需要拆分
+     * @return 分片连接池 - key下标,不需要拆分时返回null
+     */
+    private static Map<JedisPool, List<Integer>> shardGroups(String[] keys) {
+        if (getShardedPool() == null || keys == null || keys.length < 2 || (getRouter() != null && getRouter().route(keys[0]) != null)) {
+            return null;
+        }
+        Map<JedisPool, List<Integer>> groups = getShardedPool().partition(keys);
+        return groups.size() > 1 ? groups : null;
+    }
+
+    /**
+     * 分片模式下多key命令的分组,key不在前缀路由中且分布在多个分片时才需要拆分
+     * @return 分片连接池 - key下标,不需要拆分时返回null
+     */
+    private static Map<JedisPool, List<Integer>> shardGroups(byte[][] keys) {
+        if (getShardedPool() == null || keys == null || keys.length < 2 || (getRouter() != null && getRouter().route(keys[0]) != null)) {
+            return null;
+        }
+        Map<JedisPool, List<Integer>> groups = getShardedPool().partition(keys);
+        return groups.size() > 1 ? groups : null;
+    }
+
+    /**
+     * 各分片并行mget,按原始顺序合并结果
+     */
+    private static <K, T> List<T> mgetByShard(K[] keys, Map<JedisPool, List<Integer>> groups, BiFunction<Jedis, K[], List<T>> mget) {
+        try {
+            List<List<T>> parts = getShardedPool().executeByShard(groups, (jedis, indexes) -> mget.apply(jedis, subArray(keys, indexes)));
+            List<T> result = new ArrayList<>(Collections.nCopies(keys.length, null));
+            Iterator<List<T>> part = parts.iterator();
+            for (List<Integer> indexes : groups.values()) {
+                List<T> values = part.next();
+                for (int i = 0; i < indexes.size(); i++) {
+                    result.set(indexes.get(i), values.get(i));
+                }
+            }
+            return result;
+        } catch (Exception e) {
+            log.error("redis operate fail ==> ", e);
+        }
+        return null;
+    }
+
+    /**
+     * 各分片并行执行,累加各分片返回的数量
+     */
+    private static <K> Long sumByShard(K[] keys, Map<JedisPool, List<Integer>> groups, BiFunction<Jedis, K[], Long> action) {
+        try {
+            long sum = 0;
+            for (Long count : getShardedPool().executeByShard(groups, (jedis, indexes) -> action.apply(jedis, subArray(keys, indexes)))) {
+                sum += count == null ? 0 : count;
+            }
+            return sum;
+        } catch (Exception e) {
+            log.error("redis operate fail ==> ", e);
+        }
+        return null;
+    }
+
+    /**
+     * 各分片并行mset,全部分片成功才返回OK
+     * @param keysvalues key-value交替的数组
+     * @param groups 按key分组的key-value对下标
+     */
+    private static <K> String msetByShard(K[] keysvalues, Map<JedisPool, List<Integer>> groups, BiFunction<Jedis, K[], String> mset) {
+        try {
+            List<String> results = getShardedPool().executeByShard(groups, (jedis, indexes) -> {
+                K[] pairs = Arrays.copyOf(keysvalues, indexes.size() * 2);
+                for (int i = 0; i < indexes.size(); i++) {
+                    pairs[i * 2] = keysvalues[indexes.get(i) * 2];
+                    pairs[i * 2 + 1] = keysvalues[indexes.get(i) * 2 + 1];
+                }
+                return mset.apply(jedis, pairs);
+            });
+            for (String result : results) {
+                if (!OK.equals(result)) {
+                    return result;
+                }
             }
+            return OK;
+        } catch (Exception e) {
+            log.error("redis operate fail ==> ", e);
+        }
+        return null;
+    }
+
+    private static <K> K[] subArray(K[] keys, List<Integer> indexes) {
+        K[] sub = Arrays.copyOf(keys, indexes.size());
+        for (int i = 0; i < indexes.size(); i++) {
+            sub[i] = keys[indexes.get(i)];
+        }
+        return sub;
+    }
+
+    static String[] everyOther(String[] keysvalues) {
+        String[] keys = new String[keysvalues.length / 2];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = keysvalues[i * 2];
+        }
+        return keys;
+    }
+
+    private static byte[][] everyOther(byte[][] keysvalues) {
+        byte[][] keys = new byte[keysvalues.length / 2][];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = keysvalues[i * 2];
         }
+        return keys;
     }
 
     //**********          redis获取系统信息的方法          **********//
@@ -78,17 +1528,7 @@ public class RedisUtils {
      * @return 正常返回PONG,异常返回一个连接错误
      */
     public static String ping() {
-        String result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.ping();
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return execute(jedis -> jedis.ping());
     }
 
     /**
@@ -98,17 +1538,7 @@ public class RedisUtils {
      * @return 正常返回message参数,异常返回一个连接错误
      */
     public static String ping(String message) {
-        String result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.ping(message);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return execute(jedis -> jedis.ping(message));
     }
 
     /**
@@ -116,17 +1546,7 @@ public class RedisUtils {
      * @return 系统信息
      */
     public static String info() {
-        String result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.info();
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return execute(jedis -> jedis.info());
     }
 
     /**
@@ -135,17 +1555,7 @@ public class RedisUtils {
      * @return 系统信息
      */
     public static String info(String section) {
-        String result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.info(section);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return execute(jedis -> jedis.info(section));
     }
 
     /**
@@ -153,17 +1563,7 @@ public class RedisUtils {
      * @return 客户端信息列表
      */
     public static String clientList() {
-        String result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.clientList();
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return execute(jedis -> jedis.clientList());
     }
 
     /**
@@ -171,17 +1571,7 @@ public class RedisUtils {
      * @return 客户端名称
      */
     public static String clientGetname() {
-        String result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.clientGetname();
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return execute(jedis -> jedis.clientGetname());
     }
 
     /**
@@ -189,17 +1579,7 @@ public class RedisUtils {
      * @return 节点信息
      */
     public static List<Object> clusterSlots() {
-        List<Object> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.clusterSlots();
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return execute(jedis -> jedis.clusterSlots());
     }
 
     /**
@@ -207,17 +1587,7 @@ public class RedisUtils {
      * @return 服务器时间
      */
     public static List<String> serverTime() {
-        List<String> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.time();
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return execute(jedis -> jedis.time());
     }
 
     /**
@@ -226,17 +1596,7 @@ public class RedisUtils {
      * @return 配置参数
      */
     public static List<String> configGet(String pattern) {
-        List<String> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.configGet(pattern);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return execute(jedis -> jedis.configGet(pattern));
     }
 
     /**
@@ -244,17 +1604,7 @@ public class RedisUtils {
      * @return 配置参数
      */
     public static Long dbSize() {
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.dbSize();
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return execute(jedis -> jedis.dbSize());
     }
 
     //**********          redis字符串数据操作的方法          **********//
@@ -267,17 +1617,10 @@ public class RedisUtils {
      * @return 2.6.12以前版本,SET命令总是返回OK;2.6.12版本开始,SET在设置操作成功完成时,才返回OK
      */
     public static String set(String key, String value) {
-        String result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.set(key, value);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
+        if (getCompressor() != null) {
+            return set(SafeEncoder.encode(key), SafeEncoder.encode(value));
         }
-        return result;
+        return executeWrite(key, jedis -> jedis.set(key, value), pipeline -> pipeline.set(key, value));
     }
 
     /**
@@ -303,17 +1646,31 @@ public class RedisUtils {
      * @return 2.6.12以前版本,SET命令总是返回OK;2.6.12版本开始,SET在设置操作成功完成时,才返回OK
      */
     public static String set(byte[] key, byte[] value) {
-        String result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.set(key, value);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        byte[] stored = compress(value);
+        return executeWrite(key, jedis -> jedis.set(key, stored), pipeline -> pipeline.set(key, stored));
+    }
+
+    /**
+     * 设置给定key的值
+     * 如果key已经存储其他值,覆写旧值,且无视类型
+     * @param key redis键
+     * @param value redis值
+     * @param expireSeconds 过期时间 - 秒
+     * @return 2.6.12以前版本,SET命令总是返回OK;2.6.12版本开始,SET在设置操作成功完成时,才返回OK
+     */
+    public static String set(byte[] key, byte[] value, int expireSeconds) {
+        byte[] stored = compress(value);
+        return executeWrite(key, jedis -> {
+            String result = jedis.set(key, stored);
+            // 设置键的过期时间
+            jedis.expire(key, expireSeconds);
+            return result;
+        }, pipeline -> {
+            Response<String> result = pipeline.set(key, stored);
+            // 设置键的过期时间
+            pipeline.expire(key, expireSeconds);
+            return result;
+        });
     }
 
     /**
@@ -338,21 +1695,22 @@ public class RedisUtils {
      * @param value redis值
      * @param expireSeconds 过期时间 - 秒
      * @return 2.6.12以前版本,SET命令总是返回OK;2.6.12版本开始,SET在设置操作成功完成时,才返回OK
-     */
-    public static String set(String key, String value, int expireSeconds) {
-        String result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.set(key, value);
-            // 设置键的过期时间
-            expire(key, expireSeconds);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
+     */
+    public static String set(String key, String value, int expireSeconds) {
+        if (getCompressor() != null) {
+            return set(SafeEncoder.encode(key), SafeEncoder.encode(value), expireSeconds);
         }
-        return result;
+        return executeWrite(key, jedis -> {
+            String result = jedis.set(key, value);
+            // 设置键的过期时间
+            jedis.expire(key, expireSeconds);
+            return result;
+        }, pipeline -> {
+            Response<String> result = pipeline.set(key, value);
+            // 设置键的过期时间
+            pipeline.expire(key, expireSeconds);
+            return result;
+        });
     }
 
     /**
@@ -407,7 +1765,19 @@ public class RedisUtils {
      * @return 2.6.12以前版本,SET命令总是返回OK;2.6.12版本开始,SET在设置操作成功完成时,才返回OK
      */
     public static String setObj(String key, Object value) {
-        return set(key, JSON.toJSONString(value));
+        return setObj(key, value, getCodec(key, value == null ? null : value.getClass()));
+    }
+
+    /**
+     * 使用指定的编解码设置给定key的值
+     * 如果key已经存储其他值,覆写旧值,且无视类型
+     * @param key redis键
+     * @param value redis值
+     * @param codec 编解码
+     * @return 2.6.12以前版本,SET命令总是返回OK;2.6.12版本开始,SET在设置操作成功完成时,才返回OK
+     */
+    public static String setObj(String key, Object value, RedisCodec codec) {
+        return set(SafeEncoder.encode(key), codec.encode(value));
     }
 
     /**
@@ -434,7 +1804,20 @@ public class RedisUtils {
      * @return 2.6.12以前版本,SET命令总是返回OK;2.6.12版本开始,SET在设置操作成功完成时,才返回OK
      */
     public static String setObj(String key, Object value, int expireSeconds) {
-        return set(key, JSON.toJSONString(value), expireSeconds);
+        return setObj(key, value, expireSeconds, getCodec(key, value == null ? null : value.getClass()));
+    }
+
+    /**
+     * 使用指定的编解码设置给定key的值
+     * 如果key已经存储其他值,覆写旧值,且无视类型
+     * @param key redis键
+     * @param value redis值
+     * @param expireSeconds 过期时间 - 秒
+     * @param codec 编解码
+     * @return 2.6.12以前版本,SET命令总是返回OK;2.6.12版本开始,SET在设置操作成功完成时,才返回OK
+     */
+    public static String setObj(String key, Object value, int expireSeconds, RedisCodec codec) {
+        return set(SafeEncoder.encode(key), codec.encode(value), expireSeconds);
     }
 
     /**
@@ -487,17 +1870,21 @@ public class RedisUtils {
      * @return 返回key的值,如果key不存在时,返回nil;如果key不是字符串类型,那么返回一个错误
      */
     public static String get(String key) {
-        String value = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            value = jedis.get(key);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return value;
+        return staleFallback(key, key, () -> nearCached(key, key, () -> singleFlight("get", key, key, () -> {
+            if (batchedGet(key)) {
+                try {
+                    return getBatcher().get(key);
+                } catch (Exception e) {
+                    log.error("redis operate fail ==> ", e);
+                    return null;
+                }
+            }
+            if (getCompressor() != null) {
+                byte[] rawKey = SafeEncoder.encode(key);
+                return getCompressor().decompressString(executeRead(rawKey, jedis -> jedis.get(rawKey), pipeline -> pipeline.get(rawKey)));
+            }
+            return executeRead(key, jedis -> jedis.get(key), pipeline -> pipeline.get(key));
+        })));
     }
 
     /**
@@ -506,17 +1893,29 @@ public class RedisUtils {
      * @return 返回key的值,如果key不存在时,返回nil;如果key不是字符串类型,那么返回一个错误
      */
     public static byte[] get(byte[] key) {
-        byte[] value = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            value = jedis.get(key);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
+        RedisMappedCache cache = getMappedCache();
+        if (cache == null || key == null || isForceMaster() || !cache.matches(key)) {
+            return decompress(executeRead(key, jedis -> jedis.get(key), pipeline -> pipeline.get(key)));
         }
-        return value;
+        // 文件中保存压缩后的值
+        byte[] cached = cache.get(key);
+        if (cached != null) {
+            return decompress(cached);
+        }
+        long stamp = cache.stamp(key);
+        // 值和剩余过期时间在同一个连接上读取,缓存不会比redis中的key存活更久
+        List<Object> valueAndTtl = executeRead(key, jedis -> syncAndReturnAll(jedis, pipeline -> {
+            pipeline.get(key);
+            pipeline.pttl(key);
+        }));
+        if (valueAndTtl == null || !(valueAndTtl.get(0) instanceof byte[])) {
+            return null;
+        }
+        byte[] value = (byte[]) valueAndTtl.get(0);
+        if (valueAndTtl.get(1) instanceof Long) {
+            cache.put(key, value, (Long) valueAndTtl.get(1), stamp);
+        }
+        return decompress(value);
     }
 
     /**
@@ -526,19 +1925,34 @@ public class RedisUtils {
      * @return 返回key的值,如果key不存在时,返回nil;如果key不是字符串类型,那么返回一个错误
      */
     public static <T> T getObj(String key, Class<T> clz) {
-        Jedis jedis = null;
+        return getObj(key, clz, getCodec(key, clz));
+    }
+
+    /**
+     * 使用指定的编解码获取指定key的值
+     * @param key redis键
+     * @param clz 实体类class
+     * @param codec 编解码
+     * @return 返回key的值,如果key不存在时,返回nil;如果key不是字符串类型,那么返回一个错误
+     */
+    public static <T> T getObj(String key, Class<T> clz, RedisCodec codec) {
+        byte[] value = getBytes(key);
         try {
-            jedis = getJedis();
-            String value = jedis.get(key);
-            return JSON.parseObject(value, clz);
+            return codec.decode(value, clz);
         } catch (Exception e) {
             log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
         }
         return null;
     }
 
+    /**
+     * getObj读取字节,与get相同经过旧值降级、本地缓存和相同读命令合并
+     */
+    static byte[] getBytes(String key) {
+        byte[] bytes = SafeEncoder.encode(key);
+        return staleFallback(key, key + '\1', () -> nearCached(key, key + '\1', () -> singleFlight("getBytes", key, key, () -> get(bytes))));
+    }
+
     /**
      * 获取存储在指定key中字符串的子字符串
      * 字符串的截取范围由startOffset和endOffset两个偏移量决定(包括startOffset和endOffset在内)
@@ -548,17 +1962,10 @@ public class RedisUtils {
      * @return 截取得到的子字符串
      */
     public static String getRange(String key, long startOffset, long endOffset) {
-        String value = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            value = jedis.getrange(key, startOffset, endOffset);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
+        if (compressionUnsupported("getrange")) {
+            return null;
         }
-        return value;
+        return executeRead(key, jedis -> jedis.getrange(key, startOffset, endOffset), pipeline -> pipeline.getrange(key, startOffset, endOffset));
     }
 
     /**
@@ -570,17 +1977,10 @@ public class RedisUtils {
      * @return 截取得到的子字符串
      */
     public static byte[] getRange(byte[] key, long startOffset, long endOffset) {
-        byte[] value = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            value = jedis.getrange(key, startOffset, endOffset);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
+        if (compressionUnsupported("getrange")) {
+            return null;
         }
-        return value;
+        return executeRead(key, jedis -> jedis.getrange(key, startOffset, endOffset), pipeline -> pipeline.getrange(key, startOffset, endOffset));
     }
 
     /**
@@ -590,17 +1990,11 @@ public class RedisUtils {
      * @return 给定key的旧值.当key没有旧值时,即key不存在时,返回nil;当key存在但不是字符串类型时,返回一个错误
      */
     public static String getSet(String key, String value) {
-        String result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.getSet(key, value);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
+        if (getCompressor() != null) {
+            byte[] old = getSet(SafeEncoder.encode(key), SafeEncoder.encode(value));
+            return old == null ? null : SafeEncoder.encode(old);
         }
-        return result;
+        return executeWrite(key, jedis -> jedis.getSet(key, value), pipeline -> pipeline.getSet(key, value));
     }
 
     /**
@@ -624,17 +2018,8 @@ public class RedisUtils {
      * @return 给定key的旧值.当key没有旧值时,即key不存在时,返回nil;当key存在但不是字符串类型时,返回一个错误
      */
     public static byte[] getSet(byte[] key, byte[] value) {
-        byte[] result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.getSet(key, value);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        byte[] stored = compress(value);
+        return decompress(executeWrite(key, jedis -> jedis.getSet(key, stored), pipeline -> pipeline.getSet(key, stored)));
     }
 
     /**
@@ -658,17 +2043,7 @@ public class RedisUtils {
      * @return 指定偏移量上的位.当偏移量offset比字符串值的长度大,或者key不存在时,返回0
      */
     public static Boolean getbit(String key, long offset) {
-        Boolean result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.getbit(key, offset);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.getbit(key, offset), pipeline -> pipeline.getbit(key, offset));
     }
 
     /**
@@ -678,17 +2053,7 @@ public class RedisUtils {
      * @return 指定偏移量上的位.当偏移量offset比字符串值的长度大,或者key不存在时,返回0
      */
     public static Boolean getbit(byte[] key, long offset) {
-        Boolean result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.getbit(key, offset);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.getbit(key, offset), pipeline -> pipeline.getbit(key, offset));
     }
 
     /**
@@ -698,17 +2063,14 @@ public class RedisUtils {
      * @return 一个包含所有给定key的值的列表
      */
     public static List<String> mget(String ... keys) {
-        List<String> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.mget(keys);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
+        if (getCompressor() != null && keys != null) {
+            return decompressStrings(mget(Arrays.stream(keys).map(SafeEncoder::encode).toArray(byte[][]::new)));
         }
-        return result;
+        Map<JedisPool, List<Integer>> groups = shardGroups(keys);
+        if (groups != null) {
+            return mgetByShard(keys, groups, Jedis::mget);
+        }
+        return executeRead(keys, jedis -> jedis.mget(keys), pipeline -> pipeline.mget(keys));
     }
 
     /**
@@ -718,17 +2080,11 @@ public class RedisUtils {
      * @return 一个包含所有给定key的值的列表
      */
     public static List<byte[]> mget(byte[] ... keys) {
-        List<byte[]> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.mget(keys);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
+        Map<JedisPool, List<Integer>> groups = shardGroups(keys);
+        if (groups != null) {
+            return decompressAll(mgetByShard(keys, groups, Jedis::mget));
         }
-        return result;
+        return decompressAll(executeRead(keys, jedis -> jedis.mget(keys), pipeline -> pipeline.mget(keys)));
     }
 
     /**
@@ -739,17 +2095,7 @@ public class RedisUtils {
      * @return 指定偏移量原来储存的位
      */
     public static Boolean setbit(String key, long offset, String value) {
-        Boolean result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.setbit(key, offset, value);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.setbit(key, offset, value));
     }
 
     /**
@@ -775,17 +2121,7 @@ public class RedisUtils {
      * @return 指定偏移量原来储存的位
      */
     public static Boolean setbit(String key, long offset, boolean value) {
-        Boolean result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.setbit(key, offset, value);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.setbit(key, offset, value), pipeline -> pipeline.setbit(key, offset, value));
     }
 
     /**
@@ -811,17 +2147,7 @@ public class RedisUtils {
      * @return 指定偏移量原来储存的位
      */
     public static Boolean setbit(byte[] key, long offset, byte[] value) {
-        Boolean result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.setbit(key, offset, value);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.setbit(key, offset, value), pipeline -> pipeline.setbit(key, offset, value));
     }
 
     /**
@@ -847,17 +2173,7 @@ public class RedisUtils {
      * @return 指定偏移量原来储存的位
      */
     public static Boolean setbit(byte[] key, long offset, boolean value) {
-        Boolean result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.setbit(key, offset, value);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.setbit(key, offset, value));
     }
 
     /**
@@ -883,17 +2199,10 @@ public class RedisUtils {
      * @return 设置成功时返回OK
      */
     public static String setex(String key, int seconds, String value) {
-        String result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.setex(key, seconds, value);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
+        if (getCompressor() != null) {
+            return setex(SafeEncoder.encode(key), seconds, SafeEncoder.encode(value));
         }
-        return result;
+        return executeWrite(key, jedis -> jedis.setex(key, seconds, value), pipeline -> pipeline.setex(key, seconds, value));
     }
 
     /**
@@ -919,17 +2228,8 @@ public class RedisUtils {
      * @return 设置成功时返回OK
      */
     public static String setex(byte[] key, int seconds, byte[] value) {
-        String result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.setex(key, seconds, value);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        byte[] stored = compress(value);
+        return executeWrite(key, jedis -> jedis.setex(key, seconds, stored), pipeline -> pipeline.setex(key, seconds, stored));
     }
 
     /**
@@ -954,17 +2254,10 @@ public class RedisUtils {
      * @return 设置成功,返回1;设置失败,返回0
      */
     public static Long setnx(String key, String value) {
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.setnx(key, value);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
+        if (getCompressor() != null) {
+            return setnx(SafeEncoder.encode(key), SafeEncoder.encode(value));
         }
-        return result;
+        return executeWrite(key, jedis -> jedis.setnx(key, value), pipeline -> pipeline.setnx(key, value));
     }
 
     /**
@@ -988,17 +2281,8 @@ public class RedisUtils {
      * @return 设置成功,返回1;设置失败,返回0
      */
     public static Long setnx(byte[] key, byte[] value) {
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.setnx(key, value);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        byte[] stored = compress(value);
+        return executeWrite(key, jedis -> jedis.setnx(key, stored), pipeline -> pipeline.setnx(key, stored));
     }
 
     /**
@@ -1023,17 +2307,10 @@ public class RedisUtils {
      * @return 被修改后的字符串长度
      */
     public static Long setRange(String key, long offset, String value) {
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.setrange(key, offset, value);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
+        if (compressionUnsupported("setrange")) {
+            return null;
         }
-        return result;
+        return executeWrite(key, jedis -> jedis.setrange(key, offset, value), pipeline -> pipeline.setrange(key, offset, value));
     }
 
     /**
@@ -1059,17 +2336,10 @@ public class RedisUtils {
      * @return 被修改后的字符串长度
      */
     public static Long setRange(byte[] key, long offset, byte[] value) {
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.setrange(key, offset, value);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
+        if (compressionUnsupported("setrange")) {
+            return null;
         }
-        return result;
+        return executeWrite(key, jedis -> jedis.setrange(key, offset, value), pipeline -> pipeline.setrange(key, offset, value));
     }
 
     /**
@@ -1094,17 +2364,10 @@ public class RedisUtils {
      * @return 字符串值的长度.当key不存在时,返回0
      */
     public static Long strlen(String key){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.strlen(key);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
+        if (compressionUnsupported("strlen")) {
+            return null;
         }
-        return result;
+        return executeRead(key, jedis -> jedis.strlen(key), pipeline -> pipeline.strlen(key));
     }
 
     /**
@@ -1114,17 +2377,10 @@ public class RedisUtils {
      * @return 字符串值的长度.当key不存在时,返回0
      */
     public static Long strlen(byte[] key){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.strlen(key);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
+        if (compressionUnsupported("strlen")) {
+            return null;
         }
-        return result;
+        return executeRead(key, jedis -> jedis.strlen(key), pipeline -> pipeline.strlen(key));
     }
 
     /**
@@ -1133,17 +2389,11 @@ public class RedisUtils {
      * @return 总是返回OK
      */
     public static String mset(String ... keysvalues){
-        String result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.mset(keysvalues);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
+        Map<JedisPool, List<Integer>> groups = shardGroups(everyOther(keysvalues));
+        if (groups != null) {
+            return written(msetByShard(keysvalues, groups, Jedis::mset), everyOther(keysvalues));
         }
-        return result;
+        return written(execute(keysvalues, jedis -> jedis.mset(keysvalues), pipeline -> pipeline.mset(keysvalues)), everyOther(keysvalues));
     }
 
     /**
@@ -1165,17 +2415,11 @@ public class RedisUtils {
      * @return 总是返回OK
      */
     public static String mset(byte[] ... keysvalues){
-        String result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.mset(keysvalues);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
+        Map<JedisPool, List<Integer>> groups = shardGroups(everyOther(keysvalues));
+        if (groups != null) {
+            return written(msetByShard(keysvalues, groups, Jedis::mset), everyOther(keysvalues));
         }
-        return result;
+        return written(execute(keysvalues, jedis -> jedis.mset(keysvalues), pipeline -> pipeline.mset(keysvalues)), everyOther(keysvalues));
     }
 
     /**
@@ -1229,17 +2473,7 @@ public class RedisUtils {
      * @return 当所有key都成功设置,返回1;如果所有给定key都设置失败(至少有一个key已经存在),那么返回0
      */
     public static Long msetnx(String ... keysvalues){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.msetnx(keysvalues);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return written(execute(keysvalues, jedis -> jedis.msetnx(keysvalues), pipeline -> pipeline.msetnx(keysvalues)), everyOther(keysvalues));
     }
 
     /**
@@ -1261,17 +2495,7 @@ public class RedisUtils {
      * @return 当所有key都成功设置,返回1;如果所有给定key都设置失败(至少有一个key已经存在),那么返回0
      */
     public static Long msetnx(byte[] ... keysvalues){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.msetnx(keysvalues);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return written(execute(keysvalues, jedis -> jedis.msetnx(keysvalues), pipeline -> pipeline.msetnx(keysvalues)), everyOther(keysvalues));
     }
 
     /**
@@ -1327,17 +2551,7 @@ public class RedisUtils {
      * @return 设置成功时返回OK
      */
     public static String psetex(String key, long milliseconds, String value){
-        String result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.psetex(key, milliseconds, value);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.psetex(key, milliseconds, value), pipeline -> pipeline.psetex(key, milliseconds, value));
     }
 
     /**
@@ -1359,21 +2573,11 @@ public class RedisUtils {
      * 设置带过期时间的key-value对 - 毫秒级
      * @param key redis键
      * @param milliseconds 过期时间 - 毫秒
-     * @param value redis的值
-     * @return 设置成功时返回OK
-     */
-    public static String psetex(byte[] key, long milliseconds, byte[] value){
-        String result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.psetex(key, milliseconds, value);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+     * @param value redis的值
+     * @return 设置成功时返回OK
+     */
+    public static String psetex(byte[] key, long milliseconds, byte[] value){
+        return executeWrite(key, jedis -> jedis.psetex(key, milliseconds, value), pipeline -> pipeline.psetex(key, milliseconds, value));
     }
 
     /**
@@ -1400,17 +2604,7 @@ public class RedisUtils {
      * @return 累加之后key的值
      */
     public static Long incr(String key) {
-        Long value = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            value = jedis.incr(key);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return value;
+        return executeWrite(key, jedis -> jedis.incr(key), pipeline -> pipeline.incr(key));
     }
 
     /**
@@ -1438,17 +2632,7 @@ public class RedisUtils {
      * @return 累加之后key的值
      */
     public static Long incr(byte[] key) {
-        Long value = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            value = jedis.incr(key);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return value;
+        return executeWrite(key, jedis -> jedis.incr(key), pipeline -> pipeline.incr(key));
     }
 
     /**
@@ -1477,17 +2661,7 @@ public class RedisUtils {
      * @return 加上指定的增量值之后,key的值
      */
     public static Long incrBy(String key, long increment) {
-        Long value = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            value = jedis.incrBy(key,increment);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return value;
+        return executeWrite(key, jedis -> jedis.incrBy(key,increment), pipeline -> pipeline.incrBy(key,increment));
     }
 
     /**
@@ -1517,17 +2691,7 @@ public class RedisUtils {
      * @return 加上指定的增量值之后,key的值
      */
     public static Long incrBy(byte[] key, long increment) {
-        Long value = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            value = jedis.incrBy(key,increment);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return value;
+        return executeWrite(key, jedis -> jedis.incrBy(key,increment), pipeline -> pipeline.incrBy(key,increment));
     }
 
     /**
@@ -1557,17 +2721,7 @@ public class RedisUtils {
      * @return 加上指定的增量值之后,key的值
      */
     public static Double incrByFloat(String key, double increment) {
-        Double value = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            value = jedis.incrByFloat(key,increment);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return value;
+        return executeWrite(key, jedis -> jedis.incrByFloat(key,increment), pipeline -> pipeline.incrByFloat(key,increment));
     }
 
     /**
@@ -1597,17 +2751,7 @@ public class RedisUtils {
      * @return 加上指定的增量值之后,key的值
      */
     public static Double incrByFloat(byte[] key, double increment) {
-        Double value = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            value = jedis.incrByFloat(key,increment);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return value;
+        return executeWrite(key, jedis -> jedis.incrByFloat(key,increment), pipeline -> pipeline.incrByFloat(key,increment));
     }
 
     /**
@@ -1636,17 +2780,7 @@ public class RedisUtils {
      * @return 减一之后的key值
      */
     public static Long decr(String key){
-        Long value = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            value = jedis.decr(key);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return value;
+        return executeWrite(key, jedis -> jedis.decr(key), pipeline -> pipeline.decr(key));
     }
 
     /**
@@ -1674,17 +2808,7 @@ public class RedisUtils {
      * @return 减一之后的key值
      */
     public static Long decr(byte[] key){
-        Long value = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            value = jedis.decr(key);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return value;
+        return executeWrite(key, jedis -> jedis.decr(key), pipeline -> pipeline.decr(key));
     }
 
     /**
@@ -1713,17 +2837,7 @@ public class RedisUtils {
      * @return 减去指定减量值之后的key值
      */
     public static Long decrBy(String key, long decrement){
-        Long value = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            value = jedis.decrBy(key,decrement);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return value;
+        return executeWrite(key, jedis -> jedis.decrBy(key,decrement), pipeline -> pipeline.decrBy(key,decrement));
     }
 
     /**
@@ -1753,17 +2867,7 @@ public class RedisUtils {
      * @return 减去指定减量值之后的key值
      */
     public static Long decrBy(byte[] key, long decrement){
-        Long value = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            value = jedis.decrBy(key,decrement);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return value;
+        return executeWrite(key, jedis -> jedis.decrBy(key,decrement), pipeline -> pipeline.decrBy(key,decrement));
     }
 
     /**
@@ -1791,17 +2895,10 @@ public class RedisUtils {
      * @return 追加指定值之后,key中字符串的长度
      */
     public static Long append(String key, String value){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.append(key,value);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
+        if (compressionUnsupported("append")) {
+            return null;
         }
-        return result;
+        return executeWrite(key, jedis -> jedis.append(key,value), pipeline -> pipeline.append(key,value));
     }
 
     /**
@@ -1827,17 +2924,10 @@ public class RedisUtils {
      * @return 追加指定值之后,key中字符串的长度
      */
     public static Long append(byte[] key, byte[] value){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.append(key,value);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
+        if (compressionUnsupported("append")) {
+            return null;
         }
-        return result;
+        return executeWrite(key, jedis -> jedis.append(key,value), pipeline -> pipeline.append(key,value));
     }
 
     /**
@@ -1867,17 +2957,10 @@ public class RedisUtils {
      * @return 新字段设置成功返回1,旧字段覆盖成功返回0
      */
     public static Long hset(String key,String field, String value) {
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.hset(key, field, value);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
+        if (getCompressor() != null) {
+            return hset(SafeEncoder.encode(key), SafeEncoder.encode(field), SafeEncoder.encode(value));
         }
-        return result;
+        return executeWrite(key, jedis -> jedis.hset(key, field, value), pipeline -> pipeline.hset(key, field, value));
     }
 
     /**
@@ -1906,17 +2989,10 @@ public class RedisUtils {
      * @return 新字段设置成功返回1,旧字段覆盖成功返回0
      */
     public static Long hset(String key, Map<String, String> hash) {
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.hset(key, hash);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
+        if (getCompressor() != null && hash != null) {
+            return hset(SafeEncoder.encode(key), compressStrings(hash));
         }
-        return result;
+        return executeWrite(key, jedis -> jedis.hset(key, hash), pipeline -> pipeline.hset(key, hash));
     }
 
     /**
@@ -1945,17 +3021,8 @@ public class RedisUtils {
      * @return 新字段设置成功返回1,旧字段覆盖成功返回0
      */
     public static Long hset(byte[] key,byte[] field, byte[] value) {
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.hset(key, field, value);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        byte[] stored = compress(value);
+        return executeWrite(key, jedis -> jedis.hset(key, field, stored), pipeline -> pipeline.hset(key, field, stored));
     }
 
     /**
@@ -1984,17 +3051,8 @@ public class RedisUtils {
      * @return 新字段设置成功返回1,旧字段覆盖成功返回0
      */
     public static Long hset(byte[] key,Map<byte[],byte[]> hash) {
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.hset(key, hash);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        Map<byte[], byte[]> stored = compressHash(hash);
+        return executeWrite(key, jedis -> jedis.hset(key, stored), pipeline -> pipeline.hset(key, stored));
     }
 
     /**
@@ -2024,17 +3082,7 @@ public class RedisUtils {
      * @return 设置成功,返回1;如果给定字段已经存在且没有操作被执行,返回0
      */
     public static Long hsetnx(String key,String field, String value) {
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.hsetnx(key, field, value);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.hsetnx(key, field, value), pipeline -> pipeline.hsetnx(key, field, value));
     }
 
     /**
@@ -2066,17 +3114,7 @@ public class RedisUtils {
      * @return 设置成功,返回1;如果给定字段已经存在且没有操作被执行,返回0
      */
     public static Long hsetnx(byte[] key,byte[] field, byte[] value) {
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.hsetnx(key, field, value);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.hsetnx(key, field, value), pipeline -> pipeline.hsetnx(key, field, value));
     }
 
     /**
@@ -2104,17 +3142,16 @@ public class RedisUtils {
      * @return 返回给定字段的值.如果给定的字段或key不存在时,返回nil
      */
     public static String hget(String key,String field) {
-        String result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.hget(key, field);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return staleFallback(key, key + '\0' + field, () -> nearCached(key, key + '\0' + field, () -> singleFlight("hget", key, key + '\0' + field,
+                () -> {
+                    if (getCompressor() != null) {
+                        byte[] rawKey = SafeEncoder.encode(key);
+                        byte[] rawField = SafeEncoder.encode(field);
+                        return getCompressor().decompressString(executeRead(rawKey, jedis -> jedis.hget(rawKey, rawField),
+                                pipeline -> pipeline.hget(rawKey, rawField)));
+                    }
+                    return executeRead(key, jedis -> jedis.hget(key, field), pipeline -> pipeline.hget(key, field));
+                })));
     }
 
     /**
@@ -2124,17 +3161,7 @@ public class RedisUtils {
      * @return 返回给定字段的值.如果给定的字段或key不存在时,返回nil
      */
     public static byte[] hget(byte[] key,byte[] field) {
-        byte[] result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.hget(key, field);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return decompress(executeRead(key, jedis -> jedis.hget(key, field), pipeline -> pipeline.hget(key, field)));
     }
 
     /**
@@ -2144,17 +3171,12 @@ public class RedisUtils {
      * @return 以Map形式返回哈希表的字段及字段值;若key不存在,返回空Map
      */
     public static Map<String, String> hgetAll(String key) {
-        Map<String, String> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.hgetAll(key);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return staleFallback(key, key + '\0', () -> nearCached(key, key + '\0', () -> {
+            if (getCompressor() != null) {
+                return decompressStrings(hgetAll(SafeEncoder.encode(key)));
+            }
+            return executeRead(key, jedis -> jedis.hgetAll(key), pipeline -> pipeline.hgetAll(key));
+        }));
     }
 
     /**
@@ -2164,17 +3186,7 @@ public class RedisUtils {
      * @return 以Map形式返回哈希表的字段及字段值;若key不存在,返回空Map
      */
     public static Map<byte[], byte[]> hgetAll(byte[] key) {
-        Map<byte[], byte[]> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.hgetAll(key);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return decompressHash(executeRead(key, jedis -> jedis.hgetAll(key), pipeline -> pipeline.hgetAll(key)));
     }
 
     /**
@@ -2184,17 +3196,7 @@ public class RedisUtils {
      * @return 如果哈希表含有给定字段,返回true;如果哈希表不含有给定字段,或key不存在,返回false
      */
     public static Boolean hexists(String key, String field) {
-        Boolean value = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            value = jedis.hexists(key, field);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return value;
+        return executeRead(key, jedis -> jedis.hexists(key, field), pipeline -> pipeline.hexists(key, field));
     }
 
     /**
@@ -2204,17 +3206,7 @@ public class RedisUtils {
      * @return 如果哈希表含有给定字段,返回true;如果哈希表不含有给定字段,或key不存在,返回false
      */
     public static Boolean hexists(byte[] key, byte[] field) {
-        Boolean value = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            value = jedis.hexists(key, field);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return value;
+        return executeRead(key, jedis -> jedis.hexists(key, field), pipeline -> pipeline.hexists(key, field));
     }
 
     /**
@@ -2224,17 +3216,7 @@ public class RedisUtils {
      * @return 被成功删除字段的数量,不包括被忽略的字段
      */
     public static Long hdel(String key, String ... fields) {
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.hdel(key, fields);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.hdel(key, fields), pipeline -> pipeline.hdel(key, fields));
     }
 
     /**
@@ -2258,17 +3240,7 @@ public class RedisUtils {
      * @return 被成功删除字段的数量,不包括被忽略的字段
      */
     public static Long hdel(byte[] key, byte[] ... fields) {
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.hdel(key, fields);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.hdel(key, fields), pipeline -> pipeline.hdel(key, fields));
     }
 
     /**
@@ -2298,17 +3270,7 @@ public class RedisUtils {
      * @return 累加指定增量值之后的key的值
      */
     public static Long hincrBy(String key, String field, long increment) {
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.hincrBy(key, field, increment);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.hincrBy(key, field, increment), pipeline -> pipeline.hincrBy(key, field, increment));
     }
 
     /**
@@ -2343,17 +3305,7 @@ public class RedisUtils {
      * @return 累加指定增量值之后的key的值
      */
     public static Long hincrBy(byte[] key, byte[] field, long increment) {
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.hincrBy(key, field, increment);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.hincrBy(key, field, increment), pipeline -> pipeline.hincrBy(key, field, increment));
     }
 
     /**
@@ -2388,17 +3340,7 @@ public class RedisUtils {
      * @return 累加指定增量值之后的key的值
      */
     public static Double hincrByFloat(String key, String field, double increment) {
-        Double result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.hincrByFloat(key, field, increment);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.hincrByFloat(key, field, increment), pipeline -> pipeline.hincrByFloat(key, field, increment));
     }
 
     /**
@@ -2433,17 +3375,7 @@ public class RedisUtils {
      * @return 累加指定增量值之后的key的值
      */
     public static Double hincrByFloat(byte[] key, byte[] field, double increment) {
-        Double result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.hincrByFloat(key, field, increment);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.hincrByFloat(key, field, increment), pipeline -> pipeline.hincrByFloat(key, field, increment));
     }
 
     /**
@@ -2464,24 +3396,14 @@ public class RedisUtils {
         }
         return null;
     }
-
-    /**
-     * 命令用于获取哈希表中的所有域(field)
-     * @param keys redis键
-     * @return 包含哈希表中所有域(field)列表;当key不存在时,返回一个空列表
-     */
-    public static Set<String> hkeys(String keys) {
-        Set<String> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.hkeys(keys);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+
+    /**
+     * 命令用于获取哈希表中的所有域(field)
+     * @param keys redis键
+     * @return 包含哈希表中所有域(field)列表;当key不存在时,返回一个空列表
+     */
+    public static Set<String> hkeys(String keys) {
+        return executeRead(keys, jedis -> jedis.hkeys(keys), pipeline -> pipeline.hkeys(keys));
     }
 
     /**
@@ -2490,17 +3412,7 @@ public class RedisUtils {
      * @return 包含哈希表中所有域(field)列表;当key不存在时,返回一个空列表
      */
     public static Set<byte[]> hkeys(byte[] keys) {
-        Set<byte[]> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.hkeys(keys);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(keys, jedis -> jedis.hkeys(keys), pipeline -> pipeline.hkeys(keys));
     }
 
     /**
@@ -2509,17 +3421,7 @@ public class RedisUtils {
      * @return 包含哈希表中所有值(value)列表;当key不存在时,返回一个空列表
      */
     public static List<String> hvals(String keys) {
-        List<String> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.hvals(keys);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(keys, jedis -> jedis.hvals(keys), pipeline -> pipeline.hvals(keys));
     }
 
     /**
@@ -2528,17 +3430,7 @@ public class RedisUtils {
      * @return 包含哈希表中所有值(value)列表;当key不存在时,返回一个空列表
      */
     public static List<byte[]> hvals(byte[] keys) {
-        List<byte[]> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.hvals(keys);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(keys, jedis -> jedis.hvals(keys), pipeline -> pipeline.hvals(keys));
     }
 
     /**
@@ -2547,17 +3439,7 @@ public class RedisUtils {
      * @return 哈希表中字段的数量;当key不存在时,返回0
      */
     public static Long hlen(String keys) {
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.hlen(keys);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(keys, jedis -> jedis.hlen(keys), pipeline -> pipeline.hlen(keys));
     }
 
     /**
@@ -2566,17 +3448,7 @@ public class RedisUtils {
      * @return 哈希表中字段的数量;当key不存在时,返回0
      */
     public static Long hlen(byte[] keys) {
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.hlen(keys);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(keys, jedis -> jedis.hlen(keys), pipeline -> pipeline.hlen(keys));
     }
 
     /**
@@ -2587,17 +3459,10 @@ public class RedisUtils {
      * @return 一个包含多个给定字段关联值的表,表值的排列顺序和指定字段的请求顺序一样
      */
     public static List<String> hmget(String key, String ... fields){
-        List<String> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.hmget(key, fields);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
+        if (getCompressor() != null && fields != null) {
+            return decompressStrings(hmget(SafeEncoder.encode(key), Arrays.stream(fields).map(SafeEncoder::encode).toArray(byte[][]::new)));
         }
-        return result;
+        return executeRead(key, jedis -> jedis.hmget(key, fields), pipeline -> pipeline.hmget(key, fields));
     }
 
     /**
@@ -2628,17 +3493,7 @@ public class RedisUtils {
      * @return 一个包含多个给定字段关联值的表,表值的排列顺序和指定字段的请求顺序一样
      */
     public static List<byte[]> hmget(byte[] key, byte[] ... fields){
-        List<byte[]> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.hmget(key, fields);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return decompressAll(executeRead(key, jedis -> jedis.hmget(key, fields), pipeline -> pipeline.hmget(key, fields)));
     }
 
     /**
@@ -2670,17 +3525,10 @@ public class RedisUtils {
      * @return 成功返回OK
      */
     public static String hmset(String key, Map<String, String> hash) {
-        String result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.hmset(key, hash);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
+        if (getCompressor() != null && hash != null) {
+            return hmset(SafeEncoder.encode(key), compressStrings(hash));
         }
-        return result;
+        return executeWrite(key, jedis -> jedis.hmset(key, hash), pipeline -> pipeline.hmset(key, hash));
     }
 
     /**
@@ -2708,17 +3556,8 @@ public class RedisUtils {
      * @return 成功返回OK
      */
     public static String hmset(byte[] key, Map<byte[], byte[]> hash) {
-        String result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.hmset(key, hash);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        Map<byte[], byte[]> stored = compressHash(hash);
+        return executeWrite(key, jedis -> jedis.hmset(key, stored), pipeline -> pipeline.hmset(key, stored));
     }
 
     /**
@@ -2787,24 +3626,137 @@ public class RedisUtils {
      * @return 返回的每个元素都是一个元组,每一个元组元素由一个域(field)和值(value)组成
      */
     public static ScanResult<Map.Entry<String, String>> hscan(String key, String cursor, String pattern, int count) {
-        ScanResult<Map.Entry<String, String>> result = null;
-        Jedis jedis = null;
+        ScanParams params = new ScanParams();
+        if(!StringUtils.isEmpty(pattern)){
+            params.match(pattern);
+        }
+        if(count > 0){
+            params.count(count);
+        }
+        return executeRead(key, jedis -> jedis.hscan(key, cursor, params));
+    }
+
+    /**
+     * 哈希表的域的惰性迭代器,当前页用完后才用返回的游标读取下一页,直到游标回到0
+     * 每一页单独借用连接,迭代过程中不占用连接
+     * @param key redis键
+     * @param pattern 表达式,为空时不过滤
+     * @param count 每页数量,小于等于0时使用redis默认值
+     * @return 域 - 值,某一页执行失败时提前结束,isFailed返回true
+     */
+    public static RedisScanIterator<Map.Entry<String, String>> hscanIterator(String key, String pattern, int count) {
+        return hscanIterator(key, pattern, count, false);
+    }
+
+    /**
+     * 哈希表的域的惰性迭代器,当前页用完后才用返回的游标读取下一页,直到游标回到0
+     * 每一页单独借用连接,迭代过程中不占用连接
+     * @param key redis键
+     * @param pattern 表达式,为空时不过滤
+     * @param count 每页数量,小于等于0时使用redis默认值
+     * @param distinct 是否去掉SCAN重复返回的元素,去重需要保留已返回元素的标识
+     * @return 域 - 值,某一页执行失败时提前结束,isFailed返回true
+     */
+    public static RedisScanIterator<Map.Entry<String, String>> hscanIterator(String key, String pattern, int count, boolean distinct) {
+        ScanParams params = scanParams(pattern, count);
+        Pool<Jedis> pool = scanPool(key);
+        return new RedisScanIterator<>(Collections.singletonList(cursor -> execute(pool, jedis -> jedis.hscan(key, cursor, params))),
+                distinct ? Map.Entry::getKey : null);
+    }
+
+    /**
+     * 同hscanIterator,返回惰性Stream,终止操作执行时才开始读取
+     * @param key redis键
+     * @param pattern 表达式,为空时不过滤
+     * @param count 每页数量,小于等于0时使用redis默认值
+     * @return 域 - 值
+     */
+    public static Stream<Map.Entry<String, String>> hscanStream(String key, String pattern, int count) {
+        return hscanIterator(key, pattern, count).stream();
+    }
+
+    /**
+     * 同hscanIterator,返回惰性Stream,终止操作执行时才开始读取
+     * @param key redis键
+     * @param pattern 表达式,为空时不过滤
+     * @param count 每页数量,小于等于0时使用redis默认值
+     * @param distinct 是否去掉SCAN重复返回的元素
+     * @return 域 - 值
+     */
+    public static Stream<Map.Entry<String, String>> hscanStream(String key, String pattern, int count, boolean distinct) {
+        return hscanIterator(key, pattern, count, distinct).stream();
+    }
+
+    /**
+     * 将对象的字段写入哈希表,每个字段对应一个域,值为null的字段不写入
+     * 只修改对象中不为null的字段,哈希表中其他域保持不变
+     * @param key redis键
+     * @param value 对象
+     * @return 新增的域的数量
+     */
+    public static Long hsetObj(String key, Object value) {
+        Map<String, String> hash = RedisHashMapper.toHash(value);
+        return hash.isEmpty() ? 0L : hset(key, hash);
+    }
+
+    /**
+     * 将对象的字段写入哈希表,每个字段对应一个域,值为null的字段不写入
+     * @param condition 满足这个条件才去hsetObj
+     * @param key redis键
+     * @param value 对象
+     * @return 新增的域的数量
+     */
+    public static Long hsetObj(boolean condition, String key, Object value) {
+        if(condition){
+            return hsetObj(key, value);
+        }
+        return null;
+    }
+
+    /**
+     * 只将对象的指定字段写入哈希表,值为null的字段不写入
+     * @param key redis键
+     * @param value 对象
+     * @param fields 字段名
+     * @return 新增的域的数量
+     */
+    public static Long hsetFields(String key, Object value, String ... fields) {
+        Map<String, String> hash = RedisHashMapper.toHash(value, fields);
+        return hash.isEmpty() ? 0L : hset(key, hash);
+    }
+
+    /**
+     * 读取哈希表的所有域并转换成对象,哈希表中不属于对象的域忽略
+     * @param key redis键
+     * @param clz 对象类型
+     * @return 对象,key不存在时返回null
+     */
+    public static <T> T hgetObj(String key, Class<T> clz) {
+        Map<String, String> hash = hgetAll(key);
         try {
-            ScanParams params = new ScanParams();
-            if(!StringUtils.isEmpty(pattern)){
-                params.match(pattern);
-            }
-            if(count > 0){
-                params.count(count);
-            }
-            jedis = getJedis();
-            result = jedis.hscan(key, cursor, params);
+            return RedisHashMapper.fromHash(hash, clz);
         } catch (Exception e) {
             log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
         }
-        return result;
+        return null;
+    }
+
+    /**
+     * 只读取哈希表中指定字段对应的域,返回只设置了这些字段的对象
+     * @param key redis键
+     * @param clz 对象类型
+     * @param fields 字段名
+     * @return 对象,key或所有域都不存在时返回null
+     */
+    public static <T> T hgetFields(String key, Class<T> clz, String ... fields) {
+        RedisHashMapper.check(clz, fields);
+        List<String> values = hmget(key, fields);
+        try {
+            return RedisHashMapper.fromValues(clz, fields, values);
+        } catch (Exception e) {
+            log.error("redis operate fail ==> ", e);
+        }
+        return null;
     }
 
     //**********          redis列表数据操作的方法          **********//
@@ -2816,17 +3768,7 @@ public class RedisUtils {
      * @return 如果列表为空,返回一个nil;否则,返回一个含有两个元素的列表,第一个元素是被弹出元素所属的key,第二个元素是被弹出元素的值
      */
     public static List<String> blpop(String ... keys) {
-        List<String> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.blpop(keys);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return written(execute(keys, blocking(jedis -> jedis.blpop(keys))), keys);
     }
 
     /**
@@ -2851,17 +3793,7 @@ public class RedisUtils {
      * @return 如果列表为空,返回一个nil;否则,返回一个含有两个元素的列表,第一个元素是被弹出元素所属的key,第二个元素是被弹出元素的值
      */
     public static List<String> blpop(int timeout, String ... keys) {
-        List<String> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.blpop(timeout,keys);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return written(execute(keys, blocking(jedis -> jedis.blpop(timeout,keys))), keys);
     }
 
     /**
@@ -2887,17 +3819,7 @@ public class RedisUtils {
      * @return 如果列表为空,返回一个nil;否则,返回一个含有两个元素的列表,第一个元素是被弹出元素所属的key,第二个元素是被弹出元素的值
      */
     public static List<String> blpop(int timeout, String key) {
-        List<String> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.blpop(timeout,key);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, blocking(jedis -> jedis.blpop(timeout,key)));
     }
 
     /**
@@ -2922,17 +3844,7 @@ public class RedisUtils {
      * @return 如果列表为空,返回一个nil;否则,返回一个含有两个元素的列表,第一个元素是被弹出元素所属的key,第二个元素是被弹出元素的值
      */
     public static List<byte[]> blpop(byte[] ... keys) {
-        List<byte[]> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.blpop(keys);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return written(execute(keys, blocking(jedis -> jedis.blpop(keys))), keys);
     }
 
     /**
@@ -2957,17 +3869,7 @@ public class RedisUtils {
      * @return 如果列表为空,返回一个nil;否则,返回一个含有两个元素的列表,第一个元素是被弹出元素所属的key,第二个元素是被弹出元素的值
      */
     public static List<byte[]> blpop(int timeout, byte[] ... keys) {
-        List<byte[]> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.blpop(timeout,keys);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return written(execute(keys, blocking(jedis -> jedis.blpop(timeout,keys))), keys);
     }
 
     /**
@@ -2992,17 +3894,7 @@ public class RedisUtils {
      * @return 如果列表为空,返回一个nil;否则,返回一个含有两个元素的列表,第一个元素是被弹出元素所属的key,第二个元素是被弹出元素的值
      */
     public static List<String> brpop(String ... keys) {
-        List<String> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.brpop(keys);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return written(execute(keys, blocking(jedis -> jedis.brpop(keys))), keys);
     }
 
     /**
@@ -3027,17 +3919,7 @@ public class RedisUtils {
      * @return 如果列表为空,返回一个nil;否则,返回一个含有两个元素的列表,第一个元素是被弹出元素所属的key,第二个元素是被弹出元素的值
      */
     public static List<String> brpop(int timeout, String ... keys) {
-        List<String> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.brpop(timeout,keys);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return written(execute(keys, blocking(jedis -> jedis.brpop(timeout,keys))), keys);
     }
 
     /**
@@ -3063,17 +3945,7 @@ public class RedisUtils {
      * @return 如果列表为空,返回一个nil;否则,返回一个含有两个元素的列表,第一个元素是被弹出元素所属的key,第二个元素是被弹出元素的值
      */
     public static List<String> brpop(int timeout, String key) {
-        List<String> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.brpop(timeout,key);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, blocking(jedis -> jedis.brpop(timeout,key)));
     }
 
     /**
@@ -3098,17 +3970,7 @@ public class RedisUtils {
      * @return 如果列表为空,返回一个nil;否则,返回一个含有两个元素的列表,第一个元素是被弹出元素所属的key,第二个元素是被弹出元素的值
      */
     public static List<byte[]> brpop(byte[] ... keys) {
-        List<byte[]> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.brpop(keys);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return written(execute(keys, blocking(jedis -> jedis.brpop(keys))), keys);
     }
 
     /**
@@ -3133,17 +3995,7 @@ public class RedisUtils {
      * @return 如果列表为空,返回一个nil;否则,返回一个含有两个元素的列表,第一个元素是被弹出元素所属的key,第二个元素是被弹出元素的值
      */
     public static List<byte[]> brpop(int timeout, byte[] ... keys) {
-        List<byte[]> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.brpop(timeout,keys);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return written(execute(keys, blocking(jedis -> jedis.brpop(timeout,keys))), keys);
     }
 
     /**
@@ -3170,17 +4022,7 @@ public class RedisUtils {
      * @return 被操作的元素
      */
     public static String brpoplpush(String source, String destination, int timeout) {
-        String result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.brpoplpush(source, destination, timeout);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return written(execute(source, blocking(jedis -> jedis.brpoplpush(source, destination, timeout))), source, destination);
     }
 
     /**
@@ -3208,17 +4050,7 @@ public class RedisUtils {
      * @return 被操作的元素
      */
     public static byte[] brpoplpush(byte[] source, byte[] destination, int timeout) {
-        byte[] result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.brpoplpush(source, destination, timeout);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return written(execute(source, blocking(jedis -> jedis.brpoplpush(source, destination, timeout))), source, destination);
     }
 
     /**
@@ -3245,38 +4077,19 @@ public class RedisUtils {
      * @return 列表中下标为指定索引值的元素;如果指定索引值不在列表的区间范围内,返回nil
      */
     public static String lindex(String key, long index) {
-        String result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.lindex(key, index);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return singleFlight("lindex", key, key + '\0' + index,
+                () -> executeRead(key, jedis -> jedis.lindex(key, index), pipeline -> pipeline.lindex(key, index)));
     }
 
     /**
      * 通过索引获取列表中的元素
      * 你也可以使用负数下标,-1表示列表的最后一个元素,-2表示列表的倒数第二个元素,以此类推
-     * @param key redis键
-     * @param index 列表索引
-     * @return 列表中下标为指定索引值的元素;如果指定索引值不在列表的区间范围内,返回nil
-     */
-    public static byte[] lindex(byte[] key, long index) {
-        byte[] result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.lindex(key, index);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+     * @param key redis键
+     * @param index 列表索引
+     * @return 列表中下标为指定索引值的元素;如果指定索引值不在列表的区间范围内,返回nil
+     */
+    public static byte[] lindex(byte[] key, long index) {
+        return executeRead(key, jedis -> jedis.lindex(key, index), pipeline -> pipeline.lindex(key, index));
     }
 
     /**
@@ -3290,17 +4103,7 @@ public class RedisUtils {
      * @return 如果命令执行成功,返回插入操作完成之后,列表的长度;如果没有找到指定元素,返回-1;如果key不存在或为空列表,返回0
      */
     public static Long linsertBefore(String key, String before, String value){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.linsert(key,ListPosition.BEFORE,before,value);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.linsert(key,ListPosition.BEFORE,before,value), pipeline -> pipeline.linsert(key,ListPosition.BEFORE,before,value));
     }
 
     /**
@@ -3332,17 +4135,7 @@ public class RedisUtils {
      * @return 如果命令执行成功,返回插入操作完成之后,列表的长度;如果没有找到指定元素,返回-1;如果key不存在或为空列表,返回0
      */
     public static Long linsertBefore(byte[] key, byte[] before, byte[] value){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.linsert(key,ListPosition.BEFORE,before,value);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.linsert(key,ListPosition.BEFORE,before,value), pipeline -> pipeline.linsert(key,ListPosition.BEFORE,before,value));
     }
 
     /**
@@ -3374,17 +4167,7 @@ public class RedisUtils {
      * @return 如果命令执行成功,返回插入操作完成之后,列表的长度;如果没有找到指定元素,返回-1;如果key不存在或为空列表,返回0
      */
     public static Long linsertAfter(String key, String after, String value){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.linsert(key,ListPosition.AFTER,after,value);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.linsert(key,ListPosition.AFTER,after,value), pipeline -> pipeline.linsert(key,ListPosition.AFTER,after,value));
     }
 
     /**
@@ -3416,17 +4199,7 @@ public class RedisUtils {
      * @return 如果命令执行成功,返回插入操作完成之后,列表的长度;如果没有找到指定元素,返回-1;如果key不存在或为空列表,返回0
      */
     public static Long linsertAfter(byte[] key, byte[] after, byte[] value){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.linsert(key,ListPosition.AFTER,after,value);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.linsert(key,ListPosition.AFTER,after,value), pipeline -> pipeline.linsert(key,ListPosition.AFTER,after,value));
     }
 
     /**
@@ -3455,17 +4228,7 @@ public class RedisUtils {
      * @return 列表的长度
      */
     public static Long llen(String key) {
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.llen(key);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.llen(key), pipeline -> pipeline.llen(key));
     }
 
     /**
@@ -3476,17 +4239,7 @@ public class RedisUtils {
      * @return 列表的长度
      */
     public static Long llen(byte[] key) {
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.llen(key);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.llen(key), pipeline -> pipeline.llen(key));
     }
 
     /**
@@ -3495,17 +4248,7 @@ public class RedisUtils {
      * @return 列表的第一个元素.当列表key不存在时,返回nil
      */
     public static String lpop(String key) {
-        String result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.lpop(key);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.lpop(key), pipeline -> pipeline.lpop(key));
     }
 
     /**
@@ -3527,17 +4270,7 @@ public class RedisUtils {
      * @return 列表的第一个元素.当列表key不存在时,返回nil
      */
     public static byte[] lpop(byte[] key) {
-        byte[] result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.lpop(key);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.lpop(key), pipeline -> pipeline.lpop(key));
     }
 
     /**
@@ -3563,17 +4296,7 @@ public class RedisUtils {
      * @return 执行LPUSH命令后,列表的长度
      */
     public static Long lpush(String key, String... values) {
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.lpush(key, values);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.lpush(key, values), pipeline -> pipeline.lpush(key, values));
     }
 
     /**
@@ -3603,17 +4326,7 @@ public class RedisUtils {
      * @return 执行LPUSH命令后,列表的长度
      */
     public static Long lpush(byte[] key, byte[] ... values) {
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.lpush(key, values);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.lpush(key, values), pipeline -> pipeline.lpush(key, values));
     }
 
     /**
@@ -3640,17 +4353,7 @@ public class RedisUtils {
      * @return LPUSHX命令执行之后,列表的长度
      */
     public static Long lpushx(String key, String... values) {
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.lpushx(key, values);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.lpushx(key, values), pipeline -> pipeline.lpushx(key, values));
     }
 
     /**
@@ -3674,17 +4377,7 @@ public class RedisUtils {
      * @return LPUSHX命令执行之后,列表的长度
      */
     public static Long lpushx(byte[] key, byte[] ... values) {
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.lpushx(key, values);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.lpushx(key, values), pipeline -> pipeline.lpushx(key, values));
     }
 
     /**
@@ -3711,17 +4404,7 @@ public class RedisUtils {
      * @return 一个列表,包含指定区间内的元素
      */
     public static List<String> lrange(String key, long start, long end) {
-        List<String> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.lrange(key, start, end);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.lrange(key, start, end), pipeline -> pipeline.lrange(key, start, end));
     }
 
     /**
@@ -3734,17 +4417,7 @@ public class RedisUtils {
      * @return 一个列表,包含指定区间内的元素
      */
     public static List<byte[]> lrange(byte[] key, long start, long end) {
-        List<byte[]> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.lrange(key, start, end);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.lrange(key, start, end), pipeline -> pipeline.lrange(key, start, end));
     }
 
     /**
@@ -3758,17 +4431,7 @@ public class RedisUtils {
      * @return 被移除元素的数量.列表不存在时返回0
      */
     public static Long lrem(String key, long count, String value) {
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.lrem(key, count, value);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.lrem(key, count, value), pipeline -> pipeline.lrem(key, count, value));
     }
 
     /**
@@ -3800,17 +4463,7 @@ public class RedisUtils {
      * @return 被移除元素的数量.列表不存在时返回0
      */
     public static Long lrem(byte[] key, long count, byte[] value) {
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.lrem(key, count, value);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.lrem(key, count, value), pipeline -> pipeline.lrem(key, count, value));
     }
 
     /**
@@ -3840,17 +4493,7 @@ public class RedisUtils {
      * @return 操作成功返回ok,否则返回错误信息
      */
     public static String lset(String key, long index, String value){
-        String result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.lset(key, index, value);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.lset(key, index, value), pipeline -> pipeline.lset(key, index, value));
     }
 
     /**
@@ -3878,17 +4521,7 @@ public class RedisUtils {
      * @return 操作成功返回ok,否则返回错误信息
      */
     public static String lset(byte[] key, long index, byte[] value){
-        String result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.lset(key, index, value);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.lset(key, index, value), pipeline -> pipeline.lset(key, index, value));
     }
 
     /**
@@ -3917,17 +4550,7 @@ public class RedisUtils {
      * @return 执行成功返回ok
      */
     public static String ltrim(String key, long start, long end){
-        String result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.ltrim(key, start, end);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.ltrim(key, start, end), pipeline -> pipeline.ltrim(key, start, end));
     }
 
     /**
@@ -3957,17 +4580,7 @@ public class RedisUtils {
      * @return 执行成功返回ok
      */
     public static String ltrim(byte[] key, long start, long end){
-        String result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.ltrim(key, start, end);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.ltrim(key, start, end), pipeline -> pipeline.ltrim(key, start, end));
     }
 
     /**
@@ -3993,17 +4606,7 @@ public class RedisUtils {
      * @return 被移除的元素;当列表不存在时,返回nil
      */
     public static String rpop(String key) {
-        String result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.rpop(key);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.rpop(key), pipeline -> pipeline.rpop(key));
     }
 
     /**
@@ -4025,17 +4628,7 @@ public class RedisUtils {
      * @return 被移除的元素;当列表不存在时,返回nil
      */
     public static byte[] rpop(byte[] key) {
-        byte[] result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.rpop(key);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.rpop(key), pipeline -> pipeline.rpop(key));
     }
 
     /**
@@ -4058,17 +4651,7 @@ public class RedisUtils {
      * @return 被弹出的元素
      */
     public static String rpoplpush(String source, String destination) {
-        String result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.rpoplpush(source, destination);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return written(execute(source, jedis -> jedis.rpoplpush(source, destination), pipeline -> pipeline.rpoplpush(source, destination)), source, destination);
     }
 
     /**
@@ -4092,17 +4675,7 @@ public class RedisUtils {
      * @return 被弹出的元素
      */
     public static byte[] rpoplpush(byte[] source, byte[] destination) {
-        byte[] result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.rpoplpush(source, destination);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return written(execute(source, jedis -> jedis.rpoplpush(source, destination), pipeline -> pipeline.rpoplpush(source, destination)), source, destination);
     }
 
     /**
@@ -4129,17 +4702,7 @@ public class RedisUtils {
      * @return 执行插入后的列表的长度
      */
     public static Long rpush(String key, String... values) {
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.rpush(key, values);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.rpush(key, values), pipeline -> pipeline.rpush(key, values));
     }
 
     /**
@@ -4169,17 +4732,7 @@ public class RedisUtils {
      * @return 执行插入后的列表的长度
      */
     public static Long rpush(byte[] key, byte[] ... values) {
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.rpush(key, values);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.rpush(key, values), pipeline -> pipeline.rpush(key, values));
     }
 
     /**
@@ -4207,17 +4760,7 @@ public class RedisUtils {
      * @return 执行插入后的列表的长度
      */
     public static Long rpushx(String key, String... values) {
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.rpushx(key, values);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.rpushx(key, values), pipeline -> pipeline.rpushx(key, values));
     }
 
     /**
@@ -4243,17 +4786,7 @@ public class RedisUtils {
      * @return 执行插入后的列表的长度
      */
     public static Long rpushx(byte[] key, byte[] ... values) {
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.rpushx(key, values);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.rpushx(key, values), pipeline -> pipeline.rpushx(key, values));
     }
 
     /**
@@ -4283,17 +4816,7 @@ public class RedisUtils {
      * @return 被添加到集合中的新元素的数量,不包括被忽略的元素
      */
     public static Long sadd(String key, String ... values) {
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.sadd(key, values);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.sadd(key, values), pipeline -> pipeline.sadd(key, values));
     }
 
     /**
@@ -4323,17 +4846,7 @@ public class RedisUtils {
      * @return 被添加到集合中的新元素的数量,不包括被忽略的元素
      */
     public static Long sadd(byte[] key, byte[] ... values) {
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.sadd(key, values);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.sadd(key, values), pipeline -> pipeline.sadd(key, values));
     }
 
     /**
@@ -4356,20 +4869,10 @@ public class RedisUtils {
     /**
      * 获取集合中元素的数量
      * @param key redis键
-     * @return 集合的数量.当集合key不存在时,返回0
-     */
-    public static Long scard(String key) {
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.scard(key);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+     * @return 集合的数量.当集合key不存在时,返回0
+     */
+    public static Long scard(String key) {
+        return executeRead(key, jedis -> jedis.scard(key), pipeline -> pipeline.scard(key));
     }
 
     /**
@@ -4378,17 +4881,7 @@ public class RedisUtils {
      * @return 集合的数量.当集合key不存在时,返回0
      */
     public static Long scard(byte[] key) {
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.scard(key);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.scard(key), pipeline -> pipeline.scard(key));
     }
 
     /**
@@ -4399,17 +4892,7 @@ public class RedisUtils {
      * @return 包含差集成员的列表
      */
     public static Set<String> sdiff(String ... keys) {
-        Set<String> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.sdiff(keys);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(keys, jedis -> jedis.sdiff(keys), pipeline -> pipeline.sdiff(keys));
     }
 
     /**
@@ -4420,17 +4903,7 @@ public class RedisUtils {
      * @return 包含差集成员的列表
      */
     public static Set<byte[]> sdiff(byte[] ... keys) {
-        Set<byte[]> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.sdiff(keys);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(keys, jedis -> jedis.sdiff(keys), pipeline -> pipeline.sdiff(keys));
     }
 
     /**
@@ -4441,17 +4914,7 @@ public class RedisUtils {
      * @return 结果集中的元素数量
      */
     public static Long sdiffstore(String destination, String ... keys) {
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.sdiffstore(destination, keys);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return written(execute(destination, jedis -> jedis.sdiffstore(destination, keys), pipeline -> pipeline.sdiffstore(destination, keys)), destination);
     }
 
     /**
@@ -4477,17 +4940,7 @@ public class RedisUtils {
      * @return 结果集中的元素数量
      */
     public static Long sdiffstore(byte[] destination, byte[] ... keys) {
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.sdiffstore(destination, keys);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return written(execute(destination, jedis -> jedis.sdiffstore(destination, keys), pipeline -> pipeline.sdiffstore(destination, keys)), destination);
     }
 
     /**
@@ -4513,17 +4966,7 @@ public class RedisUtils {
      * @return 交集成员的列表
      */
     public static Set<String> sinter(String ... keys){
-        Set<String> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.sinter(keys);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(keys, jedis -> jedis.sinter(keys), pipeline -> pipeline.sinter(keys));
     }
 
     /**
@@ -4534,17 +4977,7 @@ public class RedisUtils {
      * @return 交集成员的列表
      */
     public static Set<byte[]> sinter(byte[] ... keys){
-        Set<byte[]> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.sinter(keys);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(keys, jedis -> jedis.sinter(keys), pipeline -> pipeline.sinter(keys));
     }
 
     /**
@@ -4555,17 +4988,7 @@ public class RedisUtils {
      * @return 返回存储交集的集合的元素数量
      */
     public static Long sinterstore(String destination, String ... keys){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.sinterstore(destination, keys);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return written(execute(destination, jedis -> jedis.sinterstore(destination, keys), pipeline -> pipeline.sinterstore(destination, keys)), destination);
     }
 
     /**
@@ -4591,17 +5014,7 @@ public class RedisUtils {
      * @return 返回存储交集的集合的元素数量
      */
     public static Long sinterstore(byte[] destination, byte[] ... keys){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.sinterstore(destination, keys);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return written(execute(destination, jedis -> jedis.sinterstore(destination, keys), pipeline -> pipeline.sinterstore(destination, keys)), destination);
     }
 
     /**
@@ -4626,17 +5039,7 @@ public class RedisUtils {
      * @return 并集成员的列表
      */
     public static Set<String> sunion(String ... keys){
-        Set<String> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.sunion(keys);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(keys, jedis -> jedis.sunion(keys), pipeline -> pipeline.sunion(keys));
     }
 
     /**
@@ -4646,17 +5049,7 @@ public class RedisUtils {
      * @return 并集成员的列表
      */
     public static Set<byte[]> sunion(byte[] ... keys){
-        Set<byte[]> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.sunion(keys);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(keys, jedis -> jedis.sunion(keys), pipeline -> pipeline.sunion(keys));
     }
 
     /**
@@ -4667,17 +5060,7 @@ public class RedisUtils {
      * @return 结果集中的元素数量
      */
     public static Long sunionstore(String destination, String ... keys){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.sunionstore(destination, keys);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return written(execute(destination, jedis -> jedis.sunionstore(destination, keys), pipeline -> pipeline.sunionstore(destination, keys)), destination);
     }
 
     /**
@@ -4703,17 +5086,7 @@ public class RedisUtils {
      * @return 结果集中的元素数量
      */
     public static Long sunionstore(byte[] destination, byte[] ... keys){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.sunionstore(destination, keys);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return written(execute(destination, jedis -> jedis.sunionstore(destination, keys), pipeline -> pipeline.sunionstore(destination, keys)), destination);
     }
 
     /**
@@ -4738,17 +5111,7 @@ public class RedisUtils {
      * @return 如果成员元素是集合的成员,返回1;如果成员元素不是集合的成员,或key不存在,返回0
      */
     public static Boolean sismember(String key, String member) {
-        Boolean result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.sismember(key, member);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.sismember(key, member), pipeline -> pipeline.sismember(key, member));
     }
 
     /**
@@ -4758,17 +5121,7 @@ public class RedisUtils {
      * @return 如果成员元素是集合的成员,返回1;如果成员元素不是集合的成员,或key不存在,返回0
      */
     public static Boolean sismember(byte[] key, byte[] member) {
-        Boolean result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.sismember(key, member);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.sismember(key, member), pipeline -> pipeline.sismember(key, member));
     }
 
     /**
@@ -4778,17 +5131,7 @@ public class RedisUtils {
      * @return 集合中的所有成员
      */
     public static Set<String> smembers(String key) {
-        Set<String> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.smembers(key);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.smembers(key), pipeline -> pipeline.smembers(key));
     }
 
     /**
@@ -4798,17 +5141,7 @@ public class RedisUtils {
      * @return 集合中的所有成员
      */
     public static Set<byte[]> smembers(byte[] key) {
-        Set<byte[]> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.smembers(key);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.smembers(key), pipeline -> pipeline.smembers(key));
     }
 
     /**
@@ -4824,17 +5157,7 @@ public class RedisUtils {
      * @return 如果成员元素被成功移除,返回1;如果成员元素不是source集合的成员,并且没有任何操作对destination集合执行,那么返回0
      */
     public static Long smove(String source, String destination, String member) {
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.smove(source, destination, member);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return written(execute(source, jedis -> jedis.smove(source, destination, member), pipeline -> pipeline.smove(source, destination, member)), source, destination);
     }
 
     /**
@@ -4870,17 +5193,7 @@ public class RedisUtils {
      * @return 如果成员元素被成功移除,返回1;如果成员元素不是source集合的成员,并且没有任何操作对destination集合执行,那么返回0
      */
     public static Long smove(byte[] source, byte[] destination, byte[] member) {
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.smove(source, destination, member);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return written(execute(source, jedis -> jedis.smove(source, destination, member), pipeline -> pipeline.smove(source, destination, member)), source, destination);
     }
 
     /**
@@ -4909,17 +5222,7 @@ public class RedisUtils {
      * @return 被移除的随机元素.当集合不存在或是空集时,返回nil
      */
     public static String spop(String key) {
-        String result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.spop(key);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.spop(key), pipeline -> pipeline.spop(key));
     }
 
     /**
@@ -4942,17 +5245,7 @@ public class RedisUtils {
      * @return 被移除的随机元素.当集合不存在或是空集时,返回nil
      */
     public static Set<String> spop(String key, int count) {
-        Set<String> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.spop(key, count);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.spop(key, count), pipeline -> pipeline.spop(key, count));
     }
 
     /**
@@ -4975,17 +5268,7 @@ public class RedisUtils {
      * @return 被移除的随机元素.当集合不存在或是空集时,返回nil
      */
     public static byte[] spop(byte[] key) {
-        byte[] result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.spop(key);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.spop(key), pipeline -> pipeline.spop(key));
     }
 
     /**
@@ -5008,17 +5291,7 @@ public class RedisUtils {
      * @return 被移除的随机元素.当集合不存在或是空集时,返回nil
      */
     public static Set<byte[]> spop(byte[] key, int count) {
-        Set<byte[]> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.spop(key, count);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.spop(key, count), pipeline -> pipeline.spop(key, count));
     }
 
     /**
@@ -5041,17 +5314,7 @@ public class RedisUtils {
      * @return 返回一个随机元素.如果集合为空,返回nil
      */
     public static String srandmember(String key) {
-        String result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.srandmember(key);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.srandmember(key), pipeline -> pipeline.srandmember(key));
     }
 
     /**
@@ -5061,17 +5324,7 @@ public class RedisUtils {
      * @return 返回一个数组.如果集合为空,返回空数组
      */
     public static List<String> srandmember(String key, int count) {
-        List<String> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.srandmember(key, count);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.srandmember(key, count), pipeline -> pipeline.srandmember(key, count));
     }
 
     /**
@@ -5080,17 +5333,7 @@ public class RedisUtils {
      * @return 返回一个随机元素.如果集合为空,返回nil
      */
     public static byte[] srandmember(byte[] key) {
-        byte[] result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.srandmember(key);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.srandmember(key), pipeline -> pipeline.srandmember(key));
     }
 
     /**
@@ -5100,17 +5343,7 @@ public class RedisUtils {
      * @return 返回一个数组.如果集合为空,返回空数组
      */
     public static List<byte[]> srandmember(byte[] key, int count) {
-        List<byte[]> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.srandmember(key, count);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.srandmember(key, count), pipeline -> pipeline.srandmember(key, count));
     }
 
     /**
@@ -5122,17 +5355,7 @@ public class RedisUtils {
      * @return 被成功移除的元素的数量,不包括被忽略的元素
      */
     public static Long srem(String key, String ... members) {
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.srem(key, members);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.srem(key, members), pipeline -> pipeline.srem(key, members));
     }
 
     /**
@@ -5160,17 +5383,7 @@ public class RedisUtils {
      * @return 被成功移除的元素的数量,不包括被忽略的元素
      */
     public static Long srem(byte[] key, byte[] ... members) {
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.srem(key, members);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.srem(key, members), pipeline -> pipeline.srem(key, members));
     }
 
     /**
@@ -5239,24 +5452,65 @@ public class RedisUtils {
      * @return 数组列表
      */
     public static ScanResult<String> sscan(String key, String cursor, String pattern, int count){
-        ScanResult<String> result = null;
-        Jedis jedis = null;
-        try {
-            ScanParams params = new ScanParams();
-            if(!StringUtils.isEmpty(pattern)){
-                params.match(pattern);
-            }
-            if(count > 0){
-                params.count(count);
-            }
-            jedis = getJedis();
-            result = jedis.sscan(key, cursor, params);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
+        ScanParams params = new ScanParams();
+        if(!StringUtils.isEmpty(pattern)){
+            params.match(pattern);
         }
-        return result;
+        if(count > 0){
+            params.count(count);
+        }
+        return executeRead(key, jedis -> jedis.sscan(key, cursor, params));
+    }
+
+    /**
+     * 集合的元素的惰性迭代器,当前页用完后才用返回的游标读取下一页,直到游标回到0
+     * 每一页单独借用连接,迭代过程中不占用连接
+     * @param key redis键
+     * @param pattern 表达式,为空时不过滤
+     * @param count 每页数量,小于等于0时使用redis默认值
+     * @return 集合元素,某一页执行失败时提前结束,isFailed返回true
+     */
+    public static RedisScanIterator<String> sscanIterator(String key, String pattern, int count) {
+        return sscanIterator(key, pattern, count, false);
+    }
+
+    /**
+     * 集合的元素的惰性迭代器,当前页用完后才用返回的游标读取下一页,直到游标回到0
+     * 每一页单独借用连接,迭代过程中不占用连接
+     * @param key redis键
+     * @param pattern 表达式,为空时不过滤
+     * @param count 每页数量,小于等于0时使用redis默认值
+     * @param distinct 是否去掉SCAN重复返回的元素,去重需要保留已返回元素的标识
+     * @return 集合元素,某一页执行失败时提前结束,isFailed返回true
+     */
+    public static RedisScanIterator<String> sscanIterator(String key, String pattern, int count, boolean distinct) {
+        ScanParams params = scanParams(pattern, count);
+        Pool<Jedis> pool = scanPool(key);
+        return new RedisScanIterator<>(Collections.singletonList(cursor -> execute(pool, jedis -> jedis.sscan(key, cursor, params))),
+                distinct ? Function.identity() : null);
+    }
+
+    /**
+     * 同sscanIterator,返回惰性Stream,终止操作执行时才开始读取
+     * @param key redis键
+     * @param pattern 表达式,为空时不过滤
+     * @param count 每页数量,小于等于0时使用redis默认值
+     * @return 集合元素
+     */
+    public static Stream<String> sscanStream(String key, String pattern, int count) {
+        return sscanIterator(key, pattern, count).stream();
+    }
+
+    /**
+     * 同sscanIterator,返回惰性Stream,终止操作执行时才开始读取
+     * @param key redis键
+     * @param pattern 表达式,为空时不过滤
+     * @param count 每页数量,小于等于0时使用redis默认值
+     * @param distinct 是否去掉SCAN重复返回的元素
+     * @return 集合元素
+     */
+    public static Stream<String> sscanStream(String key, String pattern, int count, boolean distinct) {
+        return sscanIterator(key, pattern, count, distinct).stream();
     }
 
     /**
@@ -5309,24 +5563,14 @@ public class RedisUtils {
      * @return 数组列表
      */
     public static ScanResult<byte[]> sscanBinary(byte[] key, byte[] cursor, byte[] pattern, int count){
-        ScanResult<byte[]> result = null;
-        Jedis jedis = null;
-        try {
-            ScanParams params = new ScanParams();
-            if(!StringUtils.isEmpty(pattern)){
-                params.match(pattern);
-            }
-            if(count > 0){
-                params.count(count);
-            }
-            jedis = getJedis();
-            result = jedis.sscan(key, cursor, params);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
+        ScanParams params = new ScanParams();
+        if(!StringUtils.isEmpty(pattern)){
+            params.match(pattern);
         }
-        return result;
+        if(count > 0){
+            params.count(count);
+        }
+        return executeRead(key, jedis -> jedis.sscan(key, cursor, params));
     }
 
     //**********          redis有序集合数据操作的方法          **********//
@@ -5344,17 +5588,7 @@ public class RedisUtils {
      * @return 被成功添加的新成员的数量,不包括那些被更新的或者已经存在的成员
      */
     public static Long zadd(String key, double score, String member){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zadd(key, score, member);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.zadd(key, score, member), pipeline -> pipeline.zadd(key, score, member));
     }
 
     /**
@@ -5389,17 +5623,7 @@ public class RedisUtils {
      * @return 被成功添加的新成员的数量,不包括那些被更新的或者已经存在的成员
      */
     public static Long zadd(String key, Map<String, Double> members){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zadd(key, members);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.zadd(key, members), pipeline -> pipeline.zadd(key, members));
     }
 
     /**
@@ -5434,17 +5658,7 @@ public class RedisUtils {
      * @return 被成功添加的新成员的数量,不包括那些被更新的或者已经存在的成员
      */
     public static Long zadd(byte[] key, double score, byte[] member){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zadd(key, score, member);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.zadd(key, score, member), pipeline -> pipeline.zadd(key, score, member));
     }
 
     /**
@@ -5479,17 +5693,7 @@ public class RedisUtils {
      * @return 被成功添加的新成员的数量,不包括那些被更新的或者已经存在的成员
      */
     public static Long zadd(byte[] key, Map<byte[], Double> members){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zadd(key, members);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.zadd(key, members), pipeline -> pipeline.zadd(key, members));
     }
 
     /**
@@ -5517,17 +5721,7 @@ public class RedisUtils {
      * @return 当key存在且是有序集类型时,返回有序集的基数;当key不存在时,返回0
      */
     public static Long zcard(String key){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zcard(key);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.zcard(key), pipeline -> pipeline.zcard(key));
     }
 
     /**
@@ -5536,17 +5730,7 @@ public class RedisUtils {
      * @return 当key存在且是有序集类型时,返回有序集的基数;当key不存在时,返回0
      */
     public static Long zcard(byte[] key){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zcard(key);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.zcard(key), pipeline -> pipeline.zcard(key));
     }
 
     /**
@@ -5557,17 +5741,7 @@ public class RedisUtils {
      * @return 分数值在min和max之间的成员的数量
      */
     public static Long zcount(String key, double min, double max){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zcount(key, min, max);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.zcount(key, min, max), pipeline -> pipeline.zcount(key, min, max));
     }
 
     /**
@@ -5578,17 +5752,7 @@ public class RedisUtils {
      * @return 分数值在min和max之间的成员的数量
      */
     public static Long zcount(String key, String min, String max){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zcount(key, min, max);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.zcount(key, min, max), pipeline -> pipeline.zcount(key, min, max));
     }
 
     /**
@@ -5599,17 +5763,7 @@ public class RedisUtils {
      * @return 分数值在min和max之间的成员的数量
      */
     public static Long zcount(byte[] key, double min, double max){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zcount(key, min, max);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.zcount(key, min, max), pipeline -> pipeline.zcount(key, min, max));
     }
 
     /**
@@ -5620,17 +5774,7 @@ public class RedisUtils {
      * @return 分数值在min和max之间的成员的数量
      */
     public static Long zcount(byte[] key, byte[] min, byte[] max){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zcount(key, min, max);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.zcount(key, min, max), pipeline -> pipeline.zcount(key, min, max));
     }
 
     /**
@@ -5645,17 +5789,7 @@ public class RedisUtils {
      * @return member成员的新分数值
      */
     public static Double zincrby(String key, double increment, String member){
-        Double result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zincrby(key, increment, member);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.zincrby(key, increment, member), pipeline -> pipeline.zincrby(key, increment, member));
     }
 
     /**
@@ -5689,17 +5823,7 @@ public class RedisUtils {
      * @return member成员的新分数值
      */
     public static Double zincrby(byte[] key, double increment, byte[] member){
-        Double result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zincrby(key, increment, member);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.zincrby(key, increment, member), pipeline -> pipeline.zincrby(key, increment, member));
     }
 
     /**
@@ -5729,17 +5853,7 @@ public class RedisUtils {
      * @return 保存到目标结果集的的成员数量
      */
     public static Long zinterstore(String destination, String ... members){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zinterstore(destination, members);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return written(execute(destination, jedis -> jedis.zinterstore(destination, members), pipeline -> pipeline.zinterstore(destination, members)), destination);
     }
 
     /**
@@ -5765,17 +5879,7 @@ public class RedisUtils {
      * @return 保存到目标结果集的的成员数量
      */
     public static Long zinterstore(byte[] destination, byte[] ... members){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zinterstore(destination, members);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return written(execute(destination, jedis -> jedis.zinterstore(destination, members), pipeline -> pipeline.zinterstore(destination, members)), destination);
     }
 
     /**
@@ -5801,17 +5905,7 @@ public class RedisUtils {
      * @return 指定区间内的成员数量
      */
     public static Long zlexcount(String key, String min, String max){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zlexcount(key, min, max);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.zlexcount(key, min, max), pipeline -> pipeline.zlexcount(key, min, max));
     }
 
     /**
@@ -5822,17 +5916,7 @@ public class RedisUtils {
      * @return 指定区间内的成员数量
      */
     public static Long zlexcount(byte[] key, byte[] min, byte[] max){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zlexcount(key, min, max);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.zlexcount(key, min, max), pipeline -> pipeline.zlexcount(key, min, max));
     }
 
     /**
@@ -5848,17 +5932,7 @@ public class RedisUtils {
      * @return 指定区间内的成员
      */
     public static Set<String> zrange(String key, long start, long end){
-        Set<String> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zrange(key, start, end);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.zrange(key, start, end), pipeline -> pipeline.zrange(key, start, end));
     }
 
     /**
@@ -5874,17 +5948,7 @@ public class RedisUtils {
      * @return 指定区间内的成员
      */
     public static Set<byte[]> zrange(byte[] key, long start, long end){
-        Set<byte[]> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zrange(key, start, end);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.zrange(key, start, end), pipeline -> pipeline.zrange(key, start, end));
     }
 
     /**
@@ -5895,17 +5959,7 @@ public class RedisUtils {
      * @return 指定区间内的元素列表
      */
     public static Set<String> zrangeByLex(String key, String min, String max){
-        Set<String> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zrangeByLex(key, min, max);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.zrangeByLex(key, min, max), pipeline -> pipeline.zrangeByLex(key, min, max));
     }
 
     /**
@@ -5918,17 +5972,7 @@ public class RedisUtils {
      * @return 指定区间内的元素列表
      */
     public static Set<String> zrangeByLex(String key, String min, String max, int offset, int count){
-        Set<String> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zrangeByLex(key, min, max, offset, count);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.zrangeByLex(key, min, max, offset, count), pipeline -> pipeline.zrangeByLex(key, min, max, offset, count));
     }
 
     /**
@@ -5939,17 +5983,7 @@ public class RedisUtils {
      * @return 指定区间内的元素列表
      */
     public static Set<byte[]> zrangeByLex(byte[] key, byte[] min, byte[] max){
-        Set<byte[]> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zrangeByLex(key, min, max);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.zrangeByLex(key, min, max), pipeline -> pipeline.zrangeByLex(key, min, max));
     }
 
     /**
@@ -5962,17 +5996,7 @@ public class RedisUtils {
      * @return 指定区间内的元素列表
      */
     public static Set<byte[]> zrangeByLex(byte[] key, byte[] min, byte[] max, int offset, int count){
-        Set<byte[]> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zrangeByLex(key, min, max, offset, count);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.zrangeByLex(key, min, max, offset, count), pipeline -> pipeline.zrangeByLex(key, min, max, offset, count));
     }
 
     /**
@@ -5985,17 +6009,7 @@ public class RedisUtils {
      * @return 有序集成员的列表
      */
     public static Set<String> zrangeByScore(String key, String min, String max){
-        Set<String> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zrangeByScore(key, min, max);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.zrangeByScore(key, min, max), pipeline -> pipeline.zrangeByScore(key, min, max));
     }
 
     /**
@@ -6008,17 +6022,7 @@ public class RedisUtils {
      * @return 有序集成员的列表
      */
     public static Set<String> zrangeByScore(String key, double min, double max){
-        Set<String> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zrangeByScore(key, min, max);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.zrangeByScore(key, min, max), pipeline -> pipeline.zrangeByScore(key, min, max));
     }
 
     /**
@@ -6033,17 +6037,7 @@ public class RedisUtils {
      * @return 有序集成员的列表
      */
     public static Set<String> zrangeByScore(String key, String min, String max, int offset, int count){
-        Set<String> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zrangeByScore(key, min, max, offset, count);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.zrangeByScore(key, min, max, offset, count), pipeline -> pipeline.zrangeByScore(key, min, max, offset, count));
     }
 
     /**
@@ -6058,17 +6052,7 @@ public class RedisUtils {
      * @return 有序集成员的列表
      */
     public static Set<String> zrangeByScore(String key, double min, double max, int offset, int count){
-        Set<String> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zrangeByScore(key, min, max, offset, count);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.zrangeByScore(key, min, max, offset, count), pipeline -> pipeline.zrangeByScore(key, min, max, offset, count));
     }
 
     /**
@@ -6081,17 +6065,7 @@ public class RedisUtils {
      * @return 有序集成员的列表
      */
     public static Set<byte[]> zrangeByScore(byte[] key, byte[] min, byte[] max){
-        Set<byte[]> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zrangeByScore(key, min, max);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.zrangeByScore(key, min, max), pipeline -> pipeline.zrangeByScore(key, min, max));
     }
 
     /**
@@ -6104,17 +6078,7 @@ public class RedisUtils {
      * @return 有序集成员的列表
      */
     public static Set<byte[]> zrangeByScore(byte[] key, double min, double max){
-        Set<byte[]> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zrangeByScore(key, min, max);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.zrangeByScore(key, min, max), pipeline -> pipeline.zrangeByScore(key, min, max));
     }
 
     /**
@@ -6124,22 +6088,12 @@ public class RedisUtils {
      * @param key redis键
      * @param min 最小
      * @param max 最大
-     * @param offset 偏移量
-     * @param count 限制数量
-     * @return 有序集成员的列表
-     */
-    public static Set<byte[]> zrangeByScore(byte[] key, byte[] min, byte[] max, int offset, int count){
-        Set<byte[]> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zrangeByScore(key, min, max, offset, count);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+     * @param offset 偏移量
+     * @param count 限制数量
+     * @return 有序集成员的列表
+     */
+    public static Set<byte[]> zrangeByScore(byte[] key, byte[] min, byte[] max, int offset, int count){
+        return executeRead(key, jedis -> jedis.zrangeByScore(key, min, max, offset, count), pipeline -> pipeline.zrangeByScore(key, min, max, offset, count));
     }
 
     /**
@@ -6154,17 +6108,7 @@ public class RedisUtils {
      * @return 有序集成员的列表
      */
     public static Set<byte[]> zrangeByScore(byte[] key, double min, double max, int offset, int count){
-        Set<byte[]> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zrangeByScore(key, min, max, offset, count);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.zrangeByScore(key, min, max, offset, count), pipeline -> pipeline.zrangeByScore(key, min, max, offset, count));
     }
 
     /**
@@ -6175,17 +6119,7 @@ public class RedisUtils {
      * @return 如果成员是有序集key的成员,返回member的排名;如果成员不是有序集key的成员,返回nil
      */
     public static Long zrank(String key, String member){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zrank(key, member);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.zrank(key, member), pipeline -> pipeline.zrank(key, member));
     }
 
     /**
@@ -6196,17 +6130,7 @@ public class RedisUtils {
      * @return 如果成员是有序集key的成员,返回member的排名;如果成员不是有序集key的成员,返回nil
      */
     public static Long zrank(byte[] key, byte[] member){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zrank(key, member);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.zrank(key, member), pipeline -> pipeline.zrank(key, member));
     }
 
     /**
@@ -6218,17 +6142,7 @@ public class RedisUtils {
      * @return 被成功移除的成员的数量,不包括被忽略的成员
      */
     public static Long zrem(String key, String ... members){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zrem(key, members);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.zrem(key, members), pipeline -> pipeline.zrem(key, members));
     }
 
     /**
@@ -6256,17 +6170,7 @@ public class RedisUtils {
      * @return 被成功移除的成员的数量,不包括被忽略的成员
      */
     public static Long zrem(byte[] key, byte[] ... members){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zrem(key, members);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.zrem(key, members), pipeline -> pipeline.zrem(key, members));
     }
 
     /**
@@ -6293,17 +6197,7 @@ public class RedisUtils {
      * @return 被成功移除的成员的数量,不包括被忽略的成员
      */
     public static Long zremrangeByLex(String key, String min, String max){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zremrangeByLex(key, min, max);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.zremrangeByLex(key, min, max), pipeline -> pipeline.zremrangeByLex(key, min, max));
     }
 
     /**
@@ -6329,17 +6223,7 @@ public class RedisUtils {
      * @return 被成功移除的成员的数量,不包括被忽略的成员
      */
     public static Long zremrangeByLex(byte[] key, byte[] min, byte[] max){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zremrangeByLex(key, min, max);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.zremrangeByLex(key, min, max), pipeline -> pipeline.zremrangeByLex(key, min, max));
     }
 
     /**
@@ -6365,17 +6249,7 @@ public class RedisUtils {
      * @return 被成功移除的成员的数量,不包括被忽略的成员
      */
     public static Long zremrangeByRank(String key, long start, long end){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zremrangeByRank(key, start, end);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.zremrangeByRank(key, start, end), pipeline -> pipeline.zremrangeByRank(key, start, end));
     }
 
     /**
@@ -6401,17 +6275,7 @@ public class RedisUtils {
      * @return 被成功移除的成员的数量,不包括被忽略的成员
      */
     public static Long zremrangeByRank(byte[] key, long start, long end){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zremrangeByRank(key, start, end);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.zremrangeByRank(key, start, end), pipeline -> pipeline.zremrangeByRank(key, start, end));
     }
 
     /**
@@ -6437,17 +6301,7 @@ public class RedisUtils {
      * @return 被成功移除的成员的数量,不包括被忽略的成员
      */
     public static Long zremrangeByScore(String key, double min, double max){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zremrangeByScore(key, min, max);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.zremrangeByScore(key, min, max), pipeline -> pipeline.zremrangeByScore(key, min, max));
     }
 
     /**
@@ -6473,17 +6327,7 @@ public class RedisUtils {
      * @return 被成功移除的成员的数量,不包括被忽略的成员
      */
     public static Long zremrangeByScore(String key, String min, String max){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zremrangeByScore(key, min, max);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.zremrangeByScore(key, min, max), pipeline -> pipeline.zremrangeByScore(key, min, max));
     }
 
     /**
@@ -6509,17 +6353,7 @@ public class RedisUtils {
      * @return 被成功移除的成员的数量,不包括被忽略的成员
      */
     public static Long zremrangeByScore(byte[] key, double min, double max){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zremrangeByScore(key, min, max);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.zremrangeByScore(key, min, max), pipeline -> pipeline.zremrangeByScore(key, min, max));
     }
 
     /**
@@ -6545,17 +6379,7 @@ public class RedisUtils {
      * @return 被成功移除的成员的数量,不包括被忽略的成员
      */
     public static Long zremrangeByScore(byte[] key, byte[] min, byte[] max){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zremrangeByScore(key, min, max);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.zremrangeByScore(key, min, max), pipeline -> pipeline.zremrangeByScore(key, min, max));
     }
 
     /**
@@ -6584,17 +6408,7 @@ public class RedisUtils {
      * @return 有序集成员的列表
      */
     public static Set<String> zrevrange(String key, long start, long end){
-        Set<String> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zrevrange(key, start, end);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.zrevrange(key, start, end), pipeline -> pipeline.zrevrange(key, start, end));
     }
 
     /**
@@ -6608,17 +6422,7 @@ public class RedisUtils {
      * @return 有序集成员的列表
      */
     public static Set<byte[]> zrevrange(byte[] key, long start, long end){
-        Set<byte[]> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zrevrange(key, start, end);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.zrevrange(key, start, end), pipeline -> pipeline.zrevrange(key, start, end));
     }
 
     /**
@@ -6632,17 +6436,7 @@ public class RedisUtils {
      * @return 有序集成员的列表
      */
     public static Set<String> zrevrangeByScore(String key, double min, double max){
-        Set<String> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zrevrangeByScore(key, min, max);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.zrevrangeByScore(key, min, max), pipeline -> pipeline.zrevrangeByScore(key, min, max));
     }
 
     /**
@@ -6656,17 +6450,7 @@ public class RedisUtils {
      * @return 有序集成员的列表
      */
     public static Set<String> zrevrangeByScore(String key, String min, String max){
-        Set<String> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zrevrangeByScore(key, min, max);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.zrevrangeByScore(key, min, max), pipeline -> pipeline.zrevrangeByScore(key, min, max));
     }
 
     /**
@@ -6680,17 +6464,7 @@ public class RedisUtils {
      * @return 有序集成员的列表
      */
     public static Set<byte[]> zrevrangeByScore(byte[] key, double min, double max){
-        Set<byte[]> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zrevrangeByScore(key, min, max);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.zrevrangeByScore(key, min, max), pipeline -> pipeline.zrevrangeByScore(key, min, max));
     }
 
     /**
@@ -6704,17 +6478,7 @@ public class RedisUtils {
      * @return 有序集成员的列表
      */
     public static Set<byte[]> zrevrangeByScore(byte[] key, byte[] min, byte[] max){
-        Set<byte[]> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zrevrangeByScore(key, min, max);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.zrevrangeByScore(key, min, max), pipeline -> pipeline.zrevrangeByScore(key, min, max));
     }
 
     /**
@@ -6727,17 +6491,7 @@ public class RedisUtils {
      * @return 如果成员是有序集key的成员,返回成员的排名;如果成员不是有序集key的成员,返回nil
      */
     public static Long zrevrank(String key, String member){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zrevrank(key, member);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.zrevrank(key, member), pipeline -> pipeline.zrevrank(key, member));
     }
 
     /**
@@ -6750,17 +6504,7 @@ public class RedisUtils {
      * @return 如果成员是有序集key的成员,返回成员的排名;如果成员不是有序集key的成员,返回nil
      */
     public static Long zrevrank(byte[] key, byte[] member){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zrevrank(key, member);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.zrevrank(key, member), pipeline -> pipeline.zrevrank(key, member));
     }
 
     /**
@@ -6770,17 +6514,8 @@ public class RedisUtils {
      * @return 返回有序集中成员的分数值;如果成员元素不是有序集key的成员,或key不存在,返回nil
      */
     public static Double zscore(String key, String member){
-        Double result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zscore(key, member);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return singleFlight("zscore", key, key + '\0' + member,
+                () -> executeRead(key, jedis -> jedis.zscore(key, member), pipeline -> pipeline.zscore(key, member)));
     }
 
     /**
@@ -6790,17 +6525,7 @@ public class RedisUtils {
      * @return 返回有序集中成员的分数值;如果成员元素不是有序集key的成员,或key不存在,返回nil
      */
     public static Double zscore(byte[] key, byte[] member){
-        Double result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zscore(key, member);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.zscore(key, member), pipeline -> pipeline.zscore(key, member));
     }
 
     /**
@@ -6811,17 +6536,7 @@ public class RedisUtils {
      * @return 保存到destination的结果集的成员数量
      */
     public static Long zunionstore(String destination, String members){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zunionstore(destination, members);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return written(execute(destination, jedis -> jedis.zunionstore(destination, members), pipeline -> pipeline.zunionstore(destination, members)), destination);
     }
 
     /**
@@ -6847,17 +6562,7 @@ public class RedisUtils {
      * @return 保存到destination的结果集的成员数量
      */
     public static Long zunionstore(byte[] destination, byte[] members){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.zunionstore(destination, members);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return written(execute(destination, jedis -> jedis.zunionstore(destination, members), pipeline -> pipeline.zunionstore(destination, members)), destination);
     }
 
     /**
@@ -6925,24 +6630,65 @@ public class RedisUtils {
      * @return 返回的每个元素都是一个有序集合元素,一个有序集合元素由一个成员(member)和一个分值(score)组成
      */
     public static ScanResult<Tuple> zscan(String key, String cursor, String pattern, int count){
-        ScanResult<Tuple> result = null;
-        Jedis jedis = null;
-        try {
-            ScanParams params = new ScanParams();
-            if(!StringUtils.isEmpty(pattern)){
-                params.match(pattern);
-            }
-            if(count > 0){
-                params.count(count);
-            }
-            jedis = getJedis();
-            result = jedis.zscan(key, cursor, params);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
+        ScanParams params = new ScanParams();
+        if(!StringUtils.isEmpty(pattern)){
+            params.match(pattern);
         }
-        return result;
+        if(count > 0){
+            params.count(count);
+        }
+        return executeRead(key, jedis -> jedis.zscan(key, cursor, params));
+    }
+
+    /**
+     * 有序集合的元素的惰性迭代器,当前页用完后才用返回的游标读取下一页,直到游标回到0
+     * 每一页单独借用连接,迭代过程中不占用连接
+     * @param key redis键
+     * @param pattern 表达式,为空时不过滤
+     * @param count 每页数量,小于等于0时使用redis默认值
+     * @return 成员和分值,某一页执行失败时提前结束,isFailed返回true
+     */
+    public static RedisScanIterator<Tuple> zscanIterator(String key, String pattern, int count) {
+        return zscanIterator(key, pattern, count, false);
+    }
+
+    /**
+     * 有序集合的元素的惰性迭代器,当前页用完后才用返回的游标读取下一页,直到游标回到0
+     * 每一页单独借用连接,迭代过程中不占用连接
+     * @param key redis键
+     * @param pattern 表达式,为空时不过滤
+     * @param count 每页数量,小于等于0时使用redis默认值
+     * @param distinct 是否去掉SCAN重复返回的元素,去重需要保留已返回元素的标识
+     * @return 成员和分值,某一页执行失败时提前结束,isFailed返回true
+     */
+    public static RedisScanIterator<Tuple> zscanIterator(String key, String pattern, int count, boolean distinct) {
+        ScanParams params = scanParams(pattern, count);
+        Pool<Jedis> pool = scanPool(key);
+        return new RedisScanIterator<>(Collections.singletonList(cursor -> execute(pool, jedis -> jedis.zscan(key, cursor, params))),
+                distinct ? Tuple::getElement : null);
+    }
+
+    /**
+     * 同zscanIterator,返回惰性Stream,终止操作执行时才开始读取
+     * @param key redis键
+     * @param pattern 表达式,为空时不过滤
+     * @param count 每页数量,小于等于0时使用redis默认值
+     * @return 成员和分值
+     */
+    public static Stream<Tuple> zscanStream(String key, String pattern, int count) {
+        return zscanIterator(key, pattern, count).stream();
+    }
+
+    /**
+     * 同zscanIterator,返回惰性Stream,终止操作执行时才开始读取
+     * @param key redis键
+     * @param pattern 表达式,为空时不过滤
+     * @param count 每页数量,小于等于0时使用redis默认值
+     * @param distinct 是否去掉SCAN重复返回的元素
+     * @return 成员和分值
+     */
+    public static Stream<Tuple> zscanStream(String key, String pattern, int count, boolean distinct) {
+        return zscanIterator(key, pattern, count, distinct).stream();
     }
 
     /**
@@ -6995,24 +6741,14 @@ public class RedisUtils {
      * @return 返回的每个元素都是一个有序集合元素,一个有序集合元素由一个成员(member)和一个分值(score)组成
      */
     public static ScanResult<Tuple> zscanBinary(byte[] key, byte[] cursor, byte[] pattern, int count){
-        ScanResult<Tuple> result = null;
-        Jedis jedis = null;
-        try {
-            ScanParams params = new ScanParams();
-            if(!StringUtils.isEmpty(pattern)){
-                params.match(pattern);
-            }
-            if(count > 0){
-                params.count(count);
-            }
-            jedis = getJedis();
-            result = jedis.zscan(key, cursor, params);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
+        ScanParams params = new ScanParams();
+        if(!StringUtils.isEmpty(pattern)){
+            params.match(pattern);
         }
-        return result;
+        if(count > 0){
+            params.count(count);
+        }
+        return executeRead(key, jedis -> jedis.zscan(key, cursor, params));
     }
 
     //**********          redis键数据操作的方法          **********//
@@ -7020,20 +6756,10 @@ public class RedisUtils {
     /**
      * 删除已存在的键,不存在的key会被忽略
      * @param key redis键
-     * @return 被删除key的数量
-     */
-    public static Long del(String key) {
-        Long value = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            value = jedis.del(key);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return value;
+     * @return 被删除key的数量
+     */
+    public static Long del(String key) {
+        return executeWrite(key, jedis -> jedis.del(key), pipeline -> pipeline.del(key));
     }
 
     /**
@@ -7055,17 +6781,11 @@ public class RedisUtils {
      * @return 被删除key的数量
      */
     public static Long del(String ... keys) {
-        Long value = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            value = jedis.del(keys);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
+        Map<JedisPool, List<Integer>> groups = shardGroups(keys);
+        if (groups != null) {
+            return written(sumByShard(keys, groups, Jedis::del), keys);
         }
-        return value;
+        return written(execute(keys, jedis -> jedis.del(keys), pipeline -> pipeline.del(keys)), keys);
     }
 
     /**
@@ -7087,17 +6807,7 @@ public class RedisUtils {
      * @return 被删除key的数量
      */
     public static Long del(byte[] key) {
-        Long value = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            value = jedis.del(key);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return value;
+        return executeWrite(key, jedis -> jedis.del(key), pipeline -> pipeline.del(key));
     }
 
     /**
@@ -7119,17 +6829,11 @@ public class RedisUtils {
      * @return 被删除key的数量
      */
     public static Long del(byte[] ... keys) {
-        Long value = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            value = jedis.del(keys);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
+        Map<JedisPool, List<Integer>> groups = shardGroups(keys);
+        if (groups != null) {
+            return written(sumByShard(keys, groups, Jedis::del), keys);
         }
-        return value;
+        return written(execute(keys, jedis -> jedis.del(keys), pipeline -> pipeline.del(keys)), keys);
     }
 
     /**
@@ -7147,15 +6851,12 @@ public class RedisUtils {
 
     /**
      * 批量模糊删除数据
+     * 使用SCAN增量查找以key开头的键,按redis.bulk-delete分批以pipeline发送UNLINK,不会像KEYS一样阻塞redis
      * @param key redis键
-     * @return 成功返回TRUE
+     * @return 成功返回TRUE,SCAN或UNLINK执行失败提前结束时返回FALSE
      */
     public static Boolean delLike(String key){
-        Set<String> set = keys(key +"*");
-        for (String s : set) {
-            del(s);
-        }
-        return Boolean.TRUE;
+        return !deleteByPattern(key + "*").isFailed();
     }
 
     /**
@@ -7171,23 +6872,117 @@ public class RedisUtils {
         return Boolean.TRUE;
     }
 
+    /**
+     * 删除匹配模式的全部键
+     * 逐个节点用SCAN MATCH增量查找,每批以pipeline发送UNLINK;集群模式下遍历每个主节点,分片模式下遍历每个分片
+     * @param pattern 匹配的模式,例如:sun*
+     * @return 匹配和删除的数量、耗时,执行失败提前结束时isFailed返回true
+     */
+    public static RedisDeleteResult deleteByPattern(String pattern){
+        return deleteByPattern(pattern, null);
+    }
+
+    /**
+     * 删除匹配模式的全部键
+     * @param pattern 匹配的模式,例如:sun*
+     * @param progress 每批删除后的进度回调,可以为null
+     * @return 匹配和删除的数量、耗时,执行失败提前结束时isFailed返回true
+     */
+    public static RedisDeleteResult deleteByPattern(String pattern, Consumer<RedisDeleteResult> progress){
+        JedisProperties.JedisBulkDeleteProperties properties = getBulkDeleteProperties();
+        return deleteByPattern(pattern, properties.getBatchSize(), properties.getMaxKeysPerSecond(), progress);
+    }
+
+    /**
+     * 删除匹配模式的全部键
+     * @param pattern 匹配的模式,例如:sun*
+     * @param batchSize 每批UNLINK的key数量
+     * @param maxKeysPerSecond 每秒最多删除的key数量,小于等于0时不限速
+     * @param progress 每批删除后的进度回调,可以为null
+     * @return 匹配和删除的数量、耗时,执行失败提前结束时isFailed返回true
+     */
+    public static RedisDeleteResult deleteByPattern(String pattern, int batchSize, int maxKeysPerSecond, Consumer<RedisDeleteResult> progress){
+        ScanParams params = scanParams(pattern, getBulkDeleteProperties().getScanCount());
+        return new RedisBulkDeleter(batchSize, maxKeysPerSecond).delete(pattern, deleteNodes(pattern),
+                (node, cursor) -> execute(node, jedis -> jedis.scan(cursor, params)), RedisUtils::unlink, progress);
+    }
+
+    /**
+     * 可能保存匹配pattern的键的节点
+     * pattern中通配符之前的部分按前缀路由到某个实例时只在这个实例上删除,否则包括默认连接池(或集群主节点、全部分片)和全部路由实例
+     */
+    private static List<Pool<Jedis>> deleteNodes(String pattern) {
+        int literal = 0;
+        while (literal < pattern.length() && "*?[\\".indexOf(pattern.charAt(literal)) < 0) {
+            literal++;
+        }
+        Pool<Jedis> routed = getRouter() == null ? null : getRouter().route(pattern.substring(0, literal));
+        if (routed != null) {
+            return Collections.singletonList(routed);
+        }
+        Set<Pool<Jedis>> nodes = new LinkedHashSet<>();
+        List<Pool<Jedis>> keyNodes = keyNodes();
+        if (keyNodes == null) {
+            nodes.add(defaultPool());
+        } else {
+            nodes.addAll(keyNodes);
+        }
+        if (getRouter() != null) {
+            nodes.addAll(getRouter().getInstances().values());
+        }
+        return new ArrayList<>(nodes);
+    }
+
+    /**
+     * 在节点上以pipeline发送一批UNLINK,每个key一条命令,集群模式下不会产生CROSSSLOT
+     * @return 删除数量,执行失败返回null
+     */
+    private static Long unlink(Pool<Jedis> node, List<String> keys) {
+        String[] batch = keys.toArray(new String[0]);
+        Long deleted = execute(node, jedis -> {
+            Pipeline pipeline = jedis.pipelined();
+            boolean useDel = unlinkUnsupported;
+            for (String key : batch) {
+                if (useDel) {
+                    pipeline.del(key);
+                } else {
+                    pipeline.unlink(key);
+                }
+            }
+            long count = 0;
+            for (Object reply : pipeline.syncAndReturnAll()) {
+                if (reply instanceof Long) {
+                    count += (Long) reply;
+                } else if (!useDel && reply instanceof Exception && String.valueOf(((Exception) reply).getMessage()).startsWith("ERR unknown command")) {
+                    unlinkUnsupported = true;
+                    return null;
+                }
+            }
+            return count;
+        });
+        if (deleted == null && unlinkUnsupported) {
+            // 不支持UNLINK时整批改用DEL重新发送
+            deleted = execute(node, jedis -> {
+                Pipeline pipeline = jedis.pipelined();
+                for (String key : batch) {
+                    pipeline.del(key);
+                }
+                return pipeline.syncAndReturnAll().stream().filter(Long.class::isInstance).mapToLong(Long.class::cast).sum();
+            });
+        }
+        if (deleted != null && (getNearCache() != null || getMappedCache() != null || getStaleCache() != null)) {
+            invalidate(batch);
+        }
+        return deleted;
+    }
+
     /**
      * 序列化给定key
      * @param key redis键
      * @return 如果key不存在,那么返回nil;否则,返回序列化之后的值
      */
     public static byte[] dump(String key){
-        byte[] result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.dump(key);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.dump(key), pipeline -> pipeline.dump(key));
     }
 
     /**
@@ -7196,17 +6991,7 @@ public class RedisUtils {
      * @return 如果key不存在,那么返回nil;否则,返回序列化之后的值
      */
     public static byte[] dump(byte[] key){
-        byte[] result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.dump(key);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(key, jedis -> jedis.dump(key), pipeline -> pipeline.dump(key));
     }
 
     /**
@@ -7215,17 +7000,7 @@ public class RedisUtils {
      * @return 若key存在返回true,否则返回false
      */
     public static Boolean exists(String key) {
-        Boolean value = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            value = jedis.exists(key);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return value;
+        return executeRead(key, jedis -> jedis.exists(key), pipeline -> pipeline.exists(key));
     }
 
     /**
@@ -7234,17 +7009,11 @@ public class RedisUtils {
      * @return 存在的键的个数
      */
     public static Long exists(String ... key) {
-        Long value = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            value = jedis.exists(key);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
+        Map<JedisPool, List<Integer>> groups = shardGroups(key);
+        if (groups != null) {
+            return sumByShard(key, groups, Jedis::exists);
         }
-        return value;
+        return executeRead(key, jedis -> jedis.exists(key), pipeline -> pipeline.exists(key));
     }
 
     /**
@@ -7253,17 +7022,7 @@ public class RedisUtils {
      * @return 若key存在返回true,否则返回false
      */
     public static Boolean exists(byte[] key) {
-        Boolean value = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            value = jedis.exists(key);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return value;
+        return executeRead(key, jedis -> jedis.exists(key), pipeline -> pipeline.exists(key));
     }
 
     /**
@@ -7272,17 +7031,11 @@ public class RedisUtils {
      * @return 存在的键的个数
      */
     public static Long exists(byte[] ... key) {
-        Long value = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            value = jedis.exists(key);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
+        Map<JedisPool, List<Integer>> groups = shardGroups(key);
+        if (groups != null) {
+            return sumByShard(key, groups, Jedis::exists);
         }
-        return value;
+        return executeRead(key, jedis -> jedis.exists(key), pipeline -> pipeline.exists(key));
     }
 
     /**
@@ -7292,17 +7045,7 @@ public class RedisUtils {
      * @return 设置成功返回1;当key不存在或者不能为key设置过期时间时(比如在低于2.1.3版本的Redis中你尝试更新key的过期时间)返回0
      */
     public static Long expire(String key, int expireSeconds) {
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.expire(key, expireSeconds);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.expire(key, expireSeconds), pipeline -> pipeline.expire(key, expireSeconds));
     }
 
     /**
@@ -7326,17 +7069,7 @@ public class RedisUtils {
      * @return 设置成功返回1;当key不存在或者不能为key设置过期时间时(比如在低于2.1.3版本的Redis中你尝试更新key的过期时间)返回0
      */
     public static Long expire(byte[] key, int expireSeconds) {
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.expire(key, expireSeconds);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.expire(key, expireSeconds), pipeline -> pipeline.expire(key, expireSeconds));
     }
 
     /**
@@ -7360,17 +7093,7 @@ public class RedisUtils {
      * @return 设置成功返回1;当key不存在或者不能为key设置过期时间时(比如在低于2.1.3版本的Redis中你尝试更新key的过期时间)返回0
      */
     public static Long expireAt(String key, long unixTime){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.expireAt(key, unixTime);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.expireAt(key, unixTime), pipeline -> pipeline.expireAt(key, unixTime));
     }
 
     /**
@@ -7394,17 +7117,7 @@ public class RedisUtils {
      * @return 设置成功返回1;当key不存在或者不能为key设置过期时间时(比如在低于2.1.3版本的Redis中你尝试更新key的过期时间)返回0
      */
     public static Long expireAt(byte[] key, long unixTime){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.expireAt(key, unixTime);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.expireAt(key, unixTime), pipeline -> pipeline.expireAt(key, unixTime));
     }
 
     /**
@@ -7428,17 +7141,7 @@ public class RedisUtils {
      * @return 设置成功返回1;当key不存在或者不能为key设置过期时间时(比如在低于2.1.3版本的Redis中你尝试更新key的过期时间)返回0
      */
     public static Long pexpire(String key, long milliseconds){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.pexpire(key, milliseconds);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.pexpire(key, milliseconds), pipeline -> pipeline.pexpire(key, milliseconds));
     }
 
     /**
@@ -7462,17 +7165,7 @@ public class RedisUtils {
      * @return 设置成功返回1;当key不存在或者不能为key设置过期时间时(比如在低于2.1.3版本的Redis中你尝试更新key的过期时间)返回0
      */
     public static Long pexpire(byte[] key, long milliseconds){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.pexpire(key, milliseconds);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.pexpire(key, milliseconds), pipeline -> pipeline.pexpire(key, milliseconds));
     }
 
     /**
@@ -7496,17 +7189,7 @@ public class RedisUtils {
      * @return 设置成功返回1;当key不存在或者不能为key设置过期时间时(比如在低于2.1.3版本的Redis中你尝试更新key的过期时间)返回0
      */
     public static Long pExpireAt(String key, long millisecondsTimestamp){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.pexpireAt(key, millisecondsTimestamp);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.pexpireAt(key, millisecondsTimestamp), pipeline -> pipeline.pexpireAt(key, millisecondsTimestamp));
     }
 
     /**
@@ -7530,17 +7213,7 @@ public class RedisUtils {
      * @return 设置成功返回1;当key不存在或者不能为key设置过期时间时(比如在低于2.1.3版本的Redis中你尝试更新key的过期时间)返回0
      */
     public static Long pExpireAt(byte[] key, long millisecondsTimestamp){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.pexpireAt(key, millisecondsTimestamp);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.pexpireAt(key, millisecondsTimestamp), pipeline -> pipeline.pexpireAt(key, millisecondsTimestamp));
     }
 
     /**
@@ -7563,17 +7236,7 @@ public class RedisUtils {
      * @return 符合给定模式的key列表
      */
     public static Set<String> keys(String pattern){
-        Set<String> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.keys(pattern);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(jedis -> jedis.keys(pattern));
     }
 
     /**
@@ -7582,17 +7245,7 @@ public class RedisUtils {
      * @return 符合给定模式的key列表
      */
     public static Set<byte[]> keys(byte[] pattern){
-        Set<byte[]> result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.keys(pattern);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(jedis -> jedis.keys(pattern));
     }
 
     /**
@@ -7602,17 +7255,7 @@ public class RedisUtils {
      * @return 移动成功返回1,失败则返回0
      */
     public static Long move(String key, int dbIndex){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.move(key, dbIndex);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.move(key, dbIndex), pipeline -> pipeline.move(key, dbIndex));
     }
 
     /**
@@ -7636,17 +7279,7 @@ public class RedisUtils {
      * @return 移动成功返回1,失败则返回0
      */
     public static Long move(byte[] key, int dbIndex){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.move(key, dbIndex);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.move(key, dbIndex), pipeline -> pipeline.move(key, dbIndex));
     }
 
     /**
@@ -7669,17 +7302,7 @@ public class RedisUtils {
      * @return 当过期时间移除成功时,返回1;如果key不存在或key没有设置过期时间,返回0
      */
     public static Long persist(String key){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.persist(key);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.persist(key), pipeline -> pipeline.persist(key));
     }
 
     /**
@@ -7701,17 +7324,7 @@ public class RedisUtils {
      * @return 当过期时间移除成功时,返回1;如果key不存在或key没有设置过期时间,返回0
      */
     public static Long persist(byte[] key){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.persist(key);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeWrite(key, jedis -> jedis.persist(key), pipeline -> pipeline.persist(key));
     }
 
     /**
@@ -7734,17 +7347,8 @@ public class RedisUtils {
      * 注意:在Redis2.8以前,当key不存在,或者key没有设置剩余生存时间时,命令都返回-1
      */
     public static long ttl(String key) {
-        long result = -1L;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.ttl(key);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        Long result = executeRead(key, jedis -> jedis.ttl(key), pipeline -> pipeline.ttl(key));
+        return result == null ? -1L : result;
     }
 
     /**
@@ -7754,17 +7358,8 @@ public class RedisUtils {
      * 注意:在Redis2.8以前,当key不存在,或者key没有设置剩余生存时间时,命令都返回-1
      */
     public static long ttl(byte[] key) {
-        long result = -1L;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.ttl(key);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        Long result = executeRead(key, jedis -> jedis.ttl(key), pipeline -> pipeline.ttl(key));
+        return result == null ? -1L : result;
     }
 
     /**
@@ -7774,17 +7369,8 @@ public class RedisUtils {
      * 注意:在Redis2.8以前,当key不存在,或者key没有设置剩余生存时间时,命令都返回-1
      */
     public static long pttl(String key) {
-        long result = -1L;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.pttl(key);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        Long result = executeRead(key, jedis -> jedis.pttl(key), pipeline -> pipeline.pttl(key));
+        return result == null ? -1L : result;
     }
 
     /**
@@ -7794,35 +7380,16 @@ public class RedisUtils {
      * 注意:在Redis2.8以前,当key不存在,或者key没有设置剩余生存时间时,命令都返回-1
      */
     public static long pttl(byte[] key) {
-        long result = -1L;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.pttl(key);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        Long result = executeRead(key, jedis -> jedis.pttl(key), pipeline -> pipeline.pttl(key));
+        return result == null ? -1L : result;
     }
 
     /**
      * 从当前数据库中随机返回一个 key
      * @return 当数据库不为空时,返回一个key;当数据库为空时,返回nil(windows系统返回null)
-     */
-    public static String randomKey(){
-        String result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.randomKey();
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+     */
+    public static String randomKey(){
+        return executeRead(jedis -> jedis.randomKey());
     }
 
     /**
@@ -7830,17 +7397,7 @@ public class RedisUtils {
      * @return 当数据库不为空时,返回一个key;当数据库为空时,返回nil(windows系统返回null)
      */
     public static byte[] randomBinaryKey(){
-        byte[] result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.randomBinaryKey();
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return executeRead(jedis -> jedis.randomBinaryKey());
     }
 
     /**
@@ -7851,17 +7408,7 @@ public class RedisUtils {
      * 当key和newKey相同,或者key不存在时,返回一个错误;当newKey已经存在时,将覆盖旧值
      */
     public static String rename(String key, String newKey){
-        String result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.rename(key, newKey);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return written(execute(key, jedis -> jedis.rename(key, newKey), pipeline -> pipeline.rename(key, newKey)), key, newKey);
     }
 
     /**
@@ -7887,17 +7434,7 @@ public class RedisUtils {
      * 当key和newKey相同,或者key不存在时,返回一个错误;当newKey已经存在时,将覆盖旧值
      */
     public static String rename(byte[] key, byte[] newKey){
-        String result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.rename(key, newKey);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return written(execute(key, jedis -> jedis.rename(key, newKey), pipeline -> pipeline.rename(key, newKey)), key, newKey);
     }
 
     /**
@@ -7922,17 +7459,7 @@ public class RedisUtils {
      * @return 修改成功时,返回1;如果newKey已经存在,返回0
      */
     public static Long renamenx(String key, String newKey){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.renamenx(key, newKey);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return written(execute(key, jedis -> jedis.renamenx(key, newKey), pipeline -> pipeline.renamenx(key, newKey)), key, newKey);
     }
 
     /**
@@ -7956,17 +7483,7 @@ public class RedisUtils {
      * @return 修改成功时,返回1;如果newKey已经存在,返回0
      */
     public static Long renamenx(byte[] key, byte[] newKey){
-        Long result = null;
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            result = jedis.renamenx(key, newKey);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
-        }
-        return result;
+        return written(execute(key, jedis -> jedis.renamenx(key, newKey), pipeline -> pipeline.renamenx(key, newKey)), key, newKey);
     }
 
     /**
@@ -8038,24 +7555,110 @@ public class RedisUtils {
      * @return 一个包含两个元素的数组,第一个元素是用于进行下一次迭代的新游标,而第二个元素则是一个数组,这个数组中包含了所有被迭代的元素;如果新游标返回0表示迭代已结束
      */
     public static ScanResult<String> scan(String cursor, String pattern, int count){
-        ScanResult<String> result = null;
-        Jedis jedis = null;
-        try {
-            ScanParams scanParams = new ScanParams();
-            if(!StringUtils.isEmpty(pattern)){
-                scanParams.match(pattern);
-            }
-            if(count > 0){
-                scanParams.count(count);
+        ScanParams scanParams = new ScanParams();
+        if(!StringUtils.isEmpty(pattern)){
+            scanParams.match(pattern);
+        }
+        if(count > 0){
+            scanParams.count(count);
+        }
+        return executeRead(jedis -> jedis.scan(cursor,scanParams));
+    }
+
+    /**
+     * 数据库键的惰性迭代器,当前页用完后才用返回的游标读取下一页,直到游标回到0
+     * 每一页单独借用连接,迭代过程中不占用连接;集群模式下依次迭代每个主节点,分片模式下依次迭代每个分片
+     * @param pattern 表达式,为空时不过滤
+     * @param count 每页数量,小于等于0时使用redis默认值
+     * @return 数据库键,某一页执行失败时提前结束,isFailed返回true
+     */
+    public static RedisScanIterator<String> scanIterator(String pattern, int count) {
+        return scanIterator(pattern, count, false);
+    }
+
+    /**
+     * 数据库键的惰性迭代器,当前页用完后才用返回的游标读取下一页,直到游标回到0
+     * 每一页单独借用连接,迭代过程中不占用连接;集群模式下依次迭代每个主节点,分片模式下依次迭代每个分片
+     * @param pattern 表达式,为空时不过滤
+     * @param count 每页数量,小于等于0时使用redis默认值
+     * @param distinct 是否去掉SCAN重复返回的元素,去重需要保留已返回元素的标识
+     * @return 数据库键,某一页执行失败时提前结束,isFailed返回true
+     */
+    public static RedisScanIterator<String> scanIterator(String pattern, int count, boolean distinct) {
+        ScanParams params = scanParams(pattern, count);
+        List<Function<String, ScanResult<String>>> sources = new ArrayList<>();
+        List<Pool<Jedis>> nodes = keyNodes();
+        if (nodes == null) {
+            Pool<Jedis> pool = scanPool(null);
+            sources.add(cursor -> execute(pool, jedis -> jedis.scan(cursor, params)));
+        } else {
+            for (Pool<Jedis> node : nodes) {
+                sources.add(cursor -> execute(node, jedis -> jedis.scan(cursor, params)));
             }
-            jedis = getJedis();
-            result = jedis.scan(cursor,scanParams);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
         }
-        return result;
+        return new RedisScanIterator<>(sources, distinct ? Function.identity() : null);
+    }
+
+    /**
+     * 同scanIterator,返回惰性Stream,终止操作执行时才开始读取
+     * @param pattern 表达式,为空时不过滤
+     * @param count 每页数量,小于等于0时使用redis默认值
+     * @return 数据库键
+     */
+    public static Stream<String> scanStream(String pattern, int count) {
+        return scanIterator(pattern, count).stream();
+    }
+
+    /**
+     * 同scanIterator,返回惰性Stream,终止操作执行时才开始读取
+     * @param pattern 表达式,为空时不过滤
+     * @param count 每页数量,小于等于0时使用redis默认值
+     * @param distinct 是否去掉SCAN重复返回的元素
+     * @return 数据库键
+     */
+    public static Stream<String> scanStream(String pattern, int count, boolean distinct) {
+        return scanIterator(pattern, count, distinct).stream();
+    }
+
+    /**
+     * 保存key的全部节点:集群模式下为每个主节点,分片模式下为每个分片
+     * @return 节点连接池,单节点时返回null
+     */
+    private static List<Pool<Jedis>> keyNodes() {
+        if (getCluster() != null) {
+            return new ArrayList<>(getCluster().getMasterNodes());
+        }
+        if (getShardedPool() != null) {
+            return new ArrayList<>(getShardedPool().getShards().values());
+        }
+        return null;
+    }
+
+    /**
+     * 整个scan迭代使用的连接池,游标只在返回它的redis上有效,每一页都发送到同一个连接池
+     * 按前缀路由的实例或key所在分片、集群模式下key所在slot的主节点、开启读写分离时选定的一个从节点,否则为默认连接池
+     * @param key redis键,scan时为null
+     */
+    private static Pool<Jedis> scanPool(String key) {
+        Pool<Jedis> instance = key == null ? null : route(key);
+        if (instance != null) {
+            return instance;
+        }
+        if (getCluster() != null) {
+            return getCluster().getSlotPool(RedisClusterClient.getSlot(key));
+        }
+        return readOnReplica() ? getReplicaPool().nextPool() : defaultPool();
+    }
+
+    private static ScanParams scanParams(String pattern, int count) {
+        ScanParams params = new ScanParams();
+        if(!StringUtils.isEmpty(pattern)){
+            params.match(pattern);
+        }
+        if(count > 0){
+            params.count(count);
+        }
+        return params;
     }
 
     /**
@@ -8113,24 +7716,14 @@ public class RedisUtils {
      * @return 一个包含两个元素的数组,第一个元素是用于进行下一次迭代的新游标,而第二个元素则是一个数组,这个数组中包含了所有被迭代的元素;如果新游标返回0表示迭代已结束
      */
     public static ScanResult<byte[]> scanBinary(byte[] cursor, byte[] pattern, int count){
-        ScanResult<byte[]> result = null;
-        Jedis jedis = null;
-        try {
-            ScanParams scanParams = new ScanParams();
-            if(!StringUtils.isEmpty(pattern)){
-                scanParams.match(pattern);
-            }
-            if(count > 0){
-                scanParams.count(count);
-            }
-            jedis = getJedis();
-            result = jedis.scan(cursor,scanParams);
-        } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
+        ScanParams scanParams = new ScanParams();
+        if(!StringUtils.isEmpty(pattern)){
+            scanParams.match(pattern);
         }
-        return result;
+        if(count > 0){
+            scanParams.count(count);
+        }
+        return executeRead(jedis -> jedis.scan(cursor,scanParams));
     }
 
     /**
@@ -8139,36 +7732,440 @@ public class RedisUtils {
      * @return none:不存在,string字符串,list列表,set集合,zset有序集合,hash哈希
      */
     public static String type(String key){
-        String result = null;
-        Jedis jedis = null;
+        return executeRead(key, jedis -> jedis.type(key), pipeline -> pipeline.type(key));
+    }
+
+    /**
+     * 返回key所储存的值的类型
+     * @param key redis键
+     * @return none:不存在,string字符串,list列表,set集合,zset有序集合,hash哈希
+     */
+    public static String type(byte[] key){
+        return executeRead(key, jedis -> jedis.type(key), pipeline -> pipeline.type(key));
+    }
+
+    //**********          redis缓存加载的方法          **********//
+
+    /**
+     * 读取缓存,不存在时调用loader加载并写入缓存
+     * 同一进程内同一个key只有一个线程执行loader,多个进程之间通过租约key(key:lease)保证只有一个进程加载
+     * 等待加载的调用方有旧值(key:stale)时直接返回旧值,否则等待加载结果
+     * @param key redis键
+     * @param clz 值的类型
+     * @param loader 加载数据,返回null时不写入缓存
+     * @param expireSeconds 过期时间 - 秒
+     * @return 缓存或加载的值
+     */
+    public static <T> T getOrLoad(String key, Class<T> clz, Supplier<T> loader, int expireSeconds) {
+        Supplier<T> read = () -> getObj(key, clz);
+        T value = read.get();
+        return value != null ? value : loadOnce(key, clz, read, () -> load(key, loader, expireSeconds));
+    }
+
+    /**
+     * 读取缓存,不存在时调用loader加载并写入缓存
+     * @param key redis键
+     * @param clz 值的类型
+     * @param loader 加载数据,返回null时不写入缓存
+     * @param expireSeconds 过期时间 - 秒
+     * @return 缓存或加载的值
+     */
+    public static <T> T getOrLoad(String key, Class<T> clz, Supplier<T> loader, long expireSeconds) {
+        return getOrLoad(key, clz, loader, (int) expireSeconds);
+    }
+
+    /**
+     * 提前刷新的getOrLoad,值和加载耗时、过期时间一起保存,key的过期时间与保存的过期时间相同
+     * 每次读取按XFetch算法判断是否提前刷新:当前时间 - 加载耗时 * beta * ln(random) >= 过期时间时在后台重新加载,
+     * 越接近过期、加载越慢,提前刷新的概率越大,热点key在过期前就已经刷新,调用方几乎不会遇到缓存缺失
+     * 保存的格式与setObj不同,同一个key只能使用getOrRefresh读取
+     * @param key redis键
+     * @param clz 值的类型
+     * @param loader 加载数据,返回null时不写入缓存
+     * @param expireSeconds 过期时间 - 秒
+     * @return 缓存或加载的值
+     */
+    public static <T> T getOrRefresh(String key, Class<T> clz, Supplier<T> loader, int expireSeconds) {
+        Supplier<T> loadAndSet = () -> loadAhead(key, loader, expireSeconds);
+        String raw = get(key);
+        if (raw != null) {
+            try {
+                JSONObject envelope = JSON.parseObject(raw);
+                T value = envelope.getObject("value", clz);
+                long delta = envelope.getLongValue("delta");
+                long expireAt = envelope.getLongValue("expireAt");
+                double random = 1 - ThreadLocalRandom.current().nextDouble();
+                if (System.currentTimeMillis() - delta * getLoadProperties().getRefreshBeta() * Math.log(random) >= expireAt) {
+                    refreshAsync(key, loadAndSet);
+                }
+                if (value != null) {
+                    return value;
+                }
+            } catch (Exception e) {
+                log.error("redis operate fail ==> ", e);
+            }
+        }
+        return loadOnce(key, clz, () -> refreshed(key, clz), loadAndSet);
+    }
+
+    /**
+     * 提前刷新的getOrLoad
+     * @param key redis键
+     * @param clz 值的类型
+     * @param loader 加载数据,返回null时不写入缓存
+     * @param expireSeconds 过期时间 - 秒
+     * @return 缓存或加载的值
+     */
+    public static <T> T getOrRefresh(String key, Class<T> clz, Supplier<T> loader, long expireSeconds) {
+        return getOrRefresh(key, clz, loader, (int) expireSeconds);
+    }
+
+    /**
+     * 同一进程内同一个key只有一个线程加载,其他线程返回旧值或等待加载结果
+     * @param key redis键
+     * @param clz 值的类型
+     * @param read 读取缓存
+     * @param load 加载并写入缓存
+     * @return 缓存或加载的值
+     */
+    private static <T> T loadOnce(String key, Class<T> clz, Supplier<T> read, Supplier<T> load) {
+        CompletableFuture<Object> loading = new CompletableFuture<>();
+        CompletableFuture<Object> existing = LOADING.putIfAbsent(key, loading);
+        if (existing != null) {
+            return awaitLoad(key, clz, read, existing);
+        }
+        try {
+            T loaded = loadWithLease(key, clz, read, load);
+            loading.complete(loaded);
+            return loaded;
+        } catch (RuntimeException e) {
+            loading.completeExceptionally(e);
+            throw e;
+        } finally {
+            LOADING.remove(key, loading);
+        }
+    }
+
+    /**
+     * 后台刷新,同一进程内正在加载或其他进程持有租约时不刷新
+     * @param key redis键
+     * @param load 加载并写入缓存
+     */
+    private static void refreshAsync(String key, Supplier<?> load) {
+        CompletableFuture<Object> loading = new CompletableFuture<>();
+        if (LOADING.putIfAbsent(key, loading) != null) {
+            return;
+        }
+        try {
+            getRefreshExecutor().execute(() -> {
+                String leaseKey = key + LEASE_SUFFIX;
+                String requestId = UUID.randomUUID().toString();
+                try {
+                    if (getLock(leaseKey, requestId, getLoadProperties().getLeaseSeconds())) {
+                        try {
+                            loading.complete(load.get());
+                        } finally {
+                            releaseLock(leaseKey, requestId);
+                        }
+                    }
+                } catch (Exception e) {
+                    log.error("redis refresh fail ==> ", e);
+                } finally {
+                    loading.complete(null);
+                    LOADING.remove(key, loading);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 刷新线程池已满时放弃本次刷新,不在读取线程中执行loader,之后的读取会再次判断
+            LOADING.remove(key, loading);
+            log.debug("redis refresh skipped, key[{}]", key);
+        } catch (RuntimeException e) {
+            LOADING.remove(key, loading);
+            log.error("redis refresh fail ==> ", e);
+        }
+    }
+
+    /**
+     * getOrRefresh后台刷新使用的线程池,与异步调用的线程池分开,队列满时拒绝
+     * @return 刷新线程池
+     */
+    private static RedisAsyncExecutor getRefreshExecutor() {
+        if (refreshExecutor == null) {
+            synchronized (RedisUtils.class) {
+                if (refreshExecutor == null) {
+                    JedisProperties.JedisLoadProperties properties = getLoadProperties();
+                    refreshExecutor = new RedisAsyncExecutor("redis-refresh-", Math.max(1, properties.getRefreshThreads()),
+                            Math.max(1, properties.getRefreshQueueCapacity()), new ThreadPoolExecutor.AbortPolicy());
+                }
+            }
+        }
+        return refreshExecutor;
+    }
+
+    /**
+     * 同一进程内其他线程正在加载,有旧值时返回旧值,否则等待加载结果
+     * 没有等到结果时用read重新读取,getOrRefresh保存的格式与getObj不同
+     */
+    private static <T> T awaitLoad(String key, Class<T> clz, Supplier<T> read, CompletableFuture<Object> loading) {
+        T stale = getObj(key + STALE_SUFFIX, clz, getCodec(key, clz));
+        if (stale != null) {
+            return stale;
+        }
         try {
-            jedis = getJedis();
-            result = jedis.type(key);
+            // 加载线程最多等待一个租约时间再加载
+            Object loaded = loading.get(getLoadProperties().getLeaseSeconds() * 2L, TimeUnit.SECONDS);
+            // 后台刷新没有获取到租约时结果为null
+            return loaded != null ? clz.cast(loaded) : read.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (TimeoutException e) {
+            log.warn("redis load wait timeout, key[{}]", key);
+            return read.get();
         } catch (Exception e) {
             log.error("redis operate fail ==> ", e);
-        } finally {
-            close(jedis);
         }
-        return result;
+        return null;
     }
 
     /**
-     * 返回key所储存的值的类型
+     * 获取租约后加载;其他进程持有租约时返回旧值,或者等待其他进程加载完成,租约过期后仍没有值时由本进程加载
+     */
+    private static <T> T loadWithLease(String key, Class<T> clz, Supplier<T> read, Supplier<T> load) {
+        int leaseSeconds = getLoadProperties().getLeaseSeconds();
+        String leaseKey = key + LEASE_SUFFIX;
+        String requestId = UUID.randomUUID().toString();
+        if (getLock(leaseKey, requestId, leaseSeconds)) {
+            try {
+                // 获取租约前其他进程可能已经加载完成
+                T value = read.get();
+                return value != null ? value : load.get();
+            } finally {
+                releaseLock(leaseKey, requestId);
+            }
+        }
+        T stale = getObj(key + STALE_SUFFIX, clz, getCodec(key, clz));
+        if (stale != null) {
+            return stale;
+        }
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(leaseSeconds);
+        // redis不可用时exists返回null,直接加载
+        while (System.currentTimeMillis() < deadline && Boolean.TRUE.equals(exists(leaseKey))) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(LOAD_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            T value = read.get();
+            if (value != null) {
+                return value;
+            }
+        }
+        T value = read.get();
+        return value != null ? value : load.get();
+    }
+
+    private static <T> T load(String key, Supplier<T> loader, int expireSeconds) {
+        T value = loader.get();
+        if (value != null) {
+            byte[] bytes = getCodec(key, value.getClass()).encode(value);
+            set(SafeEncoder.encode(key), bytes, expireSeconds);
+            setStale(key, bytes, expireSeconds);
+        }
+        return value;
+    }
+
+    private static <T> T loadAhead(String key, Supplier<T> loader, int expireSeconds) {
+        long start = System.currentTimeMillis();
+        T value = loader.get();
+        if (value != null) {
+            long now = System.currentTimeMillis();
+            JSONObject envelope = new JSONObject();
+            envelope.put("value", value);
+            envelope.put("delta", now - start);
+            envelope.put("expireAt", now + TimeUnit.SECONDS.toMillis(expireSeconds));
+            set(key, envelope.toJSONString(), expireSeconds);
+            setStale(key, getCodec(key, value.getClass()).encode(value), expireSeconds);
+        }
+        return value;
+    }
+
+    private static void setStale(String key, byte[] bytes, int expireSeconds) {
+        int staleSeconds = getLoadProperties().getStaleSeconds();
+        if (staleSeconds > 0) {
+            set(SafeEncoder.encode(key + STALE_SUFFIX), bytes, expireSeconds + staleSeconds);
+        }
+    }
+
+    /**
+     * 读取getOrRefresh保存的值,不判断提前刷新
+     */
+    private static <T> T refreshed(String key, Class<T> clz) {
+        String raw = get(key);
+        try {
+            return raw == null ? null : JSON.parseObject(raw).getObject("value", clz);
+        } catch (Exception e) {
+            log.error("redis operate fail ==> ", e);
+        }
+        return null;
+    }
+
+    //**********          redis批量操作的方法          **********//
+
+    /**
+     * 在一个连接上以pipeline方式执行多条命令
+     * 使用不针对key的命令所在的连接,集群模式下随机选择一个节点,命令中的key需要都在该节点上
+     * 无法识别命令中的key,不会失效本地缓存
+     * @param commands 命令
+     * @return 按命令顺序返回的结果,单条命令失败时对应位置为异常;执行失败返回null
+     */
+    public static List<Object> pipelined(Consumer<Pipeline> commands) {
+        return execute(jedis -> syncAndReturnAll(jedis, commands));
+    }
+
+    /**
+     * 在key所在的连接上以pipeline方式执行多条命令,命令中的key需要与key在同一实例/分片/slot
      * @param key redis键
-     * @return none:不存在,string字符串,list列表,set集合,zset有序集合,hash哈希
+     * @param commands 命令
+     * @return 按命令顺序返回的结果,单条命令失败时对应位置为异常;执行失败返回null
      */
-    public static String type(byte[] key){
-        String result = null;
+    public static List<Object> pipelined(String key, Consumer<Pipeline> commands) {
+        return executeWrite(key, jedis -> syncAndReturnAll(jedis, commands));
+    }
+
+    /**
+     * 对每个key执行一条命令,按key所在的实例/分片/集群节点分组,每组按redis.pipeline.chunk-size分批以pipeline发送
+     * 例: RedisUtils.pipelined(keys, (pipeline, key) -> pipeline.get(key))
+     * @param keys redis键
+     * @param command 每个key要执行的命令
+     * @return 与keys顺序一致的结果,单条命令失败时对应位置为null
+     */
+    public static <T> List<T> pipelined(List<String> keys, BiFunction<Pipeline, String, Response<T>> command) {
+        return pipelined(keys, Function.identity(), command, getPipelineChunkSize());
+    }
+
+    /**
+     * 对每个key执行一条命令,按key所在的实例/分片/集群节点分组,每组按chunkSize分批以pipeline发送
+     * @param keys redis键
+     * @param command 每个key要执行的命令
+     * @param chunkSize 每批的命令数,小于等于0时使用redis.pipeline.chunk-size
+     * @return 与keys顺序一致的结果,单条命令失败时对应位置为null
+     */
+    public static <T> List<T> pipelined(List<String> keys, BiFunction<Pipeline, String, Response<T>> command, int chunkSize) {
+        return pipelined(keys, Function.identity(), command, chunkSize);
+    }
+
+    /**
+     * 对每个元素执行一条命令,按元素的key所在的实例/分片/集群节点分组,每组按chunkSize分批以pipeline发送
+     * 例: RedisUtils.pipelined(users, user -> "user:" + user.getId(), (pipeline, user) -> pipeline.set("user:" + user.getId(), user.getName()), 0)
+     * 集群slot迁移导致的MOVED/ASK会按最新路由逐条重试
+     * @param items 元素
+     * @param keyMapper 元素对应的redis键,用于路由
+     * @param command 每个元素要执行的命令
+     * @param chunkSize 每批的命令数,小于等于0时使用redis.pipeline.chunk-size
+     * @return 与items顺序一致的结果,单条命令失败时对应位置为null
+     */
+    public static <E, T> List<T> pipelined(List<E> items, Function<E, String> keyMapper, BiFunction<Pipeline, E, Response<T>> command, int chunkSize) {
+        if (items == null || items.isEmpty()) {
+            return new ArrayList<>();
+        }
+        int size = chunkSize > 0 ? chunkSize : getPipelineChunkSize();
+        List<T> results = new ArrayList<>(Collections.nCopies(items.size(), null));
+        Map<Pool<Jedis>, List<Integer>> groups = new LinkedHashMap<>();
+        List<Integer> unrouted = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            Pool<Jedis> target = pipelineTarget(keyMapper.apply(items.get(i)));
+            if (target == null) {
+                unrouted.add(i);
+            } else {
+                groups.computeIfAbsent(target, k -> new ArrayList<>()).add(i);
+            }
+        }
+        for (Map.Entry<Pool<Jedis>, List<Integer>> group : groups.entrySet()) {
+            List<Integer> indexes = group.getValue();
+            for (int from = 0; from < indexes.size(); from += size) {
+                pipelineChunk(group.getKey(), items, indexes.subList(from, Math.min(from + size, indexes.size())), command, results, unrouted);
+            }
+        }
+        if (getNearCache() != null || getMappedCache() != null || getStaleCache() != null) {
+            invalidate(items.stream().map(keyMapper).toArray(String[]::new));
+        }
+        for (Integer index : unrouted) {
+            E item = items.get(index);
+            results.set(index, execute(keyMapper.apply(item), jedis -> {
+                Pipeline pipeline = jedis.pipelined();
+                Response<T> response = command.apply(pipeline, item);
+                pipeline.sync();
+                return response.get();
+            }));
+        }
+        return results;
+    }
+
+    private static List<Object> syncAndReturnAll(Jedis jedis, Consumer<Pipeline> commands) {
+        Pipeline pipeline = jedis.pipelined();
+        commands.accept(pipeline);
+        return pipeline.syncAndReturnAll();
+    }
+
+    /**
+     * 批量pipeline中key所属的连接池,集群模式下为slot所在主节点
+     */
+    private static Pool<Jedis> pipelineTarget(String key) {
+        Pool<Jedis> target = route(key);
+        if (target == null) {
+            target = getCluster() != null ? getCluster().getSlotPool(RedisClusterClient.getSlot(key)) : defaultPool();
+        }
+        return target;
+    }
+
+    /**
+     * 在一个连接上发送一批命令,结果写回results对应下标
+     * @param retries 需要按最新路由重试的下标(集群MOVED/ASK)
+     */
+    private static <E, T> void pipelineChunk(Pool<Jedis> pool, List<E> items, List<Integer> indexes, BiFunction<Pipeline, E, Response<T>> command,
+                                             List<T> results, List<Integer> retries) {
+        if (!allowRequest()) {
+            return;
+        }
+        long start = System.nanoTime();
         Jedis jedis = null;
         try {
-            jedis = getJedis();
-            result = jedis.type(key);
+            jedis = pool.getResource();
+            start = System.nanoTime();
+            Pipeline pipeline = jedis.pipelined();
+            List<Response<T>> responses = new ArrayList<>(indexes.size());
+            for (Integer index : indexes) {
+                responses.add(command.apply(pipeline, items.get(index)));
+            }
+            pipeline.sync();
+            for (int i = 0; i < indexes.size(); i++) {
+                try {
+                    results.set(indexes.get(i), responses.get(i).get());
+                } catch (JedisRedirectionException e) {
+                    retries.add(indexes.get(i));
+                } catch (Exception e) {
+                    log.error("redis operate fail ==> ", e);
+                }
+            }
+            succeeded(start);
         } catch (Exception e) {
-            log.error("redis operate fail ==> ", e);
+            failed(e, start);
         } finally {
             close(jedis);
         }
-        return result;
+    }
+
+    //**********          redis发布订阅的方法          **********//
+
+    /**
+     * 将信息发送到指定的频道
+     * @param channel 频道
+     * @param message 信息
+     * @return 接收到信息的订阅者数量
+     */
+    public static Long publish(String channel, String message) {
+        return execute(jedis -> jedis.publish(channel, message));
     }
 
     //**********          redis并发操作的方法          **********//
@@ -8241,18 +8238,10 @@ public class RedisUtils {
      * @return 获取成功TRUE,失败FALSE
      */
     public static Boolean getLock(String key, String requestId, int expireSeconds){
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            String result = jedis.set(key, requestId, SetParams.setParams().ex(expireSeconds).nx());
-            if (OK.equals(result)) {
-                log.info("redis get distributed lock success, key[{}], requestId[{}], expireSeconds[{}]", key, requestId, expireSeconds);
-                return Boolean.TRUE;
-            }
-        } catch (Exception e) {
-            log.error("redis get distributed lock fail => ", e);
-        } finally {
-            close(jedis);
+        String result = executeWrite(key, jedis -> jedis.set(key, requestId, SetParams.setParams().ex(expireSeconds).nx()));
+        if (OK.equals(result)) {
+            log.info("redis get distributed lock success, key[{}], requestId[{}], expireSeconds[{}]", key, requestId, expireSeconds);
+            return Boolean.TRUE;
         }
         return Boolean.FALSE;
     }
@@ -8265,19 +8254,11 @@ public class RedisUtils {
      * @return 解锁成功TRUE,失败FALSE
      */
     public static Boolean releaseLock(String key, String requestId){
-        Jedis jedis = null;
-        try {
-            jedis = getJedis();
-            String script = "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end";
-            Object result = jedis.eval(script, Collections.singletonList(key), Collections.singletonList(requestId));
-            if (OK.equals(result)) {
-                log.info("redis release distributed lock success, key[{}], requestId[{}]", key, requestId);
-                return Boolean.TRUE;
-            }
-        } catch (Exception e) {
-            log.error("redis release distributed lock fail => ", e);
-        } finally {
-            close(jedis);
+        String script = "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end";
+        Object result = executeWrite(key, jedis -> jedis.eval(script, Collections.singletonList(key), Collections.singletonList(requestId)));
+        if (OK.equals(result)) {
+            log.info("redis release distributed lock success, key[{}], requestId[{}]", key, requestId);
+            return Boolean.TRUE;
         }
         return Boolean.FALSE;
     }
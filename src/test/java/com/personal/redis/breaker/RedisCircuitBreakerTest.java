@@ -0,0 +1,146 @@
+/*
+ * @Copyright: 2005-2018 www.hyjf.com. All rights reserved.
+ */
+package com.personal.redis.breaker;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author sunpeikai
+ * @version RedisCircuitBreakerTest, v0.1 2026/10/19 18:20
+ * @description 熔断器的状态转换:失败率和慢调用率打开、等待后半开、半开试探成功关闭或失败重新打开
+ */
+public class RedisCircuitBreakerTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(200);
+
+    private static final long WAIT_MILLIS = 50;
+
+    private RedisCircuitBreaker breaker;
+
+    @AfterEach
+    public void close() {
+        if (breaker != null) {
+            breaker.close();
+        }
+    }
+
+    /**
+     * 窗口10次,至少4次调用,失败率50%,超过100毫秒算慢调用,慢调用率50%,半开放行2次;探测线程间隔足够长,不参与状态转换
+     */
+    private RedisCircuitBreaker breaker() {
+        breaker = new RedisCircuitBreaker(10, 4, 50, 100, 50, WAIT_MILLIS, 2, 60000, () -> true);
+        return breaker;
+    }
+
+    @Test
+    public void opensWhenFailureRateReachesThreshold() {
+        RedisCircuitBreaker breaker = breaker();
+        breaker.onSuccess(FAST);
+        breaker.onFailure(FAST);
+        breaker.onFailure(FAST);
+        // 调用数没有达到minimumCalls时不打开
+        assertEquals(RedisCircuitBreaker.State.CLOSED, breaker.getState());
+        breaker.onSuccess(FAST);
+
+        assertEquals(RedisCircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.allowRequest());
+        assertEquals(1L, breaker.stats().get("rejected"));
+    }
+
+    @Test
+    public void opensWhenSlowCallRateReachesThreshold() {
+        RedisCircuitBreaker breaker = breaker();
+        breaker.onSuccess(SLOW);
+        breaker.onSuccess(FAST);
+        breaker.onSuccess(FAST);
+        assertEquals(RedisCircuitBreaker.State.CLOSED, breaker.getState());
+        breaker.onSuccess(SLOW);
+
+        assertEquals(RedisCircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    public void staysClosedWhileCallsAreFastAndSuccessful() {
+        RedisCircuitBreaker breaker = breaker();
+        for (int i = 0; i < 100; i++) {
+            assertTrue(breaker.allowRequest());
+            breaker.onSuccess(i % 10 == 0 ? SLOW : FAST);
+        }
+        assertEquals(RedisCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    public void halfOpenClosesAfterSuccessfulProbes() throws InterruptedException {
+        RedisCircuitBreaker breaker = open(breaker());
+        Thread.sleep(WAIT_MILLIS + 20);
+
+        assertTrue(breaker.allowRequest());
+        assertEquals(RedisCircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.allowRequest());
+        // 半开只放行halfOpenCalls次
+        assertFalse(breaker.allowRequest());
+        breaker.onSuccess(FAST);
+        assertEquals(RedisCircuitBreaker.State.HALF_OPEN, breaker.getState());
+        breaker.onSuccess(FAST);
+
+        assertEquals(RedisCircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(0, breaker.stats().get("calls"));
+        assertTrue(breaker.allowRequest());
+    }
+
+    @Test
+    public void halfOpenReopensOnSlowProbe() throws InterruptedException {
+        RedisCircuitBreaker breaker = open(breaker());
+        Thread.sleep(WAIT_MILLIS + 20);
+
+        assertTrue(breaker.allowRequest());
+        breaker.onSuccess(SLOW);
+
+        assertEquals(RedisCircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.allowRequest());
+        assertEquals(2L, breaker.stats().get("opened"));
+    }
+
+    @Test
+    public void halfOpenReopensOnFailedProbe() throws InterruptedException {
+        RedisCircuitBreaker breaker = open(breaker());
+        Thread.sleep(WAIT_MILLIS + 20);
+
+        assertTrue(breaker.allowRequest());
+        breaker.onFailure(FAST);
+
+        assertEquals(RedisCircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    public void zeroElapsedSuccessClosesHalfOpen() throws InterruptedException {
+        // 阻塞命令按耗时0记录成功,半开时不会因为等待元素而重新打开
+        RedisCircuitBreaker breaker = open(breaker());
+        Thread.sleep(WAIT_MILLIS + 20);
+
+        assertTrue(breaker.allowRequest());
+        assertTrue(breaker.allowRequest());
+        breaker.onSuccess(0);
+        breaker.onSuccess(0);
+
+        assertEquals(RedisCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    private static RedisCircuitBreaker open(RedisCircuitBreaker breaker) {
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure(FAST);
+        }
+        assertEquals(RedisCircuitBreaker.State.OPEN, breaker.getState());
+        return breaker;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * @Copyright: 2005-2018 www.hyjf.com. All rights reserved.
+ */
+package com.personal.redis.breaker;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * @author sunpeikai
+ * @version RedisStaleCacheTest, v0.1 2026/10/19 18:00
+ * @description 旧值缓存的LRU淘汰和按redis键移除
+ */
+public class RedisStaleCacheTest {
+
+    @Test
+    public void evictsLeastRecentlyUsed() {
+        RedisStaleCache cache = new RedisStaleCache(2);
+        cache.put("a", "get:a", "1");
+        cache.put("b", "get:b", "2");
+        // 读取a后b成为最久未使用的值
+        assertEquals("1", cache.get("get:a"));
+        cache.put("c", "get:c", "3");
+
+        assertNull(cache.get("get:b"));
+        assertEquals("1", cache.get("get:a"));
+        assertEquals("3", cache.get("get:c"));
+        assertEquals(2, cache.stats().get("size"));
+        assertEquals(2, cache.stats().get("keys"));
+    }
+
+    @Test
+    public void evictionRemovesIndexOfEvictedKey() {
+        RedisStaleCache cache = new RedisStaleCache(2);
+        cache.put("h", "hget:h:f1", "1");
+        cache.put("h", "hget:h:f2", "2");
+        cache.put("a", "get:a", "3");
+
+        // hget:h:f1被淘汰,h只剩一个缓存键
+        assertNull(cache.get("hget:h:f1"));
+        assertEquals(2, cache.stats().get("keys"));
+
+        cache.put("b", "get:b", "4");
+        // h的缓存键全部被淘汰后,索引中也不再有h
+        assertNull(cache.get("hget:h:f2"));
+        assertEquals(2, cache.stats().get("keys"));
+
+        cache.invalidate("h");
+        assertEquals("3", cache.get("get:a"));
+        assertEquals("4", cache.get("get:b"));
+        assertEquals(2, cache.stats().get("size"));
+    }
+
+    @Test
+    public void invalidateRemovesEveryCacheKeyOfRedisKey() {
+        RedisStaleCache cache = new RedisStaleCache(10);
+        cache.put("h", "hget:h:f1", "1");
+        cache.put("h", "hgetAll:h", new HashMap<>());
+        cache.put("a", "get:a", "2");
+
+        cache.invalidate("h");
+
+        assertNull(cache.get("hget:h:f1"));
+        assertNull(cache.get("hgetAll:h"));
+        assertEquals("2", cache.get("get:a"));
+        assertEquals(1, cache.stats().get("size"));
+        assertEquals(1, cache.stats().get("keys"));
+
+        // 移除后重新写入同一个redis键,再次移除时不残留
+        cache.put("h", "hget:h:f1", "3");
+        cache.invalidate("h");
+        assertNull(cache.get("hget:h:f1"));
+        assertEquals(1, cache.stats().get("keys"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void copiesMutableValues() {
+        RedisStaleCache cache = new RedisStaleCache(10);
+        byte[] bytes = {1, 2, 3};
+        Map<String, String> hash = new HashMap<>();
+        hash.put("f", "v");
+        cache.put("a", "get:a", bytes);
+        cache.put("h", "hgetAll:h", hash);
+        bytes[0] = 9;
+        hash.put("f", "changed");
+
+        byte[] cached = (byte[]) cache.get("get:a");
+        assertArrayEquals(new byte[]{1, 2, 3}, cached);
+        assertNotSame(cached, cache.get("get:a"));
+        assertEquals("v", ((Map<String, String>) cache.get("hgetAll:h")).get("f"));
+        assertEquals(3L, cache.stats().get("served"));
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * @Copyright: 2005-2018 www.hyjf.com. All rights reserved.
+ */
+package com.personal.redis.cluster;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.exceptions.JedisClusterMaxAttemptsException;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author sunpeikai
+ * @version RedisClusterClientTest, v0.1 2026/10/19 20:10
+ * @description 集群客户端的hash tag路由、MOVED刷新slot缓存、ASK单次转向以及重定向次数上限,使用本地模拟节点
+ */
+public class RedisClusterClientTest {
+
+    private static final String HOST = "127.0.0.1";
+
+    private final List<FakeNode> nodes = new ArrayList<>();
+
+    private RedisClusterClient client;
+
+    @AfterEach
+    public void close() throws IOException {
+        if (client != null) {
+            client.close();
+        }
+        for (FakeNode node : nodes) {
+            node.close();
+        }
+    }
+
+    @Test
+    public void hashTagKeysShareSlot() {
+        assertEquals(RedisClusterClient.getSlot("{user:1}:name"), RedisClusterClient.getSlot("{user:1}:age"));
+        assertEquals(RedisClusterClient.getSlot("user:1"), RedisClusterClient.getSlot("{user:1}"));
+        assertEquals(RedisClusterClient.getSlot("{user:1}:name"), RedisClusterClient.getSlot("{user:1}:name".getBytes(StandardCharsets.UTF_8)));
+        assertNotEquals(RedisClusterClient.getSlot("user:1:name"), RedisClusterClient.getSlot("user:1:age"));
+        assertEquals(RedisClusterClient.ANY_SLOT, RedisClusterClient.getSlot((String) null));
+    }
+
+    @Test
+    public void movedRefreshesSlotCacheAndRetries() throws IOException {
+        FakeNode target = node((node, command) -> "GET".equals(command.get(0)) ? bulk("moved") : null);
+        // 第一次读取返回MOVED,之后slot归target所有
+        FakeNode source = node((node, command) -> "GET".equals(command.get(0)) ? "-MOVED " + slot("k") + " " + target.address() + "\r\n" : null);
+        source.owner = source;
+        target.owner = source;
+        client = client(source, 3);
+        source.owner = target;
+        target.owner = target;
+
+        assertEquals("moved", client.execute(slot("k"), jedis -> jedis.get("k")));
+        // slot缓存已经指向target,再次读取不再经过source
+        assertEquals("moved", client.execute(slot("k"), jedis -> jedis.get("k")));
+        assertEquals(1, source.count("GET"));
+        assertEquals(2, target.count("GET"));
+    }
+
+    @Test
+    public void askRedirectsOnlyCurrentRequest() throws IOException {
+        FakeNode target = node((node, command) -> {
+            if ("GET".equals(command.get(0))) {
+                // 没有先发送ASKING时目标节点不接受请求
+                return node.previous("ASKING") ? bulk("asked") : "-MOVED " + slot("k") + " " + node.owner.address() + "\r\n";
+            }
+            return null;
+        });
+        FakeNode source = node((node, command) -> "GET".equals(command.get(0)) ? "-ASK " + slot("k") + " " + target.address() + "\r\n" : null);
+        source.owner = source;
+        target.owner = source;
+        client = client(source, 3);
+
+        assertEquals("asked", client.execute(slot("k"), jedis -> jedis.get("k")));
+        assertEquals("asked", client.execute(slot("k"), jedis -> jedis.get("k")));
+        // ASK不刷新slot缓存,每次请求都先到source
+        assertEquals(2, source.count("GET"));
+        assertEquals(2, target.count("ASKING"));
+        assertEquals(1, source.count("CLUSTER"));
+    }
+
+    @Test
+    public void stopsAfterMaxRedirects() throws IOException {
+        FakeNode source = node((node, command) -> "GET".equals(command.get(0)) ? "-MOVED " + slot("k") + " " + node.address() + "\r\n" : null);
+        source.owner = source;
+        client = client(source, 2);
+
+        assertThrows(JedisClusterMaxAttemptsException.class, () -> client.execute(slot("k"), jedis -> jedis.get("k")));
+        // 第一次执行加上2次重定向
+        assertEquals(3, source.count("GET"));
+    }
+
+    private static int slot(String key) {
+        return RedisClusterClient.getSlot(key);
+    }
+
+    private FakeNode node(BiFunction<FakeNode, List<String>, String> handler) throws IOException {
+        FakeNode node = new FakeNode(handler);
+        nodes.add(node);
+        return node;
+    }
+
+    private static RedisClusterClient client(FakeNode seed, int maxRedirects) {
+        return new RedisClusterClient(Collections.singleton(new HostAndPort(HOST, seed.port())), new JedisPoolConfig(),
+                2000, null, null, maxRedirects);
+    }
+
+    private static String bulk(String value) {
+        return "$" + value.length() + "\r\n" + value + "\r\n";
+    }
+
+    /**
+     * 只支持测试用到的命令的模拟节点;CLUSTER SLOTS返回全部slot归owner所有,其他命令交给handler,handler返回null时回复OK
+     */
+    private static final class FakeNode implements Runnable {
+
+        private final ServerSocket server;
+
+        private final BiFunction<FakeNode, List<String>, String> handler;
+
+        private final List<String> received = new CopyOnWriteArrayList<>();
+
+        private final ThreadLocal<String> previous = new ThreadLocal<>();
+
+        private final AtomicInteger connections = new AtomicInteger();
+
+        private volatile FakeNode owner;
+
+        private FakeNode(BiFunction<FakeNode, List<String>, String> handler) throws IOException {
+            this.server = new ServerSocket(0, 50, InetAddress.getByName(HOST));
+            this.handler = handler;
+            Thread thread = new Thread(this, "fake-redis-" + server.getLocalPort());
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        private int port() {
+            return server.getLocalPort();
+        }
+
+        private String address() {
+            return HOST + ":" + port();
+        }
+
+        private int count(String command) {
+            int count = 0;
+            for (String name : received) {
+                if (name.equals(command)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        /**
+         * 同一连接上一条命令是否为command
+         */
+        private boolean previous(String command) {
+            return command.equals(previous.get());
+        }
+
+        @Override
+        public void run() {
+            while (!server.isClosed()) {
+                try {
+                    Socket socket = server.accept();
+                    Thread thread = new Thread(() -> serve(socket), "fake-redis-conn-" + connections.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.start();
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        }
+
+        private void serve(Socket socket) {
+            try (Socket s = socket) {
+                InputStream in = new BufferedInputStream(s.getInputStream());
+                OutputStream out = s.getOutputStream();
+                List<String> command;
+                while ((command = read(in)) != null) {
+                    String name = command.get(0).toUpperCase();
+                    command.set(0, name);
+                    received.add(name);
+                    String reply;
+                    if ("CLUSTER".equals(name)) {
+                        FakeNode master = owner;
+                        reply = "*1\r\n*3\r\n:0\r\n:16383\r\n*2\r\n" + bulk(HOST) + ":" + master.port() + "\r\n";
+                    } else {
+                        reply = handler.apply(this, command);
+                    }
+                    previous.set(name);
+                    out.write((reply == null ? "+OK\r\n" : reply).getBytes(StandardCharsets.UTF_8));
+                    out.flush();
+                    if ("QUIT".equals(name)) {
+                        return;
+                    }
+                }
+            } catch (IOException ignored) {
+                // 客户端断开
+            }
+        }
+
+        private static List<String> read(InputStream in) throws IOException {
+            String header = line(in);
+            if (header == null) {
+                return null;
+            }
+            int count = Integer.parseInt(header.substring(1));
+            List<String> command = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int length = Integer.parseInt(line(in).substring(1));
+                byte[] data = new byte[length];
+                int read = 0;
+                while (read < length) {
+                    int n = in.read(data, read, length - read);
+                    if (n < 0) {
+                        return null;
+                    }
+                    read += n;
+                }
+                line(in);
+                command.add(new String(data, StandardCharsets.UTF_8));
+            }
+            return command;
+        }
+
+        private static String line(InputStream in) throws IOException {
+            StringBuilder builder = new StringBuilder();
+            int c;
+            while ((c = in.read()) != -1) {
+                if (c == '\r') {
+                    in.read();
+                    return builder.toString();
+                }
+                builder.append((char) c);
+            }
+            return null;
+        }
+
+        private void close() throws IOException {
+            server.close();
+        }
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * @Copyright: 2005-2018 www.hyjf.com. All rights reserved.
+ */
+package com.personal.redis.codec;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author sunpeikai
+ * @version BinaryRedisCodecTest, v0.1 2026/10/19 20:50
+ * @description 二进制编解码的往返、结构指纹不一致时按不存在处理以及RedisTag编号的兼容
+ */
+public class BinaryRedisCodecTest {
+
+    private final BinaryRedisCodec codec = new BinaryRedisCodec();
+
+    public enum Level { LOW, HIGH }
+
+    public static class Address {
+        private String city;
+        private int zip;
+    }
+
+    public static class User {
+        private long id;
+        private int age;
+        private boolean vip;
+        private double score;
+        private float ratio;
+        private char grade;
+        private String name;
+        private Integer nullable;
+        private BigDecimal balance;
+        private Date created;
+        private Level level;
+        private byte[] avatar;
+        private int[] codes;
+        private List<String> tags;
+        private Map<String, Address> addresses;
+        private TreeSet<Long> friends;
+        private Object extra;
+        private transient String ignored;
+    }
+
+    /**
+     * 与User的字段相同,类名不同,指纹一致
+     */
+    public static class UserCopy {
+        private long id;
+        private String name;
+    }
+
+    public static class UserV1 {
+        private long id;
+        private String name;
+    }
+
+    /**
+     * UserV1增加了字段,指纹不一致
+     */
+    public static class UserV2 {
+        private long id;
+        private String name;
+        private String email;
+    }
+
+    /**
+     * UserV1的name改为int,指纹不一致
+     */
+    public static class UserV3 {
+        private long id;
+        private int name;
+    }
+
+    public static class Holder {
+        private String title;
+        private UserV1 owner;
+    }
+
+    public static class HolderV2 {
+        private String title;
+        private UserV2 owner;
+    }
+
+    @RedisBinary
+    public static class TaggedV1 {
+        @RedisTag(1)
+        private long id;
+        @RedisTag(2)
+        private String name;
+    }
+
+    @RedisBinary
+    public static class TaggedV2 {
+        @RedisTag(1)
+        private long id;
+        @RedisTag(3)
+        private String email;
+        @RedisTag(2)
+        private String name;
+    }
+
+    @RedisBinary
+    public static class DuplicateTag {
+        @RedisTag(1)
+        private long id;
+        @RedisTag(1)
+        private String name;
+    }
+
+    @Test
+    public void roundTripsAllSupportedFieldTypes() {
+        User user = new User();
+        user.id = -42L;
+        user.age = 30;
+        user.vip = true;
+        user.score = 98.5;
+        user.ratio = 0.25f;
+        user.grade = 'A';
+        user.name = "张三";
+        user.balance = new BigDecimal("12345.678");
+        user.created = new Date(1600000000000L);
+        user.level = Level.HIGH;
+        user.avatar = new byte[]{1, 2, 3};
+        user.codes = new int[]{7, -8, 9};
+        user.tags = Arrays.asList("a", null, "c");
+        Address address = new Address();
+        address.city = "上海";
+        address.zip = 200000;
+        user.addresses = new LinkedHashMap<>();
+        user.addresses.put("home", address);
+        user.addresses.put("work", null);
+        user.friends = new TreeSet<>(Arrays.asList(3L, 1L, 2L));
+        Map<String, Object> extra = new HashMap<>();
+        extra.put("count", 5);
+        extra.put("list", new ArrayList<>(Arrays.asList("x", 1L)));
+        user.extra = extra;
+        user.ignored = "ignored";
+
+        User decoded = codec.decode(codec.encode(user), User.class);
+
+        assertEquals(-42L, decoded.id);
+        assertEquals(30, decoded.age);
+        assertEquals(true, decoded.vip);
+        assertEquals(98.5, decoded.score);
+        assertEquals(0.25f, decoded.ratio);
+        assertEquals('A', decoded.grade);
+        assertEquals("张三", decoded.name);
+        assertNull(decoded.nullable);
+        assertEquals(new BigDecimal("12345.678"), decoded.balance);
+        assertEquals(new Date(1600000000000L), decoded.created);
+        assertEquals(Level.HIGH, decoded.level);
+        assertArrayEquals(new byte[]{1, 2, 3}, decoded.avatar);
+        assertArrayEquals(new int[]{7, -8, 9}, decoded.codes);
+        assertEquals(Arrays.asList("a", null, "c"), decoded.tags);
+        assertEquals("上海", decoded.addresses.get("home").city);
+        assertEquals(200000, decoded.addresses.get("home").zip);
+        assertNull(decoded.addresses.get("work"));
+        assertEquals(2, decoded.addresses.size());
+        assertEquals(new TreeSet<>(Arrays.asList(1L, 2L, 3L)), decoded.friends);
+        assertEquals(extra, decoded.extra);
+        assertNull(decoded.ignored);
+    }
+
+    @Test
+    public void roundTripsTopLevelValues() {
+        assertEquals("redis", codec.decode(codec.encode("redis"), String.class));
+        assertEquals(Long.valueOf(Long.MIN_VALUE), codec.decode(codec.encode(Long.MIN_VALUE), Long.class));
+        assertEquals(Level.LOW, codec.decode(codec.encode(Level.LOW), Level.class));
+        assertNull(codec.decode(null, User.class));
+        assertNull(codec.decode(codec.encode(null), User.class));
+    }
+
+    @Test
+    public void decodesIntoClassWithSameFields() {
+        UserV1 user = new UserV1();
+        user.id = 1;
+        user.name = "a";
+
+        UserCopy copy = codec.decode(codec.encode(user), UserCopy.class);
+
+        assertEquals(1, copy.id);
+        assertEquals("a", copy.name);
+    }
+
+    @Test
+    public void fingerprintMismatchDecodesAsAbsent() {
+        UserV1 user = new UserV1();
+        user.id = 1;
+        user.name = "a";
+        byte[] bytes = codec.encode(user);
+
+        // 增加字段或修改字段类型后旧值按不存在处理,由调用方重新加载
+        assertNull(codec.decode(bytes, UserV2.class));
+        assertNull(codec.decode(bytes, UserV3.class));
+
+        // 嵌套对象的指纹不一致时整个值按不存在处理
+        Holder holder = new Holder();
+        holder.title = "t";
+        holder.owner = user;
+        assertNull(codec.decode(codec.encode(holder), HolderV2.class));
+    }
+
+    @Test
+    public void taggedClassesSkipUnknownTags() {
+        TaggedV2 v2 = new TaggedV2();
+        v2.id = 7;
+        v2.name = "n";
+        v2.email = "e@x";
+
+        TaggedV1 v1 = codec.decode(codec.encode(v2), TaggedV1.class);
+        assertEquals(7, v1.id);
+        assertEquals("n", v1.name);
+
+        TaggedV2 back = codec.decode(codec.encode(v1), TaggedV2.class);
+        assertEquals(7, back.id);
+        assertEquals("n", back.name);
+        assertNull(back.email);
+    }
+
+    @Test
+    public void rejectsDuplicateTags() {
+        assertThrows(IllegalArgumentException.class, () -> codec.encode(new DuplicateTag()));
+    }
+
+    @Test
+    public void zigzagRoundTrips() {
+        for (long value : new long[]{0, 1, -1, 63, -64, Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE}) {
+            assertEquals(value, BinaryRedisCodec.unzigzag(BinaryRedisCodec.zigzag(value)));
+        }
+        assertEquals(1L, BinaryRedisCodec.zigzag(-1));
+        assertEquals(2L, BinaryRedisCodec.zigzag(1));
+    }
+}
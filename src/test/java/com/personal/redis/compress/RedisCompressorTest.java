@@ -0,0 +1,126 @@
+/*
+ * @Copyright: 2005-2018 www.hyjf.com. All rights reserved.
+ */
+package com.personal.redis.compress;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author sunpeikai
+ * @version RedisCompressorTest, v0.1 2026/10/19 18:40
+ * @description 值压缩的往返、阈值、不可压缩的值以及恰好以压缩头部开头的原始值
+ */
+public class RedisCompressorTest {
+
+    private static String repeated(int length) {
+        StringBuilder builder = new StringBuilder(length);
+        while (builder.length() < length) {
+            builder.append("redis-value-");
+        }
+        return builder.substring(0, length);
+    }
+
+    @Test
+    public void roundTripsValuesOverThreshold() {
+        RedisCompressor compressor = new RedisCompressor(64, 1);
+        String value = repeated(4096);
+
+        byte[] stored = compressor.compress(value);
+
+        assertTrue(RedisCompressor.isCompressed(stored));
+        assertTrue(stored.length < value.length());
+        assertEquals(value, compressor.decompressString(stored));
+        assertEquals(1L, compressor.stats().get("compressed"));
+        assertEquals(1L, compressor.stats().get("decompressed"));
+        compressor.close();
+    }
+
+    @Test
+    public void keepsValuesUnderThreshold() {
+        RedisCompressor compressor = new RedisCompressor(64, 1);
+        byte[] value = repeated(64).getBytes(StandardCharsets.UTF_8);
+
+        assertSame(value, compressor.compress(value));
+        assertSame(value, compressor.decompress(value));
+        assertNull(compressor.compress((byte[]) null));
+        assertNull(compressor.decompressString(null));
+        compressor.close();
+    }
+
+    @Test
+    public void keepsIncompressibleValues() {
+        RedisCompressor compressor = new RedisCompressor(16, 9);
+        byte[] value = new byte[2048];
+        new Random(7).nextBytes(value);
+
+        assertSame(value, compressor.compress(value));
+        assertEquals(1L, compressor.stats().get("skipped"));
+        compressor.close();
+    }
+
+    @Test
+    public void returnsRawValueStartingWithMagic() {
+        RedisCompressor compressor = new RedisCompressor(16, 1);
+        // 以0xFF 0x01开头但不是Deflate数据的原始值,解压失败时原样返回
+        byte[] truncated = new byte[]{(byte) 0xFF, 0x01, 0x78, 0x01, 0x02};
+        byte[] garbage = new byte[]{(byte) 0xFF, 0x01, 'r', 'e', 'd', 'i', 's'};
+
+        assertTrue(RedisCompressor.isCompressed(garbage));
+        assertSame(truncated, compressor.decompress(truncated));
+        assertSame(garbage, compressor.decompress(garbage));
+        assertEquals(0L, compressor.stats().get("decompressed"));
+        // 头部后面截断的压缩数据同样原样返回
+        byte[] stored = compressor.compress(repeated(1024));
+        byte[] cut = new byte[stored.length / 2];
+        System.arraycopy(stored, 0, cut, 0, cut.length);
+        assertSame(cut, compressor.decompress(cut));
+        // 失败后池中的Inflater仍然可以正常使用
+        assertEquals(repeated(1024), compressor.decompressString(stored));
+        compressor.close();
+    }
+
+    @Test
+    public void valuesWithoutHeaderAreNotCompressed() {
+        assertFalse(RedisCompressor.isCompressed(null));
+        assertFalse(RedisCompressor.isCompressed(new byte[]{(byte) 0xFF, 0x01}));
+        assertFalse(RedisCompressor.isCompressed("redis".getBytes(StandardCharsets.UTF_8)));
+        assertFalse(RedisCompressor.isCompressed(new byte[]{(byte) 0xFF, 0x02, 0x00}));
+    }
+
+    @Test
+    public void worksConcurrentlyAndAfterClose() throws Exception {
+        RedisCompressor compressor = new RedisCompressor(64, 1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            String value = repeated(512 + i);
+            results.add(executor.submit(() -> value.equals(compressor.decompressString(compressor.compress(value)))));
+        }
+        for (Future<Boolean> result : results) {
+            assertTrue(result.get());
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        compressor.close();
+        // 关闭后仍然可以使用,用完直接释放
+        byte[] stored = compressor.compress(repeated(2048));
+        assertArrayEquals(repeated(2048).getBytes(StandardCharsets.UTF_8), compressor.decompress(stored));
+    }
+}
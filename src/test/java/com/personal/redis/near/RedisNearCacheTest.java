@@ -0,0 +1,196 @@
+/*
+ * @Copyright: 2005-2018 www.hyjf.com. All rights reserved.
+ */
+package com.personal.redis.near;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import redis.clients.jedis.Jedis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author sunpeikai
+ * @version RedisNearCacheTest, v0.1 2026/10/19 21:10
+ * @description 本地缓存的版本号:读取期间key被失效时放弃写回,失效后按缓存键读取不到旧值;订阅连接一直等待,不连接redis
+ */
+public class RedisNearCacheTest {
+
+    private final CountDownLatch closed = new CountDownLatch(1);
+
+    private final List<String> published = new CopyOnWriteArrayList<>();
+
+    private RedisNearCache cache;
+
+    @AfterEach
+    public void close() {
+        if (cache != null) {
+            cache.close();
+        }
+        closed.countDown();
+    }
+
+    private RedisNearCache cache(Map<String, Long> prefixTtlSeconds) {
+        Supplier<Jedis> subscriber = () -> {
+            try {
+                closed.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IllegalStateException("closed");
+        };
+        cache = new RedisNearCache(new TinyLfuNearCacheStore(1000), 60, prefixTtlSeconds, "near-cache",
+                subscriber, (channel, message) -> published.add(message));
+        return cache;
+    }
+
+    @Test
+    public void putIsDroppedWhenKeyInvalidatedDuringRead() {
+        RedisNearCache cache = cache(null);
+        long stamp = cache.stamp("user:1");
+        // 读取redis期间另一个线程写入并失效了user:1
+        cache.invalidate(Collections.singletonList("user:1"));
+        cache.put("user:1", "user:1", "old", stamp);
+
+        assertNull(cache.get("user:1", "user:1"));
+
+        // 重新读取后可以缓存
+        cache.put("user:1", "user:1", "new", cache.stamp("user:1"));
+        assertEquals("new", cache.get("user:1", "user:1"));
+    }
+
+    @Test
+    public void invalidateDropsEveryCacheKeyOfKey() {
+        RedisNearCache cache = cache(null);
+        long stamp = cache.stamp("hash");
+        cache.put("hash", "hash\0f1", "1", stamp);
+        cache.put("hash", "hash\0", new HashMap<>(), stamp);
+        cache.put("other", "other", "2", cache.stamp("other"));
+
+        cache.invalidate(Collections.singletonList("hash"));
+
+        // hget的缓存在读取时发现版本号变化后删除
+        assertNull(cache.get("hash", "hash\0f1"));
+        assertNull(cache.get("hash", "hash\0"));
+        assertEquals("2", cache.get("other", "other"));
+        assertEquals(1L, cache.getStore().size());
+        assertEquals(1, published.size());
+        assertTrue(published.get(0).endsWith("\nhash"));
+    }
+
+    @Test
+    public void invalidateAllDropsEarlierStamps() {
+        RedisNearCache cache = cache(null);
+        long stamp = cache.stamp("a");
+        cache.put("a", "a", "1", stamp);
+
+        cache.invalidateAll();
+        cache.put("a", "a", "2", stamp);
+
+        assertNull(cache.get("a", "a"));
+        assertTrue(published.get(0).endsWith("\n*"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void copiesMutableValues() {
+        RedisNearCache cache = cache(null);
+        byte[] bytes = {1, 2, 3};
+        Map<String, String> hash = new HashMap<>();
+        hash.put("f", "v");
+        cache.put("a", "a\1", bytes, cache.stamp("a"));
+        cache.put("h", "h\0", hash, cache.stamp("h"));
+        bytes[0] = 9;
+        hash.put("f", "changed");
+
+        byte[] cached = (byte[]) cache.get("a", "a\1");
+        assertArrayEquals(new byte[]{1, 2, 3}, cached);
+        cached[1] = 9;
+        assertArrayEquals(new byte[]{1, 2, 3}, (byte[]) cache.get("a", "a\1"));
+        Map<String, String> cachedHash = (Map<String, String>) cache.get("h", "h\0");
+        assertEquals("v", cachedHash.get("f"));
+        assertNotSame(cachedHash, cache.get("h", "h\0"));
+    }
+
+    @Test
+    public void onlyCachesMatchingPrefixes() {
+        Map<String, Long> prefixes = new HashMap<>();
+        prefixes.put("user:", 60L);
+        prefixes.put("user:session:", -1L);
+        RedisNearCache cache = cache(prefixes);
+
+        assertTrue(cache.matches("user:1"));
+        assertTrue(cache.matches("user:session:1"));
+        assertFalse(cache.matches("order:1"));
+        cache.put("order:1", "order:1", "1", cache.stamp("order:1"));
+        assertNull(cache.get("order:1", "order:1"));
+
+        cache.invalidate(Arrays.asList("order:1", "user:1"));
+        // 没有缓存的key不发布失效消息
+        assertTrue(published.get(0).endsWith("\nuser:1"));
+        assertFalse(published.get(0).contains("order:1"));
+    }
+
+    /**
+     * 读线程按 记录版本号 - 读取redis - 写回 的顺序执行,写线程按 写入redis - 失效 的顺序执行,
+     * 全部结束后缓存中只能是最后写入的值或者没有缓存
+     */
+    @Test
+    public void neverKeepsStaleValueUnderConcurrentWrites() throws Exception {
+        RedisNearCache cache = cache(null);
+        AtomicInteger redis = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(6);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 20000; i++) {
+                    if (cache.get("counter", "counter") == null) {
+                        long stamp = cache.stamp("counter");
+                        String value = String.valueOf(redis.get());
+                        Thread.yield();
+                        cache.put("counter", "counter", value, stamp);
+                    }
+                }
+            }));
+        }
+        for (int t = 0; t < 2; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 5000; i++) {
+                    redis.incrementAndGet();
+                    cache.invalidate(Collections.singletonList("counter"));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        Object cached = cache.get("counter", "counter");
+        assertTrue(cached == null || String.valueOf(redis.get()).equals(cached), "cached " + cached + ", redis " + redis.get());
+        // 再读取一次后缓存的一定是最新值
+        cache.put("counter", "counter", String.valueOf(redis.get()), cache.stamp("counter"));
+        assertEquals(String.valueOf(redis.get()), cache.get("counter", "counter"));
+    }
+}
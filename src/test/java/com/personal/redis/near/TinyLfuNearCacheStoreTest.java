@@ -0,0 +1,157 @@
+/*
+ * @Copyright: 2005-2018 www.hyjf.com. All rights reserved.
+ */
+package com.personal.redis.near;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author sunpeikai
+ * @version TinyLfuNearCacheStoreTest, v0.1 2026/10/19 19:00
+ * @description W-TinyLFU存储的准入、淘汰、容量为1以及并发读写
+ */
+public class TinyLfuNearCacheStoreTest {
+
+    private static RedisNearCacheStore.Entry entry(String value) {
+        return new RedisNearCacheStore.Entry(value, Long.MAX_VALUE, 0);
+    }
+
+    @Test
+    public void singleEntryStoreKeepsLatestKey() {
+        TinyLfuNearCacheStore store = new TinyLfuNearCacheStore(1);
+        for (int i = 0; i < 100; i++) {
+            store.put("k" + i, entry("v" + i));
+            assertEquals(1, store.size());
+        }
+        assertEquals("v99", store.get("k99").getValue());
+        assertNull(store.get("k98"));
+        assertEquals(99L, store.stats().get("evictions"));
+    }
+
+    @Test
+    public void rejectsCandidateNotMoreFrequentThanVictim() {
+        // 窗口1个,主区1个
+        TinyLfuNearCacheStore store = new TinyLfuNearCacheStore(2);
+        store.put("a", entry("a"));
+        store.put("b", entry("b"));
+        // b被挤出窗口,与主区的a访问频率相同,不进入主区
+        store.put("c", entry("c"));
+
+        assertEquals(2, store.size());
+        assertEquals(1L, store.stats().get("rejections"));
+        assertNull(store.get("b"));
+        assertNotNull(store.get("a"));
+        assertNotNull(store.get("c"));
+    }
+
+    @Test
+    public void admitsCandidateMoreFrequentThanVictim() {
+        TinyLfuNearCacheStore store = new TinyLfuNearCacheStore(2);
+        store.put("a", entry("a"));
+        store.put("b", entry("b"));
+        // 未命中的读取同样计入访问频率
+        for (int i = 0; i < 5; i++) {
+            assertNull(store.get("d"));
+        }
+        store.put("d", entry("d"));
+        store.put("e", entry("e"));
+
+        // d挤出窗口时访问频率高于a,a被淘汰
+        assertEquals(1L, store.stats().get("evictions"));
+        assertEquals(2, store.size());
+        assertNull(store.get("a"));
+        assertEquals("d", store.get("d").getValue());
+        assertEquals("e", store.get("e").getValue());
+    }
+
+    @Test
+    public void scanDoesNotFlushHotKeys() {
+        TinyLfuNearCacheStore store = new TinyLfuNearCacheStore(100);
+        for (int i = 0; i < 50; i++) {
+            store.put("hot" + i, entry("hot" + i));
+        }
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 50; i++) {
+                store.get("hot" + i);
+            }
+        }
+        for (int i = 0; i < 1000; i++) {
+            store.put("scan" + i, entry("scan" + i));
+        }
+
+        assertEquals(100, store.size());
+        for (int i = 0; i < 50; i++) {
+            assertNotNull(store.get("hot" + i), "hot" + i);
+        }
+    }
+
+    @Test
+    public void updatesAndRemovesEntries() {
+        TinyLfuNearCacheStore store = new TinyLfuNearCacheStore(10);
+        store.put("a", entry("1"));
+        store.put("b", entry("2"));
+        store.put("a", entry("3"));
+
+        assertEquals(2, store.size());
+        assertEquals("3", store.get("a").getValue());
+        store.remove("a");
+        assertNull(store.get("a"));
+        assertEquals(1, store.size());
+        store.clear();
+        assertNull(store.get("b"));
+        assertEquals(0, store.size());
+        // 清空后继续写入不受残留的访问记录影响
+        for (int i = 0; i < 20; i++) {
+            store.put("k" + i, entry("v" + i));
+        }
+        assertEquals(10, store.size());
+    }
+
+    @Test
+    public void staysBoundedUnderConcurrentAccess() throws Exception {
+        TinyLfuNearCacheStore store = new TinyLfuNearCacheStore(64);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int seed = t;
+            futures.add(executor.submit(() -> {
+                Random random = new Random(seed);
+                for (int i = 0; i < 20000; i++) {
+                    String key = "k" + random.nextInt(500);
+                    if (store.get(key) == null) {
+                        store.put(key, entry(key));
+                    } else if (i % 50 == 0) {
+                        store.remove(key);
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertTrue(store.size() <= 64, "size " + store.size());
+        RedisNearCacheStore.Entry entry = store.get("k1");
+        assertTrue(entry == null || "k1".equals(entry.getValue()));
+    }
+
+    @Test
+    public void rejectsNonPositiveMaximumSize() {
+        assertThrows(IllegalArgumentException.class, () -> new TinyLfuNearCacheStore(0));
+    }
+}
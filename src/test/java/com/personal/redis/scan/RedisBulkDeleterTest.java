@@ -0,0 +1,203 @@
+/*
+ * @Copyright: 2005-2018 www.hyjf.com. All rights reserved.
+ */
+package com.personal.redis.scan;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.ScanResult;
+import redis.clients.jedis.util.Pool;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author sunpeikai
+ * @version RedisBulkDeleterTest, v0.1 2026/10/19 21:40
+ * @description 按模式批量删除的分批、重复key、SCAN或UNLINK失败时停止以及限速;SCAN和UNLINK由内存中的节点模拟
+ */
+public class RedisBulkDeleterTest {
+
+    private final Map<Pool<Jedis>, FakeNode> fakes = new HashMap<>();
+
+    private final List<Pool<Jedis>> nodes = new ArrayList<>();
+
+    private final List<Integer> batchSizes = new ArrayList<>();
+
+    @AfterEach
+    public void close() {
+        for (Pool<Jedis> node : nodes) {
+            node.close();
+        }
+    }
+
+    /**
+     * 连接池只作为节点的标识,不会借用连接
+     */
+    private FakeNode node(int pageSize, String... keys) {
+        Pool<Jedis> pool = new JedisPool("127.0.0.1", 6379);
+        FakeNode node = new FakeNode(pageSize, keys);
+        nodes.add(pool);
+        fakes.put(pool, node);
+        return node;
+    }
+
+    private final BiFunction<Pool<Jedis>, String, ScanResult<String>> scan = (node, cursor) -> fakes.get(node).scan(cursor);
+
+    private final BiFunction<Pool<Jedis>, List<String>, Long> unlink = (node, keys) -> {
+        batchSizes.add(keys.size());
+        return fakes.get(node).unlink(keys);
+    };
+
+    @Test
+    public void deletesEveryNodeInBatches() {
+        FakeNode first = node(4, "k1", "k2", "k3", "k4", "k5");
+        FakeNode second = node(4, "k6", "k7");
+        List<Long> progress = new ArrayList<>();
+
+        RedisDeleteResult result = new RedisBulkDeleter(3, 0).delete("k*", nodes, scan, unlink,
+                current -> progress.add(current.getScanned()));
+
+        assertTrue(first.keys.isEmpty());
+        assertTrue(second.keys.isEmpty());
+        assertFalse(result.isFailed());
+        assertEquals(2, result.getNodes());
+        assertEquals(7, result.getScanned());
+        assertEquals(7, result.getDeleted());
+        // 每个节点单独分批,节点结束时发送剩余的key
+        assertEquals(Arrays.asList(3, 2, 2), batchSizes);
+        assertEquals(3, result.getBatches());
+        assertEquals(Arrays.asList(3L, 5L, 7L), progress);
+        assertEquals(3, result.getPages());
+    }
+
+    @Test
+    public void duplicateKeysAreNotCountedTwice() {
+        FakeNode node = node(2, "a", "b", "c");
+        // SCAN在rehash时可能重复返回key
+        node.duplicates.add("a");
+
+        RedisDeleteResult result = new RedisBulkDeleter(10, 0).delete("*", nodes, scan, unlink, null);
+
+        assertEquals(4, result.getScanned());
+        assertEquals(3, result.getDeleted());
+        assertTrue(node.keys.isEmpty());
+    }
+
+    @Test
+    public void stopsWhenScanFails() {
+        FakeNode first = node(2, "a", "b", "c", "d");
+        FakeNode second = node(2, "e");
+        first.failScanAt = "2";
+
+        RedisDeleteResult result = new RedisBulkDeleter(10, 0).delete("*", nodes, scan, unlink, null);
+
+        assertTrue(result.isFailed());
+        // 失败前已经取到的key不删除,后面的节点不再迭代
+        assertEquals(0, result.getScanned());
+        assertEquals(4, first.keys.size());
+        assertEquals(0, second.scans);
+        assertEquals(1, result.getPages());
+    }
+
+    @Test
+    public void stopsWhenUnlinkFails() {
+        FakeNode first = node(2, "a", "b", "c", "d");
+        FakeNode second = node(2, "e");
+        first.failUnlink = 2;
+
+        RedisDeleteResult result = new RedisBulkDeleter(2, 0).delete("*", nodes, scan, unlink, null);
+
+        assertTrue(result.isFailed());
+        assertEquals(2, result.getScanned());
+        assertEquals(1, result.getBatches());
+        assertEquals(2, first.keys.size());
+        assertEquals(1, second.keys.size());
+        assertEquals(0, second.scans);
+    }
+
+    @Test
+    public void throttlesToMaxKeysPerSecond() {
+        String[] keys = new String[30];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = "k" + i;
+        }
+        node(10, keys);
+        long start = System.currentTimeMillis();
+
+        RedisDeleteResult result = new RedisBulkDeleter(10, 100).delete("k*", nodes, scan, unlink, null);
+
+        // 30个key每秒100个,至少需要300毫秒
+        long cost = System.currentTimeMillis() - start;
+        assertTrue(cost >= 280, "cost " + cost);
+        assertTrue(result.getCostMillis() >= 280, "costMillis " + result.getCostMillis());
+        assertEquals(30, result.getDeleted());
+    }
+
+    /**
+     * 内存中的节点:SCAN按插入顺序分页,游标为下一页的起始位置;UNLINK返回实际删除的数量
+     */
+    private static final class FakeNode {
+
+        private final int pageSize;
+
+        private final List<String> order;
+
+        private final Set<String> keys;
+
+        private final List<String> duplicates = new ArrayList<>();
+
+        private String failScanAt;
+
+        private int failUnlink;
+
+        private int unlinks;
+
+        private int scans;
+
+        private FakeNode(int pageSize, String... keys) {
+            this.pageSize = pageSize;
+            this.order = Arrays.asList(keys);
+            this.keys = new LinkedHashSet<>(order);
+        }
+
+        private ScanResult<String> scan(String cursor) {
+            scans++;
+            if (cursor.equals(failScanAt)) {
+                return null;
+            }
+            int from = Integer.parseInt(cursor);
+            int to = Math.min(from + pageSize, order.size());
+            List<String> page = new ArrayList<>(order.subList(from, to));
+            if (to == order.size()) {
+                page.addAll(duplicates);
+            }
+            return new ScanResult<>(to == order.size() ? "0" : String.valueOf(to), page);
+        }
+
+        private Long unlink(List<String> batch) {
+            if (++unlinks == failUnlink) {
+                return null;
+            }
+            long deleted = 0;
+            for (String key : batch) {
+                if (keys.remove(key)) {
+                    deleted++;
+                }
+            }
+            return deleted;
+        }
+    }
+}
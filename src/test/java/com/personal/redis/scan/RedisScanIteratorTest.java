@@ -0,0 +1,107 @@
+/*
+ * @Copyright: 2005-2018 www.hyjf.com. All rights reserved.
+ */
+package com.personal.redis.scan;
+
+import org.junit.jupiter.api.Test;
+import redis.clients.jedis.ScanResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author sunpeikai
+ * @version RedisScanIteratorTest, v0.1 2026/10/19 21:30
+ * @description 游标迭代器的惰性取页、多来源依次迭代、去重以及某一页失败时提前结束
+ */
+public class RedisScanIteratorTest {
+
+    /**
+     * 按游标分页返回固定的页,游标为页下标,最后一页返回游标0
+     */
+    @SafeVarargs
+    private static Function<String, ScanResult<String>> pages(AtomicInteger calls, List<String>... pages) {
+        return cursor -> {
+            calls.incrementAndGet();
+            int index = Integer.parseInt(cursor);
+            String next = index + 1 >= pages.length ? "0" : String.valueOf(index + 1);
+            return new ScanResult<>(next, pages[index]);
+        };
+    }
+
+    @Test
+    public void fetchesPagesLazily() {
+        AtomicInteger calls = new AtomicInteger();
+        RedisScanIterator<String> iterator = new RedisScanIterator<>(Collections.singletonList(
+                pages(calls, Arrays.asList("a", "b"), Collections.emptyList(), Collections.singletonList("c"))), null);
+
+        assertEquals(0, calls.get());
+        assertEquals("a", iterator.next());
+        assertEquals("b", iterator.next());
+        assertEquals(1, calls.get());
+        // 空页继续取下一页
+        assertEquals("c", iterator.next());
+        assertEquals(3, calls.get());
+        assertFalse(iterator.hasNext());
+        assertFalse(iterator.isFailed());
+        assertEquals(3, iterator.getPages());
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    @Test
+    public void iteratesSourcesInOrderAndDeduplicates() {
+        AtomicInteger calls = new AtomicInteger();
+        List<Function<String, ScanResult<String>>> sources = new ArrayList<>();
+        sources.add(pages(calls, Arrays.asList("a", "b"), Arrays.asList("b", "c")));
+        sources.add(pages(calls, Arrays.asList("c", "d")));
+
+        assertEquals(Arrays.asList("a", "b", "b", "c", "c", "d"),
+                new RedisScanIterator<>(sources, null).stream().collect(Collectors.toList()));
+        assertEquals(Arrays.asList("a", "b", "c", "d"),
+                new RedisScanIterator<>(sources, Function.identity()).stream().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void stopsAndMarksFailedWhenPageFails() {
+        AtomicInteger calls = new AtomicInteger();
+        Function<String, ScanResult<String>> first = pages(calls, Collections.singletonList("a"), Collections.singletonList("b"));
+        List<Function<String, ScanResult<String>>> sources = new ArrayList<>();
+        sources.add(cursor -> "1".equals(cursor) ? null : first.apply(cursor));
+        sources.add(pages(calls, Collections.singletonList("c")));
+        RedisScanIterator<String> iterator = new RedisScanIterator<>(sources, null);
+
+        assertEquals(Collections.singletonList("a"), iterator.stream().collect(Collectors.toList()));
+        assertTrue(iterator.isFailed());
+        assertEquals(1, iterator.getPages());
+        // 失败后不再取页,也不切换到下一个来源
+        assertFalse(iterator.hasNext());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void streamIsLazy() {
+        AtomicInteger calls = new AtomicInteger();
+        Function<String, ScanResult<String>> endless = cursor -> {
+            calls.incrementAndGet();
+            int index = Integer.parseInt(cursor);
+            return new ScanResult<>(String.valueOf(index + 1), Arrays.asList("k" + index * 2, "k" + (index * 2 + 1)));
+        };
+
+        List<String> first = new RedisScanIterator<>(Collections.singletonList(endless), null).stream()
+                .limit(3).collect(Collectors.toList());
+
+        assertEquals(Arrays.asList("k0", "k1", "k2"), first);
+        assertEquals(2, calls.get());
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * @Copyright: 2005-2018 www.hyjf.com. All rights reserved.
+ */
+package com.personal.redis.shard;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import redis.clients.jedis.JedisPool;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author sunpeikai
+ * @version RedisShardedPoolTest, v0.1 2026/10/19 20:30
+ * @description 一致性hash分片的hash tag、分组、分布以及增加节点时key的迁移;连接池不借用连接,不需要redis
+ */
+public class RedisShardedPoolTest {
+
+    private final List<RedisShardedPool> pools = new ArrayList<>();
+
+    @AfterEach
+    public void close() {
+        for (RedisShardedPool pool : pools) {
+            pool.close();
+        }
+    }
+
+    private RedisShardedPool sharded(String... names) {
+        Map<String, JedisPool> shards = new LinkedHashMap<>();
+        for (String name : names) {
+            String[] hostAndPort = name.split(":");
+            shards.put(name, new JedisPool(hostAndPort[0], Integer.parseInt(hostAndPort[1])));
+        }
+        RedisShardedPool pool = new RedisShardedPool(shards, 160, 1);
+        pools.add(pool);
+        return pool;
+    }
+
+    @Test
+    public void keysWithSameHashTagShareShard() {
+        RedisShardedPool pool = sharded("10.0.0.1:6379", "10.0.0.2:6379", "10.0.0.3:6379");
+        for (int i = 0; i < 100; i++) {
+            String tag = "user:" + i;
+            JedisPool shard = pool.getShard(tag);
+            assertSame(shard, pool.getShard("{" + tag + "}:name"));
+            assertSame(shard, pool.getShard("profile:{" + tag + "}"));
+            // 只使用第一对花括号
+            assertSame(shard, pool.getShard("{" + tag + "}:{other}"));
+            assertSame(shard, pool.getShard(("{" + tag + "}:age").getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+    @Test
+    public void emptyOrUnclosedTagUsesWholeKey() {
+        RedisShardedPool pool = sharded("10.0.0.1:6379", "10.0.0.2:6379", "10.0.0.3:6379");
+        int differs = 0;
+        for (int i = 0; i < 100; i++) {
+            // "{}"后面的tag不生效,整个key参与hash,与tag所在分片不总是相同
+            if (pool.getShard("{}{user:" + i + "}") != pool.getShard("user:" + i)) {
+                differs++;
+            }
+            if (pool.getShard("{user:" + i) != pool.getShard("user:" + i)) {
+                differs++;
+            }
+        }
+        assertTrue(differs > 50, "differs " + differs);
+        assertSame(pool.getShard(""), pool.getShard((String) null));
+    }
+
+    @Test
+    public void partitionGroupsIndexesByShard() {
+        RedisShardedPool pool = sharded("10.0.0.1:6379", "10.0.0.2:6379");
+        String[] keys = {"{order}:1", "a", "{order}:2", "b", "{order}:3"};
+
+        Map<JedisPool, List<Integer>> groups = pool.partition(keys);
+
+        assertTrue(groups.get(pool.getShard("order")).containsAll(Arrays.asList(0, 2, 4)));
+        int total = 0;
+        for (Map.Entry<JedisPool, List<Integer>> group : groups.entrySet()) {
+            for (int index : group.getValue()) {
+                assertSame(group.getKey(), pool.getShard(keys[index]));
+                total++;
+            }
+        }
+        assertEquals(keys.length, total);
+    }
+
+    @Test
+    public void distributesKeysEvenly() {
+        RedisShardedPool pool = sharded("10.0.0.1:6379", "10.0.0.2:6379", "10.0.0.3:6379", "10.0.0.4:6379");
+        Map<JedisPool, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 40000; i++) {
+            counts.merge(pool.getShard("key:" + i), 1, Integer::sum);
+        }
+        assertEquals(4, counts.size());
+        for (int count : counts.values()) {
+            assertTrue(count > 6000 && count < 14000, "count " + count);
+        }
+    }
+
+    @Test
+    public void addingShardOnlyMovesKeysToNewShard() {
+        RedisShardedPool before = sharded("10.0.0.1:6379", "10.0.0.2:6379", "10.0.0.3:6379");
+        RedisShardedPool after = sharded("10.0.0.3:6379", "10.0.0.1:6379", "10.0.0.4:6379", "10.0.0.2:6379");
+        int moved = 0;
+        for (int i = 0; i < 10000; i++) {
+            String key = "key:" + i;
+            String from = name(before, before.getShard(key));
+            String to = name(after, after.getShard(key));
+            if (!from.equals(to)) {
+                // 节点名称参与hash,调整顺序不影响分布,迁移的key只会去新节点
+                assertEquals("10.0.0.4:6379", to);
+                moved++;
+            }
+        }
+        assertTrue(moved > 1500 && moved < 3500, "moved " + moved);
+    }
+
+    private static String name(RedisShardedPool pool, JedisPool shard) {
+        for (Map.Entry<String, JedisPool> entry : pool.getShards().entrySet()) {
+            if (entry.getValue() == shard) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("unknown shard");
+    }
+}